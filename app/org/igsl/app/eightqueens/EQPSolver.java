@@ -45,7 +45,7 @@ public class EQPSolver implements FiniteDepthNodeGenerator<Queen> {
 		if(bpi.hasPreviousNode()) {
 			Queen q = bpi.previousNode();
 			
-			return (q.getI() == dim);
+			return (q.getI() == dim) && (q.getJ() > 0);
 		} else {
 			return false;
 		}
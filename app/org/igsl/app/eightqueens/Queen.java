@@ -33,8 +33,11 @@ public class Queen {
 		return j;
 	}
 
+	/**
+	 * Moves a queen before a first column, so a next position is the first column
+	 */
 	public void firstPosition() {
-		j = 1;
+		j = 0;
 	}
 	
 	public Queen nextPosition() {
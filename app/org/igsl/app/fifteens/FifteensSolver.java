@@ -8,15 +8,21 @@ import java.util.LinkedList;
 import java.util.List;
 
 import org.igsl.cost.AddableInteger;
-import org.igsl.functor.HeuristicFunction;
+import org.igsl.functor.ReversibleHeuristicFunction;
+import org.igsl.functor.StateHashFunction;
 import org.igsl.functor.exception.DefaultValuesUnsupportedException;
+import org.igsl.functor.iterator.path.BackwardPathIterator;
+import org.igsl.functor.memoize.Memoize;
 
 /**
  * Fifteens Puzzle solver is based <code>AStarTreeTraversal</code> library class which utilizes an A* algorithm.
  * The solver implements <code>HeuristicFunction</code> for Fifteens Puzzle. The solver uses a <code>Position</code>
  * and the <code>AddableInteger</code> classes as node and cost instances in the template initialization.
+ * Moves are reversible and a terminal position is known, so a position could be searched bidirectionally.
+ * Positions are hashed into <code>long</code> values, a perfect hash of Fifteens Puzzle and smaller ones
+ * is given by <code>PerfectPositionHash</code>.
  */
-public class FifteensSolver implements HeuristicFunction<Position,AddableInteger> {
+public class FifteensSolver implements ReversibleHeuristicFunction<Position,AddableInteger>, StateHashFunction<Position> {
 	
 	private Position terminal;
 
@@ -32,11 +38,39 @@ public class FifteensSolver implements HeuristicFunction<Position,AddableInteger
 	/**
 	 * Node expansion algorithm. According to <code>Position</code> moveTileXXX methods it could generate
 	 * up to 4 possible successors. It does not allow to create a position similar to a <code>Position</code>
-	 * parent thus preserving A* from primitive node duplication. 
+	 * parent thus preserving A* from primitive node duplication. A terminal position is not expanded.
 	 * 
 	 * @see Position
 	 */
-	public List<Position> expand(Position position) {
+	public List<Position> expand(BackwardPathIterator<Position> iterator) {
+		Position position = iterator.previousNode();
+		
+		if(isGoal(position)) {
+			return null;
+		}
+		
+		return moves(position);
+	}
+	
+	/**
+	 * Backward expansion algorithm. Moves are reversible, so predecessors of a position
+	 * are its successors, a terminal position is expanded as well.
+	 */
+	public List<Position> expandBackward(BackwardPathIterator<Position> iterator) {
+		return moves(iterator.previousNode());
+	}
+	
+	/**
+	 * Returns a terminal position
+	 */
+	public Position getGoalNode() {
+		return terminal;
+	}
+	
+	/**
+	 * Positions reached by a single move of an empty tile
+	 */
+	private List<Position> moves(Position position) {
 		List<Position> result = new LinkedList<Position>();
 		
 		Position p = position.moveTileUp();
@@ -88,10 +122,28 @@ public class FifteensSolver implements HeuristicFunction<Position,AddableInteger
 	
 	/**
 	 * Heuristic cost is acquired by a Manhattan distance calculation from a given position
-	 * to a terminal one. 
+	 * to a terminal one. Estimations are memoized as a position is reached many times. 
 	 */
+	@Memoize(maxSize = 1 << 16)
 	public AddableInteger getEstimatedCost(Position p) {
 		return new AddableInteger(p.manhattanDistance(terminal));
 	}
 
+	/**
+	 * Manhattan distance from a root position to a given one estimates a cost for a backward search
+	 */
+	public AddableInteger getReverseEstimatedCost(Position root, Position p) {
+		return new AddableInteger(p.manhattanDistance(root));
+	}
+
+	/**
+	 * Position tiles packed into a <code>long</code> value are a state hash, it is perfect for Fifteens Puzzle
+	 * and smaller ones. Tiles of larger puzzles are mixed, so different positions could rarely collide.
+	 *
+	 * @see PerfectPositionHash
+	 */
+	public long getStateHash(Position p) {
+		return p.toLong();
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+package org.igsl.app.fifteens;
+
+import org.igsl.functor.PerfectStateHashFunction;
+
+/**
+ * Perfect state hash of positions of Fifteens Puzzle and smaller ones. Tiles are packed into
+ * a <code>long</code> value by <code>Position.toLong</code> and unpacked by <code>Position.fromLong</code>.
+ * Tiles of larger puzzles do not fit a value, so this hash is not defined for them.
+ */
+public class PerfectPositionHash implements PerfectStateHashFunction<Position> {
+
+	/**
+	 * Constructor with a number of rows and columns of positions
+	 *
+	 * @param dim number of rows and columns
+	 * @throws IllegalArgumentException thrown if dimension is greater than 4
+	 */
+	public PerfectPositionHash(int dim) throws IllegalArgumentException {
+		if(dim > 4) {
+			throw new IllegalArgumentException();
+		}
+
+		this.dim = dim;
+	}
+
+	public long getStateHash(Position p) {
+		return p.toLong();
+	}
+
+	/**
+	 * Unpacks a position, a parent position is not restored
+	 */
+	public Position getNode(long hash) {
+		return Position.fromLong(hash, dim);
+	}
+
+	private final int dim;
+
+}
@@ -3,18 +3,20 @@
  */
 package org.igsl.app.fifteens;
 
+import java.util.Arrays;
+
 /**
- *  Position in Fifteens Puzzle. Tiles with numbers are gathered into an <code>int</code> array and
- *  each tile is specified by a row and a column indices. Empty tile is defined as having a zero value.
- *  To avoid finding an empty tile its location is duplicated a pair of indices. The code does not perform
- *  any validations to check that tiles are unique and their values are limited from 0 to 15. Also for methods
+ *  Position in Fifteens Puzzle or in a sliding puzzle of another square size, e.g. Twenty-Four Puzzle.
+ *  Tiles with numbers are gathered into a <code>byte</code> array in a row-major order, so a tile is specified by an index of its row and column.
+ *  Empty tile is defined as having a zero value. To avoid finding an empty tile its location is duplicated, a location of an empty tile in a parent
+ *  position is kept instead of a parent itself, so positions do not reference each other. The code does not perform
+ *  any validations to check that tiles are unique and their values are limited from 0 to a number of tiles. Also for methods
  *  moveTileXXX a return to a parent position is treated as impossible. 
  */
 public class Position {
 	
-	private int[][] tiles;
-	private int i0, j0;
-	private Position parent;
+	private final byte[] tiles;
+	private final int dim, k0, parent;
 	
 	/**
 	 * Creates a position from a given array.
@@ -22,47 +24,39 @@ public class Position {
 	 * @param tiles array of tiles
 	 */
 	public Position(int[][] tiles) {
-		this.parent = null;
-		this.tiles = tiles;
+		this.dim = tiles.length;
+		this.tiles = new byte[dim * dim];
+		this.parent = -1;
 		
-		boolean found = false;
+		int k = 0;
 		
-		for(int i = 0; i < 4; ++i) {
-			for(int j = 0; j < 4; ++j) {
+		for(int i = 0; i < dim; ++i) {
+			for(int j = 0; j < dim; ++j) {
 				if(tiles[i][j] == 0) {
-					i0 = i;
-					j0 = j;
-					found = true;
-					break;
+					k = i * dim + j;
 				}
 				
-				if(found) break;
+				this.tiles[i * dim + j] = (byte) tiles[i][j];
 			}
 		}
+		
+		this.k0 = k;
 	}
 	
 	/**
 	 * Create a position from a given one by moving an empty tile to a new location
 	 * 
 	 * @param parent base position
-	 * @param i0 row for an empty tile
-	 * @param j0 column for an empty tile
+	 * @param k0 index for an empty tile
 	 */
-	private Position(Position parent, int i0, int j0) {
-		this.parent = parent;
-		this.tiles = new int[4][4];
+	private Position(Position parent, int k0) {
+		this.dim = parent.dim;
+		this.tiles = parent.tiles.clone();
+		this.k0 = k0;
+		this.parent = parent.k0;
 
-		for(int i = 0; i < 4; ++i) {
-			for(int j = 0; j < 4; ++j) {
-				tiles[i][j] = parent.tiles[i][j];
-			}
-		}
-		
-		this.i0 = i0;
-		this.j0 = j0;
-		
-		tiles[parent.i0][parent.j0] = tiles[this.i0][this.j0];
-		tiles[this.i0][this.j0] = 0;
+		tiles[parent.k0] = tiles[k0];
+		tiles[k0] = 0;
 	}
 	
 	/**
@@ -70,11 +64,7 @@ public class Position {
 	 * @return null - if the move is invalid, a new position - otherwise
 	 */
 	public Position moveTileUp() {
-		if((i0 > 0) && ((parent == null) || (parent.i0 != i0 - 1))) {
-			return new Position(this, i0 - 1, j0);
-		} else {
-			return null;
-		}
+		return (k0 >= dim) ? move(k0 - dim) : null;
 	}
 	
 	/**
@@ -82,11 +72,7 @@ public class Position {
 	 * @return null - if the move is invalid, a new position - otherwise
 	 */
 	public Position moveTileDown() {
-		if((i0 < 3) && ((parent == null) || (parent.i0 != i0 + 1))) {
-			return new Position(this, i0 + 1, j0);
-		} else {
-			return null;
-		}
+		return (k0 < tiles.length - dim) ? move(k0 + dim) : null;
 	}
 
 	/**
@@ -94,11 +80,7 @@ public class Position {
 	 * @return null - if the move is invalid, a new position - otherwise
 	 */
 	public Position moveTileLeft() {
-		if((j0 > 0) && ((parent == null) || (parent.j0 != j0 - 1))) {
-			return new Position(this, i0, j0 - 1);
-		} else {
-			return null;
-		}
+		return (k0 % dim > 0) ? move(k0 - 1) : null;
 	}
 	
 	/**
@@ -106,11 +88,14 @@ public class Position {
 	 * @return null - if the move is invalid, a new position - otherwise
 	 */
 	public Position moveTileRight() {
-		if((j0 < 3) && ((parent == null) || (parent.j0 != j0 + 1))) {
-			return new Position(this, i0, j0 + 1);
-		} else {
-			return null;
-		}
+		return (k0 % dim < dim - 1) ? move(k0 + 1) : null;
+	}
+	
+	/**
+	 * Moves an empty tile to a given index unless it returns to a parent position
+	 */
+	private Position move(int k) {
+		return (k == parent) ? null : new Position(this, k);
 	}
 
 	/**
@@ -119,39 +104,92 @@ public class Position {
 	 * @return true - if tiles in a position are located in a same order, false - otherwise
 	 */
 	public boolean equals(Position p) {
-		for(int i = 0; i < 4; ++i) {
-			for(int j = 0; j < 4; ++j) {
-				if(tiles[i][j] != p.tiles[i][j]) {
-					return false;
-				}
-			}
+		return Arrays.equals(tiles, p.tiles);
+	}
+	
+	/**
+	 * Checks for equality with an arbitrary object
+	 */
+	public boolean equals(Object o) {
+		return (o instanceof Position) && equals((Position) o);
+	}
+	
+	/**
+	 * Hash code is consistent with an equality of tiles
+	 */
+	public int hashCode() {
+		int result = 0;
+		
+		for(int k = 0; k < tiles.length; ++k) {
+			result = 31 * result + tiles[k];
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Packs tiles into a <code>long</code> value, four bits for a tile, so positions of Fifteens Puzzle
+	 * with equal tiles have equal values and vice versa. Tiles of larger puzzles do not fit, so their
+	 * values are mixed and positions with different tiles could have equal values.
+	 */
+	public long toLong() {
+		long result = 0;
+		
+		for(int k = 0; k < tiles.length; ++k) {
+			result = (dim > 4) ? 31 * result + tiles[k] : (result << 4) | tiles[k];
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Unpacks a position from a value returned by <code>toLong</code>. A parent position is not restored,
+	 * so an empty tile could be moved back to its previous location.
+	 *
+	 * @param value packed tiles
+	 * @param dim number of rows and columns
+	 * @throws UnsupportedOperationException thrown if dimension is greater than 4, as tiles do not fit a value
+	 */
+	public static Position fromLong(long value, int dim) throws UnsupportedOperationException {
+		if(dim > 4) {
+			throw new UnsupportedOperationException();
 		}
 		
-		return true;
+		int[][] tiles = new int[dim][dim];
+		
+		for(int k = dim * dim - 1; k >= 0; --k) {
+			tiles[k / dim][k % dim] = (int) (value & 15);
+			value >>>= 4;
+		}
+		
+		return new Position(tiles);
 	}
 	
 	/**
-	 * Calculates Manhattan distance for a given position
+	 * Returns a number of rows and columns
+	 */
+	public int getDimension() {
+		return dim;
+	}
+	
+	/**
+	 * Calculates Manhattan distance for a given position. An empty tile is not counted,
+	 * so a distance never exceeds a number of moves.
 	 * @param p a position
 	 * @return <code>int</code> Manhattan value
 	 */
 	public int manhattanDistance(Position p) {
 		int result = 0;
 		
-		for(int i = 0; i < 4; ++i) {
-			for(int j = 0; j < 4; ++j) {
-				boolean found = false;
-				
-				for(int i1 = 0; i1 < 4; ++i1) {
-					for(int j1 = 0; j1 < 4; ++j1) {
-						if(p.tiles[i][j] == tiles[i1][j1]) {
-							result += Math.abs(i1 - i) + Math.abs(j1 - j);
-							found = true;
-							break;
-						}
-					}
-					
-					if(found) break;
+		for(int k = 0; k < tiles.length; ++k) {
+			if(p.tiles[k] == 0) {
+				continue;
+			}
+			
+			for(int k1 = 0; k1 < tiles.length; ++k1) {
+				if(p.tiles[k] == tiles[k1]) {
+					result += Math.abs(k1 / dim - k / dim) + Math.abs(k1 % dim - k % dim);
+					break;
 				}
 			}
 		}
@@ -163,7 +201,7 @@ public class Position {
 	 * Returns a row and a column indices of an empty tile 
 	 */
 	public String toString() {
-		return "(" + i0 + "," + j0 + ")";
+		return "(" + k0 / dim + "," + k0 % dim + ")";
 	}
 
 }
\ No newline at end of file
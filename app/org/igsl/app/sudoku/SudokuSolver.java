@@ -7,6 +7,7 @@ import java.util.List;
 import org.igsl.algorithm.Direct;
 import org.igsl.functor.NodeGenerator;
 import org.igsl.functor.exception.DefaultValuesUnsupportedException;
+import org.igsl.functor.iterator.path.BackwardPathIterator;
 import org.igsl.traversal.linear.DepthFirstTreeTraversal;
 
 /**
@@ -24,9 +25,15 @@ public class SudokuSolver implements NodeGenerator<Table> {
 
 	/**
 	 * Node expansion algorithm. It uses <code>isValid</code> method of <code>Table</code> to check
-	 * if a number is admissible for a given cell.
+	 * if a number is admissible for a given cell. A filled table is not expanded.
 	 */
-	public List<Table> expand(Table table) {
+	public List<Table> expand(BackwardPathIterator<Table> iterator) {
+		Table table = iterator.previousNode();
+		
+		if(isGoal(table)) {
+			return null;
+		}
+		
 		List<Table> result = new LinkedList<Table>();
 		
 		int i1 = 0;
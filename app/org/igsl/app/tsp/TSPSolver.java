@@ -4,14 +4,17 @@
 
 package org.igsl.app.tsp;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 
 import org.igsl.cost.AddableDouble;
-import org.igsl.functor.FiniteSetNodeGenerator;
-import org.igsl.functor.PathIterator;
+import org.igsl.functor.CostFunction;
 import org.igsl.functor.exception.DefaultValuesUnsupportedException;
+import org.igsl.functor.generator.FiniteSetNodeGenerator;
+import org.igsl.functor.iterator.path.BackwardPathIterator;
 
 /**
  * NodeGenerator and CostFunction implementations for Traveling Salesman Problem.
@@ -20,7 +23,7 @@ import org.igsl.functor.exception.DefaultValuesUnsupportedException;
  * cost instances in the template initialization.
  *
  */
-public class TSPSolver implements FiniteSetNodeGenerator<String>
+public class TSPSolver implements FiniteSetNodeGenerator<String>, CostFunction<String,AddableDouble>
 {
 	private HashMap<String, Waypoint> waypoints = new HashMap<String, Waypoint>();
 
@@ -36,34 +39,86 @@ public class TSPSolver implements FiniteSetNodeGenerator<String>
 	}
 	
 	/**
-	 * !!!
+	 * Returns names of all waypoints in alphabetical order
 	 */
 	public String[] getAllValues() {
 		Set<String> set = waypoints.keySet();
+		String[] result = set.toArray(new String[set.size()]);
 		
-		return null; // TODO
+		Arrays.sort(result);
+		return result;
+	}
+	
+	/**
+	 * Route visits every waypoint once
+	 */
+	public int getMaxDepth() {
+		return waypoints.size();
+	}
+	
+	/**
+	 * Route starts from the first waypoint in alphabetical order
+	 * @throws DefaultValuesUnsupportedException thrown if there are no waypoints
+	 */
+	public String getDefaultRootNode() throws DefaultValuesUnsupportedException {
+		if(waypoints.isEmpty()) {
+			throw new DefaultValuesUnsupportedException();
+		}
+		
+		return getAllValues()[0];
 	}
 	
 	/**
 	 * Node expansion algorithm. It iterates over all not yet visited waypoints and adds them
 	 * to a resulted list if they do not have any crosses with lags provided by already visited
-	 * waypoints.
-	 * 
+	 * waypoints. Returns null when all waypoints are visited.
 	 */
-	public boolean isValidTransition(String newName, PathIterator<String> iterator) {
+	public List<String> expand(BackwardPathIterator<String> iterator) {
+		ArrayList<String> path = new ArrayList<String>();
+		while(iterator.hasPreviousNode()) {
+			path.add(iterator.previousNode());
+		}
+		
+		if(path.size() == waypoints.size()) {
+			return null;
+		}
+		
+		String[] names = getAllValues();
+		ArrayList<String> result = new ArrayList<String>(names.length - path.size());
+		
+		for(int i = 0; i < names.length; ++i) {
+			if(!path.contains(names[i]) && isValidTransition(names[i], path)) {
+				result.add(names[i]);
+			}
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Checks if a leg to a new waypoint does not cross legs provided by already visited waypoints.
+	 */
+	public boolean isValidTransition(String newName, BackwardPathIterator<String> iterator) {
+		ArrayList<String> path = new ArrayList<String>();
+		while(iterator.hasPreviousNode()) {
+			path.add(iterator.previousNode());
+		}
+		
+		return isValidTransition(newName, path);
+	}
+	
+	private boolean isValidTransition(String newName, List<String> path) {
 		Waypoint w11 = waypoints.get(newName);
 		
-		String lastName = iterator.previousNode();
+		String lastName = path.get(0);
 		Waypoint w12 = waypoints.get(lastName);
 		
 		double dx1 = w12.x - w11.x;
 		double dy1 = w12.y - w11.y;
 		
-		String startName = iterator.previousNode();
-		while(iterator.hasPreviousNode()) {
-			Waypoint w21 = waypoints.get(startName);
-			String finishName = iterator.previousNode();
-			Waypoint w22 = waypoints.get(finishName);
+		for(int i = 2; i < path.size(); ++i) {
+			Waypoint w21 = waypoints.get(path.get(i - 1));
+			Waypoint w22 = waypoints.get(path.get(i));
 
 			double dx2 = w22.x - w21.x;
 			double dy2 = w22.y - w21.y;
@@ -80,8 +135,6 @@ public class TSPSolver implements FiniteSetNodeGenerator<String>
 					return false;
 				}
 			}
-			
-			startName = finishName;		
 		}
 				
 		return true;
@@ -0,0 +1,85 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+package org.igsl.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.igsl.app.coinproblem.variant3.CoinProblemSolver;
+import org.igsl.app.coinproblem.variant3.Denomination;
+import org.igsl.traversal.linear.finite.FiniteDepthTreeTraversal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Finds a greedy solution and counts all solutions of a coin problem by a finite depth traversal.
+ * Variants 1 and 2 of a coin problem solver implement a node generator interface preceding
+ * path iterators and are not compiled with a current library, so they are not measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+public class CoinProblemBenchmark {
+
+	@Param({"93", "1000", "5000"})
+	public int value;
+
+	@Setup
+	public void setUp() {
+		solver = new CoinProblemSolver(DENOMINATIONS, value);
+		solutions = 0;
+
+		for(int a = 0; a * DENOMINATIONS[0] <= value; ++a) {
+			for(int b = 0; a * DENOMINATIONS[0] + b * DENOMINATIONS[1] <= value; ++b) {
+				if((value - a * DENOMINATIONS[0] - b * DENOMINATIONS[1]) % DENOMINATIONS[2] == 0) {
+					++solutions;
+				}
+			}
+		}
+	}
+
+	@Benchmark
+	public boolean findFirstSolution(Nodes nodes) {
+		boolean result = Searches.first(new FiniteDepthTreeTraversal<Denomination>(solver), nodes);
+
+		if(result != (solutions > 0)) {
+			throw new IllegalStateException("first solution is " + (result ? "" : "not ") + "found for value " + value);
+		}
+
+		return result;
+	}
+
+	@Benchmark
+	public long countSolutions(Nodes nodes) {
+		long result = Searches.all(new FiniteDepthTreeTraversal<Denomination>(solver), nodes);
+
+		if(result != solutions) {
+			throw new IllegalStateException(result + " solutions found for value " + value + ", " + solutions + " expected");
+		}
+
+		return result;
+	}
+
+	private static final int[] DENOMINATIONS = {7, 5, 3};
+
+	private CoinProblemSolver solver;
+
+	/**
+	 * Number of solutions counted by nested loops over amounts of coins
+	 */
+	private long solutions;
+
+}
@@ -0,0 +1,93 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+package org.igsl.bench;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.igsl.functor.NodeGenerator;
+import org.igsl.functor.exception.DefaultValuesUnsupportedException;
+import org.igsl.functor.iterator.path.BackwardPathIterator;
+import org.igsl.traversal.linear.DepthFirstTreeTraversal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Enumerates a tree with a wide root level by a depth-first traversal keeping nodes as objects
+ * or in a compact mode. All children of a root are kept on a stack at once, so a storage of nodes
+ * dominates both time and allocation rate. Every child of a root is a goal one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+public class DepthFirstBenchmark {
+
+	@Param({"1000", "1000000"})
+	public int width;
+
+	@Param({"false", "true"})
+	public boolean compact;
+
+	@Setup
+	public void setUp() {
+		generator = new WideTree(width);
+	}
+
+	@Benchmark
+	public long findAllSolutions(Nodes nodes) {
+		long result = Searches.all(new DepthFirstTreeTraversal<Integer>(0, generator, compact), nodes);
+
+		if(result != width) {
+			throw new IllegalStateException(result + " goals found in a tree of width " + width);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Tree of a root 0 with children from 1 to a given width, a child is a goal node.
+	 * A list of children is built once and shared by expansions.
+	 */
+	static class WideTree implements NodeGenerator<Integer> {
+
+		WideTree(int width) {
+			List<Integer> list = new ArrayList<Integer>(width);
+
+			for(int i = 1; i <= width; ++i) {
+				list.add(i);
+			}
+
+			children = Collections.unmodifiableList(list);
+		}
+
+		public List<Integer> expand(BackwardPathIterator<Integer> iterator) {
+			return (iterator.previousNode() == 0) ? children : null;
+		}
+
+		public Integer getDefaultRootNode() throws DefaultValuesUnsupportedException {
+			return 0;
+		}
+
+		private final List<Integer> children;
+
+	}
+
+	private WideTree generator;
+
+}
@@ -0,0 +1,78 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+package org.igsl.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.igsl.traversal.TreeTraversal;
+import org.igsl.traversal.linear.finite.FiniteDepthTreeTraversal;
+import org.igsl.traversal.linear.finite.FiniteSetTreeTraversal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Counts all solutions of N queens problem. A finite depth traversal places queens
+ * of <code>org.igsl.app.eightqueens.EQPSolver</code> row by row, a finite set traversal
+ * permutes columns of <code>org.igsl.app.eightqueens2.EQPSolver</code>.
+ * A number of solutions found is checked against a known one, so a broken search is not measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+public class EightQueensBenchmark {
+
+	@Param({"8", "9", "10", "11", "12", "13", "14"})
+	public int n;
+
+	@Param({"finiteDepth", "finiteSet"})
+	public String traversal;
+
+	@Setup
+	public void setUp() {
+		queens = new org.igsl.app.eightqueens.EQPSolver(n);
+		columns = new org.igsl.app.eightqueens2.EQPSolver(n);
+	}
+
+	@Benchmark
+	public long countSolutions(Nodes nodes) {
+		TreeTraversal<?> tr;
+
+		if(traversal.equals("finiteDepth")) {
+			tr = new FiniteDepthTreeTraversal<org.igsl.app.eightqueens.Queen>(queens);
+		} else {
+			tr = new FiniteSetTreeTraversal<Integer>(columns);
+		}
+
+		long result = Searches.all(tr, nodes);
+
+		if(result != SOLUTIONS[n]) {
+			throw new IllegalStateException(traversal + " search found " + result + " solutions of " + n +
+				" queens, " + SOLUTIONS[n] + " expected");
+		}
+
+		return result;
+	}
+
+	/**
+	 * Known numbers of solutions of N queens problem indexed by N
+	 */
+	private static final long[] SOLUTIONS = {1, 1, 0, 0, 2, 10, 4, 40, 92, 352, 724, 2680, 14200, 73712, 365596};
+
+	private org.igsl.app.eightqueens.EQPSolver queens;
+	private org.igsl.app.eightqueens2.EQPSolver columns;
+
+}
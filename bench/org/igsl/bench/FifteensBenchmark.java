@@ -0,0 +1,215 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+package org.igsl.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.igsl.algorithm.Direct;
+import org.igsl.algorithm.Iterative;
+import org.igsl.app.fifteens.FifteensSolver;
+import org.igsl.app.fifteens.PerfectPositionHash;
+import org.igsl.app.fifteens.Position;
+import org.igsl.cost.AddableInteger;
+import org.igsl.functor.DoubleHeuristicFunction;
+import org.igsl.functor.HeuristicFunction;
+import org.igsl.functor.LongHeuristicFunction;
+import org.igsl.functor.exception.DefaultValuesUnsupportedException;
+import org.igsl.functor.iterator.path.BackwardPathIterator;
+import org.igsl.traversal.TreeTraversal;
+import org.igsl.traversal.closed.DirectClosedSet;
+import org.igsl.traversal.exponential.AStarClosedSetTreeTraversal;
+import org.igsl.traversal.exponential.AStarDoubleCostTreeTraversal;
+import org.igsl.traversal.exponential.AStarLongCostTreeTraversal;
+import org.igsl.traversal.exponential.AStarTreeTraversal;
+import org.igsl.traversal.exponential.BestFirstCostTreeTraversal;
+import org.igsl.traversal.exponential.BreadthFirstTreeTraversal;
+import org.igsl.traversal.linear.DepthFirstCostTreeTraversal;
+import org.igsl.traversal.linear.DepthFirstDoubleCostTreeTraversal;
+import org.igsl.traversal.linear.DepthFirstLongCostTreeTraversal;
+import org.igsl.traversal.linear.DepthFirstTreeTraversal;
+import org.igsl.traversal.linear.RecursiveBestFirstTreeTraversal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Solves a Fifteens Puzzle position scrambled by a number of random moves with a fixed seed.
+ * Informed traversals search by Manhattan distance heuristics, breadth-first and best-first traversals
+ * search blindly, depth-first traversals are deepened iteratively by depth or by cost.
+ * A closed set traversal keeps reached positions in direct memory encoded by the solver.
+ * Traversals with primitive costs use adapters of <code>FifteensSolver</code> to <code>long</code>
+ * and <code>double</code> costs. Iterative schemas search copies of a traversal, so nodes
+ * are counted by adapters on each expansion rather than by a search loop.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+public class FifteensBenchmark {
+
+	@Param({"10", "16"})
+	public int moves;
+
+	@Param({"aStar", "aStarLong", "aStarLongBuckets", "aStarDirect", "aStarDouble", "recursiveBestFirst", "bestFirst",
+		"breadthFirst", "depthFirst", "depthFirstCost", "depthFirstLong", "depthFirstDouble"})
+	public String traversal;
+
+	@Setup
+	public void setUp() {
+		initial = Instances.slidingPuzzle(4, moves, SEED);
+		solver = new FifteensSolver(new Position(Instances.slidingPuzzle(4)));
+	}
+
+	@Benchmark
+	public boolean solve(Nodes nodes) {
+		Position root = new Position(initial);
+		Counted counted = new Counted(solver);
+		boolean result;
+
+		if(traversal.equals("aStar")) {
+			result = search(new AStarTreeTraversal<Position,AddableInteger>(root, new AddableInteger(0), counted));
+		} else if(traversal.equals("aStarLong")) {
+			result = search(new AStarLongCostTreeTraversal<Position>(root, 0, counted.toLong(), false));
+		} else if(traversal.equals("aStarLongBuckets")) {
+			result = search(new AStarLongCostTreeTraversal<Position>(root, 0, counted.toLong(), true));
+		} else if(traversal.equals("aStarDirect")) {
+			result = search(new AStarClosedSetTreeTraversal<Position>(root, 0, counted.toLong(),
+				new PerfectPositionHash(4), new DirectClosedSet(), true));
+		} else if(traversal.equals("aStarDouble")) {
+			result = search(new AStarDoubleCostTreeTraversal<Position>(root, 0, counted.toDouble()));
+		} else if(traversal.equals("recursiveBestFirst")) {
+			result = search(new RecursiveBestFirstTreeTraversal<Position,AddableInteger>(root, new AddableInteger(0), counted));
+		} else if(traversal.equals("bestFirst")) {
+			result = search(new BestFirstCostTreeTraversal<Position,AddableInteger>(root, new AddableInteger(0), counted));
+		} else if(traversal.equals("breadthFirst")) {
+			result = search(new BreadthFirstTreeTraversal<Position>(root, counted));
+		} else if(traversal.equals("depthFirst")) {
+			result = Iterative.deepenIteratively(new DepthFirstTreeTraversal<Position>(root, counted)) != null;
+		} else if(traversal.equals("depthFirstCost")) {
+			result = Iterative.deepenIteratively(
+				new DepthFirstCostTreeTraversal<Position,AddableInteger>(root, new AddableInteger(0), counted)) != null;
+		} else if(traversal.equals("depthFirstLong")) {
+			result = Iterative.deepenIteratively(new DepthFirstLongCostTreeTraversal<Position>(root, 0, counted.toLong())) != null;
+		} else if(traversal.equals("depthFirstDouble")) {
+			result = Iterative.deepenIteratively(new DepthFirstDoubleCostTreeTraversal<Position>(root, 0, counted.toDouble())) != null;
+		} else {
+			throw new IllegalArgumentException(traversal);
+		}
+
+		nodes.add(counted.expanded);
+		return result;
+	}
+
+	private static <T> boolean search(TreeTraversal<T> tr) {
+		Direct.searchForward(tr);
+		return !tr.isEmpty();
+	}
+
+	private static final long SEED = 2015;
+
+	private int[][] initial;
+	private FifteensSolver solver;
+
+	/**
+	 * Heuristic function counting node expansions of a solver
+	 */
+	static class Counted implements HeuristicFunction<Position,AddableInteger> {
+
+		Counted(FifteensSolver solver) {
+			this.solver = solver;
+		}
+
+		public List<Position> expand(BackwardPathIterator<Position> iterator) {
+			++expanded;
+			return solver.expand(iterator);
+		}
+
+		public Position getDefaultRootNode() throws DefaultValuesUnsupportedException {
+			return solver.getDefaultRootNode();
+		}
+
+		public AddableInteger getDefaultRootCost() throws DefaultValuesUnsupportedException {
+			return solver.getDefaultRootCost();
+		}
+
+		public AddableInteger getTransitionCost(Position from, Position to) {
+			return solver.getTransitionCost(from, to);
+		}
+
+		public AddableInteger getEstimatedCost(Position p) {
+			return solver.getEstimatedCost(p);
+		}
+
+		/**
+		 * Adapter with integral costs sharing an expansion counter
+		 */
+		LongHeuristicFunction<Position> toLong() {
+			return new LongHeuristicFunction<Position>() {
+				public List<Position> expand(BackwardPathIterator<Position> iterator) {
+					return Counted.this.expand(iterator);
+				}
+
+				public Position getDefaultRootNode() throws DefaultValuesUnsupportedException {
+					return solver.getDefaultRootNode();
+				}
+
+				public long getDefaultRootCost() {
+					return 0;
+				}
+
+				public long getTransitionCost(Position from, Position to) {
+					return 1;
+				}
+
+				public long getEstimatedCost(Position p) {
+					return solver.getEstimatedCost(p).intValue();
+				}
+			};
+		}
+
+		/**
+		 * Adapter with floating-point costs sharing an expansion counter
+		 */
+		DoubleHeuristicFunction<Position> toDouble() {
+			return new DoubleHeuristicFunction<Position>() {
+				public List<Position> expand(BackwardPathIterator<Position> iterator) {
+					return Counted.this.expand(iterator);
+				}
+
+				public Position getDefaultRootNode() throws DefaultValuesUnsupportedException {
+					return solver.getDefaultRootNode();
+				}
+
+				public double getDefaultRootCost() {
+					return 0;
+				}
+
+				public double getTransitionCost(Position from, Position to) {
+					return 1;
+				}
+
+				public double getEstimatedCost(Position p) {
+					return solver.getEstimatedCost(p).intValue();
+				}
+			};
+		}
+
+		private final FifteensSolver solver;
+		long expanded = 0;
+
+	}
+
+}
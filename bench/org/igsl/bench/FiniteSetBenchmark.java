@@ -0,0 +1,101 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+package org.igsl.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.igsl.functor.generator.FiniteSetNodeGenerator;
+import org.igsl.functor.iterator.path.BackwardPathIterator;
+import org.igsl.traversal.linear.finite.FiniteSetTreeTraversal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Moves a finite set traversal by a fixed number of steps over a set of values with a trivial
+ * validation, so a search for a next unused value dominates a step. A set of more than 64 values
+ * takes several words of a bit mask.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+public class FiniteSetBenchmark {
+
+	@Param({"16", "70"})
+	public int values;
+
+	@Setup
+	public void setUp() {
+		generator = new Residues(values);
+	}
+
+	@Benchmark
+	public long step(Nodes nodes) {
+		FiniteSetTreeTraversal<Integer> tr = new FiniteSetTreeTraversal<Integer>(generator);
+		long result = 0;
+		int n = 0;
+
+		while(n < STEPS && !tr.isEmpty()) {
+			++n;
+
+			if(!tr.moveForward()) {
+				++result;
+				tr.backtrack();
+			}
+		}
+
+		nodes.add(n);
+
+		return result;
+	}
+
+	/**
+	 * Values from 0, a value may follow another one unless their sum is divisible by 3
+	 */
+	static class Residues implements FiniteSetNodeGenerator<Integer> {
+
+		Residues(int count) {
+			values = new Integer[count];
+
+			for(int i = 0; i < count; ++i) {
+				values[i] = i;
+			}
+		}
+
+		public Integer[] getAllValues() {
+			return values;
+		}
+
+		public int getMaxDepth() {
+			return values.length;
+		}
+
+		public boolean isValidTransition(Integer value, BackwardPathIterator<Integer> iterator) {
+			return !iterator.hasPreviousNode() || (iterator.previousNode() + value) % 3 != 0;
+		}
+
+		private final Integer[] values;
+
+	}
+
+	/**
+	 * Number of steps per operation
+	 */
+	private static final int STEPS = 1000000;
+
+	private Residues generator;
+
+}
@@ -0,0 +1,54 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+package org.igsl.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.igsl.app.golombruler.GolombRulerSolver;
+import org.igsl.app.golombruler.MutableInteger;
+import org.igsl.traversal.linear.IndefiniteDepthTreeTraversal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Enumerates all Golomb rulers with marks up to a maximal value by an indefinite depth traversal,
+ * with and without backtracking on a failed validation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+public class GolombRulerBenchmark {
+
+	@Param({"9", "17", "25"})
+	public int maxValue;
+
+	@Param({"false", "true"})
+	public boolean backtrackIfValidationFailed;
+
+	@Setup
+	public void setUp() {
+		solver = new GolombRulerSolver(maxValue);
+	}
+
+	@Benchmark
+	public long findAllSolutions(Nodes nodes) {
+		return Searches.all(new IndefiniteDepthTreeTraversal<MutableInteger>(solver, backtrackIfValidationFailed), nodes);
+	}
+
+	private GolombRulerSolver solver;
+
+}
@@ -0,0 +1,55 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+package org.igsl.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.igsl.app.hamiltonianpath.HamiltonianPathSolver;
+import org.igsl.traversal.linear.finite.FiniteSetTreeTraversal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Finds first Hamiltonian paths for waypoints placed at random by a fixed seed,
+ * so each run searches the same graph.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+public class HamiltonianPathBenchmark {
+
+	@Param({"8", "12", "16"})
+	public int waypoints;
+
+	@Param({"10", "1000"})
+	public int solutions;
+
+	@Setup
+	public void setUp() {
+		solver = Instances.hamiltonianPath(waypoints, SEED);
+	}
+
+	@Benchmark
+	public long findSolutions(Nodes nodes) {
+		return Searches.first(new FiniteSetTreeTraversal<String>(solver), solutions, nodes);
+	}
+
+	private static final long SEED = 2015;
+
+	private HamiltonianPathSolver solver;
+
+}
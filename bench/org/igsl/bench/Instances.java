@@ -0,0 +1,347 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+package org.igsl.bench;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.igsl.app.hamiltonianpath.HamiltonianPathSolver;
+import org.igsl.app.sudoku.SudokuSolver;
+import org.igsl.app.sudoku.Table;
+import org.igsl.app.tsp.TSPSolver;
+
+/**
+ * Seeded generators of problem instances for sample solvers. An instance depends only on its size
+ * and a seed, so benchmarks and their baselines are reproducible across runs and platforms.
+ */
+public final class Instances {
+
+	/**
+	 * Returns a terminal position of a sliding puzzle: an empty tile at a top left corner
+	 * followed by tiles in an ascending order
+	 *
+	 * @param dim number of rows and columns, 4 - Fifteens Puzzle, 5 - Twenty-Four Puzzle
+	 */
+	public static int[][] slidingPuzzle(int dim) {
+		int[][] result = new int[dim][dim];
+
+		for(int i = 0; i < dim * dim; ++i) {
+			result[i / dim][i % dim] = i;
+		}
+
+		return result;
+	}
+
+	/**
+	 * Scrambles a terminal position of a sliding puzzle by random moves of an empty tile,
+	 * a move back is not taken, so a position is solvable in at most a given number of moves
+	 *
+	 * @param dim number of rows and columns
+	 * @param moves number of moves
+	 * @param seed random seed
+	 * @throws IllegalArgumentException thrown if dimension is less than 2
+	 */
+	public static int[][] slidingPuzzle(int dim, int moves, long seed) throws IllegalArgumentException {
+		if(dim < 2) {
+			throw new IllegalArgumentException();
+		}
+
+		int[][] result = slidingPuzzle(dim);
+		Random random = new Random(seed);
+		int i0 = 0, j0 = 0, last = -1;
+
+		for(int m = 0; m < moves; ++m) {
+			int d, i, j;
+
+			do {
+				d = random.nextInt(4);
+				i = i0 + DI[d];
+				j = j0 + DJ[d];
+			} while(i < 0 || i >= dim || j < 0 || j >= dim || d == (last ^ 1));
+
+			result[i0][j0] = result[i][j];
+			result[i][j] = 0;
+			i0 = i;
+			j0 = j;
+			last = d;
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns a uniformly random solvable position of a sliding puzzle. Tiles are shuffled and,
+	 * if a permutation parity does not match a terminal one, two non-empty tiles are swapped.
+	 *
+	 * @param dim number of rows and columns
+	 * @param seed random seed
+	 * @throws IllegalArgumentException thrown if dimension is less than 2
+	 */
+	public static int[][] randomSlidingPuzzle(int dim, long seed) throws IllegalArgumentException {
+		if(dim < 2) {
+			throw new IllegalArgumentException();
+		}
+
+		int n = dim * dim;
+		int[] tiles = new int[n];
+
+		for(int i = 0; i < n; ++i) {
+			tiles[i] = i;
+		}
+
+		shuffle(tiles, new Random(seed));
+
+		if(!isSolvable(tiles, dim)) {
+			int a = (tiles[0] == 0) ? 1 : 0;
+			int b = (tiles[a + 1] == 0) ? a + 2 : a + 1;
+			int t = tiles[a];
+			tiles[a] = tiles[b];
+			tiles[b] = t;
+		}
+
+		int[][] result = new int[dim][dim];
+
+		for(int i = 0; i < n; ++i) {
+			result[i / dim][i % dim] = tiles[i];
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns a Sudoku grid with a number of given cells, other cells are zero. A complete grid
+	 * is built from a pattern by shuffles of rows within bands, columns within stacks, bands,
+	 * stacks and digits, then cells are cleared in a random order. A grid always has a solution,
+	 * but it is not checked to be unique.
+	 *
+	 * @param dim box size, 3 - a classic grid of 9 rows and columns
+	 * @param givens number of given cells
+	 * @param seed random seed
+	 * @throws IllegalArgumentException thrown if box size is less than 1 or givens are out of a grid size
+	 */
+	public static int[][] sudoku(int dim, int givens, long seed) throws IllegalArgumentException {
+		int n = dim * dim;
+
+		if(dim < 1 || givens < 0 || givens > n * n) {
+			throw new IllegalArgumentException();
+		}
+
+		Random random = new Random(seed);
+		int[] rows = shuffleBands(dim, random);
+		int[] columns = shuffleBands(dim, random);
+		int[] digits = new int[n];
+
+		for(int i = 0; i < n; ++i) {
+			digits[i] = i + 1;
+		}
+
+		shuffle(digits, random);
+
+		int[][] result = new int[n][n];
+
+		for(int i = 0; i < n; ++i) {
+			for(int j = 0; j < n; ++j) {
+				int r = rows[i], c = columns[j];
+				result[i][j] = digits[(dim * (r % dim) + r / dim + c) % n];
+			}
+		}
+
+		int[] cells = new int[n * n];
+
+		for(int i = 0; i < cells.length; ++i) {
+			cells[i] = i;
+		}
+
+		shuffle(cells, random);
+
+		for(int i = givens; i < cells.length; ++i) {
+			result[cells[i] / n][cells[i] % n] = 0;
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns a root table for a Sudoku solver with given cells of a grid, null - if a grid is empty
+	 *
+	 * @param solver Sudoku solver
+	 * @param grid grid with zero for an empty cell
+	 */
+	public static Table sudoku(SudokuSolver solver, int[][] grid) {
+		Table result = null;
+
+		for(int i = 0; i < grid.length; ++i) {
+			for(int j = 0; j < grid[i].length; ++j) {
+				if(grid[i][j] != 0) {
+					result = (result == null) ? solver.fillCell(i + 1, j + 1, grid[i][j])
+						: solver.fillCell(i + 1, j + 1, grid[i][j], result);
+				}
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns waypoints placed uniformly at random in a unit square, a waypoint is
+	 * a pair of x- and y-coordinates
+	 *
+	 * @param count number of waypoints
+	 * @param seed random seed
+	 */
+	public static double[][] waypoints(int count, long seed) {
+		Random random = new Random(seed);
+		double[][] result = new double[count][2];
+
+		for(int i = 0; i < count; ++i) {
+			result[i][0] = random.nextDouble();
+			result[i][1] = random.nextDouble();
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns a Hamiltonian path solver with random waypoints named "w0", "w1" and so on
+	 *
+	 * @param count number of waypoints
+	 * @param seed random seed
+	 */
+	public static HamiltonianPathSolver hamiltonianPath(int count, long seed) {
+		HamiltonianPathSolver result = new HamiltonianPathSolver();
+		double[][] w = waypoints(count, seed);
+
+		for(int i = 0; i < count; ++i) {
+			result.addWaypoint("w" + i, w[i][0], w[i][1]);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns a traveling salesman solver with random waypoints named "w0", "w1" and so on
+	 *
+	 * @param count number of waypoints
+	 * @param seed random seed
+	 */
+	public static TSPSolver tsp(int count, long seed) {
+		TSPSolver result = new TSPSolver();
+		double[][] w = waypoints(count, seed);
+
+		for(int i = 0; i < count; ++i) {
+			result.addWaypoint("w" + i, w[i][0], w[i][1]);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns distinct coin denominations in a descending order. A least denomination is 2 or more,
+	 * so a value could be unreachable, that is a valid instance for an exhaustive search.
+	 *
+	 * @param count number of denominations
+	 * @param max maximal denomination
+	 * @param seed random seed
+	 * @throws IllegalArgumentException thrown if there are less than count values from 2 to max
+	 */
+	public static int[] coins(int count, int max, long seed) throws IllegalArgumentException {
+		if(count < 0 || count > max - 1) {
+			throw new IllegalArgumentException();
+		}
+
+		int[] values = new int[max - 1];
+
+		for(int i = 0; i < values.length; ++i) {
+			values[i] = i + 2;
+		}
+
+		shuffle(values, new Random(seed));
+
+		int[] result = new int[count];
+		System.arraycopy(values, 0, result, 0, count);
+		Arrays.sort(result);
+
+		for(int i = 0; i < count / 2; ++i) {
+			int t = result[i];
+			result[i] = result[count - 1 - i];
+			result[count - 1 - i] = t;
+		}
+
+		return result;
+	}
+
+	/**
+	 * Fisher-Yates shuffle of an array
+	 */
+	private static void shuffle(int[] a, Random random) {
+		for(int i = a.length - 1; i > 0; --i) {
+			int j = random.nextInt(i + 1);
+			int t = a[i];
+			a[i] = a[j];
+			a[j] = t;
+		}
+	}
+
+	/**
+	 * Returns a permutation of grid lines keeping lines of a band together
+	 */
+	private static int[] shuffleBands(int dim, Random random) {
+		int[] bands = new int[dim];
+
+		for(int i = 0; i < dim; ++i) {
+			bands[i] = i;
+		}
+
+		shuffle(bands, random);
+
+		int[] result = new int[dim * dim];
+		int[] lines = new int[dim];
+
+		for(int b = 0; b < dim; ++b) {
+			for(int i = 0; i < dim; ++i) {
+				lines[i] = i;
+			}
+
+			shuffle(lines, random);
+
+			for(int i = 0; i < dim; ++i) {
+				result[b * dim + i] = bands[b] * dim + lines[i];
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Checks if a position with tiles in a row-major order could be moved to a terminal one.
+	 * For an odd dimension a number of inversions is even, for an even dimension a number of inversions
+	 * plus a row of an empty tile is even, as it is for a terminal position with an empty tile in a first row.
+	 */
+	private static boolean isSolvable(int[] tiles, int dim) {
+		int inversions = 0, row = 0;
+
+		for(int i = 0; i < tiles.length; ++i) {
+			if(tiles[i] == 0) {
+				row = i / dim;
+				continue;
+			}
+
+			for(int j = i + 1; j < tiles.length; ++j) {
+				if(tiles[j] != 0 && tiles[j] < tiles[i]) {
+					++inversions;
+				}
+			}
+		}
+
+		return ((dim % 2 == 1) ? inversions : inversions + row) % 2 == 0;
+	}
+
+	private static final int[] DI = new int[] {-1, 1, 0, 0};
+	private static final int[] DJ = new int[] {0, 0, -1, 1};
+
+	private Instances() {
+	}
+
+}
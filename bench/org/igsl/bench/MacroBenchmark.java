@@ -0,0 +1,361 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+package org.igsl.bench;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.igsl.algorithm.Direct;
+import org.igsl.algorithm.auxiliary.Incumbent;
+import org.igsl.algorithm.auxiliary.SearchBudget;
+import org.igsl.app.coinproblem.variant3.CoinProblemSolver;
+import org.igsl.app.coinproblem.variant3.Denomination;
+import org.igsl.app.fifteens.FifteensSolver;
+import org.igsl.app.fifteens.PerfectPositionHash;
+import org.igsl.app.fifteens.Position;
+import org.igsl.app.hamiltonianpath.HamiltonianPathSolver;
+import org.igsl.app.sudoku.SudokuSolver;
+import org.igsl.app.sudoku.Table;
+import org.igsl.app.tsp.TSPSolver;
+import org.igsl.cost.AddableDouble;
+import org.igsl.cost.AddableInteger;
+import org.igsl.functor.exception.BudgetExhaustedException;
+import org.igsl.functor.exception.DefaultValuesUnsupportedException;
+import org.igsl.functor.exception.EmptyTraversalException;
+import org.igsl.traversal.TreeTraversal;
+import org.igsl.traversal.closed.DirectClosedSet;
+import org.igsl.traversal.exponential.AStarClosedSetTreeTraversal;
+import org.igsl.traversal.exponential.AStarLongCostTreeTraversal;
+import org.igsl.traversal.exponential.AStarTreeTraversal;
+import org.igsl.traversal.exponential.BestFirstCostTreeTraversal;
+import org.igsl.traversal.exponential.BidirectionalAStarTreeTraversal;
+import org.igsl.traversal.exponential.BidirectionalBreadthFirstTreeTraversal;
+import org.igsl.traversal.exponential.BreadthFirstTreeTraversal;
+import org.igsl.traversal.linear.DepthFirstCostTreeTraversal;
+import org.igsl.traversal.linear.DepthFirstTreeTraversal;
+import org.igsl.traversal.linear.RecursiveBestFirstTreeTraversal;
+import org.igsl.traversal.linear.finite.FiniteDepthTreeTraversal;
+import org.igsl.traversal.linear.finite.FiniteSetTreeTraversal;
+
+/**
+ * Macro workload suite. Instances of each problem are generated by <code>Instances</code> for a sweep
+ * of sizes and seeds, each instance is searched by every engine applicable to a problem with a budget
+ * on time, nodes and frontier size. A line of CSV is written per search with a status, a time, a number
+ * of node expansions and a peak heap memory used by a search above a heap used before it.
+ * A status is "solved", "exhausted" if there is no solution, or a budget limit exceeded: "nodes", "time"
+ * or "frontier". Unlike JMH benchmarks a search is run once, so a suite shows how engines scale
+ * with a size of an instance rather than a steady-state throughput.
+ * <p>
+ * Arguments: CSV file, "bench/macro.csv" by default; time limit per search in milliseconds, 5000 by default;
+ * number of seeds per size, 3 by default; maximal number of nodes per search, unlimited by default.
+ */
+public class MacroBenchmark {
+
+	public static void main(String[] args) throws IOException, DefaultValuesUnsupportedException {
+		String file = (args.length > 0) ? args[0] : "bench/macro.csv";
+		long timeout = (args.length > 1) ? Long.parseLong(args[1]) : 5000;
+		int seeds = (args.length > 2) ? Integer.parseInt(args[2]) : 3;
+		long maxNodes = (args.length > 3) ? Long.parseLong(args[3]) : SearchBudget.UNLIMITED;
+
+		PrintWriter out = new PrintWriter(new FileWriter(file));
+
+		try {
+			out.println("problem,size,seed,engine,status,time_ms,nodes,peak_bytes");
+
+			for(int i = 0; i < PUZZLE_MOVES.length; ++i) {
+				for(int seed = 0; seed < seeds; ++seed) {
+					run(out, "fifteens", PUZZLE_MOVES[i], seed, slidingPuzzle(4, PUZZLE_MOVES[i], seed), timeout, maxNodes);
+				}
+			}
+
+			for(int i = 0; i < PUZZLE_MOVES.length; ++i) {
+				for(int seed = 0; seed < seeds; ++seed) {
+					run(out, "twentyfour", PUZZLE_MOVES[i], seed, slidingPuzzle(5, PUZZLE_MOVES[i], seed), timeout, maxNodes);
+				}
+			}
+
+			for(int i = 0; i < SUDOKU_GIVENS.length; ++i) {
+				for(int seed = 0; seed < seeds; ++seed) {
+					run(out, "sudoku", SUDOKU_GIVENS[i], seed, sudoku(SUDOKU_GIVENS[i], seed), timeout, maxNodes);
+				}
+			}
+
+			for(int i = 0; i < WAYPOINTS.length; ++i) {
+				for(int seed = 0; seed < seeds; ++seed) {
+					run(out, "hamiltonianpath", WAYPOINTS[i], seed, hamiltonianPath(WAYPOINTS[i], seed), timeout, maxNodes);
+					run(out, "tsp", WAYPOINTS[i], seed, tsp(WAYPOINTS[i], seed), timeout, maxNodes);
+				}
+			}
+
+			for(int i = 0; i < DENOMINATIONS.length; ++i) {
+				for(int seed = 0; seed < seeds; ++seed) {
+					run(out, "coins", DENOMINATIONS[i], seed, coins(DENOMINATIONS[i], seed), timeout, maxNodes);
+				}
+			}
+		} finally {
+			out.close();
+		}
+	}
+
+	/**
+	 * Searches an instance by each engine and writes results
+	 */
+	private static void run(PrintWriter out, String problem, int size, long seed, List<Engine> engines,
+		long timeout, long maxNodes) throws DefaultValuesUnsupportedException
+	{
+		for(int i = 0; i < engines.size(); ++i) {
+			Engine engine = engines.get(i);
+
+			System.gc();
+			long base = resetPeakUsage();
+			SearchBudget budget = new SearchBudget(maxNodes, timeout, MAX_FRONTIER);
+			String status;
+			long time = System.nanoTime();
+
+			try {
+				status = engine.search(budget) ? "solved" : "exhausted";
+			} catch(EmptyTraversalException e) {
+				status = "exhausted";
+			} catch(BudgetExhaustedException e) {
+				status = REASONS[e.getReason()];
+			}
+
+			time = (System.nanoTime() - time) / 1000000;
+			long peak = Math.max(0, getPeakUsage() - base);
+
+			out.println(problem + "," + size + "," + seed + "," + engine.name + "," + status + "," +
+				time + "," + budget.getNodes() + "," + peak);
+			out.flush();
+			System.out.println(problem + " " + size + " " + seed + " " + engine.name + ": " + status +
+				", " + time + " ms, " + budget.getNodes() + " nodes");
+		}
+	}
+
+	private static List<Engine> slidingPuzzle(int dim, int moves, long seed) {
+		final Position root = new Position(Instances.slidingPuzzle(dim, moves, seed));
+		final FifteensSolver solver = new FifteensSolver(new Position(Instances.slidingPuzzle(dim)));
+		List<Engine> result = new ArrayList<Engine>();
+
+		result.add(new Engine("aStar") {
+			boolean search(SearchBudget budget) {
+				return search(new AStarTreeTraversal<Position,AddableInteger>(root, new AddableInteger(0), solver), budget);
+			}
+		});
+
+		result.add(new Engine("aStarLongBuckets") {
+			boolean search(SearchBudget budget) {
+				return search(new AStarLongCostTreeTraversal<Position>(root, 0,
+					new FifteensBenchmark.Counted(solver).toLong(), true), budget);
+			}
+		});
+
+		if(dim <= 4) {
+			final PerfectPositionHash hash = new PerfectPositionHash(dim);
+
+			result.add(new Engine("aStarDirect") {
+				boolean search(SearchBudget budget) {
+					return search(new AStarClosedSetTreeTraversal<Position>(root, 0,
+						new FifteensBenchmark.Counted(solver).toLong(), hash, new DirectClosedSet(), true), budget);
+				}
+			});
+		}
+
+		result.add(new Engine("recursiveBestFirst") {
+			boolean search(SearchBudget budget) {
+				return search(new RecursiveBestFirstTreeTraversal<Position,AddableInteger>(root, new AddableInteger(0), solver),
+					budget);
+			}
+		});
+
+		result.add(new Engine("bestFirst") {
+			boolean search(SearchBudget budget) {
+				return search(new BestFirstCostTreeTraversal<Position,AddableInteger>(root, new AddableInteger(0), solver),
+					budget);
+			}
+		});
+
+		result.add(new Engine("breadthFirst") {
+			boolean search(SearchBudget budget) {
+				return search(new BreadthFirstTreeTraversal<Position>(root, solver), budget);
+			}
+		});
+
+		result.add(new Engine("bidirectionalAStar") {
+			boolean search(SearchBudget budget) {
+				return search(new BidirectionalAStarTreeTraversal<Position,AddableInteger>(root, new AddableInteger(0), solver),
+					budget);
+			}
+		});
+
+		result.add(new Engine("bidirectionalBreadthFirst") {
+			boolean search(SearchBudget budget) {
+				return search(new BidirectionalBreadthFirstTreeTraversal<Position>(root, solver), budget);
+			}
+		});
+
+		return result;
+	}
+
+	private static List<Engine> sudoku(int givens, long seed) {
+		final SudokuSolver solver = new SudokuSolver(3);
+		final Table root = Instances.sudoku(solver, Instances.sudoku(3, givens, seed));
+		List<Engine> result = new ArrayList<Engine>();
+
+		result.add(new Engine("depthFirst") {
+			boolean search(SearchBudget budget) {
+				return search(new DepthFirstTreeTraversal<Table>(root, solver), budget);
+			}
+		});
+
+		result.add(new Engine("breadthFirst") {
+			boolean search(SearchBudget budget) {
+				return search(new BreadthFirstTreeTraversal<Table>(root, solver), budget);
+			}
+		});
+
+		return result;
+	}
+
+	private static List<Engine> hamiltonianPath(int count, long seed) {
+		final HamiltonianPathSolver solver = Instances.hamiltonianPath(count, seed);
+		List<Engine> result = new ArrayList<Engine>();
+
+		result.add(new Engine("finiteSet") {
+			boolean search(SearchBudget budget) {
+				return search(new FiniteSetTreeTraversal<String>(solver), budget);
+			}
+		});
+
+		return result;
+	}
+
+	private static List<Engine> tsp(int count, long seed) {
+		final TSPSolver solver = Instances.tsp(count, seed);
+		List<Engine> result = new ArrayList<Engine>();
+
+		result.add(new Engine("finiteSet") {
+			boolean search(SearchBudget budget) {
+				return search(new FiniteSetTreeTraversal<String>(solver), budget);
+			}
+		});
+
+		result.add(new Engine("branchAndBound") {
+			boolean search(SearchBudget budget) throws DefaultValuesUnsupportedException {
+				Incumbent<String,AddableDouble> incumbent = new Incumbent<String,AddableDouble>();
+				Direct.branchAndBound(new DepthFirstCostTreeTraversal<String,AddableDouble>(solver), incumbent, budget);
+				return incumbent.getPath() != null;
+			}
+		});
+
+		return result;
+	}
+
+	private static List<Engine> coins(int count, long seed) {
+		final CoinProblemSolver solver = new CoinProblemSolver(Instances.coins(count, MAX_DENOMINATION, seed), COINS_VALUE);
+		List<Engine> result = new ArrayList<Engine>();
+
+		result.add(new Engine("finiteDepth") {
+			boolean search(SearchBudget budget) {
+				return search(new FiniteDepthTreeTraversal<Denomination>(solver), budget);
+			}
+		});
+
+		return result;
+	}
+
+	/**
+	 * Resets peak usages of heap memory pools and returns a heap used now
+	 */
+	private static long resetPeakUsage() {
+		long result = 0;
+
+		for(MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if(pool.getType() == MemoryType.HEAP) {
+				pool.resetPeakUsage();
+				result += pool.getUsage().getUsed();
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns a sum of peak usages of heap memory pools since a last reset
+	 */
+	private static long getPeakUsage() {
+		long result = 0;
+
+		for(MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if(pool.getType() == MemoryType.HEAP) {
+				result += pool.getPeakUsage().getUsed();
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Scramble lengths of sliding puzzles
+	 */
+	private static final int[] PUZZLE_MOVES = new int[] {10, 20, 30, 40, 60};
+
+	/**
+	 * Numbers of given cells of Sudoku grids
+	 */
+	private static final int[] SUDOKU_GIVENS = new int[] {45, 35, 30, 25};
+
+	/**
+	 * Numbers of waypoints of Hamiltonian path and traveling salesman problems
+	 */
+	private static final int[] WAYPOINTS = new int[] {6, 8, 10, 12, 16};
+
+	/**
+	 * Numbers of coin denominations
+	 */
+	private static final int[] DENOMINATIONS = new int[] {3, 4, 5, 6};
+
+	private static final int MAX_DENOMINATION = 40;
+	private static final int COINS_VALUE = 997;
+	private static final long MAX_FRONTIER = 1 << 22;
+
+	/**
+	 * Statuses by reasons of <code>BudgetExhaustedException</code>
+	 */
+	private static final String[] REASONS = new String[] {"nodes", "time", "frontier", "cancelled"};
+
+	/**
+	 * Engine searching an instance, a new traversal is created for each search
+	 */
+	private static abstract class Engine {
+
+		Engine(String name) {
+			this.name = name;
+		}
+
+		/**
+		 * Searches an instance within a budget
+		 *
+		 * @return true - a solution is found, false - there is no solution
+		 * @throws BudgetExhaustedException thrown if a budget is exhausted
+		 * @throws DefaultValuesUnsupportedException thrown if a root node is not given and there is no default one
+		 */
+		abstract boolean search(SearchBudget budget) throws BudgetExhaustedException, DefaultValuesUnsupportedException;
+
+		static <T> boolean search(TreeTraversal<T> tr, SearchBudget budget) {
+			Direct.searchForward(tr, budget);
+			return !tr.isEmpty();
+		}
+
+		final String name;
+
+	}
+
+}
@@ -0,0 +1,39 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+package org.igsl.bench;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Number of nodes visited by a benchmark. Counters of operations type are reported by JMH
+ * as a rate along with a primary result, so a throughput is given in nodes per second.
+ * A node is counted once per a <code>moveForward</code> call, which expands it or finds it a goal one.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class Nodes {
+
+	/**
+	 * Resets a counter before each iteration
+	 */
+	@Setup(Level.Iteration)
+	public void reset() {
+		nodes = 0;
+	}
+
+	/**
+	 * Adds a number of nodes visited
+	 */
+	public void add(long n) {
+		nodes += n;
+	}
+
+	public long nodes;
+
+}
@@ -0,0 +1,69 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+package org.igsl.bench;
+
+import org.igsl.functor.exception.EmptyTraversalException;
+import org.igsl.traversal.TreeTraversal;
+
+/**
+ * Search loops shared by benchmarks. Nodes are counted by a loop itself rather than by a listener,
+ * so a traversal is measured without instrumentation overhead.
+ */
+class Searches {
+
+	/**
+	 * Moves a traversal until a first goal node is found or a traversal is empty
+	 *
+	 * @return true - a goal node is found, false - search space is exhausted
+	 */
+	static <T> boolean first(TreeTraversal<T> tr, Nodes nodes) {
+		long n = 0;
+
+		try {
+			while(!tr.isEmpty()) {
+				++n;
+
+				if(!tr.moveForward()) {
+					return !tr.isEmpty();
+				}
+			}
+
+			return false;
+		} finally {
+			nodes.add(n);
+		}
+	}
+
+	/**
+	 * Moves a traversal until a number of goal nodes are found or a traversal is empty
+	 *
+	 * @return number of goal nodes found
+	 */
+	static <T> long first(TreeTraversal<T> tr, int solutions, Nodes nodes) {
+		long result = 0;
+
+		while(result < solutions && first(tr, nodes)) {
+			++result;
+
+			try {
+				tr.backtrack();
+			} catch(EmptyTraversalException e) {
+				break;
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Moves a traversal until a search space is exhausted
+	 *
+	 * @return number of goal nodes found
+	 */
+	static <T> long all(TreeTraversal<T> tr, Nodes nodes) {
+		return first(tr, Integer.MAX_VALUE, nodes);
+	}
+
+}
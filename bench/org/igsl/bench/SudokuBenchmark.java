@@ -0,0 +1,78 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+package org.igsl.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.igsl.app.sudoku.SudokuSolver;
+import org.igsl.app.sudoku.Table;
+import org.igsl.traversal.TreeTraversal;
+import org.igsl.traversal.exponential.BreadthFirstTreeTraversal;
+import org.igsl.traversal.linear.DepthFirstTreeTraversal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Fills a classic Sudoku grid with a number of given cells cleared at random by a fixed seed.
+ * A solver fills a first free cell with every admissible digit, so fewer givens make a tree wider
+ * and deeper. A grid always has a solution, so a search without a filled grid is not measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+public class SudokuBenchmark {
+
+	@Param({"45", "35", "30"})
+	public int givens;
+
+	@Param({"depthFirst", "breadthFirst"})
+	public String traversal;
+
+	@Setup
+	public void setUp() {
+		solver = new SudokuSolver(DIM);
+		root = Instances.sudoku(solver, Instances.sudoku(DIM, givens, SEED));
+	}
+
+	@Benchmark
+	public Table solve(Nodes nodes) {
+		TreeTraversal<Table> tr;
+
+		if(traversal.equals("depthFirst")) {
+			tr = new DepthFirstTreeTraversal<Table>(root, solver);
+		} else if(traversal.equals("breadthFirst")) {
+			tr = new BreadthFirstTreeTraversal<Table>(root, solver);
+		} else {
+			throw new IllegalArgumentException(traversal);
+		}
+
+		Table result = Searches.first(tr, nodes) ? tr.getPath().previousNode() : null;
+
+		if(result == null || !solver.isGoal(result)) {
+			throw new IllegalStateException(traversal + " search did not fill a grid of " + givens + " givens");
+		}
+
+		return result;
+	}
+
+	private static final int DIM = 3;
+	private static final long SEED = 2015;
+
+	private SudokuSolver solver;
+	private Table root;
+
+}
@@ -0,0 +1,592 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+package org.igsl.algorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.igsl.algorithm.auxiliary.Incumbent;
+import org.igsl.algorithm.auxiliary.Pair;
+import org.igsl.algorithm.auxiliary.SolutionSink;
+import org.igsl.cost.Addable;
+import org.igsl.cost.Costs;
+import org.igsl.functor.iterator.path.Paths;
+import org.igsl.traversal.Copyable;
+import org.igsl.traversal.CostTreeTraversal;
+import org.igsl.traversal.Splitable;
+import org.igsl.traversal.TreeTraversal;
+
+/**
+ * Class containing concurrent graph search methods. A traversal is searched by a task in a fork/join pool,
+ * a task running out of work in its queue splits its traversal and forks a task for a split part,
+ * so idle workers steal the largest unexplored subtrees. Solutions are passed to a shared sink.
+ */
+public final class Concurrent {
+
+	/**
+	 * Concurrent version of <code>Direct.searchForward</code> looking for all solutions in a search space
+	 * until a sink requests to stop. A new pool with a parallelism equal to a number of processors is used.
+	 *
+	 * @param <T> type of the node
+	 * @param <Tr> type of the traversal
+	 * @param tr search tree traversal
+	 * @param sink receiver of solutions, called concurrently
+	 * @throws NullPointerException thrown if traversal or sink is null
+	 */
+	public static <T,Tr extends TreeTraversal<T> & Splitable<Tr>> void searchForward(Tr tr, SolutionSink<T> sink)
+		throws NullPointerException
+	{
+		ForkJoinPool pool = new ForkJoinPool();
+
+		try {
+			searchForward(tr, sink, pool);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Concurrent version of <code>Direct.searchForward</code> looking for all solutions in a search space
+	 * until a sink requests to stop.
+	 *
+	 * @param <T> type of the node
+	 * @param <Tr> type of the traversal
+	 * @param tr search tree traversal
+	 * @param sink receiver of solutions, called concurrently
+	 * @param pool fork/join pool to run search tasks
+	 * @throws NullPointerException thrown if traversal, sink or pool is null
+	 */
+	public static <T,Tr extends TreeTraversal<T> & Splitable<Tr>> void searchForward(Tr tr, SolutionSink<T> sink,
+		ForkJoinPool pool) throws NullPointerException
+	{
+		if(tr == null || sink == null || pool == null) {
+			throw new NullPointerException();
+		}
+
+		pool.invoke(new ForwardTask<T,Tr>(tr, new AtomicBoolean(false), new int[0], sink));
+	}
+
+	/**
+	 * Concurrent version of <code>Direct.searchForward</code> stopping on the first solution found.
+	 * Since subtrees are searched simultaneously the solution is not necessarily the one
+	 * found by a sequential search.
+	 *
+	 * @param <T> type of the node
+	 * @param <Tr> type of the traversal
+	 * @param tr search tree traversal
+	 * @return list of node values from a root node to a goal node, null - if there is no solution
+	 * @throws NullPointerException thrown if traversal is null
+	 */
+	public static <T,Tr extends TreeTraversal<T> & Splitable<Tr>> List<T> searchForward(Tr tr)
+		throws NullPointerException
+	{
+		final AtomicReference<List<T>> result = new AtomicReference<List<T>>();
+
+		searchForward(tr, new SolutionSink<T>() {
+			public boolean accept(List<T> path) {
+				result.compareAndSet(null, path);
+				return false;
+			}
+		});
+
+		return result.get();
+	}
+
+	/**
+	 * Concurrent version of <code>Direct.countSolutions</code>. Each task counts solutions and nodes
+	 * in its own counters, which are summed once a task is finished.
+	 * A new pool with a parallelism equal to a number of processors is used.
+	 *
+	 * @param <T> type of the node
+	 * @param <Tr> type of the traversal
+	 * @param tr search tree traversal
+	 * @param nodes array of node counters by depth as for <code>Direct.countSolutions</code>,
+	 * null - nodes are not counted
+	 * @return number of goal nodes found
+	 * @throws NullPointerException thrown if traversal is null
+	 */
+	public static <T,Tr extends TreeTraversal<T> & Splitable<Tr>> long countSolutions(Tr tr, long[] nodes)
+		throws NullPointerException
+	{
+		ForkJoinPool pool = new ForkJoinPool();
+
+		try {
+			return countSolutions(tr, nodes, pool);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Concurrent version of <code>Direct.countSolutions</code>. Each task counts solutions and nodes
+	 * in its own counters, which are summed once a task is finished.
+	 *
+	 * @param <T> type of the node
+	 * @param <Tr> type of the traversal
+	 * @param tr search tree traversal
+	 * @param nodes array of node counters by depth as for <code>Direct.countSolutions</code>,
+	 * null - nodes are not counted
+	 * @param pool fork/join pool to run search tasks
+	 * @return number of goal nodes found
+	 * @throws NullPointerException thrown if traversal or pool is null
+	 */
+	public static <T,Tr extends TreeTraversal<T> & Splitable<Tr>> long countSolutions(Tr tr, long[] nodes,
+		ForkJoinPool pool) throws NullPointerException
+	{
+		if(tr == null || pool == null) {
+			throw new NullPointerException();
+		}
+
+		AtomicLong result = new AtomicLong();
+		pool.invoke(new CountTask<T,Tr>(tr, new AtomicBoolean(false), new int[0], result, nodes));
+
+		return result.get();
+	}
+
+	/**
+	 * Concurrent branch-and-bound - a technique to find best-by-cost solution. Subtrees are searched
+	 * by several workers, each of them prunes nodes with a cost not less than a cost of a best solution
+	 * found so far by any worker. Transition costs are supposed to be non-negative.
+	 * A new pool with a parallelism equal to a number of processors is used.
+	 *
+	 * @param <T> type of the node
+	 * @param <C> type of the cost
+	 * @param <Tr> type of the traversal
+	 * @param tr search tree traversal
+	 * @return best solution with its cost and a number of nodes pruned
+	 * @throws NullPointerException thrown if traversal is null
+	 */
+	public static <T,C extends Addable<C> & Comparable<C>,Tr extends CostTreeTraversal<T,C> & Splitable<Tr>>
+		Incumbent<T,C> branchAndBound(Tr tr) throws NullPointerException
+	{
+		ForkJoinPool pool = new ForkJoinPool();
+
+		try {
+			return branchAndBound(tr, pool);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Concurrent branch-and-bound - a technique to find best-by-cost solution. Subtrees are searched
+	 * by several workers, each of them prunes nodes with a cost not less than a cost of a best solution
+	 * found so far by any worker. Transition costs are supposed to be non-negative.
+	 *
+	 * @param <T> type of the node
+	 * @param <C> type of the cost
+	 * @param <Tr> type of the traversal
+	 * @param tr search tree traversal
+	 * @param pool fork/join pool to run search tasks
+	 * @return best solution with its cost and a number of nodes pruned
+	 * @throws NullPointerException thrown if traversal or pool is null
+	 */
+	public static <T,C extends Addable<C> & Comparable<C>,Tr extends CostTreeTraversal<T,C> & Splitable<Tr>>
+		Incumbent<T,C> branchAndBound(Tr tr, ForkJoinPool pool) throws NullPointerException
+	{
+		if(tr == null || pool == null) {
+			throw new NullPointerException();
+		}
+
+		Incumbent<T,C> result = new Incumbent<T,C>();
+		pool.invoke(new BoundTask<T,C,Tr>(tr, new AtomicBoolean(false), new int[0], result));
+
+		return result;
+	}
+
+	/**
+	 * Concurrent version of <code>Iterative.deepenIteratively</code> for a cost traversal (IDA*).
+	 * Subtrees of an iteration are searched by several workers, a minimal cost exceeding a threshold
+	 * is reduced over all of them to get a threshold of the next iteration.
+	 * Among solutions found within an iteration the one that is first in a depth-first order
+	 * is returned, so the result is the same as the one of a sequential search.
+	 * A new pool with a parallelism equal to a number of processors is used.
+	 *
+	 * @param <T> type of the node
+	 * @param <C> type of the cost
+	 * @param <Tr> type of the traversal
+	 * @param tr search tree traversal, it is not modified
+	 * @return list of node values on an optimal path from a root node to a goal node, null - if no path found
+	 * @throws NullPointerException thrown if traversal is null
+	 */
+	public static <T,C extends Addable<C> & Comparable<C>,
+		Tr extends CostTreeTraversal<T,C> & Copyable<Tr> & Splitable<Tr>> List<T> deepenIteratively(Tr tr)
+		throws NullPointerException
+	{
+		ForkJoinPool pool = new ForkJoinPool();
+
+		try {
+			return deepenIteratively(tr, pool);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Concurrent version of <code>Iterative.deepenIteratively</code> for a cost traversal (IDA*).
+	 * Subtrees of an iteration are searched by several workers, a minimal cost exceeding a threshold
+	 * is reduced over all of them to get a threshold of the next iteration.
+	 * Among solutions found within an iteration the one that is first in a depth-first order
+	 * is returned, so the result is the same as the one of a sequential search.
+	 *
+	 * @param <T> type of the node
+	 * @param <C> type of the cost
+	 * @param <Tr> type of the traversal
+	 * @param tr search tree traversal, it is not modified
+	 * @param pool fork/join pool to run search tasks
+	 * @return list of node values on an optimal path from a root node to a goal node, null - if no path found
+	 * @throws NullPointerException thrown if traversal or pool is null
+	 */
+	public static <T,C extends Addable<C> & Comparable<C>,
+		Tr extends CostTreeTraversal<T,C> & Copyable<Tr> & Splitable<Tr>> List<T> deepenIteratively(Tr tr,
+		ForkJoinPool pool) throws NullPointerException
+	{
+		if(tr == null || pool == null) {
+			throw new NullPointerException();
+		}
+
+		if(tr.isEmpty()) {
+			return null;
+		}
+
+		C thresh = tr.getCost();
+		do {
+			Iteration<T,C> iteration = new Iteration<T,C>(thresh);
+			pool.invoke(new DeepeningTask<T,C,Tr>(tr.getCopyOf(), new AtomicBoolean(false), new int[0], iteration));
+
+			Pair<int[],List<T>> solution = iteration.solution.get();
+
+			if(solution != null) {
+				return solution.getSecond();
+			} else if(iteration.nextThresh.get() == null) {
+				return null;
+			}
+
+			thresh = iteration.nextThresh.get();
+		} while(true);
+	}
+
+	private Concurrent() {}
+
+	/**
+	 * Compares keys of tasks by a depth-first order of their subtrees,
+	 * a key is less than keys of tasks split from its task
+	 */
+	private static int compareKeys(int[] key1, int[] key2) {
+		int length = Math.min(key1.length, key2.length);
+
+		for(int i = 0; i < length; ++i) {
+			if(key1[i] != key2[i]) {
+				return (key1[i] < key2[i]) ? -1 : 1;
+			}
+		}
+
+		return (key1.length < key2.length) ? -1 : ((key1.length == key2.length) ? 0 : 1);
+	}
+
+	/**
+	 * Number of steps between checks of a worker queue
+	 */
+	private static final int SPLIT_INTERVAL = 16;
+
+	/**
+	 * Shared state of an iteration of a concurrent iterative deepening
+	 */
+	private static class Iteration<T,C extends Comparable<C>> {
+
+		Iteration(C thresh) {
+			this.thresh = thresh;
+		}
+
+		final C thresh;
+		final AtomicReference<C> nextThresh = new AtomicReference<C>();
+		final AtomicReference<Pair<int[],List<T>>> solution = new AtomicReference<Pair<int[],List<T>>>();
+
+	}
+
+	/**
+	 * Task searching a traversal until it is empty or a stop flag is set.
+	 * A traversal is split when a worker queue is empty, a split part is searched by a forked task.
+	 * Since a split part is searched last by a depth-first traversal, a task split later
+	 * precedes a task split earlier in a depth-first order. Task keys reflect this order.
+	 */
+	private static abstract class SearchTask<T,Tr extends TreeTraversal<T> & Splitable<Tr>> extends RecursiveAction {
+
+		SearchTask(Tr tr, AtomicBoolean stop, int[] key) {
+			this.tr = tr;
+			this.stop = stop;
+			this.key = key;
+		}
+
+		protected void compute() {
+			ArrayList<SearchTask<T,Tr>> forked = new ArrayList<SearchTask<T,Tr>>();
+			int steps = 0;
+
+			while(!tr.isEmpty() && !stop.get() && step()) {
+				if(++steps == SPLIT_INTERVAL) {
+					steps = 0;
+
+					if(!tr.isEmpty() && getSurplusQueuedTaskCount() <= 0) {
+						Tr part = tr.split();
+
+						if(part != null) {
+							int[] partKey = Arrays.copyOf(key, key.length + 1);
+							partKey[key.length] = -(forked.size() + 1);
+
+							SearchTask<T,Tr> task = create(part, partKey);
+							task.fork();
+							forked.add(task);
+						}
+					}
+				}
+			}
+
+			finish();
+
+			for(int i = forked.size() - 1; i >= 0; --i) {
+				forked.get(i).join();
+			}
+		}
+
+		/**
+		 * Performs a single search step on a traversal
+		 *
+		 * @return true - search should be continued, false - this task should be stopped
+		 */
+		abstract boolean step();
+
+		/**
+		 * Creates a task of the same kind for a split part of a traversal
+		 */
+		abstract SearchTask<T,Tr> create(Tr part, int[] key);
+
+		/**
+		 * Called once a traversal is searched
+		 */
+		void finish() {
+		}
+
+		final Tr tr;
+		final AtomicBoolean stop;
+		final int[] key;
+
+		private static final long serialVersionUID = 1L;
+
+	}
+
+	/**
+	 * Task passing every solution found to a sink
+	 */
+	private static class ForwardTask<T,Tr extends TreeTraversal<T> & Splitable<Tr>> extends SearchTask<T,Tr> {
+
+		ForwardTask(Tr tr, AtomicBoolean stop, int[] key, SolutionSink<T> sink) {
+			super(tr, stop, key);
+			this.sink = sink;
+		}
+
+		boolean step() {
+			if(!tr.moveForward()) {
+				if(!sink.accept(Paths.toList(tr.getPath()))) {
+					stop.set(true);
+					return false;
+				}
+
+				tr.backtrack();
+			}
+
+			return true;
+		}
+
+		SearchTask<T,Tr> create(Tr part, int[] key) {
+			return new ForwardTask<T,Tr>(part, stop, key, sink);
+		}
+
+		private final SolutionSink<T> sink;
+
+		private static final long serialVersionUID = 1L;
+
+	}
+
+	/**
+	 * Task pruning nodes by a cost of a shared incumbent solution
+	 */
+	private static class BoundTask<T,C extends Addable<C> & Comparable<C>,Tr extends CostTreeTraversal<T,C> & Splitable<Tr>>
+		extends SearchTask<T,Tr>
+	{
+		BoundTask(Tr tr, AtomicBoolean stop, int[] key, Incumbent<T,C> incumbent) {
+			super(tr, stop, key);
+			this.incumbent = incumbent;
+		}
+
+		boolean step() {
+			C bound = incumbent.getCost();
+
+			if(bound != null && tr.getCost().compareTo(bound) >= 0) {
+				tr.backtrack();
+				++pruned;
+			} else if(!tr.moveForward()) {
+				incumbent.offer(Paths.toList(tr.getPath()), Costs.keep(tr.getCost()));
+				tr.backtrack();
+			}
+
+			return true;
+		}
+
+		SearchTask<T,Tr> create(Tr part, int[] key) {
+			return new BoundTask<T,C,Tr>(part, stop, key, incumbent);
+		}
+
+		void finish() {
+			incumbent.addPruned(pruned);
+		}
+
+		private final Incumbent<T,C> incumbent;
+		private long pruned = 0;
+
+		private static final long serialVersionUID = 1L;
+
+	}
+
+	/**
+	 * Task counting solutions and nodes by depth in its own counters
+	 */
+	private static class CountTask<T,Tr extends TreeTraversal<T> & Splitable<Tr>> extends SearchTask<T,Tr> {
+
+		CountTask(Tr tr, AtomicBoolean stop, int[] key, AtomicLong result, long[] nodes) {
+			super(tr, stop, key);
+			this.result = result;
+			this.nodes = nodes;
+			this.counts = (nodes == null) ? null : new long[nodes.length];
+		}
+
+		boolean step() {
+			if(counts != null) {
+				int depth = Direct.getDepth(tr);
+
+				if(depth < counts.length) {
+					++counts[depth];
+				}
+			}
+
+			if(!tr.moveForward() && !tr.isEmpty()) {
+				++solutions;
+				tr.backtrack();
+			}
+
+			return true;
+		}
+
+		SearchTask<T,Tr> create(Tr part, int[] key) {
+			return new CountTask<T,Tr>(part, stop, key, result, nodes);
+		}
+
+		void finish() {
+			result.addAndGet(solutions);
+
+			if(counts != null) {
+				synchronized(nodes) {
+					for(int i = 0; i < counts.length; ++i) {
+						nodes[i] += counts[i];
+					}
+				}
+			}
+		}
+
+		private final AtomicLong result;
+		private final long[] nodes;
+		private final long[] counts;
+		private long solutions = 0;
+
+		private static final long serialVersionUID = 1L;
+
+	}
+
+	/**
+	 * Task searching nodes with a cost not exceeding an iteration threshold. A task stops on its first
+	 * solution or once a solution preceding its subtree in a depth-first order is found by another task.
+	 */
+	private static class DeepeningTask<T,C extends Addable<C> & Comparable<C>,Tr extends CostTreeTraversal<T,C> & Splitable<Tr>>
+		extends SearchTask<T,Tr>
+	{
+		DeepeningTask(Tr tr, AtomicBoolean stop, int[] key, Iteration<T,C> iteration) {
+			super(tr, stop, key);
+			this.iteration = iteration;
+		}
+
+		boolean step() {
+			Pair<int[],List<T>> solution = iteration.solution.get();
+
+			if(solution != null && compareKeys(solution.getFirst(), key) < 0) {
+				return false;
+			}
+
+			C cost = tr.getCost();
+
+			if(cost.compareTo(iteration.thresh) <= 0) {
+				if(!tr.moveForward()) {
+					offer(new Pair<int[],List<T>>(key, Paths.toList(tr.getPath())));
+					return false;
+				}
+			} else {
+				if(nextThresh == null || cost.compareTo(nextThresh) < 0) {
+					nextThresh = Costs.keep(cost);
+				}
+
+				tr.backtrack();
+			}
+
+			return true;
+		}
+
+		SearchTask<T,Tr> create(Tr part, int[] key) {
+			return new DeepeningTask<T,C,Tr>(part, stop, key, iteration);
+		}
+
+		void finish() {
+			if(nextThresh == null) {
+				return;
+			}
+
+			while(true) {
+				C current = iteration.nextThresh.get();
+
+				if(current != null && current.compareTo(nextThresh) <= 0) {
+					return;
+				}
+
+				if(iteration.nextThresh.compareAndSet(current, nextThresh)) {
+					return;
+				}
+			}
+		}
+
+		private void offer(Pair<int[],List<T>> solution) {
+			while(true) {
+				Pair<int[],List<T>> current = iteration.solution.get();
+
+				if(current != null && compareKeys(current.getFirst(), key) < 0) {
+					return;
+				}
+
+				if(iteration.solution.compareAndSet(current, solution)) {
+					return;
+				}
+			}
+		}
+
+		private final Iteration<T,C> iteration;
+		private C nextThresh = null;
+
+		private static final long serialVersionUID = 1L;
+
+	}
+
+}
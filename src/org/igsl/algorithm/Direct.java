@@ -4,15 +4,31 @@
 
 package org.igsl.algorithm;
 
-//import org.igsl.cost.Addable;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.igsl.algorithm.auxiliary.Incumbent;
+import org.igsl.algorithm.auxiliary.SearchBudget;
+import org.igsl.algorithm.auxiliary.SolutionSpliterator;
+import org.igsl.cost.Addable;
+import org.igsl.cost.Costs;
+import org.igsl.functor.exception.BudgetExhaustedException;
+import org.igsl.functor.exception.EmptyTraversalException;
 import org.igsl.functor.iterator.path.BackwardPathIterator;
-//import org.igsl.traversal.CostTreeTraversal;
+import org.igsl.functor.iterator.path.Paths;
+import org.igsl.traversal.CostTreeTraversal;
 import org.igsl.traversal.TreeTraversal;
 
 /**
- * Class containing direct graph search methods. All these methods return <code>void</code> and usually modify
+ * Class containing direct graph search methods. Search methods return <code>void</code> and usually modify
  * a traversal state until a goal is reached. To access a solution one should exploit <code>getPath</code> method
- * that is common for <code>TreeTraversal</code> interface.
+ * that is common for <code>TreeTraversal</code> interface. Enumeration methods search for all solutions instead
+ * and return a number of them, a stream of solution paths or an iterator over solutions.
  */
 public final class Direct {
 	
@@ -30,6 +46,191 @@ public final class Direct {
 		}
 	}
 	
+	/**
+	 * Version of <code>searchForward</code> limited by a search budget. A budget is spent on each
+	 * node expansion, once it is exhausted a traversal is left on a node reached and a search
+	 * could be resumed by another call with a new budget.
+	 * 
+	 * @param <T> type of the node
+	 * @param tr search tree traversal
+	 * @param budget search budget
+	 * @throws BudgetExhaustedException thrown if a budget is exhausted before a goal is reached
+	 * @throws NullPointerException thrown if budget is null
+	 * @see SearchBudget
+	 */
+	public static <T> void searchForward(TreeTraversal<T> tr, SearchBudget budget)
+		throws BudgetExhaustedException, NullPointerException
+	{
+		do {
+			budget.spend(tr);
+		} while(tr.moveForward());
+	}
+	
+	/**
+	 * Counts all solutions in a search space without building their paths.
+	 * 
+	 * @param <T> type of the node
+	 * @param tr search tree traversal, it is empty on return
+	 * @return number of goal nodes found
+	 */
+	public static <T> long countSolutions(TreeTraversal<T> tr) {
+		return countSolutions(tr, null);
+	}
+	
+	/**
+	 * Counts all solutions in a search space without building their paths along with
+	 * a number of nodes expanded on each depth. A depth of a cursor is a number of nodes
+	 * on a path from a root node to the cursor, a root node has depth 1.
+	 * 
+	 * @param <T> type of the node
+	 * @param tr search tree traversal, it is empty on return
+	 * @param nodes array of node counters by depth, a counter is increased on each expansion
+	 * of a node on its depth, depths out of an array are not counted, null - nodes are not counted
+	 * @return number of goal nodes found
+	 */
+	public static <T> long countSolutions(TreeTraversal<T> tr, long[] nodes) {
+		long result = 0;
+		
+		while(!tr.isEmpty()) {
+			if(nodes != null) {
+				int depth = getDepth(tr);
+				
+				if(depth < nodes.length) {
+					++nodes[depth];
+				}
+			}
+			
+			if(!tr.moveForward() && !tr.isEmpty()) {
+				++result;
+				
+				try {
+					tr.backtrack();
+				} catch(EmptyTraversalException e) {
+					break;
+				}
+			}
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Lazy stream of all solutions. A next solution is searched for only when a stream requests it,
+	 * so short-circuiting operations stop a search. A parallel stream splits a traversal if it
+	 * implements <code>Splitable</code> interface, the order of solutions is kept for ordered operations.
+	 * 
+	 * @param <T> type of the node
+	 * @param tr search tree traversal, it is moved by a stream
+	 * @return a stream of lists of node values from a root node to a goal node
+	 * @see SolutionSpliterator
+	 */
+	public static <T> Stream<List<T>> solutions(TreeTraversal<T> tr) {
+		return StreamSupport.stream(new SolutionSpliterator<T>(tr), false);
+	}
+	
+	/**
+	 * Version of <code>solutions</code> limited by a search budget. Once a budget is exhausted
+	 * a stream operation throws an exception, solutions passed before are a partial result.
+	 * A stream is not split, since a budget is spent by a single thread.
+	 * 
+	 * @param <T> type of the node
+	 * @param tr search tree traversal, it is moved by a stream
+	 * @param budget search budget
+	 * @return a stream of lists of node values from a root node to a goal node
+	 * @throws NullPointerException thrown if budget is null
+	 * @see SearchBudget
+	 */
+	public static <T> Stream<List<T>> solutions(TreeTraversal<T> tr, SearchBudget budget)
+		throws NullPointerException
+	{
+		if(budget == null) {
+			throw new NullPointerException();
+		}
+		
+		return StreamSupport.stream(new SolutionSpliterator<T>(tr, budget), false);
+	}
+	
+	/**
+	 * Lazy iteration over all solutions in a search order
+	 * 
+	 * @param <T> type of the node
+	 * @param tr search tree traversal, it is moved by an iterator
+	 * @return an iterator of enumerations containing nodes on a path from a goal node to a root node
+	 */
+	public static <T> Iterator<Enumeration<T>> findAllSolutions(TreeTraversal<T> tr) {
+		return toIterator(new SolutionSpliterator<T>(tr));
+	}
+	
+	/**
+	 * Version of <code>findAllSolutions</code> limited by a search budget. Once a budget is exhausted
+	 * <code>hasNext</code> throws an exception, solutions returned before are a partial result.
+	 * 
+	 * @param <T> type of the node
+	 * @param tr search tree traversal, it is moved by an iterator
+	 * @param budget search budget
+	 * @return an iterator of enumerations containing nodes on a path from a goal node to a root node
+	 * @throws NullPointerException thrown if budget is null
+	 * @see SearchBudget
+	 */
+	public static <T> Iterator<Enumeration<T>> findAllSolutions(TreeTraversal<T> tr, SearchBudget budget)
+		throws NullPointerException
+	{
+		if(budget == null) {
+			throw new NullPointerException();
+		}
+		
+		return toIterator(new SolutionSpliterator<T>(tr, budget));
+	}
+	
+	/**
+	 * Iterator of enumerations over solutions of a spliterator
+	 */
+	private static <T> Iterator<Enumeration<T>> toIterator(SolutionSpliterator<T> spliterator) {
+		final Iterator<List<T>> iterator = Spliterators.iterator(spliterator);
+		
+		return new Iterator<Enumeration<T>>() {
+			public boolean hasNext() {
+				return iterator.hasNext();
+			}
+			
+			public Enumeration<T> next() {
+				final List<T> path = iterator.next();
+				
+				return new Enumeration<T>() {
+					private ListIterator<T> li = path.listIterator(path.size());
+					
+					public boolean hasMoreElements() {
+						return li.hasPrevious();
+					}
+					
+					public T nextElement() {
+						return li.previous();
+					}
+				};
+			}
+			
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+	
+	/**
+	 * Number of nodes on a path from a root node to the cursor, path iterator is a singleton
+	 * for library traversals, so nothing is allocated.
+	 */
+	static <T> int getDepth(TreeTraversal<T> tr) {
+		BackwardPathIterator<T> pi = tr.getPathIterator();
+		int result = 0;
+		
+		while(pi.hasPreviousNode()) {
+			pi.previousNode();
+			++result;
+		}
+		
+		return result;
+	}
+	
 //	/**
 //	 * Cost threshold algorithms - the solution found should not exceed a predefined cost value. Either founds
 //	 * the first matching solution and exits or the traversal becomes empty on exhausting the search space.
@@ -49,39 +250,45 @@ public final class Direct {
 //		}
 //	}
 //	
-//	/**
-//	 * Branch-and-bound - a technique to find best-by-cost solution.
-//	 * 
-//	 * @param <T> type of the node
-//	 * @param <C> type of the cost
-//	 * @param tr search tree traversal
-//	 * @return an enumeration containing nodes on an optimal path from beginning to end
-//	 */
-//	public static <T,C extends Addable<C> & Comparable<C>> BackwardPathIterator<T> branchAndBound(CostTreeTraversal<T,C> tr) {
-//		searchForward(tr);
-//		
-//		BackwardPathIterator<T> result = tr.getPath();
-//		
-//		if(tr.isEmpty()) {
-//			return result;
-//		}
-//		
-//		C thresh = tr.getCost();
-//		tr.backtrack();
-//		
-//		while(!tr.isEmpty()) {
-//			int compareResult = tr.getCost().compareTo(thresh);
-//			
-//			if(!tr.moveForward() && compareResult < 0)	{
-//				result = tr.getPath();
-//				thresh = tr.getCost();
-//				tr.backtrack();
-//			} else if(compareResult >= 0) {
-//				tr.backtrack();
-//			}
-//		}
-//		
-//		return result;
-//	}
-
+	/**
+	 * Branch-and-bound - a technique to find best-by-cost solution. Nodes with a cost not less than
+	 * a cost of an incumbent solution are pruned, transition costs are supposed to be non-negative.
+	 * A best solution found so far is kept by an incumbent, so once a budget is exhausted it is
+	 * an anytime result, and a search could be resumed by another call with the same incumbent.
+	 * 
+	 * @param <T> type of the node
+	 * @param <C> type of the cost
+	 * @param tr search tree traversal, it is empty on a normal return
+	 * @param incumbent best solution found so far, it is updated by a search
+	 * @param budget search budget, null - a search is not limited
+	 * @throws BudgetExhaustedException thrown if a budget is exhausted before a search space is searched
+	 * @throws NullPointerException thrown if traversal or incumbent is null
+	 * @see SearchBudget
+	 */
+	public static <T,C extends Addable<C> & Comparable<C>> void branchAndBound(CostTreeTraversal<T,C> tr,
+		Incumbent<T,C> incumbent, SearchBudget budget) throws BudgetExhaustedException, NullPointerException
+	{
+		if(tr == null || incumbent == null) {
+			throw new NullPointerException();
+		}
+		
+		while(!tr.isEmpty()) {
+			C bound = incumbent.getCost();
+			
+			if(bound != null && tr.getCost().compareTo(bound) >= 0) {
+				tr.backtrack();
+				incumbent.addPruned(1);
+			} else {
+				if(budget != null) {
+					budget.spend(tr);
+				}
+				
+				if(!tr.moveForward() && !tr.isEmpty()) {
+					incumbent.offer(Paths.toList(tr.getPath()), Costs.keep(tr.getCost()));
+					tr.backtrack();
+				}
+			}
+		}
+	}
+	
 }
\ No newline at end of file
@@ -6,11 +6,17 @@ package org.igsl.algorithm;
 import java.util.Enumeration;
 import java.util.Stack;
 
+import org.igsl.algorithm.auxiliary.SearchBudget;
 import org.igsl.cost.Addable;
+import org.igsl.cost.Costs;
+import org.igsl.functor.exception.BudgetExhaustedException;
+import org.igsl.functor.iterator.path.BackwardPathIterator;
 import org.igsl.traversal.Copyable;
 import org.igsl.traversal.TreeTraversal;
 import org.igsl.traversal.CostTreeTraversal;
-import org.igsl.traversal.TreeTraversal.PathIterator;
+import org.igsl.traversal.DoubleCostTreeTraversal;
+import org.igsl.traversal.LongCostTreeTraversal;
+import org.igsl.traversal.TranspositionTable;
 
 /**
  * Class containing iterative graph search methods. Iterative schemas return a path found while a traversal
@@ -29,6 +35,25 @@ public final class Iterative {
 	 * null if no path found
 	 */
 	public static <T,Tr extends TreeTraversal<T> & Copyable<Tr>> Enumeration<T> deepenIteratively(Tr tr)
+	{
+		return deepenIteratively(tr, (SearchBudget) null);
+	}
+	
+	/**
+	 * Iterative deepening limited by depth on each step along with a search budget.
+	 * A budget is spent on each node expansion of every iteration.
+	 * 
+	 * @param <T> type of the node
+	 * @param <Tr> type of the traversal
+	 * @param tr search tree traversal
+	 * @param budget search budget, null - a search is not limited
+	 * @return an enumeration containing nodes on a path from beginning to end,
+	 * null if no path found
+	 * @throws BudgetExhaustedException thrown if a budget is exhausted before a path is found
+	 * @see SearchBudget
+	 */
+	public static <T,Tr extends TreeTraversal<T> & Copyable<Tr>> Enumeration<T> deepenIteratively(Tr tr,
+		SearchBudget budget) throws BudgetExhaustedException
 	{
 		if(tr.isEmpty()) {
 			return null;
@@ -37,17 +62,25 @@ public final class Iterative {
 		int depth = 0;
 		do {
 			Tr tr1 = tr.getCopyOf();
+			boolean cut = false;
 			
-			while(!tr1.isEmpty() && !tr1.getNodeGenerator().isGoal(tr1.getCursor())) {
-				if(tr1.getDepth() <= depth) {
-					tr1.moveForward();
+			while(!tr1.isEmpty()) {
+				if(getDepth(tr1) <= depth) {
+					if(budget != null) {
+						budget.spend(tr1);
+					}
+					
+					if(!tr1.moveForward()) {
+						return convertTo(tr1.getPath());
+					}
 				} else {
+					cut = true;
 					tr1.backtrack();
 				}
 			}
 			
-			if(!tr1.isEmpty()) {
-				return convertTo(tr1.getPath());
+			if(!cut) {
+				return null;
 			}
 			
 			++depth;
@@ -67,6 +100,26 @@ public final class Iterative {
 	 */
 	public static <T,C extends Addable<C> & Comparable<C>,Tr extends CostTreeTraversal<T,C> & Copyable<Tr>>
 		Enumeration<T> deepenIteratively(Tr tr)
+	{
+		return deepenIteratively(tr, (SearchBudget) null);
+	}
+	
+	/**
+	 * Iterative deepening by acquiring minimal cost exceeding current threshold value on each iteration
+	 * along with a search budget. A budget is spent on each node expansion of every iteration.
+	 * 
+	 * @param <T> type of the node
+	 * @param <C> type of the cost
+	 * @param <Tr> type of the traversal
+	 * @param tr search tree traversal
+	 * @param budget search budget, null - a search is not limited
+	 * @return an enumeration containing nodes on an optimal path from beginning to end,
+	 * null if no path found
+	 * @throws BudgetExhaustedException thrown if a budget is exhausted before a path is found
+	 * @see SearchBudget
+	 */
+	public static <T,C extends Addable<C> & Comparable<C>,Tr extends CostTreeTraversal<T,C> & Copyable<Tr>>
+		Enumeration<T> deepenIteratively(Tr tr, SearchBudget budget) throws BudgetExhaustedException
 	{
 		if(tr.isEmpty()) {
 			return null;
@@ -77,21 +130,96 @@ public final class Iterative {
 			CostTreeTraversal<T,C> tr1 = tr.getCopyOf();
 			C nextThresh = null;
 
-			while(!tr1.isEmpty() && !tr1.getNodeGenerator().isGoal(tr1.getCursor())) {
+			while(!tr1.isEmpty()) {
 				if(tr1.getCost().compareTo(thresh) < 1) { // <= thresh
-					tr1.moveForward();
+					if(budget != null) {
+						budget.spend(tr1);
+					}
+					
+					if(!tr1.moveForward()) {
+						return convertTo(tr1.getPath());
+					}
 				} else {
 					if(nextThresh == null || tr1.getCost().compareTo(nextThresh) == -1) { // <nextThresh
-						nextThresh = tr1.getCost();
+						nextThresh = Costs.keep(tr1.getCost());
+					}
+
+					tr1.backtrack();
+				}
+			}
+			
+			if(nextThresh == null){
+				return null;
+			}
+			
+			thresh = nextThresh;
+		} while(true);
+	}
+	
+	/**
+	 * Iterative deepening by acquiring minimal cost
+	 * exceeding current threshold value on each iteration. Thresholds are kept in primitive values.
+	 * 
+	 * @param <T> type of the node
+	 * @param <Tr> type of the traversal
+	 * @param tr search tree traversal with integral cost
+	 * @return an enumeration containing nodes on an optimal path from beginning to end,
+	 * null if no path found
+	 */
+	public static <T,Tr extends LongCostTreeTraversal<T> & Copyable<Tr>> Enumeration<T> deepenIteratively(Tr tr)
+	{
+		return deepenIteratively(tr, (SearchBudget) null);
+	}
+	
+	/**
+	 * Iterative deepening by acquiring minimal cost exceeding current threshold value on each iteration
+	 * along with a search budget. Thresholds are kept in primitive values.
+	 * A budget is spent on each node expansion of every iteration.
+	 * 
+	 * @param <T> type of the node
+	 * @param <Tr> type of the traversal
+	 * @param tr search tree traversal with integral cost
+	 * @param budget search budget, null - a search is not limited
+	 * @return an enumeration containing nodes on an optimal path from beginning to end,
+	 * null if no path found
+	 * @throws BudgetExhaustedException thrown if a budget is exhausted before a path is found
+	 * @see SearchBudget
+	 */
+	public static <T,Tr extends LongCostTreeTraversal<T> & Copyable<Tr>> Enumeration<T> deepenIteratively(Tr tr,
+		SearchBudget budget) throws BudgetExhaustedException
+	{
+		if(tr.isEmpty()) {
+			return null;
+		}
+		
+		long thresh = tr.getCost();
+		do {
+			LongCostTreeTraversal<T> tr1 = tr.getCopyOf();
+			long nextThresh = Long.MAX_VALUE;
+			boolean cut = false;
+
+			while(!tr1.isEmpty()) {
+				long cost = tr1.getCost();
+				
+				if(cost <= thresh) {
+					if(budget != null) {
+						budget.spend(tr1);
+					}
+					
+					if(!tr1.moveForward()) {
+						return convertTo(tr1.getPath());
+					}
+				} else {
+					if(cost < nextThresh) {
+						nextThresh = cost;
 					}
 
+					cut = true;
 					tr1.backtrack();
 				}
 			}
 			
-			if(!tr1.isEmpty()) {
-				return convertTo(tr1.getPath());
-			} else if(nextThresh == null){
+			if(!cut){
 				return null;
 			}
 			
@@ -99,7 +227,220 @@ public final class Iterative {
 		} while(true);
 	}
 	
-	private static<T> Enumeration<T> convertTo(PathIterator<T> pi) {
+	/**
+	 * Iterative deepening by acquiring minimal cost
+	 * exceeding current threshold value on each iteration. Thresholds are kept in primitive values.
+	 * 
+	 * @param <T> type of the node
+	 * @param <Tr> type of the traversal
+	 * @param tr search tree traversal with real cost
+	 * @return an enumeration containing nodes on an optimal path from beginning to end,
+	 * null if no path found
+	 */
+	public static <T,Tr extends DoubleCostTreeTraversal<T> & Copyable<Tr>> Enumeration<T> deepenIteratively(Tr tr)
+	{
+		return deepenIteratively(tr, (SearchBudget) null);
+	}
+	
+	/**
+	 * Iterative deepening by acquiring minimal cost exceeding current threshold value on each iteration
+	 * along with a search budget. Thresholds are kept in primitive values.
+	 * A budget is spent on each node expansion of every iteration.
+	 * 
+	 * @param <T> type of the node
+	 * @param <Tr> type of the traversal
+	 * @param tr search tree traversal with real cost
+	 * @param budget search budget, null - a search is not limited
+	 * @return an enumeration containing nodes on an optimal path from beginning to end,
+	 * null if no path found
+	 * @throws BudgetExhaustedException thrown if a budget is exhausted before a path is found
+	 * @see SearchBudget
+	 */
+	public static <T,Tr extends DoubleCostTreeTraversal<T> & Copyable<Tr>> Enumeration<T> deepenIteratively(Tr tr,
+		SearchBudget budget) throws BudgetExhaustedException
+	{
+		if(tr.isEmpty()) {
+			return null;
+		}
+		
+		double thresh = tr.getCost();
+		do {
+			DoubleCostTreeTraversal<T> tr1 = tr.getCopyOf();
+			double nextThresh = Double.POSITIVE_INFINITY;
+			boolean cut = false;
+
+			while(!tr1.isEmpty()) {
+				double cost = tr1.getCost();
+				
+				if(cost <= thresh) {
+					if(budget != null) {
+						budget.spend(tr1);
+					}
+					
+					if(!tr1.moveForward()) {
+						return convertTo(tr1.getPath());
+					}
+				} else {
+					if(cost < nextThresh) {
+						nextThresh = cost;
+					}
+
+					cut = true;
+					tr1.backtrack();
+				}
+			}
+			
+			if(!cut){
+				return null;
+			}
+			
+			thresh = nextThresh;
+		} while(true);
+	}
+	
+	/**
+	 * Iterative deepening by acquiring minimal cost exceeding current threshold value on each iteration
+	 * with a transposition table. Once a subtree is searched its state is stored in a table along with
+	 * a minimal cost exceeding a threshold within it. A node is pruned if its state is reached
+	 * with a lower cost or if it is searched with the same cost and the stored bound exceeds a threshold,
+	 * in the latter case the bound is taken for a next threshold. Transition costs are supposed
+	 * to be non-negative.
+	 * 
+	 * @param <T> type of the node
+	 * @param <C> type of the cost
+	 * @param <Tr> type of the traversal
+	 * @param tr search tree traversal
+	 * @param table transposition table, it keeps entries between iterations and calls
+	 * @return an enumeration containing nodes on an optimal path from beginning to end,
+	 * null if no path found
+	 */
+	public static <T,C extends Addable<C> & Comparable<C>,Tr extends CostTreeTraversal<T,C> & Copyable<Tr>>
+		Enumeration<T> deepenIteratively(Tr tr, TranspositionTable<T,C> table)
+	{
+		return deepenIteratively(tr, table, null);
+	}
+	
+	/**
+	 * Iterative deepening with a transposition table as above along with a search budget.
+	 * A budget is spent on each node expansion of every iteration, entries stored before
+	 * a budget is exhausted are kept by a table.
+	 * 
+	 * @param <T> type of the node
+	 * @param <C> type of the cost
+	 * @param <Tr> type of the traversal
+	 * @param tr search tree traversal
+	 * @param table transposition table, it keeps entries between iterations and calls
+	 * @param budget search budget, null - a search is not limited
+	 * @return an enumeration containing nodes on an optimal path from beginning to end,
+	 * null if no path found
+	 * @throws BudgetExhaustedException thrown if a budget is exhausted before a path is found
+	 * @see SearchBudget
+	 */
+	public static <T,C extends Addable<C> & Comparable<C>,Tr extends CostTreeTraversal<T,C> & Copyable<Tr>>
+		Enumeration<T> deepenIteratively(Tr tr, TranspositionTable<T,C> table, SearchBudget budget)
+		throws BudgetExhaustedException
+	{
+		if(tr.isEmpty()) {
+			return null;
+		}
+		
+		C thresh = tr.getCost();
+		do {
+			CostTreeTraversal<T,C> tr1 = tr.getCopyOf();
+			Stack<Frame<T,C>> frames = new Stack<Frame<T,C>>();
+			C nextThresh = null;
+
+			while(!tr1.isEmpty()) {
+				BackwardPathIterator<T> pi = tr1.getPathIterator();
+				T value = pi.previousNode();
+				int depth = 1;
+				
+				while(pi.hasPreviousNode()) {
+					pi.previousNode();
+					++depth;
+				}
+				
+				close(frames, depth, table);
+				
+				C cost = tr1.getCost();
+				C bound = null;
+				
+				if(cost.compareTo(thresh) > 0) {
+					bound = Costs.keep(cost);
+				} else {
+					C best = table.getCost(value);
+					int compareResult = (best == null) ? 1 : best.compareTo(cost);
+					
+					if(compareResult < 0 || (compareResult == 0 && table.isExhausted(value))) {
+						tr1.backtrack();
+						continue;
+					} else if(compareResult == 0 && table.getBound(value).compareTo(thresh) > 0) {
+						bound = table.getBound(value);
+					} else {
+						if(budget != null) {
+							budget.spend(tr1);
+						}
+						
+						if(!tr1.moveForward()) {
+							return convertTo(tr1.getPath());
+						}
+						
+						frames.push(new Frame<T,C>(value, Costs.keep(cost), depth));
+						continue;
+					}
+				}
+				
+				if(nextThresh == null || bound.compareTo(nextThresh) < 0) {
+					nextThresh = bound;
+				}
+				
+				if(!frames.isEmpty()) {
+					frames.peek().reduce(bound);
+				}
+				
+				tr1.backtrack();
+			}
+			
+			close(frames, 0, table);
+			
+			if(nextThresh == null){
+				return null;
+			}
+			
+			thresh = nextThresh;
+		} while(true);
+	}
+	
+	/**
+	 * Stores states for searched nodes, which are not lower than a given depth,
+	 * and backs up their bounds to parent nodes
+	 */
+	private static<T,C extends Comparable<C>> void close(Stack<Frame<T,C>> frames, int depth,
+		TranspositionTable<T,C> table)
+	{
+		while(!frames.isEmpty() && frames.peek().depth >= depth) {
+			Frame<T,C> frame = frames.pop();
+			table.store(frame.value, frame.cost, frame.bound, frame.depth);
+			
+			if(!frames.isEmpty()) {
+				frames.peek().reduce(frame.bound);
+			}
+		}
+	}
+	
+	private static<T> int getDepth(TreeTraversal<T> tr) {
+		BackwardPathIterator<T> pi = tr.getPathIterator();
+		int result = 0;
+		
+		while(pi.hasPreviousNode()) {
+			pi.previousNode();
+			++result;
+		}
+		
+		return result;
+	}
+	
+	private static<T> Enumeration<T> convertTo(BackwardPathIterator<T> pi) {
 		Stack<T> result = new Stack<T>();
 		
 		while(pi.hasPreviousNode()) {
@@ -109,4 +450,26 @@ public final class Iterative {
 		return result.elements();	
 	}	
 
+	/**
+	 * Node expanded on a current path with a minimal cost exceeding a threshold in its subtree
+	 */
+	private static class Frame<T,C extends Comparable<C>> {
+		final T value;
+		final C cost;
+		final int depth;
+		C bound = null;
+		
+		Frame(T value, C cost, int depth) {
+			this.value = value;
+			this.cost = cost;
+			this.depth = depth;
+		}
+		
+		void reduce(C bound) {
+			if(bound != null && (this.bound == null || bound.compareTo(this.bound) < 0)) {
+				this.bound = bound;
+			}
+		}
+	}
+
 }
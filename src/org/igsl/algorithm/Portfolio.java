@@ -0,0 +1,364 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+package org.igsl.algorithm;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.igsl.algorithm.auxiliary.SearchBudget;
+import org.igsl.cost.Addable;
+import org.igsl.cost.Costs;
+import org.igsl.functor.iterator.path.Paths;
+import org.igsl.traversal.CostTreeTraversal;
+import org.igsl.traversal.TreeTraversal;
+
+/**
+ * Portfolio of search strategies racing on the same problem. Each strategy owns a traversal
+ * and is run by its own thread, a virtual one if a platform supports virtual threads.
+ * A first strategy completing its search wins, others check a shared stop flag on each step
+ * and leave their traversals as they are. A name of a winning strategy is kept along with
+ * a time it took, so per-problem defaults could be tuned by these records.
+ * A strategy could be limited by its own budget, a strategy exhausting it fails.
+ * A portfolio is searched once, traversals are not reset.
+ *
+ * @param <T> type of the node
+ */
+public class Portfolio<T> {
+
+	/**
+	 * Adds a strategy, which is complete once a first goal node is found. A traversal should find
+	 * a best solution first to be compared with other strategies, e.g. A* or recursive best-first
+	 * search with an admissible heuristics.
+	 *
+	 * @param name strategy name
+	 * @param tr search tree traversal
+	 * @throws NullPointerException thrown if name or traversal is null
+	 * @throws IllegalStateException thrown if portfolio is already searched
+	 */
+	public void add(String name, TreeTraversal<T> tr) throws NullPointerException, IllegalStateException {
+		add(name, tr, null);
+	}
+
+	/**
+	 * Adds a strategy, which is complete once a first goal node is found, limited by a search budget.
+	 * A budget is spent by a strategy thread only.
+	 *
+	 * @param name strategy name
+	 * @param tr search tree traversal
+	 * @param budget search budget, null - a strategy is not limited
+	 * @throws NullPointerException thrown if name or traversal is null
+	 * @throws IllegalStateException thrown if portfolio is already searched
+	 * @see SearchBudget
+	 */
+	public void add(String name, TreeTraversal<T> tr, SearchBudget budget)
+		throws NullPointerException, IllegalStateException
+	{
+		if(name == null || tr == null) {
+			throw new NullPointerException();
+		}
+
+		add(new ForwardStrategy<T>(name, tr, budget));
+	}
+
+	/**
+	 * Adds a branch-and-bound strategy, which is complete once a search space is exhausted.
+	 * Nodes with a cost not less than a cost of a best solution found so far are pruned,
+	 * transition costs are supposed to be non-negative.
+	 *
+	 * @param <C> type of the cost
+	 * @param name strategy name
+	 * @param tr search tree traversal, e.g. depth-first one
+	 * @throws NullPointerException thrown if name or traversal is null
+	 * @throws IllegalStateException thrown if portfolio is already searched
+	 */
+	public <C extends Addable<C> & Comparable<C>> void addBranchAndBound(String name, CostTreeTraversal<T,C> tr)
+		throws NullPointerException, IllegalStateException
+	{
+		addBranchAndBound(name, tr, null);
+	}
+
+	/**
+	 * Adds a branch-and-bound strategy, which is complete once a search space is exhausted,
+	 * limited by a search budget. A budget is spent by a strategy thread only.
+	 *
+	 * @param <C> type of the cost
+	 * @param name strategy name
+	 * @param tr search tree traversal, e.g. depth-first one
+	 * @param budget search budget, null - a strategy is not limited
+	 * @throws NullPointerException thrown if name or traversal is null
+	 * @throws IllegalStateException thrown if portfolio is already searched
+	 * @see SearchBudget
+	 */
+	public <C extends Addable<C> & Comparable<C>> void addBranchAndBound(String name, CostTreeTraversal<T,C> tr,
+		SearchBudget budget) throws NullPointerException, IllegalStateException
+	{
+		if(name == null || tr == null) {
+			throw new NullPointerException();
+		}
+
+		add(new BoundStrategy<T,C>(name, tr, budget));
+	}
+
+	/**
+	 * Runs all strategies concurrently until one of them is complete, waits for other ones to stop.
+	 * If every strategy fails, an exception of a first failed one is rethrown.
+	 *
+	 * @return list of node values from a root node to a goal node including both found by a winning strategy,
+	 * null - if a winning strategy proved that there is no solution
+	 * @throws InterruptedException thrown if a calling thread is interrupted, strategies are stopped
+	 * @throws IllegalStateException thrown if portfolio has no strategies or is already searched
+	 */
+	public List<T> search() throws InterruptedException, IllegalStateException {
+		if(strategies.isEmpty() || started) {
+			throw new IllegalStateException();
+		}
+
+		started = true;
+		start = System.nanoTime();
+
+		Thread[] threads = new Thread[strategies.size()];
+
+		for(int i = 0; i < threads.length; ++i) {
+			threads[i] = newThread(new Runner(strategies.get(i)));
+			threads[i].start();
+		}
+
+		try {
+			for(int i = 0; i < threads.length; ++i) {
+				threads[i].join();
+			}
+		} catch(InterruptedException e) {
+			stop.set(true);
+			throw e;
+		}
+
+		Strategy<T> w = winner.get();
+
+		if(w == null) {
+			Throwable t = failure.get();
+
+			if(t instanceof RuntimeException) {
+				throw (RuntimeException) t;
+			} else if(t instanceof Error) {
+				throw (Error) t;
+			}
+
+			return null;
+		}
+
+		return w.path;
+	}
+
+	/**
+	 * Returns a name of a winning strategy, null - if there is no winner yet
+	 */
+	public String getWinner() {
+		Strategy<T> w = winner.get();
+		return (w == null) ? null : w.name;
+	}
+
+	/**
+	 * Returns a time in nanoseconds from a start of a search till a winning strategy is complete,
+	 * -1 - if there is no winner yet
+	 */
+	public long getElapsedTime() {
+		return (winner.get() == null) ? -1 : elapsed;
+	}
+
+	/**
+	 * Returns names of strategies in an order they are added
+	 */
+	public List<String> getStrategies() {
+		ArrayList<String> result = new ArrayList<String>();
+
+		for(int i = 0; i < strategies.size(); ++i) {
+			result.add(strategies.get(i).name);
+		}
+
+		return result;
+	}
+
+	private void add(Strategy<T> strategy) {
+		if(started) {
+			throw new IllegalStateException();
+		}
+
+		strategies.add(strategy);
+	}
+
+	/**
+	 * Creates a virtual thread if a platform supports it, otherwise a daemon platform thread
+	 */
+	private static Thread newThread(Runnable r) {
+		if(UNSTARTED != null) {
+			try {
+				return (Thread) UNSTARTED.invoke(OF_VIRTUAL.invoke(null), r);
+			} catch(Exception e) {
+			}
+		}
+
+		Thread result = new Thread(r);
+		result.setDaemon(true);
+
+		return result;
+	}
+
+	private static final Method OF_VIRTUAL;
+	private static final Method UNSTARTED;
+
+	static {
+		Method of = null, unstarted = null;
+
+		try {
+			of = Thread.class.getMethod("ofVirtual");
+			unstarted = of.getReturnType().getMethod("unstarted", Runnable.class);
+		} catch(Exception e) {
+			of = null;
+			unstarted = null;
+		}
+
+		OF_VIRTUAL = of;
+		UNSTARTED = unstarted;
+	}
+
+	private final ArrayList<Strategy<T>> strategies = new ArrayList<Strategy<T>>();
+	private final AtomicBoolean stop = new AtomicBoolean(false);
+	private final AtomicReference<Strategy<T>> winner = new AtomicReference<Strategy<T>>();
+	private final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+	private boolean started = false;
+	private long start;
+	private volatile long elapsed;
+
+	/**
+	 * Runs a strategy and claims a win once it is complete
+	 */
+	private class Runner implements Runnable {
+
+		Runner(Strategy<T> strategy) {
+			this.strategy = strategy;
+		}
+
+		public void run() {
+			try {
+				if(strategy.search(stop) && winner.compareAndSet(null, strategy)) {
+					elapsed = System.nanoTime() - start;
+					stop.set(true);
+				}
+			} catch(RuntimeException e) {
+				failure.compareAndSet(null, e);
+			} catch(Error e) {
+				failure.compareAndSet(null, e);
+			}
+		}
+
+		private final Strategy<T> strategy;
+
+	}
+
+	/**
+	 * Search strategy along with a traversal
+	 */
+	private static abstract class Strategy<T> {
+
+		Strategy(String name, SearchBudget budget) {
+			this.name = name;
+			this.budget = budget;
+		}
+
+		/**
+		 * Searches a traversal until a strategy is complete or a stop flag is set
+		 *
+		 * @return true - a strategy is complete, false - it is stopped
+		 */
+		abstract boolean search(AtomicBoolean stop);
+
+		/**
+		 * Spends a budget on a node expansion, if a strategy is limited
+		 */
+		void spend(TreeTraversal<T> tr) {
+			if(budget != null) {
+				budget.spend(tr);
+			}
+		}
+
+		final String name;
+		final SearchBudget budget;
+		List<T> path = null;
+
+	}
+
+	/**
+	 * Strategy complete on a first goal node
+	 */
+	private static class ForwardStrategy<T> extends Strategy<T> {
+
+		ForwardStrategy(String name, TreeTraversal<T> tr, SearchBudget budget) {
+			super(name, budget);
+			this.tr = tr;
+		}
+
+		boolean search(AtomicBoolean stop) {
+			while(!tr.isEmpty()) {
+				if(stop.get()) {
+					return false;
+				}
+
+				spend(tr);
+
+				if(!tr.moveForward() && !tr.isEmpty()) {
+					path = Paths.toList(tr.getPath());
+					break;
+				}
+			}
+
+			return true;
+		}
+
+		private final TreeTraversal<T> tr;
+
+	}
+
+	/**
+	 * Branch-and-bound strategy complete once a search space is exhausted
+	 */
+	private static class BoundStrategy<T,C extends Addable<C> & Comparable<C>> extends Strategy<T> {
+
+		BoundStrategy(String name, CostTreeTraversal<T,C> tr, SearchBudget budget) {
+			super(name, budget);
+			this.tr = tr;
+		}
+
+		boolean search(AtomicBoolean stop) {
+			C bound = null;
+
+			while(!tr.isEmpty()) {
+				if(stop.get()) {
+					return false;
+				}
+
+				if(bound != null && tr.getCost().compareTo(bound) >= 0) {
+					tr.backtrack();
+				} else {
+					spend(tr);
+
+					if(!tr.moveForward() && !tr.isEmpty()) {
+						path = Paths.toList(tr.getPath());
+						bound = Costs.keep(tr.getCost());
+						tr.backtrack();
+					}
+				}
+			}
+
+			return true;
+		}
+
+		private final CostTreeTraversal<T,C> tr;
+
+	}
+
+}
@@ -0,0 +1,79 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+package org.igsl.algorithm.auxiliary;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Best solution found so far by a branch-and-bound search shared between threads.
+ * A path and its cost are replaced together without locking, so a bound read by one thread
+ * is updated by another one as soon as a better solution is found.
+ *
+ * @param <T> type of the node
+ * @param <C> type of the cost
+ */
+public class Incumbent<T,C extends Comparable<C>> {
+
+	/**
+	 * Offers a solution, it replaces the incumbent one if its cost is less
+	 *
+	 * @param path list of node values from a root node to a goal node including both
+	 * @param cost solution cost
+	 * @return true - solution is accepted as a new incumbent, false - otherwise
+	 */
+	public boolean offer(List<T> path, C cost) {
+		Pair<List<T>,C> solution = new Pair<List<T>,C>(path, cost);
+
+		while(true) {
+			Pair<List<T>,C> current = best.get();
+
+			if(current != null && current.getSecond().compareTo(cost) <= 0) {
+				return false;
+			}
+
+			if(best.compareAndSet(current, solution)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Returns a list of node values on a best path found, null - if no solution is found
+	 */
+	public List<T> getPath() {
+		Pair<List<T>,C> current = best.get();
+		return (current == null) ? null : current.getFirst();
+	}
+
+	/**
+	 * Returns a cost of a best path found, null - if no solution is found
+	 */
+	public C getCost() {
+		Pair<List<T>,C> current = best.get();
+		return (current == null) ? null : current.getSecond();
+	}
+
+	/**
+	 * Returns a number of nodes pruned as their cost is not less than an incumbent cost
+	 */
+	public long getPruned() {
+		return pruned.get();
+	}
+
+	/**
+	 * Adds a number of nodes pruned by a search
+	 *
+	 * @param count number of nodes pruned
+	 */
+	public void addPruned(long count) {
+		pruned.addAndGet(count);
+	}
+
+	private final AtomicReference<Pair<List<T>,C>> best = new AtomicReference<Pair<List<T>,C>>();
+	private final AtomicLong pruned = new AtomicLong();
+
+}
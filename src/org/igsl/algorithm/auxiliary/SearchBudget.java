@@ -0,0 +1,112 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+package org.igsl.algorithm.auxiliary;
+
+import org.igsl.functor.exception.BudgetExhaustedException;
+import org.igsl.traversal.Budgetable;
+import org.igsl.traversal.TreeTraversal;
+
+/**
+ * Limits on a search: a number of node expansions, a deadline and a number of front nodes
+ * of a <code>Budgetable</code> traversal. A search spends a budget on each step and stops
+ * with <code>BudgetExhaustedException</code> once any limit is exceeded. A search is also
+ * stopped by <code>cancel</code> called from another thread or by an interrupt of a searching thread.
+ * A deadline, a frontier size, a cancel flag and an interrupt are checked every
+ * <code>CHECK_INTERVAL</code> steps, so a step stays cheap. A budget is spent by a single thread.
+ */
+public class SearchBudget {
+
+	/**
+	 * Value of a limit, which is not set
+	 */
+	public static final long UNLIMITED = -1;
+
+	/**
+	 * Number of steps between checks of a deadline, a frontier size and a cancel flag
+	 */
+	public static final int CHECK_INTERVAL = 64;
+
+	/**
+	 * Constructor based on limits, a deadline is counted from now
+	 *
+	 * @param maxNodes maximal number of node expansions, UNLIMITED - no limit
+	 * @param timeout maximal search time in milliseconds, UNLIMITED - no limit
+	 * @param maxFrontier maximal number of front nodes of a <code>Budgetable</code> traversal, UNLIMITED - no limit
+	 */
+	public SearchBudget(long maxNodes, long timeout, long maxFrontier) {
+		this.maxNodes = (maxNodes < 0) ? Long.MAX_VALUE : maxNodes;
+		this.deadline = (timeout < 0) ? Long.MAX_VALUE : System.nanoTime() + timeout * 1000000L;
+		this.timed = timeout >= 0;
+		this.maxFrontier = (maxFrontier < 0) ? Long.MAX_VALUE : maxFrontier;
+	}
+
+	/**
+	 * Budget, which is only stopped by <code>cancel</code> or an interrupt
+	 */
+	public SearchBudget() {
+		this(UNLIMITED, UNLIMITED, UNLIMITED);
+	}
+
+	/**
+	 * Spends a budget on a node expansion
+	 *
+	 * @param tr traversal searched
+	 * @throws BudgetExhaustedException thrown if any limit is exceeded, a budget is not spent then
+	 */
+	public void spend(TreeTraversal<?> tr) throws BudgetExhaustedException {
+		if(nodes == maxNodes) {
+			throw new BudgetExhaustedException(BudgetExhaustedException.NODES);
+		}
+
+		if(++steps == CHECK_INTERVAL) {
+			steps = 0;
+
+			if(cancelled || Thread.currentThread().isInterrupted()) {
+				throw new BudgetExhaustedException(BudgetExhaustedException.CANCELLED);
+			}
+
+			if(timed && System.nanoTime() - deadline >= 0) {
+				throw new BudgetExhaustedException(BudgetExhaustedException.TIME);
+			}
+
+			if(tr instanceof Budgetable && ((Budgetable) tr).getFrontierSize() > maxFrontier) {
+				throw new BudgetExhaustedException(BudgetExhaustedException.FRONTIER);
+			}
+		}
+
+		++nodes;
+	}
+
+	/**
+	 * Requests a search spending a budget to stop, could be called from any thread
+	 */
+	public void cancel() {
+		cancelled = true;
+	}
+
+	/**
+	 * Checks if a search is cancelled
+	 */
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	/**
+	 * Returns a number of node expansions spent
+	 */
+	public long getNodes() {
+		return nodes;
+	}
+
+	private final long maxNodes;
+	private final long deadline;
+	private final boolean timed;
+	private final long maxFrontier;
+
+	private volatile boolean cancelled = false;
+	private long nodes = 0;
+	private int steps = 0;
+
+}
@@ -0,0 +1,262 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+package org.igsl.algorithm.auxiliary;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.igsl.traversal.SearchListener;
+
+/**
+ * Search listener collecting counters of traversal events. Counters are striped by threads,
+ * so concurrent searches sharing statistics do not contend on them.
+ * Time spent by a search is split into a time spent in generator callbacks and a time spent
+ * by a traversal itself, so it could be seen whether a problem functor or a library is a bottleneck.
+ * A time of a search is counted from a creation of statistics till <code>stop</code> is called.
+ */
+public class SearchStatistics implements SearchListener {
+
+	/**
+	 * Creates statistics and starts a search timer
+	 */
+	public SearchStatistics() {
+		this.start = System.nanoTime();
+	}
+
+	public void expanded(int depth, int generated, long time) {
+		if(generated < 0) {
+			goals.increment();
+		} else {
+			expanded.increment();
+			this.generated.add(generated);
+			histogram(depth).increment();
+		}
+
+		generatorTime.add(time);
+		max(maxDepth, depth);
+	}
+
+	public void validated(int depth, boolean valid, long time) {
+		if(valid) {
+			generated.increment();
+		} else {
+			rejected.increment();
+		}
+
+		generatorTime.add(time);
+		max(maxDepth, depth);
+	}
+
+	public void backtracked(int depth) {
+		backtracks.increment();
+	}
+
+	public void reopened() {
+		reopened.increment();
+	}
+
+	public void frontier(int size) {
+		max(maxFrontier, size);
+	}
+
+	/**
+	 * Stops a search timer
+	 */
+	public void stop() {
+		if(elapsed < 0) {
+			elapsed = System.nanoTime() - start;
+		}
+	}
+
+	/**
+	 * Returns a number of nodes expanded
+	 */
+	public long getExpanded() {
+		return expanded.sum();
+	}
+
+	/**
+	 * Returns a number of nodes generated
+	 */
+	public long getGenerated() {
+		return generated.sum();
+	}
+
+	/**
+	 * Returns a number of transitions rejected by a generator
+	 */
+	public long getRejected() {
+		return rejected.sum();
+	}
+
+	/**
+	 * Returns a number of goal nodes reached
+	 */
+	public long getGoals() {
+		return goals.sum();
+	}
+
+	/**
+	 * Returns a number of backtracks
+	 */
+	public long getBacktracks() {
+		return backtracks.sum();
+	}
+
+	/**
+	 * Returns a number of expanded nodes put to a frontier again
+	 */
+	public long getReopened() {
+		return reopened.sum();
+	}
+
+	/**
+	 * Returns a maximal depth of a node expanded or generated
+	 */
+	public int getMaxDepth() {
+		return (int) maxDepth.get();
+	}
+
+	/**
+	 * Returns a maximal number of front nodes
+	 */
+	public int getMaxFrontier() {
+		return (int) maxFrontier.get();
+	}
+
+	/**
+	 * Returns numbers of nodes expanded by depth up to a maximal one, an element with index 0 is not used
+	 */
+	public long[] getHistogram() {
+		LongAdder[] h = histogram;
+		long[] result = new long[Math.min(h.length, getMaxDepth() + 1)];
+
+		for(int i = 0; i < result.length; ++i) {
+			result[i] = h[i].sum();
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns an average number of nodes generated by an expanded node
+	 */
+	public double getBranchingFactor() {
+		long e = getExpanded();
+		return (e == 0) ? 0 : (double) getGenerated() / e;
+	}
+
+	/**
+	 * Returns an effective branching factor - a branching factor of a uniform tree with a depth equal
+	 * to a maximal depth of a search, which has as many nodes as generated by a search
+	 */
+	public double getEffectiveBranchingFactor() {
+		long n = getGenerated();
+		int d = getMaxDepth() - 1;
+
+		if(n == 0 || d <= 0) {
+			return 0;
+		}
+
+		double low = 0, high = n;
+
+		for(int i = 0; i < 64; ++i) {
+			double b = (low + high) / 2;
+
+			if(treeSize(b, d) < n) {
+				low = b;
+			} else {
+				high = b;
+			}
+		}
+
+		return (low + high) / 2;
+	}
+
+	/**
+	 * Returns nanoseconds spent in generator callbacks, summed over all threads
+	 */
+	public long getGeneratorTime() {
+		return generatorTime.sum();
+	}
+
+	/**
+	 * Returns nanoseconds from a creation of statistics till <code>stop</code> or till now, if a timer is running
+	 */
+	public long getElapsedTime() {
+		return (elapsed < 0) ? System.nanoTime() - start : elapsed;
+	}
+
+	/**
+	 * Returns nanoseconds spent by a traversal except generator callbacks.
+	 * It is meaningful for a search running in a single thread.
+	 */
+	public long getTraversalTime() {
+		return getElapsedTime() - getGeneratorTime();
+	}
+
+	/**
+	 * Number of nodes of a uniform tree without a root
+	 */
+	private static double treeSize(double b, int d) {
+		double result = 0, level = 1;
+
+		for(int i = 0; i < d; ++i) {
+			level *= b;
+			result += level;
+		}
+
+		return result;
+	}
+
+	private static void max(AtomicLong max, long value) {
+		long current;
+
+		while(value > (current = max.get())) {
+			if(max.compareAndSet(current, value)) {
+				return;
+			}
+		}
+	}
+
+	private LongAdder histogram(int depth) {
+		LongAdder[] h = histogram;
+		return (depth < h.length) ? h[depth] : grow(depth)[depth];
+	}
+
+	private synchronized LongAdder[] grow(int depth) {
+		LongAdder[] h = histogram;
+
+		if(depth >= h.length) {
+			int length = h.length;
+			h = Arrays.copyOf(h, Math.max(depth + 1, length << 1));
+
+			for(int i = length; i < h.length; ++i) {
+				h[i] = new LongAdder();
+			}
+
+			histogram = h;
+		}
+
+		return h;
+	}
+
+	private final LongAdder expanded = new LongAdder();
+	private final LongAdder generated = new LongAdder();
+	private final LongAdder rejected = new LongAdder();
+	private final LongAdder goals = new LongAdder();
+	private final LongAdder backtracks = new LongAdder();
+	private final LongAdder reopened = new LongAdder();
+	private final LongAdder generatorTime = new LongAdder();
+	private final AtomicLong maxDepth = new AtomicLong();
+	private final AtomicLong maxFrontier = new AtomicLong();
+
+	private volatile LongAdder[] histogram = new LongAdder[0];
+
+	private final long start;
+	private volatile long elapsed = -1;
+
+}
@@ -0,0 +1,25 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+package org.igsl.algorithm.auxiliary;
+
+import java.util.List;
+
+/**
+ * Receiver of solutions found by a search. Concurrent searches call a sink from several threads,
+ * so an implementation should be thread-safe.
+ *
+ * @param <T> type of the node
+ */
+public interface SolutionSink<T> {
+
+	/**
+	 * Accepts a solution found
+	 *
+	 * @param path list of node values from a root node to a goal node including both
+	 * @return true - search should be continued, false - all searches should be stopped
+	 */
+	boolean accept(List<T> path);
+
+}
@@ -0,0 +1,178 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+package org.igsl.algorithm.auxiliary;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import org.igsl.functor.exception.BudgetExhaustedException;
+import org.igsl.functor.exception.EmptyTraversalException;
+import org.igsl.functor.iterator.path.Paths;
+import org.igsl.traversal.Splitable;
+import org.igsl.traversal.TreeTraversal;
+
+/**
+ * Spliterator over solutions of a traversal. Solutions are found lazily, each one on a request
+ * for a next element, and are given as lists of node values from a root node to a goal node.
+ * A traversal is split only if it implements <code>Splitable</code>. A split part is searched by
+ * a depth-first traversal after the rest of a traversal, so it is kept by this spliterator and
+ * a spliterator returned covers the rest, that keeps a search order for ordered streams.
+ * A traversal is owned by a spliterator and should not be moved by other code.
+ * A traversal backtracks from a goal node only when a next solution is requested,
+ * so a solution with mutable node values stays valid until then.
+ * A search could be limited by a budget, such a spliterator is not split, since a budget
+ * is spent by a single thread.
+ *
+ * @param <T> type of the node
+ */
+public class SolutionSpliterator<T> implements Spliterator<List<T>> {
+
+	/**
+	 * Constructor based on a traversal to search solutions with
+	 *
+	 * @param tr search tree traversal
+	 * @throws NullPointerException thrown if traversal is null
+	 */
+	public SolutionSpliterator(TreeTraversal<T> tr) throws NullPointerException {
+		this(tr, null);
+	}
+
+	/**
+	 * Constructor based on a traversal to search solutions with and a search budget.
+	 * Once a budget is exhausted a request for a next solution throws an exception,
+	 * solutions passed before are a partial result, a traversal is left consistent.
+	 *
+	 * @param tr search tree traversal
+	 * @param budget search budget, null - a search is not limited
+	 * @throws NullPointerException thrown if traversal is null
+	 * @see SearchBudget
+	 */
+	public SolutionSpliterator(TreeTraversal<T> tr, SearchBudget budget) throws NullPointerException {
+		if(tr == null) {
+			throw new NullPointerException();
+		}
+
+		this.tr = tr;
+		this.budget = budget;
+		this.found = new LinkedList<List<T>>();
+	}
+
+	/**
+	 * Searches for a next solution and passes it to an action
+	 *
+	 * @return true - a solution is found, false - search space is exhausted
+	 * @throws BudgetExhaustedException thrown if a budget is exhausted before a solution is found
+	 */
+	public boolean tryAdvance(Consumer<? super List<T>> action) {
+		if(found.isEmpty() && !search()) {
+			return false;
+		}
+
+		action.accept(found.removeFirst());
+		return true;
+	}
+
+	/**
+	 * Splits a traversal, if it has no nodes to split yet, expands a limited number of nodes.
+	 * Solutions found meanwhile are passed to a spliterator returned.
+	 *
+	 * @return spliterator preceding this one in a search order, null - if a traversal could not be split
+	 */
+	public Spliterator<List<T>> trySplit() {
+		if(!(tr instanceof Splitable) || budget != null) {
+			return null;
+		}
+
+		for(int i = 0; i < SPLIT_EXPANSIONS && !tr.isEmpty(); ++i) {
+			// a traversal splits into parts of its own class, so a part is a traversal of T
+			@SuppressWarnings("unchecked")
+			TreeTraversal<T> part = (TreeTraversal<T>) ((Splitable<?>) tr).split();
+
+			if(part != null) {
+				SolutionSpliterator<T> result = new SolutionSpliterator<T>(tr);
+				result.found.addAll(found);
+				result.goal = goal;
+
+				tr = part;
+				found.clear();
+				goal = false;
+
+				return result;
+			}
+
+			step();
+		}
+
+		return null;
+	}
+
+	/**
+	 * Size of a search space is unknown
+	 */
+	public long estimateSize() {
+		return Long.MAX_VALUE;
+	}
+
+	public int characteristics() {
+		return ORDERED | NONNULL;
+	}
+
+	/**
+	 * Moves a traversal until a solution is found or a traversal is empty
+	 */
+	private boolean search() {
+		while(goal || !tr.isEmpty()) {
+			if(step()) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Expands a cursor node or backtracks from a goal node found on a previous step
+	 *
+	 * @return true - a solution is found, false - otherwise
+	 */
+	private boolean step() {
+		if(goal) {
+			goal = false;
+
+			try {
+				tr.backtrack();
+			} catch(EmptyTraversalException e) {
+			}
+
+			return false;
+		}
+
+		if(budget != null) {
+			budget.spend(tr);
+		}
+
+		if(tr.moveForward() || tr.isEmpty()) {
+			return false;
+		}
+
+		found.addLast(Paths.toList(tr.getPath()));
+		goal = true;
+
+		return true;
+	}
+
+	/**
+	 * Maximal number of nodes expanded on a split to get nodes to split
+	 */
+	private static final int SPLIT_EXPANSIONS = 64;
+
+	private TreeTraversal<T> tr;
+	private final SearchBudget budget;
+	private final LinkedList<List<T>> found;
+	private boolean goal = false;
+
+}
@@ -0,0 +1,30 @@
+/**
+ * Implicit Graph Search Library(C), 2011, 2015
+ */
+package org.igsl.cost;
+
+/**
+ * This interface is used for cost value accumulated in place. A traversal could keep
+ * a single mutable instance for each depth of a search tree and reuse it through
+ * <code>assign</code> and <code>accumulate</code> instead of creating a new instance
+ * for each node.
+ */
+public interface Accumulable<C> extends Assignable<C> {
+
+	/**
+	 * The method adds the other instance of the same type to a cost value.
+	 * Unlike <code>Addable.addTo</code> no new instance is created.
+	 * 
+	 * @param other - second operand
+	 */
+	public void accumulate(C other);
+	
+	/**
+	 * The method creates a new instance with the same value, so that it is
+	 * not changed along with a cost value.
+	 * 
+	 * @return C - new instance of the cost value
+	 */
+	public C copy();
+
+}
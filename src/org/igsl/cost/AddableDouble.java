@@ -6,7 +6,7 @@ package org.igsl.cost;
 /**
  * Implementation of Addable interface for double type.
  */
-public class AddableDouble implements Addable<AddableDouble>, Comparable<AddableDouble>, Assignable<AddableDouble>
+public class AddableDouble implements Addable<AddableDouble>, Comparable<AddableDouble>, Accumulable<AddableDouble>
 {
 	protected double value;
 	
@@ -42,6 +42,21 @@ public class AddableDouble implements Addable<AddableDouble>, Comparable<Addable
 		this.value = other.value;
 	}
 	
+	public void accumulate(AddableDouble other) {
+		this.value += other.value;
+	}
+	
+	public AddableDouble copy() {
+		return new AddableDouble(value);
+	}
+	
+	/**
+	 * Returns a value as a primitive double
+	 */
+	public double doubleValue() {
+		return value;
+	}
+	
 	public String toString() {
 		return String.valueOf(value);
 	}
@@ -8,7 +8,7 @@ package org.igsl.cost;
  * Implementation of Addable interface for an integer type.
  */
 public class AddableInteger implements Addable<AddableInteger>, Comparable<AddableInteger>,
-							Assignable<AddableInteger>, Incrementable<AddableInteger> {
+							Accumulable<AddableInteger>, Incrementable<AddableInteger> {
 	private int value;
 	
 	/**
@@ -43,10 +43,25 @@ public class AddableInteger implements Addable<AddableInteger>, Comparable<Addab
 		this.value = other.value;
 	}
 	
+	public void accumulate(AddableInteger other) {
+		this.value += other.value;
+	}
+	
+	public AddableInteger copy() {
+		return new AddableInteger(value);
+	}
+	
 	public AddableInteger inc() {
 		return new AddableInteger(value + 1);
 	}
 	
+	/**
+	 * Returns a value as a primitive integer
+	 */
+	public int intValue() {
+		return value;
+	}
+	
 	public String toString() {
 		return String.valueOf(value);
 	}
@@ -0,0 +1,40 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+package org.igsl.cost;
+
+/**
+ * Class containing static helpers for cost values, which could be accumulated in place.
+ * An <code>Accumulable</code> view of a cost is taken by a single cast, so traversals
+ * and search algorithms do not cast cost values on their own.
+ */
+public final class Costs {
+
+	/**
+	 * Returns a cost, which is not changed by a traversal, a cost accumulated in place is copied
+	 * 
+	 * @param <C> type of the cost
+	 * @param cost cost value, could be null
+	 * @return the same cost or its copy if it is <code>Accumulable</code>
+	 */
+	public static <C> C keep(C cost) {
+		return (cost instanceof Accumulable) ? accumulable(cost).copy() : cost;
+	}
+	
+	/**
+	 * Returns a cost as an <code>Accumulable</code> one of its own type. A cost implementing
+	 * <code>Accumulable</code> is supposed to accumulate values of its own type.
+	 * 
+	 * @param <C> type of the cost
+	 * @param cost cost value
+	 * @return the same instance
+	 * @throws ClassCastException thrown if a cost is not <code>Accumulable</code>
+	 */
+	@SuppressWarnings("unchecked")
+	public static <C> Accumulable<C> accumulable(C cost) throws ClassCastException {
+		return (Accumulable<C>) cost;
+	}
+	
+	private Costs() {}
+
+}
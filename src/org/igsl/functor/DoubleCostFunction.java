@@ -0,0 +1,33 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+package org.igsl.functor;
+
+import org.igsl.functor.exception.DefaultValuesUnsupportedException;
+
+/**
+ * Cost function with real cost kept in a primitive <code>double</code> value,
+ * so that no cost object is created for a transition between neighbor nodes on a search tree.
+ *
+ * @param <T> type of node
+ * @see CostFunction
+ */
+public interface DoubleCostFunction<T> extends NodeGenerator<T> {
+	
+	/**
+	 * The cost of the edge between two nodes on a problem graph
+	 * 
+	 * @param from start node
+	 * @param to final node
+	 * @return transition cost between nodes
+	 */
+	double getTransitionCost(T from, T to);
+	
+	/**
+	 * Defines root(start) node cost 
+	 * @return default start node cost
+	 * @throws DefaultValuesUnsupportedException if no default root cost value exist
+	 */
+	double getDefaultRootCost() throws DefaultValuesUnsupportedException;
+
+}
@@ -0,0 +1,22 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+package org.igsl.functor;
+
+/**
+ * Heuristic cost function interface with real cost kept in a primitive <code>double</code> value.
+ *
+ * @param <T> node type
+ * @see HeuristicFunction
+ */
+public interface DoubleHeuristicFunction<T> extends DoubleCostFunction<T> {
+	
+	/**
+	 * Estimates a cost between a node in a search tree and a goal node
+	 * 
+	 * @param t node in a search tree
+	 * @return cost estimated value for a cost
+	 */
+	public double getEstimatedCost(T t);
+
+}
@@ -4,6 +4,7 @@
 package org.igsl.functor;
 
 import org.igsl.functor.exception.DefaultValuesUnsupportedException;
+import org.igsl.functor.generator.FiniteSetNodeGenerator;
 
 /**
  * Cost function generator allows to calculate cost
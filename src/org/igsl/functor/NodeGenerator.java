@@ -7,6 +7,7 @@ package org.igsl.functor;
 import java.util.List;
 
 import org.igsl.functor.exception.DefaultValuesUnsupportedException;
+import org.igsl.functor.iterator.path.BackwardPathIterator;
 
 /**
  * Interface NodeGenerator should be implemented to initialize any tree traversal.
@@ -0,0 +1,24 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+package org.igsl.functor;
+
+/**
+ * Perfect state hash function encodes a problem state into a 64-bit value without collisions
+ * and decodes it back, so a search could keep codes instead of node objects.
+ *
+ * @param <T> type of node
+ */
+public interface PerfectStateHashFunction<T> extends StateHashFunction<T> {
+
+	/**
+	 * Returns a node presenting a problem state with a given hash. A node is equal to any node
+	 * a hash was taken from, though other properties of a node, e.g. its parent, could be lost.
+	 *
+	 * @param hash state hash
+	 * @return node value
+	 */
+	T getNode(long hash);
+
+}
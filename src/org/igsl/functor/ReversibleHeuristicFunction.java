@@ -0,0 +1,26 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+package org.igsl.functor;
+
+/**
+ * Heuristic function for a problem with an explicit goal node and a backward expansion.
+ * A backward search is informed by an estimation of a cost from a root node.
+ *
+ * @param <T> type of node
+ * @param <C> type of cost
+ */
+public interface ReversibleHeuristicFunction<T,C> extends HeuristicFunction<T,C>, ReversibleNodeGenerator<T> {
+
+	/**
+	 * Estimates a cost of a path from a root node to a node in a backward search tree.
+	 * An estimation should not exceed a real cost as for <code>getEstimatedCost</code>.
+	 *
+	 * @param root root node of a forward search
+	 * @param t node in a backward search tree
+	 * @return estimated value for a cost
+	 */
+	C getReverseEstimatedCost(T root, T t);
+
+}
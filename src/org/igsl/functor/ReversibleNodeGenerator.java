@@ -0,0 +1,36 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+package org.igsl.functor;
+
+import java.util.List;
+
+import org.igsl.functor.iterator.path.BackwardPathIterator;
+
+/**
+ * Node generator for a problem with an explicit goal node, which allows to search a graph
+ * backward from a goal node as well as forward from a root node.
+ *
+ * @param <T> type of node
+ */
+public interface ReversibleNodeGenerator<T> extends NodeGenerator<T> {
+
+	/**
+	 * Returns a goal node value. A goal node is the only one, for which <code>expand</code> returns null.
+	 *
+	 * @return goal node value
+	 */
+	T getGoalNode();
+
+	/**
+	 * Backward expansion procedure for a node on the graph. Returns a list of predecessors of a node,
+	 * that is nodes having it among their successors, an empty list - if there are no predecessors.
+	 * For reversible moves these are successors of a node, a goal node is expanded as well.
+	 *
+	 * @param iterator path of nodes from a node to a goal node
+	 * @return list of predecessors' values
+	 */
+	List<T> expandBackward(BackwardPathIterator<T> iterator);
+
+}
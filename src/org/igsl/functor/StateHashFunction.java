@@ -0,0 +1,24 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+package org.igsl.functor;
+
+/**
+ * State hash function allows to recognize nodes reached along different paths
+ * as a same problem state.
+ *
+ * @param <T> type of node
+ */
+public interface StateHashFunction<T> {
+
+	/**
+	 * Returns a hash of a problem state presented by a node. Nodes with equal states
+	 * should have equal hashes, nodes with different states are supposed to have different ones.
+	 *
+	 * @param value node value
+	 * @return 64-bit state hash
+	 */
+	long getStateHash(T value);
+
+}
@@ -0,0 +1,62 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2010, 2011, 2015
+ */
+
+package org.igsl.functor.exception;
+
+/**
+ * Exception on a search step that would exceed a search budget or on a search cancelled.
+ * It is thrown between traversal operations, so a traversal state is consistent
+ * and a search may be continued with a new budget.
+ */
+public class BudgetExhaustedException extends RuntimeException {
+
+	/**
+	 * Node expansion limit is exceeded
+	 */
+	public static final int NODES = 0;
+
+	/**
+	 * Deadline is passed
+	 */
+	public static final int TIME = 1;
+
+	/**
+	 * Frontier size limit is exceeded
+	 */
+	public static final int FRONTIER = 2;
+
+	/**
+	 * Search is cancelled or a searching thread is interrupted
+	 */
+	public static final int CANCELLED = 3;
+
+	/**
+	 * Constructor based on a kind of a limit exceeded
+	 *
+	 * @param reason one of NODES, TIME, FRONTIER or CANCELLED
+	 */
+	public BudgetExhaustedException(int reason) {
+		super(MESSAGES[reason]);
+		this.reason = reason;
+	}
+
+	/**
+	 * Returns a kind of a limit exceeded: NODES, TIME, FRONTIER or CANCELLED
+	 */
+	public int getReason() {
+		return reason;
+	}
+
+	private static final String[] MESSAGES = new String[] {
+		"Node expansion limit is exceeded",
+		"Deadline is passed",
+		"Frontier size limit is exceeded",
+		"Search is cancelled"
+	};
+
+	private final int reason;
+
+	private static final long serialVersionUID = 1L;
+
+}
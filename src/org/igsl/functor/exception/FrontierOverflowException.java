@@ -0,0 +1,34 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2010, 2011, 2015
+ */
+
+package org.igsl.functor.exception;
+
+/**
+ * Exception on a traversal operation that would exceed a bound on a number of front nodes.
+ * A traversal state is left unchanged, so a search may be continued with <code>backtrack</code>.
+ */
+public class FrontierOverflowException extends RuntimeException {
+
+	/**
+	 * Constructor based on a bound exceeded
+	 * 
+	 * @param limit maximal number of front nodes
+	 */
+	public FrontierOverflowException(int limit) {
+		super("Number of front nodes exceeds " + limit);
+		this.limit = limit;
+	}
+	
+	/**
+	 * Returns maximal number of front nodes
+	 */
+	public int getLimit() {
+		return limit;
+	}
+	
+	private final int limit;
+	
+	private static final long serialVersionUID = 1L;
+	
+}
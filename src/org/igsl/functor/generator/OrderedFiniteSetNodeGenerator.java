@@ -2,7 +2,9 @@
  * Implicit Graph Search Library(C), 2009, 2014
  */
 
-package org.igsl.functor;
+package org.igsl.functor.generator;
+
+import org.igsl.functor.iterator.path.BackwardPathIterator;
 
 /**
  * Interface OrderedFiniteSetNodeGenerator should be implemented to initialize a tree traversal
@@ -0,0 +1,36 @@
+package org.igsl.functor.iterator.path;
+
+/**
+ * Implicit Graph Search Library(C), 2009, 2015 
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Class containing static helpers for path iterators.
+ */
+public final class Paths {
+	
+	/**
+	 * Returns a list of node values from a root node to a cursor including both
+	 * 
+	 * @param <T> type of the node
+	 * @param iterator path iterator from a cursor to a root node, it is moved to a root node
+	 * @return a new list of node values
+	 */
+	public static <T> List<T> toList(BackwardPathIterator<T> iterator) {
+		ArrayList<T> result = new ArrayList<T>();
+		
+		while(iterator.hasPreviousNode()) {
+			result.add(iterator.previousNode());
+		}
+		
+		Collections.reverse(result);
+		return result;
+	}
+	
+	private Paths() {}
+	
+}
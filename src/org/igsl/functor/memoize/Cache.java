@@ -0,0 +1,274 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+package org.igsl.functor.memoize;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of "argument-result" pairs for a memoized method. Keys and results are never null,
+ * a caller is supposed to replace null by a <code>NULL</code> marker object.
+ * Bounded caches are always guarded by a lock, unbounded ones use a concurrent map if required.
+ * Caches are used by memoizing proxies and by delegates generated with <code>MemoizeProcessor</code>.
+ */
+public abstract class Cache {
+
+	/**
+	 * Marker object replacing null keys and results
+	 */
+	public static final Object NULL = new Object();
+
+	/**
+	 * Creates a cache according to a method annotation
+	 *
+	 * @param memoize annotation of a memoized method
+	 * @return an empty cache
+	 */
+	static Cache create(Memoize memoize) {
+		return create(memoize.maxSize(), memoize.eviction(), memoize.concurrent());
+	}
+
+	/**
+	 * Creates a cache according to annotation values of a memoized method
+	 *
+	 * @param maxSize maximal number of cached results, 0 - a cache is not bounded
+	 * @param eviction policy to choose a result evicted from a bounded cache
+	 * @param concurrent true - a cache could be accessed by several threads, false - otherwise
+	 * @return an empty cache
+	 */
+	public static Cache create(int maxSize, Memoize.Eviction eviction, boolean concurrent) {
+		if(maxSize <= 0) {
+			return new Unbounded(concurrent);
+		} else if(eviction == Memoize.Eviction.LFU) {
+			return new LeastFrequentlyUsed(maxSize);
+		} else {
+			return new LeastRecentlyUsed(maxSize);
+		}
+	}
+
+	/**
+	 * Returns a cached result, null - if there is no result for an argument
+	 */
+	public abstract Object get(Object key);
+
+	/**
+	 * Puts a result to a cache evicting another one if a cache is full
+	 */
+	public abstract void put(Object key, Object value);
+
+	/**
+	 * Returns counters of a cache
+	 */
+	public CacheStatistics getStatistics() {
+		return statistics;
+	}
+
+	Cache() {}
+
+	final CacheStatistics statistics = new CacheStatistics();
+
+	/**
+	 * Cache without a limit
+	 */
+	static class Unbounded extends Cache {
+
+		Unbounded(boolean concurrent) {
+			this.map = concurrent ? new ConcurrentHashMap<Object,Object>() : new HashMap<Object,Object>();
+		}
+
+		public Object get(Object key) {
+			Object result = map.get(key);
+			((result == null) ? statistics.misses : statistics.hits).incrementAndGet();
+			return result;
+		}
+
+		public void put(Object key, Object value) {
+			map.put(key, value);
+		}
+
+		private final Map<Object,Object> map;
+
+	}
+
+	/**
+	 * Bounded cache evicting a least recently used result
+	 */
+	static class LeastRecentlyUsed extends Cache {
+
+		LeastRecentlyUsed(final int maxSize) {
+			this.map = new LinkedHashMap<Object,Object>(16, 0.75f, true) {
+				protected boolean removeEldestEntry(Map.Entry<Object,Object> eldest) {
+					if(size() > maxSize) {
+						statistics.evictions.incrementAndGet();
+						return true;
+					}
+
+					return false;
+				}
+			};
+		}
+
+		public synchronized Object get(Object key) {
+			Object result = map.get(key);
+			((result == null) ? statistics.misses : statistics.hits).incrementAndGet();
+			return result;
+		}
+
+		public synchronized void put(Object key, Object value) {
+			map.put(key, value);
+		}
+
+		private final LinkedHashMap<Object,Object> map;
+
+	}
+
+	/**
+	 * Bounded cache evicting a least frequently used result. Entries are kept in lists of buckets
+	 * with equal use counts, buckets are ordered by a count, so all operations take O(1).
+	 */
+	static class LeastFrequentlyUsed extends Cache {
+
+		LeastFrequentlyUsed(int maxSize) {
+			this.maxSize = maxSize;
+			this.map = new HashMap<Object,Node>();
+		}
+
+		public synchronized Object get(Object key) {
+			Node node = map.get(key);
+
+			if(node == null) {
+				statistics.misses.incrementAndGet();
+				return null;
+			}
+
+			statistics.hits.incrementAndGet();
+			touch(node);
+
+			return node.value;
+		}
+
+		public synchronized void put(Object key, Object value) {
+			Node node = map.get(key);
+
+			if(node != null) {
+				node.value = value;
+				touch(node);
+				return;
+			}
+
+			if(map.size() >= maxSize) {
+				Node eldest = lowest.first;
+				unlink(eldest);
+				map.remove(eldest.key);
+				statistics.evictions.incrementAndGet();
+			}
+
+			Bucket b = lowest;
+			if(b == null || b.count != 1) {
+				b = new Bucket(1, null, lowest);
+			}
+
+			node = new Node(key, value);
+			map.put(key, node);
+			append(b, node);
+		}
+
+		private void touch(Node node) {
+			Bucket b = node.bucket;
+			Bucket next = b.next;
+
+			if(next == null || next.count != b.count + 1) {
+				next = new Bucket(b.count + 1, b, next);
+			}
+
+			unlink(node);
+			append(next, node);
+		}
+
+		private void append(Bucket b, Node node) {
+			node.bucket = b;
+			node.prev = b.last;
+			node.next = null;
+
+			if(b.last == null) {
+				b.first = node;
+			} else {
+				b.last.next = node;
+			}
+
+			b.last = node;
+		}
+
+		private void unlink(Node node) {
+			Bucket b = node.bucket;
+
+			if(node.prev == null) {
+				b.first = node.next;
+			} else {
+				node.prev.next = node.next;
+			}
+
+			if(node.next == null) {
+				b.last = node.prev;
+			} else {
+				node.next.prev = node.prev;
+			}
+
+			if(b.first == null) {
+				if(b.prev == null) {
+					lowest = b.next;
+				} else {
+					b.prev.next = b.next;
+				}
+
+				if(b.next != null) {
+					b.next.prev = b.prev;
+				}
+			}
+		}
+
+		private final int maxSize;
+		private final HashMap<Object,Node> map;
+		private Bucket lowest = null;
+
+		private class Bucket {
+			final int count;
+			Bucket prev, next;
+			Node first, last;
+
+			Bucket(int count, Bucket prev, Bucket next) {
+				this.count = count;
+				this.prev = prev;
+				this.next = next;
+
+				if(prev == null) {
+					lowest = this;
+				} else {
+					prev.next = this;
+				}
+
+				if(next != null) {
+					next.prev = this;
+				}
+			}
+		}
+
+		private static class Node {
+			final Object key;
+			Object value;
+			LeastFrequentlyUsed.Bucket bucket;
+			Node prev, next;
+
+			Node(Object key, Object value) {
+				this.key = key;
+				this.value = value;
+			}
+		}
+
+	}
+
+}
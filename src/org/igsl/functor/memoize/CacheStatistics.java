@@ -0,0 +1,37 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+package org.igsl.functor.memoize;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters of a memoized method cache
+ */
+public class CacheStatistics {
+
+	/**
+	 * Returns a number of calls answered with a cached result
+	 */
+	public long getHits() { return hits.get(); }
+
+	/**
+	 * Returns a number of calls passed to a memoized functor
+	 */
+	public long getMisses() { return misses.get(); }
+
+	/**
+	 * Returns a number of results evicted from a bounded cache
+	 */
+	public long getEvictions() { return evictions.get(); }
+
+	public String toString() {
+		return "hits = " + getHits() + "; misses = " + getMisses() + "; evictions = " + getEvictions();
+	}
+
+	final AtomicLong hits = new AtomicLong();
+	final AtomicLong misses = new AtomicLong();
+	final AtomicLong evictions = new AtomicLong();
+
+}
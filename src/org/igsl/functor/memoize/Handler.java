@@ -7,44 +7,56 @@ package org.igsl.functor.memoize;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 
 class Handler implements InvocationHandler {
 	
 	Object obj;
-	HashMap<String, HashMap<Object, Object>> maps; // a map with a method name and a result hash map with "argument-result" pairs
+	HashMap<String, Cache> maps; // a map with a method name and a result cache with "argument-result" pairs
 	
 	Handler(Object obj, Class theInterface) {
 		this.obj = obj;
-		this.maps = new HashMap<String, HashMap<Object, Object>>();
+		this.maps = new HashMap<String, Cache>();
 		
-		for(Method intMethod : theInterface.getMethods()) {
-			for(Method objMethod : obj.getClass().getMethods()) {
-				if(objMethod.getAnnotation(Memoize.class) == null) {
-					continue;
+		HashMap<String, ArrayList<Method>> annotated = new HashMap<String, ArrayList<Method>>();
+		for(Method objMethod : obj.getClass().getMethods()) {
+			if(objMethod.getAnnotation(Memoize.class) != null) {
+				ArrayList<Method> list = annotated.get(objMethod.getName());
+				
+				if(list == null) {
+					annotated.put(objMethod.getName(), list = new ArrayList<Method>());
 				}
 				
-				if(intMethod.getName().equals(objMethod.getName())) {
-					Class<?> intReturnClass = intMethod.getReturnType();
-					Class<?> objReturnClass = objMethod.getReturnType();
+				list.add(objMethod);
+			}
+		}
 					
-					if(intReturnClass != null && objReturnClass != null &&
-						intReturnClass.isAssignableFrom(objReturnClass)) {
+		for(Method intMethod : theInterface.getMethods()) {
+			if(!annotated.containsKey(intMethod.getName())) {
+				continue;
+			}
 
-						Class<?>[] intParameterClasses = intMethod.getParameterTypes();
-						Class<?>[] objParameterClasses = objMethod.getParameterTypes();
-						if(intParameterClasses.length == objParameterClasses.length) {
-							boolean mismatched = false;
-							for(int i = 0; i < intParameterClasses.length; ++i) {
-								if(!intParameterClasses[i].isAssignableFrom(objParameterClasses[i])) {
-									mismatched = true;
-									break;
-								}
+			for(Method objMethod : annotated.get(intMethod.getName())) {
+				Class<?> intReturnClass = intMethod.getReturnType();
+				Class<?> objReturnClass = objMethod.getReturnType();
+				
+				if(intReturnClass != null && objReturnClass != null &&
+					intReturnClass.isAssignableFrom(objReturnClass)) {
+
+					Class<?>[] intParameterClasses = intMethod.getParameterTypes();
+					Class<?>[] objParameterClasses = objMethod.getParameterTypes();
+					if(intParameterClasses.length == objParameterClasses.length) {
+						boolean mismatched = false;
+						for(int i = 0; i < intParameterClasses.length; ++i) {
+							if(!intParameterClasses[i].isAssignableFrom(objParameterClasses[i])) {
+								mismatched = true;
+								break;
 							}
+						}
 							
-							if(!mismatched) {
-								maps.put(objMethod.getName(), new HashMap<Object, Object>());
-							}
+						if(!mismatched) {
+							maps.put(objMethod.getName(), Cache.create(objMethod.getAnnotation(Memoize.class)));
 						}
 					}
 				}
@@ -55,18 +67,23 @@ class Handler implements InvocationHandler {
 	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
 		Object result = null;
 		
-		HashMap<Object, Object> map = (HashMap<Object, Object>) maps.get(method.getName());
+		Cache map = maps.get(method.getName());
 		if(map != null) {
-			ArrayList<Object> arg = new ArrayList<Object>(args.length);
-			
-			for(Object obj : args) { 
-				arg.add(obj);
+			Object arg;
+			if(args == null || args.length == 0) {
+				arg = Cache.NULL;
+			} else if(args.length == 1) {
+				arg = (args[0] == null) ? Cache.NULL : args[0];
+			} else {
+				arg = Arrays.asList(args);
 			}
 			
 			result = map.get(arg);
 			if(result == null) {
 				result = method.invoke(obj, args);
-				map.put(arg, result);
+				map.put(arg, (result == null) ? Cache.NULL : result);
+			} else if(result == Cache.NULL) {
+				result = null;
 			}
 		} else {
 			result = method.invoke(obj, args);				
@@ -75,4 +92,12 @@ class Handler implements InvocationHandler {
 		return result;
 	}
 	
+	/**
+	 * Returns counters of a memoized method cache, null - if a method is not memoized
+	 */
+	CacheStatistics getStatistics(String methodName) {
+		Cache map = maps.get(methodName);
+		return (map == null) ? null : map.statistics;
+	}
+	
 }
\ No newline at end of file
@@ -14,8 +14,39 @@ import java.lang.annotation.Target;
  * <code>CostFunction</code> or <code>HeuristicFunction</code>
  * functors should be memoized. If no method is put under this
  * marker, all methods from functor interface are memoized.
+ * By default results are cached without a limit and a cache is not shared between threads.
  */
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.METHOD)
 public @interface Memoize {
+
+	/**
+	 * Maximal number of cached results, 0 - a cache is not bounded
+	 */
+	int maxSize() default 0;
+
+	/**
+	 * Policy to choose a result evicted from a bounded cache
+	 */
+	Eviction eviction() default Eviction.LRU;
+
+	/**
+	 * true - a cache could be accessed by several threads, false - otherwise
+	 */
+	boolean concurrent() default false;
+
+	/**
+	 * Eviction policies for a bounded cache
+	 */
+	public enum Eviction {
+		/**
+		 * Least recently used result is evicted
+		 */
+		LRU,
+		/**
+		 * Least frequently used result is evicted, the least recently used one among equally used
+		 */
+		LFU
+	}
+
 }
@@ -0,0 +1,341 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+package org.igsl.functor.memoize;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+/**
+ * Annotation processor generating memoizing delegates for functors with <code>Memoize</code> methods.
+ * For a class <code>X</code> a class <code>XMemoized</code> is generated in the same package.
+ * It implements all interfaces implemented by <code>X</code> directly and passes calls to an instance
+ * of <code>X</code>, results of memoized methods are cached according to method annotations.
+ * A single argument is a cache key itself, several arguments are gathered into a generated key class,
+ * so neither reflection nor argument arrays are involved in a call.
+ * Generic functor classes are not supported.
+ */
+@SupportedAnnotationTypes("org.igsl.functor.memoize.Memoize")
+public class MemoizeProcessor extends AbstractProcessor {
+
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment env) {
+		LinkedHashSet<TypeElement> functors = new LinkedHashSet<TypeElement>();
+
+		for(Element e : env.getElementsAnnotatedWith(Memoize.class)) {
+			if(e.getKind() == ElementKind.METHOD) {
+				functors.add((TypeElement) e.getEnclosingElement());
+			}
+		}
+
+		for(TypeElement functor : functors) {
+			if(functor.getKind() != ElementKind.CLASS || !functor.getTypeParameters().isEmpty() ||
+				functor.getModifiers().contains(Modifier.PRIVATE))
+			{
+				error("memoized functor should be a non-generic, non-private class", functor);
+				continue;
+			}
+
+			try {
+				generate(functor);
+			} catch(IOException e) {
+				error(e.getMessage(), functor);
+			}
+		}
+
+		return true;
+	}
+
+	private void generate(TypeElement functor) throws IOException {
+		String packageName = ((PackageElement) getPackage(functor)).getQualifiedName().toString();
+		String name = functor.getSimpleName() + "Memoized";
+		String functorName = functor.getQualifiedName().toString();
+		DeclaredType functorType = (DeclaredType) functor.asType();
+
+		names = new HashSet<String>();
+
+		List<ExecutableElement> memoized = new ArrayList<ExecutableElement>();
+		for(ExecutableElement m : ElementFilter.methodsIn(functor.getEnclosedElements())) {
+			if(m.getAnnotation(Memoize.class) != null) {
+				memoized.add(m);
+			}
+		}
+
+		StringBuilder methods = new StringBuilder();
+		StringBuilder fields = new StringBuilder();
+		StringBuilder keys = new StringBuilder();
+		StringBuilder statistics = new StringBuilder();
+		StringBuilder interfaces = new StringBuilder();
+		HashSet<String> signatures = new HashSet<String>();
+		HashSet<ExecutableElement> used = new HashSet<ExecutableElement>();
+
+		for(TypeMirror i : functor.getInterfaces()) {
+			interfaces.append(interfaces.length() == 0 ? " implements " : ", ").append(i);
+
+			TypeElement ie = (TypeElement) processingEnv.getTypeUtils().asElement(i);
+			for(ExecutableElement m : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(ie))) {
+				if(m.getModifiers().contains(Modifier.STATIC) ||
+					((TypeElement) m.getEnclosingElement()).getQualifiedName().contentEquals("java.lang.Object"))
+				{
+					continue;
+				}
+
+				ExecutableType t = (ExecutableType) processingEnv.getTypeUtils().asMemberOf(functorType, m);
+				String signature = m.getSimpleName() + processingEnv.getTypeUtils().erasure(t).toString();
+
+				if(!signatures.add(signature)) {
+					continue;
+				}
+
+				ExecutableElement annotated = null;
+				for(ExecutableElement a : memoized) {
+					if(a.getSimpleName().equals(m.getSimpleName()) &&
+						processingEnv.getElementUtils().overrides(a, m, functor))
+					{
+						annotated = a;
+					}
+				}
+
+				if(annotated != null && t.getReturnType().getKind() == TypeKind.VOID) {
+					warning("void method is not memoized", annotated);
+					annotated = null;
+				}
+
+				if(annotated != null) {
+					used.add(annotated);
+				}
+
+				appendMethod(methods, fields, keys, statistics, m, t, annotated);
+			}
+		}
+
+		for(ExecutableElement a : memoized) {
+			if(!used.contains(a)) {
+				warning("method does not implement an interface method and is not memoized", a);
+			}
+		}
+
+		PrintWriter out = new PrintWriter(
+			processingEnv.getFiler().createSourceFile(packageName + "." + name, functor).openWriter());
+
+		if(packageName.length() > 0) {
+			out.println("package " + packageName + ";");
+			out.println();
+		}
+
+		out.println("/**");
+		out.println(" * Memoizing delegate for <code>" + functor.getSimpleName() + "</code> generated by <code>"
+			+ getClass().getName() + "</code>");
+		out.println(" */");
+		out.println("public final class " + name + interfaces + " {");
+		out.println();
+		out.println("\tpublic " + name + "(" + functorName + " delegate) throws NullPointerException {");
+		out.println("\t\tif(delegate == null) {");
+		out.println("\t\t\tthrow new NullPointerException();");
+		out.println("\t\t}");
+		out.println();
+		out.println("\t\tthis.delegate = delegate;");
+		out.println("\t}");
+		out.print(methods);
+		out.println();
+		out.println("\t/**");
+		out.println("\t * Returns counters of a memoized method cache, null - if a method is not memoized");
+		out.println("\t */");
+		out.println("\tpublic " + STATISTICS + " getStatistics(String methodName) {");
+		out.print(statistics);
+		out.println("\t\treturn null;");
+		out.println("\t}");
+		out.println();
+		out.println("\tprivate final " + functorName + " delegate;");
+		out.print(fields);
+		out.print(keys);
+		out.println();
+		out.println("}");
+		out.close();
+	}
+
+	private void appendMethod(StringBuilder methods, StringBuilder fields, StringBuilder keys,
+		StringBuilder statistics, ExecutableElement m, ExecutableType t, ExecutableElement annotated)
+	{
+		String methodName = m.getSimpleName().toString();
+		List<? extends TypeMirror> parameters = t.getParameterTypes();
+		TypeMirror returnType = t.getReturnType();
+
+		StringBuilder declaration = new StringBuilder();
+		StringBuilder arguments = new StringBuilder();
+		for(int i = 0; i < parameters.size(); ++i) {
+			if(i > 0) {
+				declaration.append(", ");
+				arguments.append(", ");
+			}
+
+			declaration.append(parameters.get(i)).append(" p").append(i);
+			arguments.append("p").append(i);
+		}
+
+		methods.append("\n\tpublic ").append(returnType).append(" ").append(methodName)
+			.append("(").append(declaration).append(")");
+
+		List<? extends TypeMirror> thrown = t.getThrownTypes();
+		for(int i = 0; i < thrown.size(); ++i) {
+			methods.append((i == 0) ? " throws " : ", ").append(thrown.get(i));
+		}
+
+		methods.append(" {\n");
+
+		String call = "delegate." + methodName + "(" + arguments + ")";
+
+		if(annotated == null) {
+			methods.append("\t\t").append(returnType.getKind() == TypeKind.VOID ? "" : "return ")
+				.append(call).append(";\n\t}\n");
+			return;
+		}
+
+		Memoize memoize = annotated.getAnnotation(Memoize.class);
+		String cache = methodName + "Cache";
+		for(int i = 1; !names.add(cache); ++i) {
+			cache = methodName + "Cache" + i;
+		}
+
+		boolean primitive = returnType.getKind().isPrimitive();
+		String boxed = primitive ?
+			processingEnv.getTypeUtils().boxedClass((PrimitiveType) returnType).getQualifiedName().toString() :
+			returnType.toString();
+
+		String key;
+		if(parameters.isEmpty()) {
+			key = CACHE + ".NULL";
+		} else if(parameters.size() == 1) {
+			key = parameters.get(0).getKind().isPrimitive() ? "p0" : "(p0 == null) ? " + CACHE + ".NULL : p0";
+		} else {
+			String keyClass = Character.toUpperCase(cache.charAt(0)) + cache.substring(1) + "Key";
+			key = "new " + keyClass + "(" + arguments + ")";
+			appendKey(keys, keyClass, parameters);
+		}
+
+		fields.append("\tprivate final ").append(CACHE).append(" ").append(cache).append(" = ")
+			.append(CACHE).append(".create(").append(memoize.maxSize()).append(", ")
+			.append(EVICTION).append(".").append(memoize.eviction().name()).append(", ")
+			.append(memoize.concurrent()).append(");\n");
+
+		statistics.append("\t\tif(\"").append(methodName).append("\".equals(methodName)) {\n")
+			.append("\t\t\treturn ").append(cache).append(".getStatistics();\n")
+			.append("\t\t}\n\n");
+
+		methods.append("\t\tObject key = ").append(key).append(";\n")
+			.append("\t\tObject result = ").append(cache).append(".get(key);\n\n")
+			.append("\t\tif(result == null) {\n")
+			.append("\t\t\t").append(returnType).append(" value = ").append(call).append(";\n");
+
+		if(primitive) {
+			methods.append("\t\t\t").append(cache).append(".put(key, value);\n")
+				.append("\t\t\treturn value;\n")
+				.append("\t\t}\n\n")
+				.append("\t\treturn (").append(boxed).append(") result;\n");
+		} else {
+			methods.append("\t\t\t").append(cache).append(".put(key, (value == null) ? ")
+				.append(CACHE).append(".NULL : value);\n")
+				.append("\t\t\treturn value;\n")
+				.append("\t\t}\n\n")
+				.append("\t\treturn (result == ").append(CACHE).append(".NULL) ? null : (")
+				.append(boxed).append(") result;\n");
+		}
+
+		methods.append("\t}\n");
+	}
+
+	private void appendKey(StringBuilder keys, String keyClass, List<? extends TypeMirror> parameters) {
+		StringBuilder declaration = new StringBuilder();
+		StringBuilder members = new StringBuilder();
+		StringBuilder equality = new StringBuilder();
+		StringBuilder hash = new StringBuilder();
+
+		for(int i = 0; i < parameters.size(); ++i) {
+			TypeMirror p = parameters.get(i);
+			String type = p.getKind().isPrimitive() ?
+				processingEnv.getTypeUtils().boxedClass((PrimitiveType) p).getQualifiedName().toString() :
+				processingEnv.getTypeUtils().erasure(p).toString();
+
+			declaration.append((i == 0) ? "" : ", ").append(type).append(" a").append(i);
+			members.append("\t\tfinal ").append(type).append(" a").append(i).append(";\n");
+			equality.append((i == 0) ? "" : " && ").append("equal(a").append(i).append(", k.a").append(i).append(")");
+			hash.append("\t\t\tresult = 31 * result + ((a").append(i).append(" == null) ? 0 : a").append(i)
+				.append(".hashCode());\n");
+		}
+
+		keys.append("\n\tprivate static final class ").append(keyClass).append(" {\n");
+		keys.append(members);
+		keys.append("\n\t\t").append(keyClass).append("(").append(declaration).append(") {\n");
+		for(int i = 0; i < parameters.size(); ++i) {
+			keys.append("\t\t\tthis.a").append(i).append(" = a").append(i).append(";\n");
+		}
+		keys.append("\t\t}\n\n");
+
+		keys.append("\t\tpublic boolean equals(Object o) {\n")
+			.append("\t\t\tif(!(o instanceof ").append(keyClass).append(")) {\n")
+			.append("\t\t\t\treturn false;\n")
+			.append("\t\t\t}\n\n")
+			.append("\t\t\t").append(keyClass).append(" k = (").append(keyClass).append(") o;\n")
+			.append("\t\t\treturn ").append(equality).append(";\n")
+			.append("\t\t}\n\n")
+			.append("\t\tpublic int hashCode() {\n")
+			.append("\t\t\tint result = 0;\n")
+			.append(hash)
+			.append("\t\t\treturn result;\n")
+			.append("\t\t}\n\n")
+			.append("\t\tprivate static boolean equal(Object a, Object b) {\n")
+			.append("\t\t\treturn (a == null) ? b == null : a.equals(b);\n")
+			.append("\t\t}\n")
+			.append("\t}\n");
+	}
+
+	private Element getPackage(Element e) {
+		while(e.getKind() != ElementKind.PACKAGE) {
+			e = e.getEnclosingElement();
+		}
+
+		return e;
+	}
+
+	private void error(String message, Element e) {
+		processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, e);
+	}
+
+	private void warning(String message, Element e) {
+		processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, message, e);
+	}
+
+	private HashSet<String> names;
+
+	private static final String CACHE = Cache.class.getName();
+	private static final String EVICTION = Memoize.Eviction.class.getCanonicalName();
+	private static final String STATISTICS = CacheStatistics.class.getName();
+
+}
@@ -4,18 +4,23 @@
 
 package org.igsl.functor.memoize;
 
+import java.lang.ref.WeakReference;
+import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Proxy;
-import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import org.igsl.functor.NodeGenerator;
 import org.igsl.functor.CostFunction;
 import org.igsl.functor.HeuristicFunction;
 
-/** Memoizer class
+/** Memoizer class. Proxies are registered weakly, so a functor and its proxy
+ * are not kept in memory once they are not used. Memoizer methods are thread-safe,
+ * caches of memoized methods are thread-safe if they are marked as concurrent.
  */
 public class Memoizer {
 	
-	private static HashMap<Object, Object> proxies = new HashMap<Object, Object>();
+	private static Map<Object, WeakReference<Object>> proxies = new WeakHashMap<Object, WeakReference<Object>>();
 
 	/**
 	 * Create a memoizer for an object implementing <interface>NodeGenerator</interface>
@@ -24,8 +29,8 @@ public class Memoizer {
 	 * @param generator generator to be memoized
 	 * @return generator helper
 	 */
-	public static <T> NodeGenerator<T> memoize(NodeGenerator<T> generator) {
-		NodeGenerator<T> proxy = (NodeGenerator<T>) proxies.get(generator);
+	public static synchronized <T> NodeGenerator<T> memoize(NodeGenerator<T> generator) {
+		NodeGenerator<T> proxy = (NodeGenerator<T>) getProxy(generator);
 		
 		if(proxy == null) {
 			proxy = (NodeGenerator<T>) Proxy.newProxyInstance(
@@ -33,7 +38,7 @@ public class Memoizer {
 				generator.getClass().getInterfaces(),
 				new Handler(generator, NodeGenerator.class));
 			
-			proxies.put(generator, proxy);
+			proxies.put(generator, new WeakReference<Object>(proxy));
 		}
 		
 		return proxy;
@@ -45,8 +50,8 @@ public class Memoizer {
 	 * @param function cost function to be memoized
 	 * @return cost function helper
 	 */
-	public static <T,C> CostFunction<T,C> memoize(CostFunction<T,C> function) {
-		CostFunction<T,C> proxy = (CostFunction<T,C>) proxies.get(function);
+	public static synchronized <T,C> CostFunction<T,C> memoize(CostFunction<T,C> function) {
+		CostFunction<T,C> proxy = (CostFunction<T,C>) getProxy(function);
 		
 		if(proxy == null) {
 			proxy = (CostFunction<T,C>) Proxy.newProxyInstance(
@@ -54,7 +59,7 @@ public class Memoizer {
 				function.getClass().getInterfaces(),
 				new Handler(function, CostFunction.class));
 			
-			proxies.put(function, proxy);
+			proxies.put(function, new WeakReference<Object>(proxy));
 		}
 		
 		return proxy;
@@ -66,19 +71,40 @@ public class Memoizer {
 	 * @param heuristics heuristic function to be memoized
 	 * @return heuristic function helper
 	 */
-	public static <T,C> HeuristicFunction<T,C> memoize(HeuristicFunction<T,C> heuristics) {
-		HeuristicFunction<T,C> proxy = (HeuristicFunction<T,C>) proxies.get(heuristics);
+	public static synchronized <T,C> HeuristicFunction<T,C> memoize(HeuristicFunction<T,C> heuristics) {
+		HeuristicFunction<T,C> proxy = (HeuristicFunction<T,C>) getProxy(heuristics);
 		
 		if(proxy == null) {
 			proxy = (HeuristicFunction<T,C>) Proxy.newProxyInstance(
 				heuristics.getClass().getClassLoader(),
 				heuristics.getClass().getInterfaces(),
-				new Handler(heuristics, CostFunction.class));
+				new Handler(heuristics, HeuristicFunction.class));
 			
-			proxies.put(heuristics, proxy);
+			proxies.put(heuristics, new WeakReference<Object>(proxy));
 		}
 		
 		return proxy;
 	}
 
+	/**
+	 * Returns counters of a cache for a memoized method
+	 * 
+	 * @param proxy functor returned by a <code>memoize</code> method
+	 * @param methodName name of a memoized method
+	 * @return cache counters, null - if an object is not a memoized functor or a method is not memoized
+	 */
+	public static CacheStatistics getStatistics(Object proxy, String methodName) {
+		if(proxy == null || !Proxy.isProxyClass(proxy.getClass())) {
+			return null;
+		}
+		
+		InvocationHandler handler = Proxy.getInvocationHandler(proxy);
+		return (handler instanceof Handler) ? ((Handler) handler).getStatistics(methodName) : null;
+	}
+	
+	private static Object getProxy(Object functor) {
+		WeakReference<Object> ref = proxies.get(functor);
+		return (ref == null) ? null : ref.get();
+	}
+
 }
@@ -0,0 +1,18 @@
+/**
+ * Implicit Graph Search Library(C), 2015
+ */
+
+package org.igsl.traversal;
+
+/**
+ * Interface for traversals, which keep a number of nodes growing with a search,
+ * so a search budget could limit their memory
+ */
+public interface Budgetable {
+
+	/**
+	 * Returns a number of front nodes kept by a traversal
+	 */
+	public int getFrontierSize();
+
+}
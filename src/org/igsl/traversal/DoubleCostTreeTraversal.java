@@ -0,0 +1,20 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+package org.igsl.traversal;
+
+/**
+ * Interface DoubleCostTreeTraversal represents a traversal that accumulates real cost
+ * in a primitive <code>double</code> value while traversing the search tree.
+ * It is a counterpart of <code>CostTreeTraversal</code> for <code>DoubleCostFunction</code>.
+ */
+public interface DoubleCostTreeTraversal<T> extends TreeTraversal<T> {
+
+	/**
+	 * An accumulated cost of the cursor node in a search tree
+	 * 
+	 * @return - cost of the cursor, undefined if traversal is empty
+	 */
+	public double getCost();
+	
+}
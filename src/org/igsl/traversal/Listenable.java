@@ -0,0 +1,19 @@
+/**
+ * Implicit Graph Search Library(C), 2015
+ */
+
+package org.igsl.traversal;
+
+/**
+ * Interface for traversals reporting their events to a listener
+ */
+public interface Listenable {
+
+	/**
+	 * Sets a listener of traversal events
+	 *
+	 * @param listener listener, null - events are not reported
+	 */
+	public void setSearchListener(SearchListener listener);
+
+}
@@ -0,0 +1,20 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+package org.igsl.traversal;
+
+/**
+ * Interface LongCostTreeTraversal represents a traversal that accumulates integral cost
+ * in a primitive <code>long</code> value while traversing the search tree.
+ * It is a counterpart of <code>CostTreeTraversal</code> for <code>LongCostFunction</code>.
+ */
+public interface LongCostTreeTraversal<T> extends TreeTraversal<T> {
+
+	/**
+	 * An accumulated cost of the cursor node in a search tree
+	 * 
+	 * @return - cost of the cursor, undefined if traversal is empty
+	 */
+	public long getCost();
+	
+}
@@ -0,0 +1,53 @@
+/**
+ * Implicit Graph Search Library(C), 2015
+ */
+
+package org.igsl.traversal;
+
+/**
+ * Receiver of events of a traversal. A traversal calls a listener only if it is set,
+ * so a search without a listener is not slowed down. Split parts and copies of a traversal
+ * share its listener, so an implementation called by concurrent searches should be thread-safe.
+ * A depth is a number of nodes on a path from a root node to a node, a root node has depth 1.
+ */
+public interface SearchListener {
+
+	/**
+	 * Called once a node is expanded by a generator
+	 *
+	 * @param depth depth of a node expanded
+	 * @param generated number of children generated, 0 - if children are generated one by one
+	 * and reported by <code>validated</code>, -1 - if a node is a goal one
+	 * @param time nanoseconds spent in generator callbacks
+	 */
+	public void expanded(int depth, int generated, long time);
+
+	/**
+	 * Called once a transition to a node is checked by a generator
+	 *
+	 * @param depth depth of a node checked
+	 * @param valid true - a node is generated, false - a transition is rejected
+	 * @param time nanoseconds spent in a generator callback
+	 */
+	public void validated(int depth, boolean valid, long time);
+
+	/**
+	 * Called once a traversal backtracks from a cursor
+	 *
+	 * @param depth depth of a cursor
+	 */
+	public void backtracked(int depth);
+
+	/**
+	 * Called once an expanded node is reached by a cheaper path and is put to a frontier again
+	 */
+	public void reopened();
+
+	/**
+	 * Called once a number of front nodes is changed by an expansion
+	 *
+	 * @param size number of front nodes
+	 */
+	public void frontier(int size);
+
+}
@@ -0,0 +1,188 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+package org.igsl.traversal;
+
+import java.util.Arrays;
+
+import org.igsl.functor.StateHashFunction;
+
+/**
+ * Bounded table of problem states already searched. An entry keeps a best cost a state is reached with,
+ * a bound backed up from its subtree and a depth of a node. A state is recognized by a 64-bit hash only,
+ * so a hash function is supposed to have no collisions for states of a problem.
+ * A table has a fixed number of entries, each state is mapped to a single slot, and a new entry either
+ * replaces an existing one always or only if it is not deeper (depth-preferred replacement),
+ * since an entry for a node closer to a root covers a larger subtree.
+ * No synchronization is performed.
+ *
+ * @param <T> type of the node
+ * @param <C> type of the cost
+ */
+public class TranspositionTable<T,C extends Comparable<C>> {
+
+	/**
+	 * Creates a table with depth-preferred replacement
+	 *
+	 * @param function state hash function
+	 * @param capacity maximal number of entries, rounded down to a power of two
+	 * @throws NullPointerException thrown if hash function is null
+	 * @throws IllegalArgumentException thrown if capacity is not positive
+	 */
+	public TranspositionTable(StateHashFunction<T> function, int capacity)
+		throws NullPointerException, IllegalArgumentException
+	{
+		this(function, capacity, true);
+	}
+
+	/**
+	 * Creates a table with a given replacement policy
+	 *
+	 * @param function state hash function
+	 * @param capacity maximal number of entries, rounded down to a power of two
+	 * @param depthPreferred true - an entry is replaced by a node of the same or a lower depth only,
+	 * false - an entry is always replaced
+	 * @throws NullPointerException thrown if hash function is null
+	 * @throws IllegalArgumentException thrown if capacity is not positive
+	 */
+	public TranspositionTable(StateHashFunction<T> function, int capacity, boolean depthPreferred)
+		throws NullPointerException, IllegalArgumentException
+	{
+		if(function == null) {
+			throw new NullPointerException();
+		} else {
+			this.function = function;
+		}
+
+		if(capacity <= 0) {
+			throw new IllegalArgumentException();
+		}
+
+		int size = Integer.highestOneBit(capacity);
+
+		this.depthPreferred = depthPreferred;
+		this.mask = size - 1;
+		this.keys = new long[size];
+		this.costs = new Object[size];
+		this.bounds = new Object[size];
+		this.depths = new int[size];
+	}
+
+	/**
+	 * Returns a best cost a state is reached with, null - if a state is not in a table
+	 *
+	 * @param value node value
+	 */
+	public C getCost(T value) {
+		int i = find(value);
+		return (i < 0) ? null : cost(i);
+	}
+
+	/**
+	 * Returns a minimal cost exceeding a threshold in a subtree of a state searched with a best cost,
+	 * null - if a state is not in a table or its subtree is exhausted
+	 *
+	 * @param value node value
+	 */
+	public C getBound(T value) {
+		int i = find(value);
+		return (i < 0) ? null : bound(i);
+	}
+
+	/**
+	 * Checks if a subtree of a state searched with a best cost has no nodes left
+	 *
+	 * @param value node value
+	 * @return true - subtree is exhausted, false - otherwise or if a state is not in a table
+	 */
+	public boolean isExhausted(T value) {
+		int i = find(value);
+		return (i >= 0) && bounds[i] == null;
+	}
+
+	/**
+	 * Puts a state into a table. An entry of the same state is updated unless it has a lower cost,
+	 * an entry of another state is replaced according to a replacement policy.
+	 *
+	 * @param value node value
+	 * @param cost cost a state is reached with
+	 * @param bound minimal cost exceeding a threshold in a subtree, null - if a subtree is exhausted
+	 * @param depth depth of a node
+	 * @return true - entry is stored, false - otherwise
+	 */
+	public boolean store(T value, C cost, C bound, int depth) {
+		long key = function.getStateHash(value);
+		int i = index(key);
+
+		if(costs[i] != null) {
+			if(keys[i] == key) {
+				if(cost(i).compareTo(cost) < 0) {
+					return false;
+				}
+			} else if(depthPreferred && depths[i] < depth) {
+				return false;
+			}
+		}
+
+		keys[i] = key;
+		costs[i] = cost;
+		bounds[i] = bound;
+		depths[i] = depth;
+
+		return true;
+	}
+
+	/**
+	 * Removes all entries
+	 */
+	public void clear() {
+		Arrays.fill(costs, null);
+		Arrays.fill(bounds, null);
+	}
+
+	/**
+	 * Returns a maximal number of entries
+	 */
+	public int getCapacity() {
+		return keys.length;
+	}
+
+	private int find(T value) {
+		long key = function.getStateHash(value);
+		int i = index(key);
+
+		return (costs[i] != null && keys[i] == key) ? i : -1;
+	}
+
+	/**
+	 * Returns a cost of an entry, slots are written only by <code>store</code> with a value of C
+	 */
+	@SuppressWarnings("unchecked")
+	private C cost(int i) {
+		return (C) costs[i];
+	}
+
+	/**
+	 * Returns a bound of an entry, slots are written only by <code>store</code> with a value of C
+	 */
+	@SuppressWarnings("unchecked")
+	private C bound(int i) {
+		return (C) bounds[i];
+	}
+
+	private int index(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32)) & mask;
+	}
+
+	private final StateHashFunction<T> function;
+	private final boolean depthPreferred;
+	private final int mask;
+
+	private final long[] keys;
+	private final Object[] costs;
+	private final Object[] bounds;
+	private final int[] depths;
+
+}
@@ -0,0 +1,141 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+package org.igsl.traversal.closed;
+
+/**
+ * Closed set with entries kept in an order they are added and an open-addressing index over them.
+ * An index slot keeps an entry identifier plus one, zero marks an empty slot, and a state is
+ * probed linearly from a slot given by a mixed state code. An index is at most half full,
+ * otherwise it is doubled and rebuilt from entries, which are not moved.
+ * Subclasses define how entries and index slots are stored.
+ */
+public abstract class AbstractClosedSet implements ClosedSet {
+
+	/**
+	 * Creates a set with an initial number of index slots
+	 *
+	 * @param capacity initial number of index slots, rounded up to a power of two
+	 * @throws IllegalArgumentException thrown if capacity is not positive or too large
+	 */
+	protected AbstractClosedSet(int capacity) throws IllegalArgumentException {
+		if(capacity <= 0 || capacity > MAX_SLOTS) {
+			throw new IllegalArgumentException();
+		}
+
+		this.initial = (capacity == 1) ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+	}
+
+	public int find(long state) {
+		if(slots == 0) {
+			return -1;
+		}
+
+		int mask = slots - 1;
+
+		for(int i = index(state) & mask; ; i = (i + 1) & mask) {
+			int id = getSlot(i) - 1;
+
+			if(id < 0) {
+				return -1;
+			}
+
+			if(getState(id) == state) {
+				return id;
+			}
+		}
+	}
+
+	public int add(long state, long cost, int parent) throws IllegalStateException {
+		if(slots == 0) {
+			allocate(initial);
+		}
+
+		if(2 * (size + 1) > slots) {
+			if(slots == MAX_SLOTS) {
+				throw new IllegalStateException();
+			}
+
+			allocate(slots << 1);
+
+			for(int id = 0; id < size; ++id) {
+				insert(getState(id), id);
+			}
+		}
+
+		int id = size++;
+		putEntry(id, state, cost, parent);
+		insert(state, id);
+
+		return id;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public void clear() {
+		size = 0;
+		slots = 0;
+		release();
+	}
+
+	/**
+	 * Replaces an index by an empty one with a given number of slots
+	 *
+	 * @param slots number of slots, a power of two
+	 */
+	protected abstract void allocateSlots(int slots);
+
+	/**
+	 * Returns a value of an index slot
+	 */
+	protected abstract int getSlot(int i);
+
+	/**
+	 * Changes a value of an index slot
+	 */
+	protected abstract void setSlot(int i, int value);
+
+	/**
+	 * Stores a new entry, an identifier is next to a last one
+	 */
+	protected abstract void putEntry(int id, long state, long cost, int parent);
+
+	/**
+	 * Drops an index and entries
+	 */
+	protected abstract void release();
+
+	private void allocate(int slots) {
+		allocateSlots(slots);
+		this.slots = slots;
+	}
+
+	private void insert(long state, int id) {
+		int mask = slots - 1;
+		int i = index(state) & mask;
+
+		while(getSlot(i) != 0) {
+			i = (i + 1) & mask;
+		}
+
+		setSlot(i, id + 1);
+	}
+
+	private static int index(long state) {
+		long h = state * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+
+	/**
+	 * Maximal number of index slots, so an index of <code>int</code> values fits a single buffer of at most 1 GB
+	 */
+	protected static final int MAX_SLOTS = 1 << 28;
+
+	private final int initial;
+	private int slots = 0;
+	private int size = 0;
+
+}
@@ -0,0 +1,78 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+package org.igsl.traversal.closed;
+
+/**
+ * Interface ClosedSet represents problem states reached by a graph search. A state is given by
+ * a code of a perfect state hash function, so states are recognized by codes rather than by
+ * equality of node objects. An entry keeps a best cost a state is reached with and an identifier
+ * of a parent entry, so a path to a state is restored from a set without node objects.
+ * Entries are identified by numbers from zero in an order they are added, an identifier
+ * is not changed while a set grows.
+ *
+ * @see org.igsl.functor.PerfectStateHashFunction
+ */
+public interface ClosedSet {
+
+	/**
+	 * Returns an identifier of an entry for a state
+	 *
+	 * @param state state code
+	 * @return entry identifier, -1 - if a state is not in a set
+	 */
+	public int find(long state);
+
+	/**
+	 * Puts a state not kept in a set
+	 *
+	 * @param state state code
+	 * @param cost cost a state is reached with
+	 * @param parent identifier of a parent entry, -1 - for a root state
+	 * @return entry identifier
+	 * @throws IllegalStateException thrown if a set has no room for a new entry
+	 */
+	public int add(long state, long cost, int parent) throws IllegalStateException;
+
+	/**
+	 * Changes a cost and a parent of an entry, usually when a state is reached with a lower cost
+	 *
+	 * @param id entry identifier
+	 * @param cost cost a state is reached with
+	 * @param parent identifier of a parent entry
+	 */
+	public void update(int id, long cost, int parent);
+
+	/**
+	 * Returns a state code of an entry
+	 *
+	 * @param id entry identifier
+	 */
+	public long getState(int id);
+
+	/**
+	 * Returns a cost of an entry
+	 *
+	 * @param id entry identifier
+	 */
+	public long getCost(int id);
+
+	/**
+	 * Returns a parent identifier of an entry, -1 - for a root state
+	 *
+	 * @param id entry identifier
+	 */
+	public int getParent(int id);
+
+	/**
+	 * Returns a number of entries
+	 */
+	public int size();
+
+	/**
+	 * Removes all entries
+	 */
+	public void clear();
+
+}
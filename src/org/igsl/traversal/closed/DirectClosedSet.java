@@ -0,0 +1,118 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+package org.igsl.traversal.closed;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Closed set with entries and an index kept in direct byte buffers outside of a heap,
+ * so neither a heap size limits a number of entries nor a garbage collector scans them.
+ * An entry takes 20 bytes: a state code, a cost and a parent identifier. Entries are written
+ * to pages of a fixed size allocated as a set grows, so an entry is never copied,
+ * an index is a single buffer replaced when it is doubled.
+ * Direct memory is limited by <code>-XX:MaxDirectMemorySize</code> option and is freed when buffers
+ * dropped by a cleared set are collected. No synchronization is performed.
+ */
+public class DirectClosedSet extends AbstractClosedSet {
+
+	/**
+	 * Creates a set with a default initial capacity
+	 */
+	public DirectClosedSet() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates a set with a given initial capacity
+	 *
+	 * @param capacity initial number of index slots, rounded up to a power of two
+	 * @throws IllegalArgumentException thrown if capacity is not positive or too large
+	 */
+	public DirectClosedSet(int capacity) throws IllegalArgumentException {
+		super(capacity);
+	}
+
+	public void update(int id, long cost, int parent) {
+		ByteBuffer page = pages[id >>> PAGE_BITS];
+		int offset = (id & PAGE_MASK) * ENTRY_SIZE;
+
+		page.putLong(offset + COST, cost);
+		page.putInt(offset + PARENT, parent);
+	}
+
+	public long getState(int id) {
+		return pages[id >>> PAGE_BITS].getLong((id & PAGE_MASK) * ENTRY_SIZE + STATE);
+	}
+
+	public long getCost(int id) {
+		return pages[id >>> PAGE_BITS].getLong((id & PAGE_MASK) * ENTRY_SIZE + COST);
+	}
+
+	public int getParent(int id) {
+		return pages[id >>> PAGE_BITS].getInt((id & PAGE_MASK) * ENTRY_SIZE + PARENT);
+	}
+
+	protected void allocateSlots(int slots) {
+		index = allocate(slots * 4);
+	}
+
+	protected int getSlot(int i) {
+		return index.getInt(i << 2);
+	}
+
+	protected void setSlot(int i, int value) {
+		index.putInt(i << 2, value);
+	}
+
+	protected void putEntry(int id, long state, long cost, int parent) {
+		int p = id >>> PAGE_BITS;
+
+		if(p == pages.length) {
+			ByteBuffer[] a = new ByteBuffer[Math.max(4, 2 * p)];
+			System.arraycopy(pages, 0, a, 0, p);
+			pages = a;
+		}
+
+		if(pages[p] == null) {
+			pages[p] = allocate(PAGE_SIZE * ENTRY_SIZE);
+		}
+
+		ByteBuffer page = pages[p];
+		int offset = (id & PAGE_MASK) * ENTRY_SIZE;
+
+		page.putLong(offset + STATE, state);
+		page.putLong(offset + COST, cost);
+		page.putInt(offset + PARENT, parent);
+	}
+
+	protected void release() {
+		index = null;
+		pages = new ByteBuffer[0];
+	}
+
+	/**
+	 * Allocates a zeroed buffer with a native byte order
+	 */
+	private static ByteBuffer allocate(int bytes) {
+		return ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+	}
+
+	private static final int DEFAULT_CAPACITY = 1 << 10;
+
+	/**
+	 * Entry layout: offsets of fields and a size in bytes
+	 */
+	private static final int STATE = 0, COST = 8, PARENT = 16, ENTRY_SIZE = 20;
+
+	/**
+	 * Number of entries in a page, a power of two
+	 */
+	private static final int PAGE_BITS = 16, PAGE_SIZE = 1 << PAGE_BITS, PAGE_MASK = PAGE_SIZE - 1;
+
+	private ByteBuffer index;
+	private ByteBuffer[] pages = new ByteBuffer[0];
+
+}
@@ -0,0 +1,90 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+package org.igsl.traversal.closed;
+
+import java.util.Arrays;
+
+/**
+ * Closed set with entries and an index kept in arrays of primitive values on a heap,
+ * so a set is a few objects for a garbage collector regardless of a number of entries.
+ * Arrays of entries are doubled as they are filled. No synchronization is performed.
+ */
+public class HeapClosedSet extends AbstractClosedSet {
+
+	/**
+	 * Creates a set with a default initial capacity
+	 */
+	public HeapClosedSet() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates a set with a given initial capacity
+	 *
+	 * @param capacity initial number of index slots, rounded up to a power of two
+	 * @throws IllegalArgumentException thrown if capacity is not positive or too large
+	 */
+	public HeapClosedSet(int capacity) throws IllegalArgumentException {
+		super(capacity);
+	}
+
+	public void update(int id, long cost, int parent) {
+		costs[id] = cost;
+		parents[id] = parent;
+	}
+
+	public long getState(int id) {
+		return states[id];
+	}
+
+	public long getCost(int id) {
+		return costs[id];
+	}
+
+	public int getParent(int id) {
+		return parents[id];
+	}
+
+	protected void allocateSlots(int slots) {
+		index = new int[slots];
+	}
+
+	protected int getSlot(int i) {
+		return index[i];
+	}
+
+	protected void setSlot(int i, int value) {
+		index[i] = value;
+	}
+
+	protected void putEntry(int id, long state, long cost, int parent) {
+		if(id == states.length) {
+			int length = Math.max(DEFAULT_CAPACITY, 2 * id);
+
+			states = Arrays.copyOf(states, length);
+			costs = Arrays.copyOf(costs, length);
+			parents = Arrays.copyOf(parents, length);
+		}
+
+		states[id] = state;
+		costs[id] = cost;
+		parents[id] = parent;
+	}
+
+	protected void release() {
+		index = null;
+		states = new long[0];
+		costs = new long[0];
+		parents = new int[0];
+	}
+
+	private static final int DEFAULT_CAPACITY = 1 << 10;
+
+	private int[] index;
+	private long[] states = new long[0];
+	private long[] costs = new long[0];
+	private int[] parents = new int[0];
+
+}
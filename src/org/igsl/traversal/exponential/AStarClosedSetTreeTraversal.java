@@ -0,0 +1,384 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+package org.igsl.traversal.exponential;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+import org.igsl.functor.LongCostFunction;
+import org.igsl.functor.LongHeuristicFunction;
+import org.igsl.functor.NodeGenerator;
+import org.igsl.functor.PerfectStateHashFunction;
+import org.igsl.functor.exception.DefaultValuesUnsupportedException;
+import org.igsl.functor.exception.EmptyTraversalException;
+import org.igsl.functor.iterator.path.BackwardPathIterator;
+import org.igsl.traversal.Budgetable;
+import org.igsl.traversal.Listenable;
+import org.igsl.traversal.LongCostTreeTraversal;
+import org.igsl.traversal.SearchListener;
+import org.igsl.traversal.closed.ClosedSet;
+import org.igsl.traversal.closed.DirectClosedSet;
+import org.igsl.traversal.frontier.BucketFrontier;
+import org.igsl.traversal.frontier.Frontier;
+import org.igsl.traversal.frontier.FrontierNode;
+import org.igsl.traversal.frontier.HeapFrontier;
+import org.igsl.traversal.frontier.IntegralKey;
+
+/**
+ * A* algorithm traversal for a problem graph with integral edge cost and heuristics, which keeps
+ * reached states in a closed set rather than in a map of node objects. A state is encoded by
+ * a perfect state hash function, a set entry keeps a best cost of a state and an identifier
+ * of a parent entry, so states are recognized by codes and a path is decoded from parent entries.
+ * With a <code>DirectClosedSet</code> reached states are kept outside of a heap.
+ * Front nodes are small objects with an entry identifier and keys only. A node is not updated
+ * when its state is reached with a lower cost, a new node is added instead and an outdated one
+ * is dropped once it becomes a frontier head, so a frontier size includes outdated nodes.
+ */
+public class AStarClosedSetTreeTraversal<T> implements LongCostTreeTraversal<T>, Budgetable, Listenable {
+
+	/**
+	 * Constructor based on a start search node, heuristic function, state codec, closed set and frontier kind.
+	 *
+	 * @param value root node value
+	 * @param cost root node cost
+	 * @param heuristics heuristic function
+	 * @param function perfect state hash function
+	 * @param closed closed set, it is cleared
+	 * @param buckets true - front nodes are kept in a bucket frontier, it falls back to a heap once sums
+	 * of node cost and estimation spread over too many values, false - front nodes are kept in a heap
+	 * @throws NullPointerException thrown if heuristics, hash function or closed set is null
+	 * @see LongHeuristicFunction
+	 * @see PerfectStateHashFunction
+	 * @see ClosedSet
+	 */
+	public AStarClosedSetTreeTraversal(T value, long cost, LongHeuristicFunction<T> heuristics,
+		PerfectStateHashFunction<T> function, ClosedSet closed, boolean buckets)
+		throws NullPointerException
+	{
+		if(heuristics == null || function == null || closed == null) {
+			throw new NullPointerException();
+		} else {
+			this.heuristics = heuristics;
+			this.function = function;
+			this.closed = closed;
+		}
+
+		this.frontier = buckets ? new BucketFrontier<TreeNode>() : new HeapFrontier<TreeNode>();
+
+		closed.clear();
+		frontier.add(new TreeNode(closed.add(function.getStateHash(value), cost, -1),
+			cost, cost + heuristics.getEstimatedCost(value)));
+	}
+
+	/**
+	 * Constructor based on a start search node, heuristic function and state codec,
+	 * reached states are kept in a direct closed set and front nodes - in a heap.
+	 *
+	 * @param value root node value
+	 * @param cost root node cost
+	 * @param heuristics heuristic function
+	 * @param function perfect state hash function
+	 * @throws NullPointerException thrown if heuristics or hash function is null
+	 * @see DirectClosedSet
+	 */
+	public AStarClosedSetTreeTraversal(T value, long cost, LongHeuristicFunction<T> heuristics,
+		PerfectStateHashFunction<T> function)
+		throws NullPointerException
+	{
+		this(value, cost, heuristics, function, new DirectClosedSet(), false);
+	}
+
+	/**
+	 * Constructor based on a default root node and cost values, heuristic function and state codec,
+	 * reached states are kept in a direct closed set and front nodes - in a heap.
+	 *
+	 * @param heuristics heuristic function
+	 * @param function perfect state hash function
+	 * @throws NullPointerException thrown if heuristics or hash function is null
+	 * @throws DefaultValuesUnsupportedException thrown if default root node and/or cost value does not exist
+	 */
+	public AStarClosedSetTreeTraversal(LongHeuristicFunction<T> heuristics, PerfectStateHashFunction<T> function)
+		throws NullPointerException, DefaultValuesUnsupportedException
+	{
+		this(heuristics.getDefaultRootNode(), heuristics.getDefaultRootCost(), heuristics, function);
+	}
+
+	/**
+	 * Expands nodes based on a minimal value for a sum of node cost and
+	 * cost estimation from a node to a goal. For an empty traversal throws an exception.
+	 * A new state is put to a closed set, a state reached with a lower cost is updated in a set,
+	 * in both cases a front node is added.
+	 */
+	public boolean moveForward() throws EmptyTraversalException {
+		TreeNode n = peek();
+
+		if(n == null) {
+			throw new EmptyTraversalException();
+		}
+
+		T value = cursorValue;
+		List<T> result = expand();
+
+		if(result == null) {
+			return false;
+		}
+
+		frontier.poll();
+
+		Iterator<T> i = result.iterator();
+
+		while(i.hasNext()) {
+			T t = i.next();
+
+			long c = n.cost + heuristics.getTransitionCost(value, t);
+			long state = function.getStateHash(t);
+			int id = closed.find(state);
+
+			if(id < 0) {
+				id = closed.add(state, c, n.id);
+			} else if(closed.getCost(id) > c) {
+				closed.update(id, c, n.id);
+			} else {
+				continue;
+			}
+
+			frontier.add(new TreeNode(id, c, c + heuristics.getEstimatedCost(t)));
+		}
+
+		return true;
+	}
+
+	/**
+	 * Removes the cursor node not expanding it, its state is left in a closed set
+	 */
+	public void backtrack() throws EmptyTraversalException {
+		if(listener != null && !isEmpty()) {
+			listener.backtracked(getDepth());
+		}
+
+		if(peek() == null) {
+			throw new EmptyTraversalException();
+		}
+
+		frontier.poll();
+	}
+
+	/**
+	 * Returns value for cursor node, null - if traversal is empty
+	 */
+	public T getCursor() {
+		peek();
+		return cursorValue;
+	}
+
+	/**
+	 * Returns cost for cursor node
+	 *
+	 * @throws EmptyTraversalException thrown if traversal is empty
+	 */
+	public long getCost() throws EmptyTraversalException {
+		TreeNode n = peek();
+
+		if(n == null) {
+			throw new EmptyTraversalException();
+		}
+
+		return n.cost;
+	}
+
+	/**
+	 * Returns a node generator functor.
+	 */
+	public NodeGenerator<T> getNodeGenerator() {
+		return heuristics;
+	}
+
+	/**
+	 * Returns a cost function functor.
+	 */
+	public LongCostFunction<T> getCostFunction() {
+		return heuristics;
+	}
+
+	/**
+	 * Returns a closed set of states reached.
+	 */
+	public ClosedSet getClosedSet() {
+		return closed;
+	}
+
+	/**
+	 * Returns a list of node values from the cursor to a root node including both.
+	 * Path iterator returned is a singleton.
+	 */
+	public BackwardPathIterator<T> getPathIterator() {
+		return pathIterator.reset(peek());
+	}
+
+	/**
+	 * Returns a list of node values from the cursor to a root node including both
+	 */
+	public BackwardPathIterator<T> getPath() {
+		return new PathIteratorImpl().reset(peek());
+	}
+
+	/**
+	 * Returns a list of nodes to be expanded. A frontier is not iterable,
+	 * so it is emptied and filled again without outdated nodes.
+	 */
+	public Collection<T> getLeafs() {
+		ArrayList<TreeNode> nodes = new ArrayList<TreeNode>(frontier.size());
+		TreeNode n;
+
+		while((n = peek()) != null) {
+			nodes.add(frontier.poll());
+		}
+
+		ArrayList<T> leafs = new ArrayList<T>(nodes.size());
+
+		for(int i = 0; i < nodes.size(); ++i) {
+			n = nodes.get(i);
+			frontier.add(n);
+			leafs.add(function.getNode(closed.getState(n.id)));
+		}
+
+		return leafs;
+	}
+
+	/**
+	 * Depth is a number of nodes from a root node to cursor, a root node has depth 1.
+	 * Depth of an empty traversal is 0.
+	 */
+	public int getDepth() {
+		TreeNode n = peek();
+
+		if(n == null) return 0;
+
+		int result = 1;
+		for(int id = closed.getParent(n.id); id >= 0; id = closed.getParent(id)) {
+			++result;
+		}
+
+		return result;
+	}
+
+	/**
+	 * Check if traversal has no nodes to expand
+	 */
+	public boolean isEmpty() {
+		return peek() == null;
+	}
+
+	/**
+	 * Implementation details of Budgetable interface.
+	 * Returns a number of nodes in a frontier including outdated ones.
+	 */
+	public int getFrontierSize() {
+		return frontier.size();
+	}
+
+	/**
+	 * Implementation details of Listenable interface.
+	 */
+	public void setSearchListener(SearchListener listener) {
+		this.listener = listener;
+	}
+
+	/**
+	 * Expands the cursor by a generator reporting it to a listener
+	 */
+	private List<T> expand() {
+		if(listener == null) {
+			return heuristics.expand(getPathIterator());
+		}
+
+		listener.frontier(getFrontierSize());
+
+		long time = System.nanoTime();
+		List<T> result = heuristics.expand(getPathIterator());
+		listener.expanded(getDepth(), (result == null) ? -1 : result.size(), System.nanoTime() - time);
+
+		return result;
+	}
+
+	/**
+	 * Drops outdated nodes from a frontier head and returns the cursor node,
+	 * a value of a new cursor node is decoded
+	 */
+	private TreeNode peek() {
+		TreeNode n = frontier.peek();
+
+		while(n != null && n.cost > closed.getCost(n.id)) {
+			frontier.poll();
+			n = frontier.peek();
+		}
+
+		if(n != cursor) {
+			cursor = n;
+			cursorValue = (n == null) ? null : function.getNode(closed.getState(n.id));
+		}
+
+		return n;
+	}
+
+	private ClosedSet closed;
+	private Frontier<TreeNode> frontier;
+	private TreeNode cursor;
+	private T cursorValue;
+
+	private LongHeuristicFunction<T> heuristics;
+	private PerfectStateHashFunction<T> function;
+	private SearchListener listener;
+	private PathIteratorImpl pathIterator = new PathIteratorImpl();
+
+	class TreeNode extends FrontierNode<TreeNode> implements IntegralKey {
+		final int id;
+		final long cost, total;
+
+		TreeNode(int id, long cost, long total) {
+			this.id = id;
+			this.cost = cost;
+			this.total = total;
+		}
+
+		public int compareTo(TreeNode other) {
+			return (total < other.total) ? -1 : ((total == other.total) ? 0 : 1);
+		}
+
+		public long getBucket() {
+			return total;
+		}
+	}
+
+	/**
+	 * Iterator over parent entries of a closed set, a cursor value is taken as decoded already
+	 */
+	private class PathIteratorImpl implements BackwardPathIterator<T> {
+
+		private int id = -1;
+		private T value;
+
+		public boolean hasPreviousNode() {
+			return id >= 0;
+		}
+
+		public T previousNode() {
+			T result = (value == null) ? function.getNode(closed.getState(id)) : value;
+			value = null;
+			id = closed.getParent(id);
+			return result;
+		}
+
+		private BackwardPathIterator<T> reset(TreeNode node) {
+			this.id = (node == null) ? -1 : node.id;
+			this.value = cursorValue;
+			return this;
+		}
+
+	}
+
+}
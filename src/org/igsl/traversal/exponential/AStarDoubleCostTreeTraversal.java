@@ -0,0 +1,383 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+package org.igsl.traversal.exponential;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+
+import org.igsl.functor.DoubleHeuristicFunction;
+import org.igsl.functor.DoubleCostFunction;
+import org.igsl.functor.NodeGenerator;
+import org.igsl.functor.exception.DefaultValuesUnsupportedException;
+import org.igsl.functor.exception.EmptyTraversalException;
+import org.igsl.functor.iterator.path.BackwardPathIterator;
+import org.igsl.traversal.Budgetable;
+import org.igsl.traversal.DoubleCostTreeTraversal;
+import org.igsl.traversal.Listenable;
+import org.igsl.traversal.SearchListener;
+import org.igsl.traversal.frontier.Frontier;
+import org.igsl.traversal.frontier.FrontierNode;
+import org.igsl.traversal.frontier.HeapFrontier;
+
+/**
+ * A* algorithm traversal for a problem graph with real edge cost and heuristics.
+ * Node costs and frontier keys are kept in primitive <code>double</code> values,
+ * so no cost object is created while a tree is traversed. Nodes count their children rather than
+ * list them and a state has a single map entry, an expanded node is dropped along with its last child.
+ * Front nodes are kept in an indexed heap ordered by a sum of node cost and estimation.
+ */
+public class AStarDoubleCostTreeTraversal<T> implements DoubleCostTreeTraversal<T>, Budgetable, Listenable {
+
+	/**
+	 * Constructor based on a start search node, expansion operator and cost function.
+	 *
+	 * @param value root node value
+	 * @param cost root node cost
+	 * @param heuristics heuristic function
+	 * @throws NullPointerException thrown if heuristics is null
+	 * @see DoubleHeuristicFunction
+	 */
+	public AStarDoubleCostTreeTraversal(T value, double cost, DoubleHeuristicFunction<T> heuristics)
+		throws NullPointerException
+	{
+		if(heuristics == null) {
+			throw new NullPointerException();
+		} else {
+			this.heuristics = heuristics;
+		}
+
+		this.frontier = new HeapFrontier<TreeNode>();
+
+		open(new TreeNode(value, cost, cost + heuristics.getEstimatedCost(value), null));
+	}
+
+	/**
+	 * Constructor based on a root node value and heuristic function along with default root cost value
+	 *
+	 * @param value root node value
+	 * @param heuristics heuristic function
+	 * @throws NullPointerException thrown if heuristics is null
+	 * @throws DefaultValuesUnsupportedException thrown if default root cost value does not exist
+	 * @see DoubleHeuristicFunction
+	 */
+	public AStarDoubleCostTreeTraversal(T value, DoubleHeuristicFunction<T> heuristics)
+		throws NullPointerException, DefaultValuesUnsupportedException
+	{
+		this(value, heuristics.getDefaultRootCost(), heuristics);
+	}
+
+	/**
+	 * Constructor based on a default root node and cost values and heuristic function
+	 *
+	 * @param heuristics heuristic function
+	 * @throws NullPointerException thrown if heuristics is null
+	 * @throws DefaultValuesUnsupportedException thrown if default root node and/or cost value does not exist
+	 * @see DoubleHeuristicFunction
+	 */
+	public AStarDoubleCostTreeTraversal(DoubleHeuristicFunction<T> heuristics)
+		throws NullPointerException, DefaultValuesUnsupportedException
+	{
+		this(heuristics.getDefaultRootNode(), heuristics.getDefaultRootCost(), heuristics);
+	}
+
+	/**
+	 * Expands nodes based on a minimal value for a sum of node cost and
+	 * cost estimation from a node to a goal. For an empty traversal throws an exception.
+	 * If the result of node expansion is empty list of nodes then
+	 * searches for other nodes in the tree performing pruning procedure.
+	 * For each new node checks if a duplicated node already exits and decreases its key
+	 * in the frontier if the cost is less.
+	 */
+	public boolean moveForward() throws EmptyTraversalException {
+		TreeNode n = frontier.peek();
+
+		if(n == null) {
+			throw new EmptyTraversalException();
+		}
+
+		List<T> result = expand();
+
+		if(result == null) {
+			return false;
+		}
+
+		frontier.remove(n);
+
+		if(result.isEmpty()) {
+			pruneBranch(n);
+		} else {
+			int added = 0;
+			Iterator<T> i = result.iterator();
+
+			while(i.hasNext()) {
+				T t = i.next();
+
+				double c = n.cost + heuristics.getTransitionCost(n.value, t);
+				double tc = c + heuristics.getEstimatedCost(t);
+
+				TreeNode o = nodes.get(t);
+				if(o == null) {
+					open(new TreeNode(t, c, tc, n));
+					++added;
+				} else if(o.total > tc) {
+					o.cost = c;
+					o.total = tc;
+					link(o, n);
+
+					if(o.isQueued()) {
+						frontier.update(o);
+					} else {
+						frontier.add(o);
+
+						if(listener != null) {
+							listener.reopened();
+						}
+					}
+
+					++added;
+				}
+			}
+
+			if(added == 0) {
+				pruneBranch(n);
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Simply prunes the cursor node and its predecessors if necessary
+	 * till a ready-for-expansion node is found.
+	 */
+	public void backtrack() throws EmptyTraversalException {
+		if(listener != null && !isEmpty()) {
+			listener.backtracked(getDepth());
+		}
+
+		TreeNode n = frontier.poll();
+
+		if(n == null) {
+			throw new EmptyTraversalException();
+		}
+
+		pruneBranch(n);
+	}
+
+	/**
+	 * Returns value for cursor node, null - if traversal is empty
+	 */
+	public T getCursor() {
+		TreeNode n = frontier.peek();
+		return (n == null) ? null : n.value;
+	}
+
+	/**
+	 * Returns cost for cursor node
+	 *
+	 * @throws EmptyTraversalException thrown if traversal is empty
+	 */
+	public double getCost() throws EmptyTraversalException {
+		TreeNode n = frontier.peek();
+
+		if(n == null) {
+			throw new EmptyTraversalException();
+		}
+
+		return n.cost;
+	}
+
+	/**
+	 * Returns a node generator functor.
+	 */
+	public NodeGenerator<T> getNodeGenerator() {
+		return heuristics;
+	}
+
+	/**
+	 * Returns a cost function functor.
+	 */
+	public DoubleCostFunction<T> getCostFunction() {
+		return heuristics;
+	}
+
+	/**
+	 * Returns a list of node values from the cursor to a root node including both.
+	 * Path iterator returned is a singleton.
+	 */
+	public BackwardPathIterator<T> getPathIterator() {
+		return pathIterator.reset(frontier.peek());
+	}
+
+	/**
+	 * Returns a list of node values from the cursor to a root node including both
+	 */
+	public BackwardPathIterator<T> getPath() {
+		return new PathIteratorImpl(frontier.peek());
+	}
+
+	/**
+	 * Returns a list of nodes to be expanded.
+	 */
+	public Collection<T> getLeafs() {
+		ArrayList<T> leafs = new ArrayList<T>(frontier.size());
+
+		for(TreeNode n : nodes.values()) {
+			if(n.isQueued()) {
+				leafs.add(n.value);
+			}
+		}
+
+		return leafs;
+	}
+
+	/**
+	 * Depth is a number of edges from a root node to cursor.
+	 */
+	public int getDepth() {
+		TreeNode n = frontier.peek();
+
+		if(n == null) return 0;
+
+		int result = 1;
+		while((n = n.parent) != null) {
+			++result;
+		}
+
+		return result;
+	}
+
+	/**
+	 * Check if traversal has no nodes to expand
+	 */
+	public boolean isEmpty() {
+		return frontier.isEmpty();
+	}
+
+	/**
+	 * Implementation details of Budgetable interface.
+	 * Returns a number of nodes to be expanded.
+	 */
+	public int getFrontierSize() {
+		return frontier.size();
+	}
+
+	/**
+	 * Implementation details of Listenable interface.
+	 */
+	public void setSearchListener(SearchListener listener) {
+		this.listener = listener;
+	}
+
+	/**
+	 * Expands the cursor by a generator reporting it to a listener
+	 */
+	private List<T> expand() {
+		if(listener == null) {
+			return heuristics.expand(getPathIterator());
+		}
+
+		listener.frontier(getFrontierSize());
+
+		long time = System.nanoTime();
+		List<T> result = heuristics.expand(getPathIterator());
+		listener.expanded(getDepth(), (result == null) ? -1 : result.size(), System.nanoTime() - time);
+
+		return result;
+	}
+
+	private void open(TreeNode n) {
+		nodes.put(n.value, n);
+		frontier.add(n);
+	}
+
+	/**
+	 * Moves a node to a new parent, an old parent is pruned if it is left without children
+	 */
+	private void link(TreeNode n, TreeNode parent) {
+		TreeNode old = n.parent;
+		n.parent = parent;
+		++parent.childs;
+
+		if(old != null) {
+			--old.childs;
+			pruneBranch(old);
+		}
+	}
+
+	/**
+	 * Removes a node, which is neither queued nor has children, along with predecessors left without children
+	 */
+	private void pruneBranch(TreeNode n) {
+		while(n != null && n.isLeaf() && !n.isQueued()) {
+			nodes.remove(n.value);
+			n = n.parent;
+
+			if(n != null) {
+				--n.childs;
+			}
+		}
+	}
+
+	private HashMap<T,TreeNode> nodes = new HashMap<T,TreeNode>();
+	private Frontier<TreeNode> frontier;
+
+	private DoubleHeuristicFunction<T> heuristics;
+	private SearchListener listener;
+	private PathIteratorImpl pathIterator = new PathIteratorImpl(null);
+
+	class TreeNode extends FrontierNode<TreeNode> {
+		final T value;
+		double cost, total;
+		TreeNode parent;
+		int childs;
+
+		TreeNode(T value, double cost, double total, TreeNode parent) {
+			this.value = value;
+			this.cost = cost;
+			this.total = total;
+			this.parent = parent;
+
+			if(parent != null) {
+				++parent.childs;
+			}
+		}
+
+		boolean isLeaf() { return childs == 0; }
+
+		public int compareTo(TreeNode other) {
+			return Double.compare(total, other.total);
+		}
+	}
+
+	private class PathIteratorImpl implements BackwardPathIterator<T> {
+
+		private TreeNode node;
+
+		public PathIteratorImpl(TreeNode node) {
+			this.node = node;
+		}
+
+		public boolean hasPreviousNode() {
+			return node != null;
+		}
+
+		public T previousNode() {
+			T result = node.value;
+			node = node.parent;
+			return result;
+		}
+
+		private BackwardPathIterator<T> reset(TreeNode node) {
+			this.node = node;
+			return this;
+		}
+
+	}
+
+}
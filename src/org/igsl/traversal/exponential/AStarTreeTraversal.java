@@ -4,24 +4,41 @@
 
 package org.igsl.traversal.exponential;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Vector;
-import java.util.Map.Entry;
 
 import org.igsl.cost.Addable;
+import org.igsl.cost.AddableInteger;
 import org.igsl.functor.HeuristicFunction;
 import org.igsl.functor.CostFunction;
 import org.igsl.functor.NodeGenerator;
 import org.igsl.functor.exception.DefaultValuesUnsupportedException;
+import org.igsl.functor.exception.EmptyTraversalException;
+import org.igsl.functor.iterator.path.BackwardPathIterator;
+import org.igsl.traversal.Budgetable;
 import org.igsl.traversal.CostTreeTraversal;
+import org.igsl.traversal.Listenable;
+import org.igsl.traversal.SearchListener;
+import org.igsl.traversal.frontier.BucketFrontier;
+import org.igsl.traversal.frontier.Frontier;
+import org.igsl.traversal.frontier.FrontierNode;
+import org.igsl.traversal.frontier.HeapFrontier;
+import org.igsl.traversal.frontier.IntegralKey;
 
 /**
  * A* algorithm traversal for a problem graph with edge cost and heuristics.
+ * Front nodes are kept in an indexed heap ordered by a cached sum of node cost and estimation,
+ * so the cursor node is a heap head. For integral costs a bucket frontier is used instead,
+ * nodes with equal sums are expanded from the deepest one, it falls back to a heap
+ * once sums spread over too many values.
+ * A state has a single map entry for both front and expanded nodes, a node keeps a parent reference
+ * and a number of its children, so an expanded node is dropped once its last child is pruned.
+ * A node reopened with a lower cost keeps its descendants, they are updated when reached again.
  */
-public class AStarTreeTraversal<T,C extends Addable<C> & Comparable<C>> implements CostTreeTraversal<T,C> {
+public class AStarTreeTraversal<T,C extends Addable<C> & Comparable<C>> implements CostTreeTraversal<T,C>, Budgetable, Listenable {
 	
 	/**
 	 * Constructor based on a start search node, expansion operator and cost function.
@@ -41,8 +58,10 @@ public class AStarTreeTraversal<T,C extends Addable<C> & Comparable<C>> implemen
 			this.heuristics = heuristics;
 		}
 		
-		opened.put(value, new TreeNode(value, cost, heuristics.getEstimatedCost(value)));
-		cursor = value;
+		this.frontier = (cost instanceof AddableInteger) ?
+			new BucketFrontier<TreeNode>() : new HeapFrontier<TreeNode>();
+		
+		open(new TreeNode(value, cost, cost.addTo(heuristics.getEstimatedCost(value)), null));
 	}
 	
 	/**
@@ -76,20 +95,29 @@ public class AStarTreeTraversal<T,C extends Addable<C> & Comparable<C>> implemen
 
 	/**
 	 * Expands nodes based on a minimal value for a sum of node cost and
-	 * cost estimation from a node to a goal. For an empty traversal returns without any action.
+	 * cost estimation from a node to a goal. For an empty traversal throws an exception.
 	 * If the result of node expansion is empty list of nodes then
 	 * searches for other nodes in the tree performing pruning procedure.
-	 * For each new node checks if a duplicated node already exits and replaces it if the cost
-	 * is less.
+	 * For each new node checks if a duplicated node already exits and decreases its key
+	 * in the frontier if the cost is less.
 	 */
-	public void moveForward() {
-		if(isEmpty()) return;
+	public boolean moveForward() throws EmptyTraversalException {
+		TreeNode n = frontier.peek();
 		
-		List<T> result = heuristics.expand(cursor);
-		TreeNode n = opened.remove(cursor);
+		if(n == null) {
+			throw new EmptyTraversalException();
+		}
 		
-		if(result == null || result.isEmpty()) {
-			pruneBranch(n, cursor);
+		List<T> result = expand();
+
+		if(result == null) {
+			return false;
+		}
+
+		frontier.remove(n);
+
+		if(result.isEmpty()) {
+			pruneBranch(n);
 		} else {
 			int added = 0;
 			Iterator<T> i = result.iterator();
@@ -97,70 +125,72 @@ public class AStarTreeTraversal<T,C extends Addable<C> & Comparable<C>> implemen
 			while(i.hasNext()) {
 				T t = i.next();
 				
-				C c = heuristics.getTransitionCost(cursor, t).addTo(n.getCost());
-				C e = heuristics.getEstimatedCost(t);
-				C tc = c.addTo(e);
-
-				TreeNode o = opened.get(t);
-				if(o != null) {
-					if(o.getTotalCost().compareTo(tc) > 0) {
-						opened.remove(t);
-						pruneBranch(o, t);
-						opened.put(t, new TreeNode(t, c, e, n));
-						++added;
-					}
-				} else {
-					o = closed.get(t);
-					
-					if(o != null) {
-						if(o.getTotalCost().compareTo(tc) > 0) {
-							if(o.isLeaf() == false) {
-								pruneChilds(o);
-							}
-							closed.remove(t);
-							pruneBranch(o, t);
-							opened.put(t, new TreeNode(t, c, e, n));
-							++added;
-						}
+				C c = heuristics.getTransitionCost(n.getValue(), t).addTo(n.getCost());
+				C tc = c.addTo(heuristics.getEstimatedCost(t));
+
+				TreeNode o = nodes.get(t);
+				if(o == null) {
+					open(new TreeNode(t, c, tc, n));
+					++added;
+				} else if(o.getTotalCost().compareTo(tc) > 0) {
+					o.cost = c;
+					o.total = tc;
+					link(o, n);
+
+					if(o.isQueued()) {
+						frontier.update(o);
 					} else {
-						opened.put(t, new TreeNode(t, c, e, n));
-						++added;
+						frontier.add(o);
+
+						if(listener != null) {
+							listener.reopened();
+						}
 					}
+					
+					++added;
 				}
 			}
 			
-			if(added > 0) {
-				closed.put(cursor, n);
-			} else {
-				pruneBranch(n, cursor);
+			if(added == 0) {
+				pruneBranch(n);
 			}
 		}
 		
-		resetCursor();
+		return true;
 	}
 	
 	/**
 	 * Simply prunes the cursor node and its predecessors if necessary
 	 * till a ready-for-expansion node is found.
 	 */	
-	public void backtrack() {
-		if(isEmpty()) return;
-		pruneBranch(opened.remove(cursor), cursor);
-		resetCursor();
+	public void backtrack() throws EmptyTraversalException {
+		if(listener != null && !isEmpty()) {
+			listener.backtracked(getDepth());
+		}
+		
+		TreeNode n = frontier.poll();
+
+		if(n == null) {
+			throw new EmptyTraversalException();
+		}
+
+		pruneBranch(n);
 	}
 
 	/**
 	 * Returns value for cursor node, null - if traversal is empty
 	 */
 	public T getCursor() {
-		return cursor;
+		TreeNode n = frontier.peek();
+		return (n == null) ? null : n.getValue();
 	}
 	
 	/**
 	 * Returns cost for cursor node, null - if traversal is empty
 	 */
 	public C getCost() {
-		return (cursor == null) ? null : opened.get(cursor).getCost();
+		TreeNode n = frontier.peek();
+		return (n == null) ? null : n.getCost();
 	}
 
 	/**
@@ -178,54 +208,46 @@ public class AStarTreeTraversal<T,C extends Addable<C> & Comparable<C>> implemen
 	}
 
 	/**
-	 * Returns a list of node values from a root node to cursor including both
+	 * Returns a list of node values from the cursor to a root node including both.
+	 * Path iterator returned is a singleton.
 	 */	
-	public PathIterator<T> getPath() {
-		TreeNode node = null;
-		
-		Iterator<Entry<T,TreeNode>> i = opened.entrySet().iterator();
-		
-		if(i.hasNext()) {
-			Entry<T,TreeNode> e = i.next();
-			
-			node = e.getValue();
-			C minC = node.getCost();
-			
-			while(i.hasNext()) {
-				e = i.next();
-				
-				C currC = e.getValue().getCost();
-				if(currC.compareTo(minC) == -1) {
-					node = e.getValue();
-					minC = currC;
-				}
-			}
-		}		
+	public BackwardPathIterator<T> getPathIterator() {
+		return pathIterator.reset(frontier.peek());
+	}
 		
-		return new PathIteratorImpl(node);	
+	/**
+	 * Returns a list of node values from the cursor to a root node including both
+	 */
+	public BackwardPathIterator<T> getPath() {
+		return new PathIteratorImpl(frontier.peek());
 	}
 
 	/**
 	 * Returns a list of nodes to be expanded.
-	 * Nodes are ordered by cost value in the tree:
-	 * from a cursor to a least "perspective" node
 	 */
 	public Collection<T> getLeafs() {
-		return opened.keySet();
+		ArrayList<T> leafs = new ArrayList<T>(frontier.size());
+
+		for(TreeNode n : nodes.values()) {
+			if(n.isQueued()) {
+				leafs.add(n.value);
+			}
+		}
+
+		return leafs;
 	}
 
 	/**
 	 * Depth is a number of edges from a root node to cursor.
 	 */
 	public int getDepth() {
-		if(cursor == null) return 0;
+		TreeNode n = frontier.peek();
+
+		if(n == null) return 0;
 
 		int result = 1;
-		TreeNode n = opened.get(cursor);
-		
-		while(n.getParent() != null) {
+		while((n = n.getPrevious()) != null) {
 			++result;
-			n = closed.get(n.getParent());
 		}
 		
 		return result;
@@ -235,111 +257,116 @@ public class AStarTreeTraversal<T,C extends Addable<C> & Comparable<C>> implemen
 	 * Check if traversal has no nodes to expand
 	 */
 	public boolean isEmpty() {
-		return opened.isEmpty();
+		return frontier.isEmpty();
 	}
 	
-
-	private void pruneBranch(TreeNode n, T value) {
-		if(n != null) {
-			T t = n.getParent();
-			
-			if(t != null) {
-				TreeNode pn = closed.get(t);
-				pn.removeChild(value);
+	/**
+	 * Implementation details of Budgetable interface.
+	 * Returns a number of nodes to be expanded.
+	 */
+	public int getFrontierSize() {
+		return frontier.size();
+	}
 	
-				while(pn.isLeaf()) {
-					closed.remove(t);
-					t = pn.getParent();
-					if(t == null) break;
-					pn = closed.get(t);
-					pn.removeChild(t);
-				}
-			}
+	/**
+	 * Implementation details of Listenable interface.
+	 */
+	public void setSearchListener(SearchListener listener) {
+		this.listener = listener;
+	}
+
+	/**
+	 * Expands the cursor by a generator reporting it to a listener
+	 */
+	private List<T> expand() {
+		if(listener == null) {
+			return heuristics.expand(getPathIterator());
 		}
+
+		listener.frontier(getFrontierSize());
+
+		long time = System.nanoTime();
+		List<T> result = heuristics.expand(getPathIterator());
+		listener.expanded(getDepth(), (result == null) ? -1 : result.size(), System.nanoTime() - time);
+
+		return result;
 	}
-	
-	private void pruneChilds(TreeNode node) {
-		Iterator<T> i = node.getChilds();
-		
-		while(i.hasNext()) {
-			T child = i.next();
+
+	private void open(TreeNode n) {
+		nodes.put(n.value, n);
+		frontier.add(n);
+	}
+
+	/**
+	 * Moves a node to a new parent, an old parent is pruned if it is left without children
+	 */
+	private void link(TreeNode n, TreeNode parent) {
+		TreeNode old = n.parent;
+		n.parent = parent;
+		++parent.childs;
 			
-			TreeNode n = closed.remove(child);
-			if(n == null) {
-				opened.remove(child);
-			} else {
-				pruneChilds(n);
-			}
+		if(old != null) {
+			--old.childs;
+			pruneBranch(old);
 		}
-		
-		node.removeChilds();
 	}
 	
-	private void resetCursor() {
-		Iterator<Entry<T,TreeNode>> i = opened.entrySet().iterator();
+	/**
+	 * Removes a node, which is neither queued nor has children, along with predecessors left without children
+	 */
+	private void pruneBranch(TreeNode n) {
+		while(n != null && n.isLeaf() && !n.isQueued()) {
+			nodes.remove(n.value);
+			n = n.parent;
 		
-		if(i.hasNext()) {
-			Entry<T,TreeNode> e = i.next();
-			cursor = e.getKey();
-			C minC = e.getValue().getTotalCost();
-			
-			while(i.hasNext()) {
-				e = i.next();
-				
-				C currC = e.getValue().getTotalCost();
-				if(currC.compareTo(minC) == -1) {
-					cursor = e.getKey();
-					minC = currC;
-				}
+			if(n != null) {
+				--n.childs;
 			}
-		} else {
-			cursor = null;
 		}
 	}
 	
-	private HashMap<T,TreeNode> opened = new HashMap<T,TreeNode>();
-	private HashMap<T,TreeNode> closed = new HashMap<T,TreeNode>();
-	private T cursor = null;
+	private HashMap<T,TreeNode> nodes = new HashMap<T,TreeNode>();
+	private Frontier<TreeNode> frontier;
 	
 	private HeuristicFunction<T,C> heuristics;
+	private SearchListener listener;
+	private PathIteratorImpl pathIterator = new PathIteratorImpl(null);
 	
-	class TreeNode {
-		T value;
-		C cost, estimation;
+	class TreeNode extends FrontierNode<TreeNode> implements IntegralKey {
+		final T value;
+		C cost, total;
 		TreeNode parent;
-		Vector<T> childs = new Vector<T>();
+		int childs;
 		
-		TreeNode(T value, C cost, C estimation) {
+		TreeNode(T value, C cost, C total, TreeNode parent) {
 			this.value = value;
 			this.cost = cost;
-			this.estimation = estimation;
-			this.parent = null;
-		}
-		
-		TreeNode(T value, C cost, C estimation, TreeNode parent) {
-			this(value, cost, estimation);
+			this.total = total;
 			this.parent = parent;
-			if(this.parent != null) {
-				this.parent.addChild(this.value);
+
+			if(parent != null) {
+				++parent.childs;
 			}
 		}
 
 		T getValue() { return value; }
 		C getCost() { return cost; }
-		C getEstimation() { return estimation; }
-		C getTotalCost() { return cost.addTo(estimation); }
-
-		Iterator<T> getChilds() { return childs.iterator(); }
-		void addChild(T child) { childs.add(child); }
-		void removeChild(T child) { childs.remove(child); }
-		void removeChilds() { childs.clear(); }
+		C getTotalCost() { return total; }
 		
 		T getParent() { return (parent == null) ? null : parent.value; }
-		TreeNode getPrevious()  { return (parent == null) ? null : parent; }
-		boolean isLeaf() { return childs.isEmpty(); }
+		TreeNode getPrevious()  { return parent; }
+		boolean isLeaf() { return childs == 0; }
+
+		public int compareTo(TreeNode other) {
+			return total.compareTo(other.total);
+		}
+		
+		public long getBucket() {
+			return ((AddableInteger) total).intValue();
+		}
 	}
 	
-	private class PathIteratorImpl implements PathIterator<T> {
+	private class PathIteratorImpl implements BackwardPathIterator<T> {
 		
 		private TreeNode node;
 
@@ -357,6 +384,11 @@ public class AStarTreeTraversal<T,C extends Addable<C> & Comparable<C>> implemen
 			return result;
 		}
 		
+		private BackwardPathIterator<T> reset(TreeNode node) {
+			this.node = node;
+			return this;
+		}
+
 	}	
 	
-}
\ No newline at end of file
+}
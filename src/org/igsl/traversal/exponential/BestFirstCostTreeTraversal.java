@@ -3,26 +3,38 @@
  */
 package org.igsl.traversal.exponential;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Stack;
-import java.util.Vector;
-import java.util.Map.Entry;
 
 import org.igsl.cost.Addable;
+import org.igsl.cost.AddableInteger;
 import org.igsl.functor.CostFunction;
 import org.igsl.functor.NodeGenerator;
 import org.igsl.functor.exception.DefaultValuesUnsupportedException;
+import org.igsl.functor.exception.EmptyTraversalException;
+import org.igsl.functor.iterator.path.BackwardPathIterator;
+import org.igsl.traversal.Budgetable;
 import org.igsl.traversal.CostTreeTraversal;
-import org.igsl.traversal.TreeTraversal.PathIterator;
+import org.igsl.traversal.Listenable;
+import org.igsl.traversal.SearchListener;
+import org.igsl.traversal.frontier.BucketFrontier;
+import org.igsl.traversal.frontier.Frontier;
+import org.igsl.traversal.frontier.FrontierNode;
+import org.igsl.traversal.frontier.HeapFrontier;
+import org.igsl.traversal.frontier.IntegralKey;
 
 /**
  * Best-first search implementation for a problem graph with edge cost.
+ * Front nodes are kept in an indexed heap ordered by node cost, so the cursor node is a heap head.
+ * For integral costs a bucket frontier is used instead, nodes with equal costs
+ * are expanded from the deepest one, it falls back to a heap once costs spread over
+ * too many values. Front and expanded nodes share a map, an expanded node
+ * is kept while it has children, which are counted rather than listed.
  */
-public class BestFirstCostTreeTraversal<T,C extends Addable<C> & Comparable<C>> implements CostTreeTraversal<T,C> {
+public class BestFirstCostTreeTraversal<T,C extends Addable<C> & Comparable<C>> implements CostTreeTraversal<T,C>, Budgetable, Listenable {
 	
 	/**
 	 * Constructor based on a start search node, expansion operator and cost function.
@@ -42,8 +54,10 @@ public class BestFirstCostTreeTraversal<T,C extends Addable<C> & Comparable<C>>
 			this.function = function;
 		}
 		
-		opened.put(value, new TreeNode(value, cost));
-		cursor = value;
+		this.frontier = (cost instanceof AddableInteger) ?
+			new BucketFrontier<TreeNode>() : new HeapFrontier<TreeNode>();
+		
+		open(new TreeNode(value, cost, null));
 	}
 	
 	/**
@@ -77,83 +91,97 @@ public class BestFirstCostTreeTraversal<T,C extends Addable<C> & Comparable<C>>
 
 	/**
 	 * Expands nodes base on minimal cost value principle.
-	 * For an empty traversal returns without any action.
+	 * For an empty traversal throws an exception.
 	 * If the result of node expansion is empty list of nodes then
 	 * searches for other nodes in the tree performing pruning procedure.
 	 */
-	public void moveForward() {
-		if(isEmpty()) return;
+	public boolean moveForward() throws EmptyTraversalException {
+		TreeNode n = frontier.peek();
+		
+		if(n == null) {
+			throw new EmptyTraversalException();
+		}
+		
+		List<T> result = expand();
+		
+		if(result == null) {
+			return false;
+		}
 		
-		List<T> result = function.expand(cursor);
-		TreeNode n = opened.remove(cursor);
+		frontier.remove(n);
 		
-		if(result == null || result.isEmpty()) {
-			pruneBranch(n, cursor);
+		if(result.isEmpty()) {
+			pruneBranch(n);
 		} else {
 			int added = 0;
 			Iterator<T> i = result.iterator();
 			
 			while(i.hasNext()) {
 				T t = i.next();
-				C c = function.getTransitionCost(cursor, t).addTo(n.getCost());
+				C c = function.getTransitionCost(n.getValue(), t).addTo(n.getCost());
 
-				TreeNode o = opened.get(t);
-				if(o != null) {
-					if(o.getCost().compareTo(c) > 0) {
-						opened.remove(t);
-						pruneBranch(o, t);
-						opened.put(t, new TreeNode(t, c, n));
-						++added;
-					}
-				} else {
-					o = closed.get(t);
-					
-					if(o != null) {
-						if(o.getCost().compareTo(c) > 0) {
-							closed.remove(t);
-							pruneBranch(o, t);
-							opened.put(t, new TreeNode(t, c, n));
-							++added;
-						}
+				TreeNode o = nodes.get(t);
+				if(o == null) {
+					open(new TreeNode(t, c, n));
+					++added;
+				} else if(o.getCost().compareTo(c) > 0) {
+					o.cost = c;
+					link(o, n);
+
+					if(o.isQueued()) {
+						frontier.update(o);
 					} else {
-						opened.put(t, new TreeNode(t, c, n));
-						++added;
+						frontier.add(o);
+
+						if(listener != null) {
+							listener.reopened();
+						}
 					}
+					
+					++added;
 				}
 			}
 			
-			if(added > 0) {
-				closed.put(cursor, n);
-			} else {
-				pruneBranch(n, cursor);
+			if(added == 0) {
+				pruneBranch(n);
 			}
 		}
 		
-		resetCursor();
+		return true;
 	}
 	
 	/**
 	 * Simply prunes the cursor node and its predecessors if necessary
 	 * till a ready-for-expansion node is found.
 	 */	
-	public void backtrack() {
-		if(isEmpty()) return;
-		pruneBranch(opened.remove(cursor), cursor);
-		resetCursor();
+	public void backtrack() throws EmptyTraversalException {
+		if(listener != null && !isEmpty()) {
+			listener.backtracked(getDepth());
+		}
+		
+		TreeNode n = frontier.poll();
+		
+		if(n == null) {
+			throw new EmptyTraversalException();
+		}
+		
+		pruneBranch(n);
 	}
 
 	/**
 	 * Returns value for cursor node, null - if traversal is empty
 	 */
 	public T getCursor() {
-		return cursor;
+		TreeNode n = frontier.peek();
+		return (n == null) ? null : n.getValue();
 	}
 	
 	/**
 	 * Returns cost for cursor node, null - if traversal is empty
 	 */
 	public C getCost() {
-		return (cursor == null) ? null : opened.get(cursor).getCost();
+		TreeNode n = frontier.peek();
+		return (n == null) ? null : n.getCost();
 	}
 
 	/**
@@ -171,54 +199,46 @@ public class BestFirstCostTreeTraversal<T,C extends Addable<C> & Comparable<C>>
 	}
 	
 	/**
-	 * Returns a list of node values from a root node to cursor including both
+	 * Returns a list of node values from the cursor to a root node including both.
+	 * Path iterator returned is a singleton.
 	 */	
-	public PathIterator<T> getPath() {
-		TreeNode node = null;
-		
-		Iterator<Entry<T,TreeNode>> i = opened.entrySet().iterator();
-		
-		if(i.hasNext()) {
-			Entry<T,TreeNode> e = i.next();
-			
-			node = e.getValue();
-			C minC = node.getCost();
-			
-			while(i.hasNext()) {
-				e = i.next();
-				
-				C currC = e.getValue().getCost();
-				if(currC.compareTo(minC) == -1) {
-					node = e.getValue();
-					minC = currC;
-				}
-			}
-		}		
+	public BackwardPathIterator<T> getPathIterator() {
+		return pathIterator.reset(frontier.peek());
+	}
 		
-		return new PathIteratorImpl(node);	
+	/**
+	 * Returns a list of node values from the cursor to a root node including both
+	 */	
+	public BackwardPathIterator<T> getPath() {
+		return new PathIteratorImpl(frontier.peek());
 	}
 
 	/**
 	 * Returns a list of nodes to be expanded.
-	 * Nodes are ordered by cost value in the tree:
-	 * from a cursor to a least "perspective" node
 	 */
 	public Collection<T> getLeafs() {
-		return opened.keySet();
+		ArrayList<T> leafs = new ArrayList<T>(frontier.size());
+
+		for(TreeNode n : nodes.values()) {
+			if(n.isQueued()) {
+				leafs.add(n.value);
+			}
+		}
+
+		return leafs;
 	}
 	
 	/**
 	 * Depth is a number of edges from a root node to cursor.
 	 */
 	public int getDepth() {
-		if(cursor == null) return 0;
+		TreeNode n = frontier.peek();
+		
+		if(n == null) return 0;
 
 		int result = 1;
-		TreeNode n = opened.get(cursor);
-		
-		while(n.getParent() != null) {
+		while((n = n.getPrevious()) != null) {
 			++result;
-			n = closed.get(n.getParent());
 		}
 		
 		return result;
@@ -228,88 +248,114 @@ public class BestFirstCostTreeTraversal<T,C extends Addable<C> & Comparable<C>>
 	 * Check if traversal has no nodes to expand
 	 */
 	public boolean isEmpty() {
-		return opened.isEmpty();
+		return frontier.isEmpty();
+	}
+	
+	/**
+	 * Implementation details of Budgetable interface.
+	 * Returns a number of nodes to be expanded.
+	 */
+	public int getFrontierSize() {
+		return frontier.size();
 	}
 	
-	private void pruneBranch(TreeNode n, T value) {
-		if(n != null) {
-			T t = n.getParent();
+	/**
+	 * Implementation details of Listenable interface.
+	 */
+	public void setSearchListener(SearchListener listener) {
+		this.listener = listener;
+	}
+
+	/**
+	 * Expands the cursor by a generator reporting it to a listener
+	 */
+	private List<T> expand() {
+		if(listener == null) {
+			return function.expand(getPathIterator());
+		}
+
+		listener.frontier(getFrontierSize());
+
+		long time = System.nanoTime();
+		List<T> result = function.expand(getPathIterator());
+		listener.expanded(getDepth(), (result == null) ? -1 : result.size(), System.nanoTime() - time);
+
+		return result;
+	}
+
+	private void open(TreeNode n) {
+		nodes.put(n.value, n);
+		frontier.add(n);
+	}
 			
-			if(t != null) {
-				TreeNode pn = closed.get(t);
-				pn.removeChild(value);
+	/**
+	 * Moves a node to a new parent, an old parent is pruned if it is left without children
+	 */
+	private void link(TreeNode n, TreeNode parent) {
+		TreeNode old = n.parent;
+		n.parent = parent;
+		++parent.childs;
 	
-				while(pn.isLeaf()) {
-					closed.remove(t);
-					t = pn.getParent();
-					if(t == null) break;
-					pn = closed.get(t);
-					pn.removeChild(t);
-				}
-			}
+		if(old != null) {
+			--old.childs;
+			pruneBranch(old);
 		}
 	}
 	
-	private void resetCursor() {
-		Iterator<Entry<T,TreeNode>> i = opened.entrySet().iterator();
+	/**
+	 * Removes a node, which is neither queued nor has children, along with predecessors left without children
+	 */
+	private void pruneBranch(TreeNode n) {
+		while(n != null && n.isLeaf() && !n.isQueued()) {
+			nodes.remove(n.value);
+			n = n.parent;
 		
-		if(i.hasNext()) {
-			Entry<T,TreeNode> e = i.next();
-			cursor = e.getKey();
-			C minC = e.getValue().getCost();
-			
-			while(i.hasNext()) {
-				e = i.next();
-				
-				C currC = e.getValue().getCost();
-				if(currC.compareTo(minC) == -1) {
-					cursor = e.getKey();
-					minC = currC;
-				}
+			if(n != null) {
+				--n.childs;
 			}
-		} else {
-			cursor = null;
 		}
 	}
 	
-	private HashMap<T,TreeNode> opened = new HashMap<T,TreeNode>();
-	private HashMap<T,TreeNode> closed = new HashMap<T,TreeNode>();
-	private T cursor = null;
+	private HashMap<T,TreeNode> nodes = new HashMap<T,TreeNode>();
+	private Frontier<TreeNode> frontier;
 	
 	private CostFunction<T,C> function;
+	private SearchListener listener;
+	private PathIteratorImpl pathIterator = new PathIteratorImpl(null);
 	
-	class TreeNode {
-		T value;
+	class TreeNode extends FrontierNode<TreeNode> implements IntegralKey {
+		final T value;
 		C cost;
 		TreeNode parent;
-		Vector<T> childs = new Vector<T>();
+		int childs;
 		
-		TreeNode(T value, C cost) {
+		TreeNode(T value, C cost, TreeNode parent) {
 			this.value = value;
 			this.cost = cost;
-			this.parent = null;
-		}
-		
-		TreeNode(T value, C cost, TreeNode parent) {
-			this(value, cost);
 			this.parent = parent;
-			if(this.parent != null) {
-				this.parent.addChild(this.value);
+
+			if(parent != null) {
+				++parent.childs;
 			}
 		}
 
 		T getValue() { return value; }
 		C getCost() { return cost; }
 
-		void addChild(T child) { childs.add(child); }
-		void removeChild(T child) { childs.remove(child); }
-		
 		T getParent() { return (parent == null) ? null : parent.value; }
-		TreeNode getPrevious()  { return (parent == null) ? null : parent; }
-		boolean isLeaf() { return childs.isEmpty(); }
+		TreeNode getPrevious()  { return parent; }
+		boolean isLeaf() { return childs == 0; }
+		
+		public int compareTo(TreeNode other) {
+			return cost.compareTo(other.cost);
+		}
+		
+		public long getBucket() {
+			return ((AddableInteger) cost).intValue();
+		}
 	}
 	
-	private class PathIteratorImpl implements PathIterator<T> {
+	private class PathIteratorImpl implements BackwardPathIterator<T> {
 		
 		private TreeNode node;
 
@@ -327,6 +373,11 @@ public class BestFirstCostTreeTraversal<T,C extends Addable<C> & Comparable<C>>
 			return result;
 		}
 		
+		private BackwardPathIterator<T> reset(TreeNode node) {
+			this.node = node;
+			return this;
+		}
+		
 	}	
 	
 }
\ No newline at end of file
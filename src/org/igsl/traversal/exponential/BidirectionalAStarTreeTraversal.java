@@ -0,0 +1,478 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+package org.igsl.traversal.exponential;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+
+import org.igsl.cost.Addable;
+import org.igsl.cost.AddableInteger;
+import org.igsl.functor.CostFunction;
+import org.igsl.functor.NodeGenerator;
+import org.igsl.functor.ReversibleHeuristicFunction;
+import org.igsl.functor.exception.DefaultValuesUnsupportedException;
+import org.igsl.functor.exception.EmptyTraversalException;
+import org.igsl.functor.iterator.path.BackwardPathIterator;
+import org.igsl.traversal.Budgetable;
+import org.igsl.traversal.CostTreeTraversal;
+import org.igsl.traversal.Listenable;
+import org.igsl.traversal.SearchListener;
+import org.igsl.traversal.frontier.BucketFrontier;
+import org.igsl.traversal.frontier.Frontier;
+import org.igsl.traversal.frontier.FrontierNode;
+import org.igsl.traversal.frontier.HeapFrontier;
+import org.igsl.traversal.frontier.IntegralKey;
+
+/**
+ * Bidirectional front-to-end A* algorithm traversal for a problem graph with edge cost and an explicit goal node.
+ * A forward search from a root node is informed by an estimation of a cost to a goal node, a backward search
+ * from a goal node - by an estimation of a cost from a root node. A node is expanded on a side with less
+ * front nodes. A node reached by both searches is a meeting one, a least sum of its costs on both sides
+ * is a cost of a best solution found. A search is stopped once this cost does not exceed a least sum of cost
+ * and estimation on either side, as any path through front nodes is not cheaper then.
+ * Nodes, which could not lead to a cheaper solution, are not added to a frontier.
+ * Estimations should be admissible, a single best path is found, so backtracking from a solution
+ * empties the traversal.
+ */
+public class BidirectionalAStarTreeTraversal<T,C extends Addable<C> & Comparable<C>>
+	implements CostTreeTraversal<T,C>, Budgetable, Listenable
+{
+	/**
+	 * Constructor based on a start search node, expansion operator and heuristic function with a goal node
+	 *
+	 * @param value root node value
+	 * @param cost root node cost
+	 * @param heuristics reversible heuristic function
+	 * @throws NullPointerException thrown if heuristics is null
+	 * @see ReversibleHeuristicFunction
+	 */
+	public BidirectionalAStarTreeTraversal(T value, C cost, ReversibleHeuristicFunction<T,C> heuristics)
+		throws NullPointerException
+	{
+		if(heuristics == null) {
+			throw new NullPointerException();
+		} else {
+			this.heuristics = heuristics;
+		}
+
+		this.root = value;
+		this.forward = new Side(cost instanceof AddableInteger);
+		this.backward = new Side(cost instanceof AddableInteger);
+
+		TreeNode r = new TreeNode(value, cost, cost.addTo(heuristics.getEstimatedCost(value)), null);
+		T goal = heuristics.getGoalNode();
+		TreeNode g = new TreeNode(goal, null, heuristics.getReverseEstimatedCost(value, goal), null);
+
+		forward.add(r);
+		backward.add(g);
+
+		if(goal.equals(value)) {
+			meet(r, g, cost);
+		}
+	}
+
+	/**
+	 * Constructor based on a root node value and heuristic function along with default root cost value
+	 *
+	 * @param value root node value
+	 * @param heuristics reversible heuristic function
+	 * @throws NullPointerException thrown if heuristics is null
+	 * @throws DefaultValuesUnsupportedException thrown if default root cost value does not exist
+	 * @see ReversibleHeuristicFunction
+	 */
+	public BidirectionalAStarTreeTraversal(T value, ReversibleHeuristicFunction<T,C> heuristics)
+		throws NullPointerException, DefaultValuesUnsupportedException
+	{
+		this(value, heuristics.getDefaultRootCost(), heuristics);
+	}
+
+	/**
+	 * Constructor based on a default root node and cost values and heuristic function
+	 *
+	 * @param heuristics reversible heuristic function
+	 * @throws NullPointerException thrown if heuristics is null
+	 * @throws DefaultValuesUnsupportedException thrown if default root node and/or cost value does not exist
+	 * @see ReversibleHeuristicFunction
+	 */
+	public BidirectionalAStarTreeTraversal(ReversibleHeuristicFunction<T,C> heuristics)
+		throws NullPointerException, DefaultValuesUnsupportedException
+	{
+		this(heuristics.getDefaultRootNode(), heuristics.getDefaultRootCost(), heuristics);
+	}
+
+	/**
+	 * Expands the cursor of a search with less front nodes. For each new node checks if a duplicated node
+	 * already exists on a side and reopens it if the cost is less, a node reached by the other search
+	 * is a meeting one. If a stopping rule holds, a path through a best meeting node becomes
+	 * the cursor path and false is returned. For an empty traversal throws an exception.
+	 */
+	public boolean moveForward() throws EmptyTraversalException {
+		if(solution != null) {
+			return false;
+		}
+
+		if(isEmpty()) {
+			throw new EmptyTraversalException();
+		}
+
+		if(isMet()) {
+			solve();
+			return false;
+		}
+
+		Side side = getSide();
+		Side other = (side == forward) ? backward : forward;
+		TreeNode n = side.frontier.peek();
+		List<T> result = expand(side);
+		side.frontier.remove(n);
+
+		if(result != null) {
+			Iterator<T> i = result.iterator();
+
+			while(i.hasNext()) {
+				T t = i.next();
+
+				C c = (side == forward) ? heuristics.getTransitionCost(n.value, t) : heuristics.getTransitionCost(t, n.value);
+				c = add(c, n.cost);
+
+				TreeNode o = side.nodes.get(t);
+				if(o != null && (o.cost == null || o.cost.compareTo(c) <= 0)) {
+					continue;
+				}
+
+				C tc = c.addTo((side == forward) ? heuristics.getEstimatedCost(t) : heuristics.getReverseEstimatedCost(root, t));
+
+				if(cost != null && tc.compareTo(cost) >= 0) {
+					continue;
+				}
+
+				if(o == null) {
+					o = new TreeNode(t, c, tc, n);
+					side.add(o);
+				} else {
+					o.reset(c, tc, n);
+
+					if(o.isQueued()) {
+						side.frontier.update(o);
+					} else {
+						side.frontier.add(o);
+
+						if(listener != null) {
+							listener.reopened();
+						}
+					}
+				}
+
+				TreeNode m = other.nodes.get(t);
+				if(m != null) {
+					C mc = add(c, m.cost);
+
+					if(cost == null || mc.compareTo(cost) < 0) {
+						meet((side == forward) ? o : m, (side == forward) ? m : o, mc);
+					}
+				}
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Prunes the cursor node not expanding it. If a solution is found, the traversal is emptied.
+	 */
+	public void backtrack() throws EmptyTraversalException {
+		if(listener != null && !isEmpty()) {
+			listener.backtracked(getDepth());
+		}
+
+		if(isEmpty()) {
+			throw new EmptyTraversalException();
+		}
+
+		if(solution != null || isMet()) {
+			forward.clear();
+			backward.clear();
+			solution = forwardMeeting = backwardMeeting = null;
+			cost = null;
+		} else {
+			getSide().frontier.poll();
+		}
+	}
+
+	/**
+	 * Returns value for cursor node, null - if traversal is empty
+	 */
+	public T getCursor() {
+		TreeNode n = getCursorNode();
+		return (n == null) ? null : n.value;
+	}
+
+	/**
+	 * Returns cost for cursor node, null - if traversal is empty. Once a solution is found,
+	 * returns its cost, for a backward cursor returns a cost of a path to a goal node, null - for a goal node itself.
+	 */
+	public C getCost() {
+		if(solution != null) {
+			return cost;
+		}
+
+		TreeNode n = getCursorNode();
+		return (n == null) ? null : n.cost;
+	}
+
+	/**
+	 * Returns a node generator functor.
+	 */
+	public NodeGenerator<T> getNodeGenerator() {
+		return heuristics;
+	}
+
+	/**
+	 * Returns a cost function functor.
+	 */
+	public CostFunction<T,C> getCostFunction() {
+		return heuristics;
+	}
+
+	/**
+	 * Returns a list of node values from the cursor to a root node including both.
+	 * Once a solution is found, the cursor is a goal node, otherwise a path of a backward
+	 * cursor leads to a goal node. Path iterator returned is a singleton.
+	 */
+	public BackwardPathIterator<T> getPathIterator() {
+		return pathIterator.reset(getCursorNode());
+	}
+
+	/**
+	 * Returns a list of node values from the cursor to a root node including both
+	 */
+	public BackwardPathIterator<T> getPath() {
+		return new PathIteratorImpl(getCursorNode());
+	}
+
+	/**
+	 * Returns a list of nodes to be expanded by a forward search followed by nodes of a backward one.
+	 */
+	public Collection<T> getLeafs() {
+		ArrayList<T> leafs = new ArrayList<T>(getFrontierSize());
+
+		for(TreeNode n : forward.nodes.values()) {
+			if(n.isQueued()) {
+				leafs.add(n.value);
+			}
+		}
+
+		for(TreeNode n : backward.nodes.values()) {
+			if(n.isQueued()) {
+				leafs.add(n.value);
+			}
+		}
+
+		return leafs;
+	}
+
+	/**
+	 * Depth is a number of nodes from a root node to cursor, for a backward cursor - from a goal node.
+	 */
+	public int getDepth() {
+		TreeNode n = getCursorNode();
+		int result = 0;
+
+		while(n != null) {
+			++result;
+			n = n.parent;
+		}
+
+		return result;
+	}
+
+	/**
+	 * Check if traversal has no nodes to expand and no solution found
+	 */
+	public boolean isEmpty() {
+		return solution == null && !isMet() && (forward.frontier.isEmpty() || backward.frontier.isEmpty());
+	}
+
+	/**
+	 * Implementation details of Budgetable interface.
+	 * Returns a number of nodes to be expanded by both searches.
+	 */
+	public int getFrontierSize() {
+		return forward.frontier.size() + backward.frontier.size();
+	}
+
+	/**
+	 * Implementation details of Listenable interface.
+	 */
+	public void setSearchListener(SearchListener listener) {
+		this.listener = listener;
+	}
+
+	/**
+	 * Expands the cursor of a side by a generator reporting it to a listener
+	 */
+	private List<T> expand(Side side) {
+		if(listener == null) {
+			return expandSide(side);
+		}
+
+		listener.frontier(getFrontierSize());
+
+		long time = System.nanoTime();
+		List<T> result = expandSide(side);
+		listener.expanded(getDepth(), (result == null) ? -1 : result.size(), System.nanoTime() - time);
+
+		return result;
+	}
+
+	private List<T> expandSide(Side side) {
+		return (side == forward) ? heuristics.expand(getPathIterator()) : heuristics.expandBackward(getPathIterator());
+	}
+
+	/**
+	 * Checks a stopping rule: a cost of a best solution found does not exceed a least sum
+	 * of cost and estimation on either side
+	 */
+	private boolean isMet() {
+		if(cost == null) {
+			return false;
+		}
+
+		if(forward.frontier.isEmpty() || backward.frontier.isEmpty()) {
+			return true;
+		}
+
+		return cost.compareTo(forward.frontier.peek().total) <= 0 || cost.compareTo(backward.frontier.peek().total) <= 0;
+	}
+
+	private void meet(TreeNode f, TreeNode b, C c) {
+		forwardMeeting = f;
+		backwardMeeting = b;
+		cost = c;
+	}
+
+	/**
+	 * Links a backward path of a meeting node to a forward one, so a goal node becomes the cursor
+	 */
+	private void solve() {
+		TreeNode n = forwardMeeting;
+
+		for(TreeNode b = backwardMeeting.parent; b != null; b = b.parent) {
+			n = new TreeNode(b.value, null, null, n);
+		}
+
+		solution = n;
+	}
+
+	/**
+	 * Returns a side with less front nodes, a forward one for equal sizes
+	 */
+	private Side getSide() {
+		return (backward.frontier.size() < forward.frontier.size()) ? backward : forward;
+	}
+
+	private TreeNode getCursorNode() {
+		if(solution != null) {
+			return solution;
+		}
+
+		return isEmpty() ? null : getSide().frontier.peek();
+	}
+
+	/**
+	 * Sum of costs, a goal node has no cost in a backward search, that is null
+	 */
+	private C add(C a, C b) {
+		return (b == null) ? a : a.addTo(b);
+	}
+
+	private final T root;
+	private ReversibleHeuristicFunction<T,C> heuristics;
+	private SearchListener listener;
+
+	private final Side forward, backward;
+	private TreeNode forwardMeeting, backwardMeeting, solution;
+	private C cost;
+
+	private PathIteratorImpl pathIterator = new PathIteratorImpl(null);
+
+	class TreeNode extends FrontierNode<TreeNode> implements IntegralKey {
+		final T value;
+		C cost, total;
+		TreeNode parent;
+
+		TreeNode(T value, C cost, C total, TreeNode parent) {
+			this.value = value;
+			reset(cost, total, parent);
+		}
+
+		void reset(C cost, C total, TreeNode parent) {
+			this.cost = cost;
+			this.total = total;
+			this.parent = parent;
+		}
+
+		public int compareTo(TreeNode other) {
+			return total.compareTo(other.total);
+		}
+
+		public long getBucket() {
+			return ((AddableInteger) total).intValue();
+		}
+	}
+
+	/**
+	 * Front nodes of a search in a frontier along with all nodes reached by it
+	 */
+	class Side {
+		final Frontier<TreeNode> frontier;
+		final HashMap<T,TreeNode> nodes = new HashMap<T,TreeNode>();
+
+		Side(boolean buckets) {
+			frontier = buckets ? new BucketFrontier<TreeNode>() : new HeapFrontier<TreeNode>();
+		}
+
+		void add(TreeNode n) {
+			nodes.put(n.value, n);
+			frontier.add(n);
+		}
+
+		void clear() {
+			while(frontier.poll() != null) {
+			}
+
+			nodes.clear();
+		}
+	}
+
+	private class PathIteratorImpl implements BackwardPathIterator<T> {
+
+		private TreeNode node;
+
+		public PathIteratorImpl(TreeNode node) {
+			this.node = node;
+		}
+
+		public boolean hasPreviousNode() {
+			return node != null;
+		}
+
+		public T previousNode() {
+			T result = node.value;
+			node = node.parent;
+			return result;
+		}
+
+		private BackwardPathIterator<T> reset(TreeNode node) {
+			this.node = node;
+			return this;
+		}
+
+	}
+
+}
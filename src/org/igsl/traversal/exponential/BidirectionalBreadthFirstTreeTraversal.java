@@ -0,0 +1,361 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+package org.igsl.traversal.exponential;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+
+import org.igsl.functor.NodeGenerator;
+import org.igsl.functor.ReversibleNodeGenerator;
+import org.igsl.functor.exception.DefaultValuesUnsupportedException;
+import org.igsl.functor.exception.EmptyTraversalException;
+import org.igsl.functor.iterator.path.BackwardPathIterator;
+import org.igsl.traversal.Budgetable;
+import org.igsl.traversal.Listenable;
+import org.igsl.traversal.SearchListener;
+import org.igsl.traversal.TreeTraversal;
+
+/**
+ * Bidirectional breadth-first search for a problem graph without edge cost and with an explicit goal node.
+ * A forward search from a root node and a backward search from a goal node are run by turns,
+ * a node is expanded on a side with less front nodes. Nodes reached by each search are kept in a map,
+ * so a node reached by both searches is a meeting one and a path through it is a solution.
+ * A search is stopped once a shortest path found is not longer than a sum of depths of both cursors
+ * plus one edge, as there is no shorter path through nodes not reached yet.
+ * For a branching factor <i>b</i> and a solution depth <i>d</i> a number of nodes reached is
+ * about <i>b<sup>d/2</sup></i> instead of <i>b<sup>d</sup></i> for a forward search.
+ * A single shortest path is found, so backtracking from a solution empties the traversal.
+ */
+public class BidirectionalBreadthFirstTreeTraversal<T> implements TreeTraversal<T>, Budgetable, Listenable {
+
+	/**
+	 * Constructor based on a start search node and expansion operator with a goal node
+	 *
+	 * @param value root node value
+	 * @param generator reversible node generator function
+	 * @throws NullPointerException thrown if node generator is null
+	 * @see ReversibleNodeGenerator
+	 */
+	public BidirectionalBreadthFirstTreeTraversal(T value, ReversibleNodeGenerator<T> generator)
+		throws NullPointerException
+	{
+		if(generator == null) {
+			throw new NullPointerException();
+		} else {
+			this.generator = generator;
+		}
+
+		TreeNode root = new TreeNode(value, null);
+		TreeNode goal = new TreeNode(generator.getGoalNode(), null);
+
+		forward.add(root);
+		backward.add(goal);
+
+		if(goal.value.equals(root.value)) {
+			meet(root, goal);
+		}
+	}
+
+	/**
+	 * Constructor based on an expansion operator with a goal node and default root node value
+	 *
+	 * @param generator reversible node generator function
+	 * @throws NullPointerException thrown if node generator is null
+	 * @throws DefaultValuesUnsupportedException thrown if default root node value does not exist
+	 * @see ReversibleNodeGenerator
+	 */
+	public BidirectionalBreadthFirstTreeTraversal(ReversibleNodeGenerator<T> generator)
+		throws NullPointerException, DefaultValuesUnsupportedException
+	{
+		this(generator.getDefaultRootNode(), generator);
+	}
+
+	/**
+	 * Expands the cursor of a search with less front nodes, a node reached by the other search
+	 * is a meeting one. If a stopping rule holds, a path through a best meeting node becomes
+	 * the cursor path and false is returned. For an empty traversal throws an exception.
+	 */
+	public boolean moveForward() throws EmptyTraversalException {
+		if(solution != null) {
+			return false;
+		}
+
+		if(isEmpty()) {
+			throw new EmptyTraversalException();
+		}
+
+		if(isMet()) {
+			solve();
+			return false;
+		}
+
+		Side side = getSide();
+		Side other = (side == forward) ? backward : forward;
+		List<T> result = expand(side);
+		TreeNode n = side.queue.poll();
+
+		if(result != null) {
+			Iterator<T> i = result.iterator();
+
+			while(i.hasNext()) {
+				T t = i.next();
+
+				if(side.nodes.containsKey(t)) {
+					continue;
+				}
+
+				TreeNode child = new TreeNode(t, n);
+				side.add(child);
+
+				TreeNode o = other.nodes.get(t);
+				if(o != null && child.depth + o.depth < length) {
+					meet((side == forward) ? child : o, (side == forward) ? o : child);
+				}
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Prunes the cursor node not expanding it. If a solution is found, the traversal is emptied.
+	 */
+	public void backtrack() throws EmptyTraversalException {
+		if(listener != null && !isEmpty()) {
+			listener.backtracked(getDepth() + 1);
+		}
+
+		if(isEmpty()) {
+			throw new EmptyTraversalException();
+		}
+
+		if(solution != null || isMet()) {
+			forward.clear();
+			backward.clear();
+			solution = null;
+			forwardMeeting = backwardMeeting = null;
+			length = Integer.MAX_VALUE;
+		} else {
+			getSide().queue.poll();
+		}
+	}
+
+	/**
+	 * Returns value for cursor node, null - if traversal is empty
+	 */
+	public T getCursor() {
+		TreeNode n = getCursorNode();
+		return (n == null) ? null : n.value;
+	}
+
+	/**
+	 * Returns a node generator functor.
+	 */
+	public NodeGenerator<T> getNodeGenerator() { return generator; }
+
+	/**
+	 * Check if traversal has no nodes to expand and no solution found
+	 */
+	public boolean isEmpty() {
+		return solution == null && !isMet() && (forward.queue.isEmpty() || backward.queue.isEmpty());
+	}
+
+	/**
+	 * Implementation details of Budgetable interface.
+	 * Returns a number of nodes to be expanded by both searches.
+	 */
+	public int getFrontierSize() {
+		return forward.queue.size() + backward.queue.size();
+	}
+
+	/**
+	 * Returns a list of node values from the cursor to a root node including both.
+	 * Once a solution is found, the cursor is a goal node, otherwise a path of a backward
+	 * cursor leads to a goal node. Path iterator returned is a singleton.
+	 */
+	public BackwardPathIterator<T> getPathIterator() {
+		return pathIterator.reset(getCursorNode());
+	}
+
+	/**
+	 * Returns a list of node values from the cursor to a root node including both
+	 */
+	public BackwardPathIterator<T> getPath() {
+		return new PathIteratorImpl(getCursorNode());
+	}
+
+	/**
+	 * Returns a list of nodes to be expanded by a forward search followed by nodes of a backward one.
+	 */
+	public Collection<T> getLeafs() {
+		ArrayList<T> leafs = new ArrayList<T>(getFrontierSize());
+
+		for(TreeNode n : forward.queue) {
+			leafs.add(n.value);
+		}
+
+		for(TreeNode n : backward.queue) {
+			leafs.add(n.value);
+		}
+
+		return leafs;
+	}
+
+	/**
+	 * Depth is a number of edges from a root node to cursor, for a backward cursor - from a goal node.
+	 */
+	public int getDepth() {
+		TreeNode n = getCursorNode();
+		return (n == null) ? -1 : n.depth;
+	}
+
+	/**
+	 * Implementation details of Listenable interface.
+	 */
+	public void setSearchListener(SearchListener listener) {
+		this.listener = listener;
+	}
+
+	/**
+	 * Expands the cursor of a side by a generator reporting it to a listener
+	 */
+	private List<T> expand(Side side) {
+		if(listener == null) {
+			return expandSide(side);
+		}
+
+		listener.frontier(getFrontierSize());
+
+		long time = System.nanoTime();
+		List<T> result = expandSide(side);
+		listener.expanded(getDepth() + 1, (result == null) ? -1 : result.size(), System.nanoTime() - time);
+
+		return result;
+	}
+
+	private List<T> expandSide(Side side) {
+		return (side == forward) ? generator.expand(getPathIterator()) : generator.expandBackward(getPathIterator());
+	}
+
+	/**
+	 * Checks a stopping rule: a shortest path is found and there is no shorter one
+	 * through nodes, which are not reached yet
+	 */
+	private boolean isMet() {
+		if(length == Integer.MAX_VALUE) {
+			return false;
+		}
+
+		if(forward.queue.isEmpty() || backward.queue.isEmpty()) {
+			return true;
+		}
+
+		return length <= forward.queue.peek().depth + backward.queue.peek().depth + 1;
+	}
+
+	private void meet(TreeNode f, TreeNode b) {
+		forwardMeeting = f;
+		backwardMeeting = b;
+		length = f.depth + b.depth;
+	}
+
+	/**
+	 * Links a backward path of a meeting node to a forward one, so a goal node becomes the cursor
+	 */
+	private void solve() {
+		TreeNode n = forwardMeeting;
+
+		for(TreeNode b = backwardMeeting.parent; b != null; b = b.parent) {
+			n = new TreeNode(b.value, n);
+		}
+
+		solution = n;
+	}
+
+	/**
+	 * Returns a side with less front nodes, a forward one for equal sizes
+	 */
+	private Side getSide() {
+		return (backward.queue.size() < forward.queue.size()) ? backward : forward;
+	}
+
+	private TreeNode getCursorNode() {
+		if(solution != null) {
+			return solution;
+		}
+
+		return isEmpty() ? null : getSide().queue.peek();
+	}
+
+	private ReversibleNodeGenerator<T> generator;
+	private SearchListener listener;
+
+	private Side forward = new Side();
+	private Side backward = new Side();
+	private TreeNode forwardMeeting, backwardMeeting, solution;
+	private int length = Integer.MAX_VALUE;
+
+	private PathIteratorImpl pathIterator = new PathIteratorImpl(null);
+
+	class TreeNode {
+		final T value;
+		final TreeNode parent;
+		final int depth;
+
+		TreeNode(T value, TreeNode parent) {
+			this.value = value;
+			this.parent = parent;
+			this.depth = (parent == null) ? 0 : parent.depth + 1;
+		}
+	}
+
+	/**
+	 * Front nodes of a search in a FIFO queue along with all nodes reached by it
+	 */
+	class Side {
+		final ArrayDeque<TreeNode> queue = new ArrayDeque<TreeNode>();
+		final HashMap<T,TreeNode> nodes = new HashMap<T,TreeNode>();
+
+		void add(TreeNode n) {
+			queue.add(n);
+			nodes.put(n.value, n);
+		}
+
+		void clear() {
+			queue.clear();
+			nodes.clear();
+		}
+	}
+
+	private class PathIteratorImpl implements BackwardPathIterator<T> {
+
+		private TreeNode cursor;
+
+		public PathIteratorImpl(TreeNode node) {
+			this.cursor = node;
+		}
+
+		public boolean hasPreviousNode() {
+			return cursor != null;
+		}
+
+		public T previousNode() {
+			T result = cursor.value;
+			cursor = cursor.parent;
+			return result;
+		}
+
+		private BackwardPathIterator<T> reset(TreeNode node) {
+			this.cursor = node;
+			return this;
+		}
+
+	}
+
+}
@@ -6,21 +6,27 @@ package org.igsl.traversal.exponential;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.EmptyStackException;
-import java.util.Enumeration;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Stack;
 
 import org.igsl.functor.NodeGenerator;
 import org.igsl.functor.exception.DefaultValuesUnsupportedException;
+import org.igsl.functor.exception.EmptyTraversalException;
+import org.igsl.functor.exception.FrontierOverflowException;
+import org.igsl.functor.iterator.path.BackwardPathIterator;
+import org.igsl.traversal.Budgetable;
+import org.igsl.traversal.Listenable;
+import org.igsl.traversal.SearchListener;
 import org.igsl.traversal.TreeTraversal;
-import org.igsl.traversal.TreeTraversal.PathIterator;
 
 /**
  * Breadth-first search implementation for a problem graph without edge cost.
+ * Front nodes are kept in a circular array, expanded nodes are referenced only by their
+ * children, so they are collectable as soon as no front node descends from them.
+ * Number of front nodes can be bounded to fail with <code>FrontierOverflowException</code>
+ * before running out of memory.
  */
-public class BreadthFirstTreeTraversal<T> implements TreeTraversal<T> {
+public class BreadthFirstTreeTraversal<T> implements TreeTraversal<T>, Budgetable, Listenable {
 	
 	/**
 	 * Constructor based on a start search node and expansion operator
@@ -32,6 +38,22 @@ public class BreadthFirstTreeTraversal<T> implements TreeTraversal<T> {
 	 */
 	public BreadthFirstTreeTraversal(T value, NodeGenerator<T> generator) 
 		throws NullPointerException
+	{
+		this(value, generator, Integer.MAX_VALUE);
+	}
+	
+	/**
+	 * Constructor based on a start search node, expansion operator and a bound on a number of front nodes
+	 * 
+	 * @param value root node value
+	 * @param generator node generator function
+	 * @param maxSize maximal number of front nodes
+	 * @throws NullPointerException thrown if node generator is null
+	 * @throws IllegalArgumentException thrown if maximal number of front nodes is not positive
+	 * @see NodeGenerator
+	 */
+	public BreadthFirstTreeTraversal(T value, NodeGenerator<T> generator, int maxSize) 
+		throws NullPointerException, IllegalArgumentException
 	{
 		if(generator == null) {
 			throw new NullPointerException();
@@ -39,6 +61,12 @@ public class BreadthFirstTreeTraversal<T> implements TreeTraversal<T> {
 			this.generator = generator;
 		}
 		
+		if(maxSize <= 0) {
+			throw new IllegalArgumentException();
+		} else {
+			this.maxSize = maxSize;
+		}
+		
 		nodes.enqueue(new TreeNode(value));
 	}
 	
@@ -58,30 +86,59 @@ public class BreadthFirstTreeTraversal<T> implements TreeTraversal<T> {
 
 	/**
 	 * Expands nodes base on "first found - first expanded" techniques.
-	 * For an empty traversal returns without any action.
+	 * For an empty traversal throws an exception. If a number of front nodes
+	 * would exceed a bound, throws an exception keeping the cursor node unexpanded.
+	 * A cursor of a full frontier is not passed to a generator at all, children of other cursors
+	 * are checked against a bound before an expansion is reported to a listener.
 	 */
-	public void moveForward() {
-		if(isEmpty()) return;
+	public boolean moveForward() throws EmptyTraversalException, FrontierOverflowException {
+		if(isEmpty()) {
+			throw new EmptyTraversalException();
+		}
+		
+		if(nodes.size() >= maxSize) {
+			throw new FrontierOverflowException(maxSize);
+		}
+		
+		long time = System.nanoTime();
+		List<T> result = generator.expand(getPathIterator());
+		
+		if(result != null && nodes.size() - 1 > maxSize - result.size()) {
+			throw new FrontierOverflowException(maxSize);
+		}
+		
+		if(listener != null) {
+			listener.frontier(getFrontierSize());
+			listener.expanded(getDepth() + 1, (result == null) ? -1 : result.size(), System.nanoTime() - time);
+		}
+		
+		if(result == null) {
+			return false;
+		}
 		
 		TreeNode n = nodes.dequeue();
-		List<T> result = generator.expand(n.getValue());
 		
-		if(result != null && !result.isEmpty()) {
-			parents.add(n);
-			
-			Iterator<T> i = result.iterator();
-			while(i.hasNext()) {
-				nodes.enqueue(new TreeNode(i.next(), n));
-			}
+		Iterator<T> i = result.iterator();
+		while(i.hasNext()) {
+			nodes.enqueue(new TreeNode(i.next(), n));
 		}
+			
+		return true;
 	}
 	
 	/**
 	 * Simply prunes the cursor node and its predecessors if necessary
 	 * till a ready-for-expansion node is found.
 	 */
-	public void backtrack() {
-		if(isEmpty()) return;
+	public void backtrack() throws EmptyTraversalException {
+		if(listener != null && !isEmpty()) {
+			listener.backtracked(getDepth() + 1);
+		}
+		
+		if(isEmpty()) {
+			throw new EmptyTraversalException();
+		}
+		
 		nodes.dequeue();
 	}
 	
@@ -90,6 +147,11 @@ public class BreadthFirstTreeTraversal<T> implements TreeTraversal<T> {
 	 */
 	public T getCursor() { return isEmpty() ? null : nodes.peek().getValue(); }
 	
+	/**
+	 * Returns maximal number of front nodes
+	 */
+	public int getMaxSize() { return maxSize; }
+	
 	/**
 	 * Returns a node generator functor.
 	 */
@@ -99,12 +161,28 @@ public class BreadthFirstTreeTraversal<T> implements TreeTraversal<T> {
 	 * Check if traversal has no nodes to expand
 	 */
 	public boolean isEmpty() { return nodes.isEmpty(); }
+
+	/**
+	 * Implementation details of Budgetable interface.
+	 * Returns a number of nodes to be expanded.
+	 */
+	public int getFrontierSize() {
+		return nodes.size();
+	}
 	
 	/**
-	 * Returns a list of traversal from a root node to cursor including both
+	 * Returns a list of node values from the cursor to a root node including both.
+	 * Path iterator returned is a singleton.
 	 */
-	public PathIterator<T> getPath() {
-		return new PathIteratorImpl(nodes.peek());
+	public BackwardPathIterator<T> getPathIterator() {
+		return pathIterator.reset(isEmpty() ? null : nodes.peek());
+	}
+	
+	/**
+	 * Returns a list of node values from the cursor to a root node including both
+	 */
+	public BackwardPathIterator<T> getPath() {
+		return new PathIteratorImpl(isEmpty() ? null : nodes.peek());
 	}
 	
 	/**
@@ -113,14 +191,10 @@ public class BreadthFirstTreeTraversal<T> implements TreeTraversal<T> {
 	 * from a cursor to a least "perspective" node
 	 */
 	public Collection<T> getLeafs() {
-		ArrayList<T> leafs = new ArrayList<T>();
+		ArrayList<T> leafs = new ArrayList<T>(nodes.size());
 		
-		if(!nodes.isEmpty()) {
-			Enumeration<TreeNode> e = nodes.asEnumeration();
-			
-			while(e.hasMoreElements()) {
-				leafs.add(e.nextElement().getValue());
-			}
+		for(int i = 0; i < nodes.size(); ++i) {
+			leafs.add(nodes.get(i).getValue());
 		}
 		
 		return leafs;
@@ -145,13 +219,22 @@ public class BreadthFirstTreeTraversal<T> implements TreeTraversal<T> {
 		return result;
 	}
 	
+	/**
+	 * Implementation details of Listenable interface.
+	 */
+	public void setSearchListener(SearchListener listener) {
+		this.listener = listener;
+	}
+
 	protected BreadthFirstTreeTraversal() {}
 
-	protected TreeNode cursor;
 	protected Deque<TreeNode> nodes = new Deque<TreeNode>();
-	protected ArrayList<TreeNode> parents = new ArrayList<TreeNode>();
+	protected int maxSize = Integer.MAX_VALUE;
 	
 	protected NodeGenerator<T> generator;
+	private SearchListener listener;
+
+	private PathIteratorImpl pathIterator = new PathIteratorImpl(null);
 	
 	protected class TreeNode {
 		T value;
@@ -171,53 +254,62 @@ public class BreadthFirstTreeTraversal<T> implements TreeTraversal<T> {
 		TreeNode getParent() { return parent; }
 	}
 	
-	// FIFO deque implemented as a structure with two stacks
+	// FIFO deque implemented as a growable circular array
 	class Deque<N> {
-		Stack<N> a1;
-		Stack<N> a2;
+		Object[] elements;
+		int head;
+		int size;
 		
 		Deque() {
-			a1 = new Stack<N>();
-			a2 = new Stack<N>();
+			elements = new Object[16];
+			head = 0;
+			size = 0;
 		}
 		
 		void enqueue(N n) {
-			a1.push(n);
+			int length = elements.length;
+			
+			if(size == length) {
+				Object[] grown = new Object[length << 1];
+				System.arraycopy(elements, head, grown, 0, length - head);
+				System.arraycopy(elements, 0, grown, length - head, head);
+				elements = grown;
+				head = 0;
+				length <<= 1;
+			}
+			
+			elements[(head + size) & (length - 1)] = n;
+			++size;
 		}
 		
 		N dequeue() {
-			process();
-			return a2.pop();
+			N result = get(0);
+			elements[head] = null;
+			head = (head + 1) & (elements.length - 1);
+			--size;
+			return result;
 		}
 		
 		N peek() {
-			process();
-			return a2.peek();
+			return get(0);
 		}
 		
-		boolean isEmpty() {
-			return a1.isEmpty() && a2.isEmpty();
+		// only enqueued elements of type N are stored
+		@SuppressWarnings("unchecked")
+		N get(int i) {
+			return (N) elements[(head + i) & (elements.length - 1)];
 		}
 		
-		Enumeration<N> asEnumeration() {
-			process();
-			return a2.elements();
+		int size() {
+			return size;
 		}
 		
-		void process() {
-			if(a2.isEmpty()) {
-				if(a1.isEmpty()) {
-					throw new EmptyStackException();
-				} else {
-					while(!a1.isEmpty()) {
-						a2.push(a1.pop());
-					}
-				}
-			}
+		boolean isEmpty() {
+			return size == 0;
 		}
 	}
 	
-	private class PathIteratorImpl implements PathIterator<T> {
+	private class PathIteratorImpl implements BackwardPathIterator<T> {
 		
 		private TreeNode cursor;
 
@@ -235,5 +327,10 @@ public class BreadthFirstTreeTraversal<T> implements TreeTraversal<T> {
 			return result;
 		}
 		
+		private BackwardPathIterator<T> reset(TreeNode node) {
+			this.cursor = node;
+			return this;
+		}
+		
 	}		
 }
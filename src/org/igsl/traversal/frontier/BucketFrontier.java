@@ -0,0 +1,292 @@
+package org.igsl.traversal.frontier;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+/**
+ * Frontier implemented as a bucket queue (Dial's algorithm) for nodes with
+ * small integral keys. Nodes are put into an array of buckets indexed by a node key
+ * provided with <code>IntegralKey.getBucket</code>, so that <code>add</code>,
+ * <code>update</code> and <code>remove</code> take O(1) and <code>peek</code>
+ * takes O(1) amortized over a range of keys.
+ * A number of buckets is limited by a range of keys. Once a key does not fit a range,
+ * nodes are moved to a <code>HeapFrontier</code>, which keeps them from then on.
+ * Removed and updated nodes are not searched for in buckets, their stale entries are
+ * skipped when a bucket is polled.
+ * Nodes with equal keys are polled in LIFO order by default, that favors deeper nodes
+ * since child nodes are added after their parent. FIFO order is available as an option.
+ *
+ * @param <N> type of the node
+ */
+public class BucketFrontier<N extends FrontierNode<N> & IntegralKey> implements Frontier<N> {
+
+	/**
+	 * Creates an empty frontier with LIFO order for nodes with equal keys
+	 */
+	public BucketFrontier() {
+		this(true);
+	}
+
+	/**
+	 * Creates an empty frontier with a given tie-breaking policy
+	 *
+	 * @param lifo true - latest added node with equal key is polled first, false - earliest one
+	 */
+	public BucketFrontier(boolean lifo) {
+		this(lifo, DEFAULT_RANGE);
+	}
+
+	/**
+	 * Creates an empty frontier with a given tie-breaking policy and a range of keys
+	 *
+	 * @param lifo true - latest added node with equal key is polled first, false - earliest one
+	 * @param range maximal difference between keys plus one, i.e. a number of buckets
+	 * @throws IllegalArgumentException thrown if range is not positive
+	 */
+	public BucketFrontier(boolean lifo, int range) throws IllegalArgumentException {
+		if(range <= 0) {
+			throw new IllegalArgumentException();
+		}
+
+		this.lifo = lifo;
+		this.range = range;
+		this.buckets = new ArrayList<Bucket<N>>(Collections.<Bucket<N>>nCopies(Math.min(DEFAULT_CAPACITY, range), null));
+		this.base = 0;
+		this.cursor = 0;
+		this.size = 0;
+		this.stamp = 0;
+	}
+
+	public void add(N node) {
+		if(node.index >= 0) {
+			throw new IllegalStateException();
+		}
+
+		if(heap == null) {
+			if(push(node)) {
+				++size;
+				return;
+			}
+
+			fallBack();
+		}
+
+		heap.add(node);
+	}
+
+	public void update(N node) {
+		if(heap == null) {
+			if(node.index < 0 || push(node)) {
+				return;
+			}
+
+			fallBack();
+		}
+
+		heap.update(node);
+	}
+
+	public boolean remove(N node) {
+		if(heap != null) {
+			return heap.remove(node);
+		}
+
+		if(node.index < 0) {
+			return false;
+		}
+
+		node.index = -1;
+		--size;
+
+		return true;
+	}
+
+	public N peek() {
+		if(heap != null) {
+			return heap.peek();
+		}
+
+		if(size == 0) {
+			return null;
+		}
+
+		while(true) {
+			Bucket<N> b = buckets.get(cursor);
+
+			if(b != null) {
+				N node = b.top(lifo);
+
+				if(node != null) {
+					return node;
+				}
+			}
+
+			++cursor;
+		}
+	}
+
+	public N poll() {
+		if(heap != null) {
+			return heap.poll();
+		}
+
+		N result = peek();
+
+		if(result != null) {
+			buckets.get(cursor).pop(lifo);
+			result.index = -1;
+			--size;
+		}
+
+		return result;
+	}
+
+	public boolean isEmpty() {
+		return (heap == null) ? size == 0 : heap.isEmpty();
+	}
+
+	public int size() {
+		return (heap == null) ? size : heap.size();
+	}
+
+	/**
+	 * Puts a node to a bucket of its key, buckets are added if necessary
+	 *
+	 * @return true - node is put, false - its key does not fit a range
+	 */
+	private boolean push(N node) {
+		long key = node.getBucket();
+		int length = buckets.size();
+
+		if(key < base - range || key >= base + range) {
+			return false;
+		}
+
+		long offset = key - base;
+
+		if(Math.max(length, offset + 1) - Math.min(0, offset) > range) {
+			return false;
+		}
+
+		int idx = (int) offset;
+
+		if(idx < 0) {
+			int shift = Math.min(Math.max(-idx, length >>> 1), range - length);
+			buckets.addAll(0, Collections.<Bucket<N>>nCopies(shift, null));
+			base -= shift;
+			cursor += shift;
+			idx += shift;
+		} else if(idx >= length) {
+			int grown = (int) Math.min(Math.max(idx + 1, (long) length << 1), range);
+			buckets.addAll(Collections.<Bucket<N>>nCopies(grown - length, null));
+		}
+
+		if(size == 0 || idx < cursor) {
+			cursor = idx;
+		}
+
+		Bucket<N> b = buckets.get(idx);
+		if(b == null) {
+			b = new Bucket<N>();
+			buckets.set(idx, b);
+		}
+
+		stamp = (stamp == Integer.MAX_VALUE) ? 0 : stamp + 1;
+		node.index = stamp;
+		b.push(node, stamp);
+
+		return true;
+	}
+
+	/**
+	 * Moves nodes to a heap, buckets are dropped
+	 */
+	private void fallBack() {
+		HeapFrontier<N> result = new HeapFrontier<N>(Math.max(size, 1));
+
+		for(N node = poll(); node != null; node = poll()) {
+			result.add(node);
+		}
+
+		heap = result;
+		buckets = null;
+	}
+
+	private static final int DEFAULT_CAPACITY = 64;
+
+	/**
+	 * Default range of keys, so buckets take at most a few hundred kilobytes
+	 */
+	private static final int DEFAULT_RANGE = 1 << 16;
+
+	private ArrayList<Bucket<N>> buckets;
+	private long base;
+	private int cursor;
+	private int size;
+	private int stamp;
+	private final boolean lifo;
+	private final int range;
+	private HeapFrontier<N> heap;
+
+	/**
+	 * Array-based deque of node entries. An entry is valid while node index
+	 * is equal to a stamp given to a node on push.
+	 */
+	private static class Bucket<N extends FrontierNode<N>> {
+		ArrayList<N> nodes = new ArrayList<N>(4);
+		int[] stamps = new int[4];
+		int head = 0;
+
+		void push(N node, int stamp) {
+			int tail = nodes.size();
+
+			if(head > 0 && head << 1 >= tail) {
+				nodes.subList(0, head).clear();
+				System.arraycopy(stamps, head, stamps, 0, tail - head);
+				tail -= head;
+				head = 0;
+			}
+
+			if(tail == stamps.length) {
+				stamps = Arrays.copyOf(stamps, tail << 1);
+			}
+
+			nodes.add(node);
+			stamps[tail] = stamp;
+		}
+
+		N top(boolean lifo) {
+			while(head < nodes.size()) {
+				int i = lifo ? nodes.size() - 1 : head;
+				N node = nodes.get(i);
+
+				if(node.index == stamps[i]) {
+					return node;
+				}
+
+				pop(lifo);
+			}
+
+			return null;
+		}
+
+		void pop(boolean lifo) {
+			if(lifo) {
+				nodes.remove(nodes.size() - 1);
+			} else {
+				nodes.set(head++, null);
+			}
+
+			if(head == nodes.size()) {
+				nodes.clear();
+				head = 0;
+			}
+		}
+	}
+
+}
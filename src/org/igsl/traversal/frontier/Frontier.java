@@ -0,0 +1,62 @@
+package org.igsl.traversal.frontier;
+
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+/**
+ * Interface Frontier represents a set of front nodes of a best-first traversal
+ * ordered by node priority. A head of a frontier is a node with a minimal key,
+ * i.e. the cursor node to be expanded next.
+ * 
+ * @param <N> type of the node
+ */
+public interface Frontier<N extends FrontierNode<N>> {
+
+	/**
+	 * Puts a node to a frontier
+	 * 
+	 * @param node node not kept in a frontier
+	 */
+	public void add(N node);
+	
+	/**
+	 * Restores node order after a node key was changed, usually decreased
+	 * 
+	 * @param node node kept in a frontier
+	 */
+	public void update(N node);
+	
+	/**
+	 * Removes a node from a frontier
+	 * 
+	 * @param node node to remove
+	 * @return true - if a node was kept in a frontier, false - otherwise
+	 */
+	public boolean remove(N node);
+	
+	/**
+	 * Returns a node with a minimal key without removing it
+	 * 
+	 * @return head node, null - if frontier is empty
+	 */
+	public N peek();
+	
+	/**
+	 * Removes and returns a node with a minimal key
+	 * 
+	 * @return head node, null - if frontier is empty
+	 */
+	public N poll();
+	
+	/**
+	 * Check if a frontier has no nodes
+	 */
+	public boolean isEmpty();
+	
+	/**
+	 * Number of nodes in a frontier
+	 */
+	public int size();
+	
+}
@@ -0,0 +1,26 @@
+package org.igsl.traversal.frontier;
+
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+/**
+ * Base class for nodes kept in a <code>Frontier</code>. A node remembers its position
+ * in a frontier, so removal and key update do not need a search over frontier nodes.
+ * Nodes are ordered by <code>compareTo</code>, a minimal node is a frontier head.
+ * 
+ * @param <N> type of the node
+ */
+public abstract class FrontierNode<N extends FrontierNode<N>> implements Comparable<N> {
+
+	/**
+	 * Check if a node is currently kept in a frontier
+	 * @return true - if a node is in a frontier, false - otherwise
+	 */
+	public boolean isQueued() {
+		return index >= 0;
+	}
+	
+	int index = -1;
+
+}
@@ -0,0 +1,144 @@
+package org.igsl.traversal.frontier;
+
+import java.util.ArrayList;
+
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+/**
+ * Frontier implemented as an indexed binary heap. Each node keeps its position
+ * in a heap list, so that <code>update</code> and <code>remove</code> take O(log n)
+ * and <code>peek</code> takes O(1).
+ * 
+ * @param <N> type of the node
+ */
+public class HeapFrontier<N extends FrontierNode<N>> implements Frontier<N> {
+	
+	/**
+	 * Creates an empty heap with default capacity
+	 */
+	public HeapFrontier() {
+		this(DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * Creates an empty heap with a given initial capacity
+	 * 
+	 * @param capacity initial capacity
+	 */
+	public HeapFrontier(int capacity) {
+		this.heap = new ArrayList<N>(Math.max(capacity, 1));
+	}
+	
+	public void add(N node) {
+		if(node.index >= 0) {
+			throw new IllegalStateException();
+		}
+		
+		node.index = heap.size();
+		heap.add(node);
+		siftUp(node.index);
+	}
+	
+	public void update(N node) {
+		if(node.index >= 0) {
+			siftDown(siftUp(node.index));
+		}
+	}
+	
+	public boolean remove(N node) {
+		int idx = node.index;
+		
+		if(idx < 0) {
+			return false;
+		}
+		
+		node.index = -1;
+		N last = heap.remove(heap.size() - 1);
+		
+		if(idx < heap.size()) {
+			heap.set(idx, last);
+			last.index = idx;
+			siftDown(siftUp(idx));
+		}
+		
+		return true;
+	}
+	
+	public N peek() {
+		return heap.isEmpty() ? null : heap.get(0);
+	}
+	
+	public N poll() {
+		N result = peek();
+		
+		if(result != null) {
+			remove(result);
+		}
+		
+		return result;
+	}
+	
+	public boolean isEmpty() {
+		return heap.isEmpty();
+	}
+	
+	public int size() {
+		return heap.size();
+	}
+	
+	private int siftUp(int idx) {
+		N node = heap.get(idx);
+		
+		while(idx > 0) {
+			int parent = (idx - 1) >>> 1;
+			N p = heap.get(parent);
+			
+			if(node.compareTo(p) >= 0) {
+				break;
+			}
+			
+			heap.set(idx, p);
+			p.index = idx;
+			idx = parent;
+		}
+		
+		heap.set(idx, node);
+		node.index = idx;
+		
+		return idx;
+	}
+	
+	private void siftDown(int idx) {
+		N node = heap.get(idx);
+		int size = heap.size();
+		int half = size >>> 1;
+		
+		while(idx < half) {
+			int child = (idx << 1) + 1;
+			int right = child + 1;
+			
+			if(right < size && heap.get(right).compareTo(heap.get(child)) < 0) {
+				child = right;
+			}
+			
+			N c = heap.get(child);
+			if(node.compareTo(c) <= 0) {
+				break;
+			}
+			
+			heap.set(idx, c);
+			c.index = idx;
+			idx = child;
+		}
+		
+		heap.set(idx, node);
+		node.index = idx;
+	}
+	
+	private static final int DEFAULT_CAPACITY = 64;
+	
+	private ArrayList<N> heap;
+
+}
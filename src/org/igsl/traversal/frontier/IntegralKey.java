@@ -0,0 +1,23 @@
+package org.igsl.traversal.frontier;
+
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+/**
+ * Interface IntegralKey is implemented by frontier nodes with an integral key,
+ * which are kept in bucket-based frontiers.
+ * Nodes with less key are expanded first, so a key must agree with <code>compareTo</code>.
+ *
+ * @see BucketFrontier
+ */
+public interface IntegralKey {
+
+	/**
+	 * Returns an integral key of a node, any <code>long</code> value is allowed
+	 *
+	 * @return bucket key
+	 */
+	public long getBucket();
+
+}
@@ -0,0 +1,161 @@
+package org.igsl.traversal.linear;
+
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+import org.igsl.cost.AddableDouble;
+import org.igsl.cost.AddableInteger;
+
+/**
+ * Stack of search tree nodes with cost kept as a struct of arrays: node values, indices of parent nodes
+ * and node costs. Costs of <code>AddableInteger</code> and <code>AddableDouble</code> types are kept
+ * in primitive arrays and are boxed only on access.
+ *
+ * @param <T> type of the node
+ * @param <C> type of the cost
+ */
+abstract class CostNodeArray<T,C> extends NodeArray<T> {
+
+	/**
+	 * Creates an empty stack with cost array matching a type of a given cost value
+	 *
+	 * @param cost sample cost value, usually a root one
+	 * @return an empty stack
+	 */
+	// C is AddableInteger or AddableDouble in a branch checked by instanceof
+	@SuppressWarnings("unchecked")
+	static <T,C> CostNodeArray<T,C> create(C cost) {
+		if(cost instanceof AddableInteger) {
+			return (CostNodeArray<T,C>) new IntCosts<T>();
+		} else if(cost instanceof AddableDouble) {
+			return (CostNodeArray<T,C>) new DoubleCosts<T>();
+		} else {
+			return new ObjectCosts<T,C>();
+		}
+	}
+
+	CostNodeArray() {
+		super();
+	}
+
+	CostNodeArray(CostNodeArray<T,C> other) {
+		super(other);
+	}
+
+	/**
+	 * Puts a node on a stack top
+	 *
+	 * @param value node value
+	 * @param cost node cost
+	 * @param parent index of a parent node, -1 for a root node
+	 * @return index of a node
+	 */
+	int push(T value, C cost, int parent) {
+		int idx = push(value, parent);
+		setCost(writableSegment(idx).column, idx & MASK, cost);
+		return idx;
+	}
+
+	C getCost(int idx) {
+		return getCost(segment(idx).column, idx & MASK);
+	}
+
+	abstract C getCost(Object column, int i);
+
+	abstract void setCost(Object column, int i, C cost);
+
+	/**
+	 * Returns a copy of a stack sharing segments with this one
+	 */
+	abstract CostNodeArray<T,C> copy();
+
+	abstract CostNodeArray<T,C> empty();
+
+	CostNodeArray<T,C> split(int idx) {
+		return split(idx, empty());
+	}
+
+	static class ObjectCosts<T,C> extends CostNodeArray<T,C> {
+		ObjectCosts() {
+			super();
+		}
+
+		ObjectCosts(ObjectCosts<T,C> other) {
+			super(other);
+		}
+
+		// a slot is written only by setCost with a value of C
+		@SuppressWarnings("unchecked")
+		C getCost(Object column, int i) { return (C) ((Object[]) column)[i]; }
+
+		void setCost(Object column, int i, C cost) { ((Object[]) column)[i] = cost; }
+
+		Object newColumn() { return new Object[SEGMENT]; }
+
+		Object copyColumn(Object column) { return ((Object[]) column).clone(); }
+
+		void clear(Segment s, int i) { ((Object[]) s.column)[i] = null; }
+
+		void transfer(Segment from, int i, Segment to, int j) {
+			((Object[]) to.column)[j] = ((Object[]) from.column)[i];
+		}
+
+		CostNodeArray<T,C> empty() { return new ObjectCosts<T,C>(); }
+
+		CostNodeArray<T,C> copy() { return new ObjectCosts<T,C>(this); }
+	}
+
+	static class IntCosts<T> extends CostNodeArray<T,AddableInteger> {
+		IntCosts() {
+			super();
+		}
+
+		IntCosts(IntCosts<T> other) {
+			super(other);
+		}
+
+		AddableInteger getCost(Object column, int i) { return new AddableInteger(((int[]) column)[i]); }
+
+		void setCost(Object column, int i, AddableInteger cost) { ((int[]) column)[i] = cost.intValue(); }
+
+		Object newColumn() { return new int[SEGMENT]; }
+
+		Object copyColumn(Object column) { return ((int[]) column).clone(); }
+
+		void transfer(Segment from, int i, Segment to, int j) {
+			((int[]) to.column)[j] = ((int[]) from.column)[i];
+		}
+
+		CostNodeArray<T,AddableInteger> empty() { return new IntCosts<T>(); }
+
+		CostNodeArray<T,AddableInteger> copy() { return new IntCosts<T>(this); }
+	}
+
+	static class DoubleCosts<T> extends CostNodeArray<T,AddableDouble> {
+		DoubleCosts() {
+			super();
+		}
+
+		DoubleCosts(DoubleCosts<T> other) {
+			super(other);
+		}
+
+		AddableDouble getCost(Object column, int i) { return new AddableDouble(((double[]) column)[i]); }
+
+		void setCost(Object column, int i, AddableDouble cost) { ((double[]) column)[i] = cost.doubleValue(); }
+
+		Object newColumn() { return new double[SEGMENT]; }
+
+		Object copyColumn(Object column) { return ((double[]) column).clone(); }
+
+		void transfer(Segment from, int i, Segment to, int j) {
+			((double[]) to.column)[j] = ((double[]) from.column)[i];
+		}
+
+		CostNodeArray<T,AddableDouble> empty() { return new DoubleCosts<T>(); }
+
+		CostNodeArray<T,AddableDouble> copy() { return new DoubleCosts<T>(this); }
+	}
+
+}
@@ -4,27 +4,38 @@
 
 package org.igsl.traversal.linear;
 
-import java.util.EmptyStackException;
-import java.util.Iterator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.ListIterator;
-import java.util.Stack;
 
+import org.igsl.cost.Accumulable;
 import org.igsl.cost.Addable;
+import org.igsl.cost.Costs;
 import org.igsl.functor.CostFunction;
-import org.igsl.functor.BackwardPathIterator;
 import org.igsl.functor.exception.DefaultValuesUnsupportedException;
 import org.igsl.functor.exception.EmptyTraversalException;
+import org.igsl.functor.iterator.path.BackwardPathIterator;
 import org.igsl.traversal.Copyable;
 import org.igsl.traversal.CostTreeTraversal;
+import org.igsl.traversal.Listenable;
+import org.igsl.traversal.SearchListener;
 import org.igsl.traversal.Splitable;
 
 /**
  * Depth-first search implementation for a problem graph with edge cost.
+ * Nodes are kept either as an immutable linked stack of objects or, in a compact mode,
+ * as arrays of node values, parent indices and costs. In both cases copies share nodes
+ * with an original traversal, so a copy is taken without walking a stack.
+ * In an accumulator mode node costs are not kept, instead a cost of each node on a path
+ * from a root node to the cursor is accumulated in place in a slot of its depth,
+ * so a number of cost instances is limited by a maximal depth of a search tree.
  */
 public class DepthFirstCostTreeTraversal<T,C extends Addable<C> & Comparable<C>>
 	implements CostTreeTraversal<T,C>, Copyable<DepthFirstCostTreeTraversal<T,C>>,
-		Splitable<DepthFirstCostTreeTraversal<T,C>>
+		Splitable<DepthFirstCostTreeTraversal<T,C>>, Listenable
 {
 	/**
 	 * Constructor based on a start search node and cost function interface
@@ -37,6 +48,47 @@ public class DepthFirstCostTreeTraversal<T,C extends Addable<C> & Comparable<C>>
 	 */
 	public DepthFirstCostTreeTraversal(T value, C cost, CostFunction<T,C> function) 
 		throws NullPointerException
+	{
+		this(value, cost, function, false);
+	}
+	
+	/**
+	 * Constructor based on a start search node, cost function interface and node storage mode
+	 * 
+	 * @param value root node value
+	 * @param cost root node cost
+	 * @param function cost function
+	 * @param compact true - nodes are kept in arrays of values, parent indices and costs,
+	 * false - nodes are kept as objects
+	 * @throws NullPointerException thrown if cost function is null
+	 * @see CostFunction
+	 */
+	public DepthFirstCostTreeTraversal(T value, C cost, CostFunction<T,C> function, boolean compact) 
+		throws NullPointerException
+	{
+		this(value, cost, function, compact, false);
+	}
+	
+	/**
+	 * Constructor based on a start search node, cost function interface, node storage mode
+	 * and cost accumulation mode. In an accumulator mode a cost returned by <code>getCost</code>
+	 * is owned by a traversal and changes as the traversal moves, use <code>Accumulable.copy</code>
+	 * to keep it.
+	 * 
+	 * @param value root node value
+	 * @param cost root node cost
+	 * @param function cost function
+	 * @param compact true - nodes are kept in arrays of values, parent indices and costs,
+	 * false - nodes are kept as objects
+	 * @param accumulate true - costs are accumulated in place in a slot for each depth,
+	 * false - a new cost instance is kept for each node
+	 * @throws NullPointerException thrown if cost function is null
+	 * @throws IllegalArgumentException thrown if costs are accumulated and a cost is not <code>Accumulable</code>
+	 * @see CostFunction
+	 * @see Accumulable
+	 */
+	public DepthFirstCostTreeTraversal(T value, C cost, CostFunction<T,C> function, boolean compact,
+		boolean accumulate) throws NullPointerException, IllegalArgumentException
 	{
 		if(function == null) {
 			throw new NullPointerException();
@@ -44,7 +96,22 @@ public class DepthFirstCostTreeTraversal<T,C extends Addable<C> & Comparable<C>>
 			this.function = function;
 		}
 		
-		nodes.push(new TreeNode(value, cost));
+		if(accumulate && !(cost instanceof Accumulable)) {
+			throw new IllegalArgumentException();
+		}
+		
+		if(compact) {
+			array = accumulate ? new CostNodeArray.ObjectCosts<T,C>() : CostNodeArray.<T,C>create(cost);
+			array.push(value, cost, -1);
+			arrayIterator = array.new PathIterator(-1);
+		} else {
+			top = new TreeNode(value, cost, null, null);
+		}
+		
+		if(accumulate) {
+			slots = newSlots(DEFAULT_SLOTS);
+			reset();
+		}
 	}
 	
 	/**
@@ -83,15 +150,17 @@ public class DepthFirstCostTreeTraversal<T,C extends Addable<C> & Comparable<C>>
 	 * searches for other nodes in the tree performing pruning procedure.
 	 */
 	public boolean moveForward() throws EmptyTraversalException {
-		TreeNode n = null;
+		if(array != null) {
+			return moveForwardCompact();
+		}
 		
-		try {
-			n = nodes.peek();
-		} catch (EmptyStackException ese) {
+		TreeNode n = top;
+		
+		if(n == null) {
 			throw new EmptyTraversalException();
 		}		
 		
-		List<T> result = function.expand(getPathIterator());
+		List<T> result = expand();
 		
 		if(result == null) {
 			return false;
@@ -104,12 +173,17 @@ public class DepthFirstCostTreeTraversal<T,C extends Addable<C> & Comparable<C>>
 				do {
 					T t = li.previous();
 				
-					nodes.push(new TreeNode(
-							t, n.getCost().addTo(function.getTransitionCost(n.getValue(),t)), n
-							));
+					top = new TreeNode(
+							t, (slots != null) ? null : n.getCost().addTo(function.getTransitionCost(n.getValue(),t)),
+							n, top
+							);
 				} while(li.hasPrevious());
 			}
 			
+			if(slots != null) {
+				accumulate();
+			}
+			
 			return true;
 		}
 	}
@@ -119,60 +193,92 @@ public class DepthFirstCostTreeTraversal<T,C extends Addable<C> & Comparable<C>>
 	 * till a ready-for-expansion node is found.
 	 */	
 	public void backtrack() throws EmptyTraversalException {
-		try {
+		if(listener != null && !isEmpty()) {
+			listener.backtracked(depth());
+		}
+		
+		if(array != null) {
+			if(array.isEmpty()) {
+				throw new EmptyTraversalException();
+			}
+			
+			array.prune();
+		} else {
+			if(top == null) {
+				throw new EmptyTraversalException();
+			}
+			
 			prune();
-		} catch(EmptyStackException ese) {
-			throw new EmptyTraversalException();
+		}
+		
+		if(slots != null) {
+			accumulate();
 		}
 	}
 	
 	/**
 	 * Returns cost for cursor node, null - if traversal is empty
 	 */
-	public C getCost() { return isEmpty() ? null : nodes.peek().getCost(); }
+	public C getCost() {
+		if(isEmpty()) {
+			return null;
+		}
+		
+		if(slots != null) {
+			return slots.get(depth);
+		}
+		
+		return (array != null) ? array.getCost(array.top()) : top.getCost();
+	}
 
 	/**
 	 * Check if traversal has no nodes to expand
 	 */
-	public boolean isEmpty() { return nodes.empty(); }
+	public boolean isEmpty() { return (array != null) ? array.isEmpty() : top == null; }
 	
 	/**
 	 * Returns a list of traversal from a root node to cursor including both
 	 */
 	public BackwardPathIterator<T> getPathIterator() {
-		return pathIterator.reset(nodes.peek());
+		if(array != null) {
+			return arrayIterator.reset(array.top());
+		}
+		
+		return pathIterator.reset(top);
 	}
 	
 	/**
 	 * Returns a list of traversal from a root node to cursor including both
 	 */
 	public BackwardPathIterator<T> getPath() {
-		return new NodeIteratorImpl(nodes.peek());
+		if(array != null) {
+			return array.new PathIterator(array.top());
+		}
+		
+		return new NodeIteratorImpl(top);
 	}
 
 	/**
 	 * Implementation details of Copyable interface.
-	 * Returns a DepthFirstCostTreeTraversal with a copy of a cursor node
+	 * Returns a DepthFirstCostTreeTraversal with a copy of a cursor node.
+	 * Nodes are shared with a copy, in a compact mode shared segments are copied on first write.
 	 */
 	public DepthFirstCostTreeTraversal<T,C> getCopyOf() {
 		DepthFirstCostTreeTraversal<T,C> result = new DepthFirstCostTreeTraversal<T,C>();
 		
 		result.function = function;
+		result.listener = listener;
 		
-		Iterator<TreeNode> iterator = nodes.iterator();
-		while(iterator.hasNext()) {
-			TreeNode node = iterator.next();
-
-			T value = node.getValue();
-			C cost = node.getCost();
-			TreeNode parent = node.getParent();
-			
-			if(parent != null) {
-				int idx = nodes.indexOf(parent);
-				parent = result.nodes.elementAt(idx);
-			}
-			
-			result.nodes.push(new TreeNode(value, cost, parent));
+		if(array != null) {
+			result.array = array.copy();
+			result.arrayIterator = result.array.new PathIterator(-1);
+		} else {
+			result.top = top;
+		}
+		
+		if(slots != null) {
+			result.slots = newSlots(slots.size());
+			result.reset();
 		}
 		
 		return result;
@@ -180,18 +286,284 @@ public class DepthFirstCostTreeTraversal<T,C extends Addable<C> & Comparable<C>>
 	
 	/**
 	 * Implementation details of Splittable interface.
-	 * Returns a DepthFirstCostTreeTraversal with a copy of a cursor node
+	 * Removes a lowest node, which is not expanded yet, from a stack and returns
+	 * a DepthFirstCostTreeTraversal with this node as a cursor, so that the largest unexplored
+	 * subtree is handed off. A path from a root node to a removed node is kept in a result traversal.
+	 * Returns null if the only node left for expansion is the cursor.
 	 */
 	public DepthFirstCostTreeTraversal<T,C> split() throws EmptyTraversalException {
-		try {
-			DepthFirstCostTreeTraversal<T,C> result = 
-				new DepthFirstCostTreeTraversal<T,C>(nodes.peek().getValue(), getCost(), function);
+		if(isEmpty()) {
+			throw new EmptyTraversalException();
+		}
+		
+		DepthFirstCostTreeTraversal<T,C> result = new DepthFirstCostTreeTraversal<T,C>();
+		result.function = function;
+		result.listener = listener;
+		
+		if(array != null) {
+			int idx = array.lowestPending();
+		
+			if(idx < 0) {
+				return null;
+			}
 			
-			backtrack();
-			return result;
-		} catch(EmptyStackException ese) {
+			result.array = array.split(idx);
+			result.arrayIterator = result.array.new PathIterator(-1);
+			return split(result);
+		}
+		
+		ArrayList<TreeNode> above = new ArrayList<TreeNode>();
+		TreeNode pending = null;
+		int length = 0;
+		
+		for(TreeNode n = top; n.getBelow() != null; n = n.getBelow()) {
+			above.add(n);
+			
+			if(n.getParent() != n.getBelow()) {
+				pending = n.getBelow();
+				length = above.size();
+			}
+		}
+		
+		if(pending == null) {
+			return null;
+		}
+		
+		HashMap<TreeNode,TreeNode> copies = new HashMap<TreeNode,TreeNode>();
+		TreeNode below = pending.getBelow();
+		
+		for(int i = length - 1; i >= 0; --i) {
+			TreeNode n = above.get(i);
+			TreeNode parent = copies.get(n.getParent());
+			
+			below = new TreeNode(n.getValue(), n.getCost(), (parent != null) ? parent : n.getParent(), below);
+			copies.put(n, below);
+		}
+		
+		top = below;
+		result.top = new TreeNode(pending.getValue(), pending.getCost(), pending.getParent(), null);
+		
+		return split(result);
+	}
+	
+	/**
+	 * Restores cost slots of both traversals after a split, since nodes on a path
+	 * of this traversal are moved or copied
+	 */
+	private DepthFirstCostTreeTraversal<T,C> split(DepthFirstCostTreeTraversal<T,C> result) {
+		if(slots != null) {
+			reset();
+			result.slots = newSlots(slots.size());
+			result.reset();
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Implementation details of Listenable interface.
+	 */
+	public void setSearchListener(SearchListener listener) {
+		this.listener = listener;
+	}
+	
+	/**
+	 * Expands the cursor by a generator reporting it to a listener
+	 */
+	private List<T> expand() {
+		if(listener == null) {
+			return function.expand(getPathIterator());
+		}
+	
+		long time = System.nanoTime();
+		List<T> result = function.expand(getPathIterator());
+		listener.expanded(depth(), (result == null) ? -1 : result.size(), System.nanoTime() - time);
+	
+		return result;
+	}
+	
+	/**
+	 * Number of nodes on a path from a root node to the cursor
+	 */
+	private int depth() {
+		BackwardPathIterator<T> i = getPathIterator();
+		int result = 0;
+	
+		while(i.hasPreviousNode()) {
+			i.previousNode();
+			++result;
+		}
+	
+		return result;
+	}
+	
+	private boolean moveForwardCompact() throws EmptyTraversalException {
+		if(array.isEmpty()) {
 			throw new EmptyTraversalException();
 		}
+		
+		List<T> result = expand();
+		
+		if(result == null) {
+			return false;
+		} else {
+			if(result.isEmpty()) {
+				array.prune();
+			} else {
+				int n = array.top();
+				T value = array.getValue(n);
+				C cost = (slots != null) ? null : array.getCost(n);
+				ListIterator<T> li = result.listIterator(result.size());
+				
+				do {
+					T t = li.previous();
+					array.push(t, (slots != null) ? null : cost.addTo(function.getTransitionCost(value, t)), n);
+				} while(li.hasPrevious());
+			}
+			
+			if(slots != null) {
+				accumulate();
+			}
+			
+			return true;
+		}
+	}
+	
+	/**
+	 * Accumulates a cost of a new cursor node in a slot of its depth. A parent of the cursor
+	 * is always on a path kept in slots, so slots above a parent are dropped.
+	 */
+	private void accumulate() {
+		if(isEmpty()) {
+			depth = -1;
+			return;
+		}
+		
+		if(array != null) {
+			int n = array.top();
+			int parent = array.getParent(n);
+			
+			while(depth >= 0 && indices[depth] != parent) {
+				--depth;
+			}
+			
+			if(depth >= 0) {
+				grow(++depth);
+				indices[depth] = n;
+			}
+		} else {
+			TreeNode parent = top.getParent();
+			
+			while(depth >= 0 && nodes.get(depth) != parent) {
+				--depth;
+			}
+			
+			if(depth >= 0) {
+				grow(++depth);
+				nodes.set(depth, top);
+			}
+		}
+		
+		if(depth < 0) {
+			reset();
+		} else {
+			accumulate(depth);
+		}
+	}
+	
+	/**
+	 * Accumulates costs in slots for all nodes on a path from a root node to the cursor
+	 */
+	private void reset() {
+		depth = -1;
+		
+		if(isEmpty()) {
+			return;
+		}
+		
+		if(array != null) {
+			for(int i = array.top(); i >= 0; i = array.getParent(i)) {
+				++depth;
+			}
+			
+			grow(depth);
+			
+			for(int i = array.top(), d = depth; i >= 0; i = array.getParent(i)) {
+				indices[d--] = i;
+			}
+			
+			slots.set(0, array.getCost(indices[0]));
+		} else {
+			for(TreeNode n = top; n != null; n = n.getParent()) {
+				++depth;
+			}
+			
+			grow(depth);
+			
+			int d = depth;
+			for(TreeNode n = top; n != null; n = n.getParent()) {
+				nodes.set(d--, n);
+			}
+			
+			slots.set(0, nodes.get(0).getCost());
+		}
+		
+		for(int d = 1; d <= depth; ++d) {
+			accumulate(d);
+		}
+	}
+	
+	/**
+	 * Assigns a cost of a path node at a given depth to its slot, a slot instance
+	 * is created once for each depth
+	 */
+	private void accumulate(int d) {
+		C slot = slots.get(d);
+		
+		if(slot == null) {
+			slot = Costs.keep(slots.get(0));
+			slots.set(d, slot);
+		}
+		
+		T from = (array != null) ? array.getValue(indices[d - 1]) : nodes.get(d - 1).getValue();
+		T to = (array != null) ? array.getValue(indices[d]) : nodes.get(d).getValue();
+		
+		Accumulable<C> accumulator = Costs.accumulable(slot);
+		accumulator.assign(slots.get(d - 1));
+		accumulator.accumulate(function.getTransitionCost(from, to));
+	}
+	
+	/**
+	 * Makes slots and path arrays hold a given depth
+	 */
+	private void grow(int d) {
+		int length = slots.size();
+		
+		if(d >= length) {
+			length = Math.max(d + 1, length << 1);
+			slots.addAll(Collections.<C>nCopies(length - slots.size(), null));
+		}
+		
+		if(array != null) {
+			if(indices == null || d >= indices.length) {
+				indices = (indices == null) ? new int[length] : Arrays.copyOf(indices, length);
+			}
+		} else {
+			if(nodes == null) {
+				nodes = new ArrayList<TreeNode>(length);
+			}
+			
+			if(d >= nodes.size()) {
+				nodes.addAll(Collections.<TreeNode>nCopies(length - nodes.size(), null));
+			}
+		}
+	}
+	
+	/**
+	 * Returns a list of empty cost slots
+	 */
+	private ArrayList<C> newSlots(int length) {
+		return new ArrayList<C>(Collections.<C>nCopies(length, null));
 	}
 	
 	private DepthFirstCostTreeTraversal() {}
@@ -200,34 +572,43 @@ public class DepthFirstCostTreeTraversal<T,C extends Addable<C> & Comparable<C>>
 		TreeNode parent = null;
 		
 		do {
-			TreeNode n = nodes.pop();
-			parent = n.getParent();
-		} while(parent != null && parent == nodes.peek());
+			parent = top.getParent();
+			top = top.getBelow();
+		} while(parent != null && parent == top);
 	}
 	
-	protected Stack<TreeNode> nodes = new Stack<TreeNode>();
+	protected TreeNode top;
 	protected CostFunction<T,C> function;
+	private SearchListener listener;
 	private NodeIteratorImpl pathIterator = new NodeIteratorImpl(null);
 	
+	private CostNodeArray<T,C> array;
+	private CostNodeArray<T,C>.PathIterator arrayIterator;
+	
+	private ArrayList<C> slots;
+	private int[] indices;
+	private ArrayList<TreeNode> nodes;
+	private int depth = -1;
+	
+	private static final int DEFAULT_SLOTS = 16;
+	
 	class TreeNode {
-		T value;
-		C cost;
-		TreeNode parent;
+		final T value;
+		final C cost;
+		final TreeNode parent;
+		final TreeNode below;
 		
-		TreeNode(T value, C cost) {
+		TreeNode(T value, C cost, TreeNode parent, TreeNode below) {
 			this.value = value;
 			this.cost = cost;
-			this.parent = null;
-		}
-		
-		TreeNode(T value, C cost, TreeNode parent) {
-			this(value, cost);
 			this.parent = parent;
+			this.below = below;
 		}
 		
 		T getValue() { return value; }
 		C getCost() { return cost; }
 		TreeNode getParent() { return parent; }
+		TreeNode getBelow() { return below; }
 	}
 	
 	private class NodeIteratorImpl implements BackwardPathIterator<T> {
@@ -248,7 +629,7 @@ public class DepthFirstCostTreeTraversal<T,C extends Addable<C> & Comparable<C>>
 			return result;
 		}
 		
-		private BackwardPathIterator reset(TreeNode node) {
+		private BackwardPathIterator<T> reset(TreeNode node) {
 			this.cursor = node;
 			return this;
 		}
@@ -0,0 +1,249 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+package org.igsl.traversal.linear;
+
+import java.util.List;
+import java.util.ListIterator;
+
+import org.igsl.functor.DoubleCostFunction;
+import org.igsl.functor.exception.DefaultValuesUnsupportedException;
+import org.igsl.functor.exception.EmptyTraversalException;
+import org.igsl.functor.iterator.path.BackwardPathIterator;
+import org.igsl.traversal.Copyable;
+import org.igsl.traversal.DoubleCostTreeTraversal;
+import org.igsl.traversal.Listenable;
+import org.igsl.traversal.SearchListener;
+import org.igsl.traversal.Splitable;
+
+/**
+ * Depth-first search implementation for a problem graph with real edge cost.
+ * Nodes are kept as arrays of node values, parent indices and primitive <code>double</code> costs,
+ * so no cost object is created while a tree is traversed. Copies share array segments
+ * with an original traversal, each segment is copied on first write.
+ */
+public class DepthFirstDoubleCostTreeTraversal<T>
+	implements DoubleCostTreeTraversal<T>, Copyable<DepthFirstDoubleCostTreeTraversal<T>>,
+		Splitable<DepthFirstDoubleCostTreeTraversal<T>>, Listenable
+{
+	/**
+	 * Constructor based on a start search node and cost function interface
+	 *
+	 * @param value root node value
+	 * @param cost root node cost
+	 * @param function cost function
+	 * @throws NullPointerException thrown if cost function is null
+	 * @see DoubleCostFunction
+	 */
+	public DepthFirstDoubleCostTreeTraversal(T value, double cost, DoubleCostFunction<T> function)
+		throws NullPointerException
+	{
+		if(function == null) {
+			throw new NullPointerException();
+		} else {
+			this.function = function;
+		}
+
+		array = new DoubleNodeArray<T>();
+		array.push(value, cost, -1);
+		arrayIterator = array.new PathIterator(-1);
+	}
+
+	/**
+	 * Constructor based on a start search node with cost function and default root cost value
+	 *
+	 * @param value root node value
+	 * @param function cost function
+	 * @throws NullPointerException thrown if cost function is null
+	 * @throws DefaultValuesUnsupportedException thrown if default root cost value does not exist
+	 * @see DoubleCostFunction
+	 */
+	public DepthFirstDoubleCostTreeTraversal(T value, DoubleCostFunction<T> function)
+		throws NullPointerException, DefaultValuesUnsupportedException
+	{
+		this(value, function.getDefaultRootCost(), function);
+	}
+
+	/**
+	 * Constructor based on a cost function interface and default root node and cost values
+	 *
+	 * @param function cost function
+	 * @throws NullPointerException thrown if cost function is null
+	 * @throws DefaultValuesUnsupportedException thrown if default root node and/or cost value does not exist
+	 * @see DoubleCostFunction
+	 */
+	public DepthFirstDoubleCostTreeTraversal(DoubleCostFunction<T> function)
+		throws NullPointerException, DefaultValuesUnsupportedException
+	{
+		this(function.getDefaultRootNode(), function.getDefaultRootCost(), function);
+	}
+
+	/**
+	 * Expands nodes base on "last found - first expanded" technique.
+	 * For an empty traversal throws an exception.
+	 * If the result of node expansion is empty list of nodes then
+	 * searches for other nodes in the tree performing pruning procedure.
+	 */
+	public boolean moveForward() throws EmptyTraversalException {
+		if(array.isEmpty()) {
+			throw new EmptyTraversalException();
+		}
+
+		List<T> result = expand();
+
+		if(result == null) {
+			return false;
+		} else {
+			if(result.isEmpty()) {
+				array.prune();
+			} else {
+				int n = array.top();
+				T value = array.getValue(n);
+				double cost = array.getCost(n);
+				ListIterator<T> li = result.listIterator(result.size());
+
+				do {
+					T t = li.previous();
+					array.push(t, cost + function.getTransitionCost(value, t), n);
+				} while(li.hasPrevious());
+			}
+
+			return true;
+		}
+	}
+
+	/**
+	 * Simply prunes the cursor node and its predecessors if necessary
+	 * till a ready-for-expansion node is found.
+	 */
+	public void backtrack() throws EmptyTraversalException {
+		if(listener != null && !isEmpty()) {
+			listener.backtracked(depth());
+		}
+
+		if(array.isEmpty()) {
+			throw new EmptyTraversalException();
+		}
+
+		array.prune();
+	}
+
+	/**
+	 * Returns cost for cursor node
+	 *
+	 * @throws EmptyTraversalException thrown if traversal is empty
+	 */
+	public double getCost() throws EmptyTraversalException {
+		if(array.isEmpty()) {
+			throw new EmptyTraversalException();
+		}
+
+		return array.getCost(array.top());
+	}
+
+	/**
+	 * Returns a cost function functor.
+	 */
+	public DoubleCostFunction<T> getCostFunction() { return function; }
+
+	/**
+	 * Check if traversal has no nodes to expand
+	 */
+	public boolean isEmpty() { return array.isEmpty(); }
+
+	/**
+	 * Returns a list of traversal from a root node to cursor including both.
+	 * Path iterator returned is a singleton.
+	 */
+	public BackwardPathIterator<T> getPathIterator() {
+		return arrayIterator.reset(array.top());
+	}
+
+	/**
+	 * Returns a list of traversal from a root node to cursor including both
+	 */
+	public BackwardPathIterator<T> getPath() {
+		return array.new PathIterator(array.top());
+	}
+
+	/**
+	 * Implementation details of Copyable interface.
+	 * Returns a DepthFirstDoubleCostTreeTraversal with a copy of a cursor node.
+	 * Shared segments are copied on first write.
+	 */
+	public DepthFirstDoubleCostTreeTraversal<T> getCopyOf() {
+		return new DepthFirstDoubleCostTreeTraversal<T>(function, new DoubleNodeArray<T>(array), listener);
+	}
+
+	/**
+	 * Implementation details of Splitable interface.
+	 * Removes a lowest node, which is not expanded yet, from a stack and returns
+	 * a DepthFirstDoubleCostTreeTraversal with this node as a cursor, so that the largest unexplored
+	 * subtree is handed off. A path from a root node to a removed node is kept in a result traversal.
+	 * Returns null if the only node left for expansion is the cursor.
+	 */
+	public DepthFirstDoubleCostTreeTraversal<T> split() throws EmptyTraversalException {
+		if(array.isEmpty()) {
+			throw new EmptyTraversalException();
+		}
+
+		int idx = array.lowestPending();
+
+		if(idx < 0) {
+			return null;
+		}
+
+		return new DepthFirstDoubleCostTreeTraversal<T>(function, (DoubleNodeArray<T>) array.split(idx), listener);
+	}
+
+	/**
+	 * Implementation details of Listenable interface.
+	 */
+	public void setSearchListener(SearchListener listener) {
+		this.listener = listener;
+	}
+
+	/**
+	 * Expands the cursor by a generator reporting it to a listener
+	 */
+	private List<T> expand() {
+		if(listener == null) {
+			return function.expand(getPathIterator());
+		}
+
+		long time = System.nanoTime();
+		List<T> result = function.expand(getPathIterator());
+		listener.expanded(depth(), (result == null) ? -1 : result.size(), System.nanoTime() - time);
+
+		return result;
+	}
+
+	/**
+	 * Number of nodes on a path from a root node to the cursor
+	 */
+	private int depth() {
+		BackwardPathIterator<T> i = getPathIterator();
+		int result = 0;
+
+		while(i.hasPreviousNode()) {
+			i.previousNode();
+			++result;
+		}
+
+		return result;
+	}
+
+	private DepthFirstDoubleCostTreeTraversal(DoubleCostFunction<T> function, DoubleNodeArray<T> array, SearchListener listener) {
+		this.function = function;
+		this.listener = listener;
+		this.array = array;
+		this.arrayIterator = array.new PathIterator(-1);
+	}
+
+	private DoubleCostFunction<T> function;
+	private SearchListener listener;
+	private DoubleNodeArray<T> array;
+	private DoubleNodeArray<T>.PathIterator arrayIterator;
+
+}
@@ -4,24 +4,30 @@
 
 package org.igsl.traversal.linear;
 
-import java.util.EmptyStackException;
-import java.util.Iterator;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.ListIterator;
-import java.util.Stack;
 
 import org.igsl.functor.NodeGenerator;
 import org.igsl.functor.exception.DefaultValuesUnsupportedException;
 import org.igsl.functor.exception.EmptyTraversalException;
 import org.igsl.traversal.Copyable;
+import org.igsl.traversal.Listenable;
+import org.igsl.traversal.SearchListener;
+import org.igsl.traversal.Splitable;
 import org.igsl.traversal.TreeTraversal;
-import org.igsl.functor.BackwardPathIterator;
+import org.igsl.functor.iterator.path.BackwardPathIterator;
 
 /**
  * Depth-first search implementation for a problem graph without edge cost.
+ * Nodes are kept either as an immutable linked stack of objects or, in a compact mode,
+ * as arrays of node values and parent indices. In both cases copies share nodes
+ * with an original traversal, so a copy is taken without walking a stack.
  */
 public class DepthFirstTreeTraversal<T>
-	implements TreeTraversal<T>, Copyable<DepthFirstTreeTraversal<T>>
+	implements TreeTraversal<T>, Copyable<DepthFirstTreeTraversal<T>>, Splitable<DepthFirstTreeTraversal<T>>,
+		Listenable
 {
 	/**
 	 * Constructor based on a start search node and expansion operator
@@ -33,6 +39,22 @@ public class DepthFirstTreeTraversal<T>
 	 */
 	public DepthFirstTreeTraversal(T value, NodeGenerator<T> generator) 
 		throws NullPointerException
+	{
+		this(value, generator, false);
+	}
+	
+	/**
+	 * Constructor based on a start search node, expansion operator and node storage mode
+	 * 
+	 * @param value root node value
+	 * @param generator node generator function
+	 * @param compact true - nodes are kept in arrays of values and parent indices,
+	 * false - nodes are kept as objects
+	 * @throws NullPointerException thrown if node generator is null
+	 * @see NodeGenerator
+	 */
+	public DepthFirstTreeTraversal(T value, NodeGenerator<T> generator, boolean compact) 
+		throws NullPointerException
 	{
 		if(generator == null) {
 			throw new NullPointerException();
@@ -40,7 +62,13 @@ public class DepthFirstTreeTraversal<T>
 			this.generator = generator;
 		}
 		
-		nodes.push(new TreeNode(value));
+		if(compact) {
+			array = new NodeArray<T>();
+			array.push(value, -1);
+			arrayIterator = array.new PathIterator(-1);
+		} else {
+			top = new TreeNode(value, null, null);
+		}
 	}
 	
 	/**
@@ -64,32 +92,29 @@ public class DepthFirstTreeTraversal<T>
 	 * searches for other nodes in the tree performing pruning procedure.
 	 */
 	public boolean moveForward() throws EmptyTraversalException {
-		TreeNode n = null;
+		if(array != null) {
+			return moveForwardCompact();
+		}
+		
+		TreeNode n = top;
 		
-		try {
-			n = nodes.peek();
-		} catch (EmptyStackException ese) {
+		if(n == null) {
 			throw new EmptyTraversalException();
 		}
 		
-		List<T> result = generator.expand(getPathIterator());
+		List<T> result = expand();
 		
 		if(result == null) {
 			return false;
 		} else {
 			if(result.isEmpty()) {
-				TreeNode parent = null;
-			
-				do {
-					n = nodes.pop();
-					parent = n.getParent();
-				} while(parent != null && parent == nodes.peek());
+				prune();
 			} else {
 				ListIterator<T> li = result.listIterator(result.size());
 				
 				do {
 					T p = li.previous();
-					nodes.push(new TreeNode(p, n));
+					top = new TreeNode(p, n, top);
 				} while(li.hasPrevious());
 			}
 			
@@ -102,20 +127,24 @@ public class DepthFirstTreeTraversal<T>
 	 * till a ready-for-expansion node is found.
 	 */
 	public void backtrack() throws EmptyTraversalException {
-		TreeNode n = null;
+		if(listener != null && !isEmpty()) {
+			listener.backtracked(depth());
+		}
 		
-		try {
-			n = nodes.pop();
-		} catch(EmptyStackException ese) {
+		if(array != null) {
+			if(array.isEmpty()) {
+				throw new EmptyTraversalException();
+			}
+			
+			array.prune();
+			return;
+		}
+		
+		if(top == null) {
 			throw new EmptyTraversalException();
 		}
 
-		TreeNode parent = n.getParent();;
-
-		while(parent != null && parent == nodes.peek()) {
-			n = nodes.pop();
-			parent = n.getParent();
-		}
+		prune();
 	}
 	
 	/**
@@ -126,71 +155,209 @@ public class DepthFirstTreeTraversal<T>
 	/**
 	 * Check if traversal has no nodes to expand
 	 */
-	public boolean isEmpty() { return nodes.empty(); }
+	public boolean isEmpty() { return (array != null) ? array.isEmpty() : top == null; }
 	
 	/**
 	 * Returns a list of traversal from a root node to cursor including both
 	 */
 	public BackwardPathIterator<T> getPathIterator() {
-		return pathIterator.reset(nodes.peek());
+		if(array != null) {
+			return arrayIterator.reset(array.top());
+		}
+		
+		return pathIterator.reset(top);
 	}
 	
 	/**
 	 * Returns a list of traversal from a root node to cursor including both
 	 */
 	public BackwardPathIterator<T> getPath() {
-		return new PathIteratorImpl(nodes.peek());
+		if(array != null) {
+			return array.new PathIterator(array.top());
+		}
+		
+		return new PathIteratorImpl(top);
 	}
 	
 	/**
 	 * Implementation details of Copyable interface.
-	 * Returns a TreeTraversal with a copy of a cursor node
+	 * Returns a TreeTraversal with a copy of a cursor node.
+	 * Nodes are shared with a copy, in a compact mode shared segments are copied on first write.
 	 */
 	public DepthFirstTreeTraversal<T> getCopyOf() {
 		DepthFirstTreeTraversal<T> result =	new DepthFirstTreeTraversal<T>();
 		
 		result.generator = generator;
+		result.listener = listener;
 		
-		Iterator<TreeNode> iterator = nodes.iterator();
-		while(iterator.hasNext()) {
-			TreeNode node = iterator.next();
-
-			T value = node.getValue();
-			TreeNode parent = node.getParent();
+		if(array != null) {
+			result.array = new NodeArray<T>(array);
+			result.arrayIterator = result.array.new PathIterator(-1);
+			return result;
+		}
+		
+		result.top = top;
+		
+		return result;
+	}
+	
+	/**
+	 * Implementation details of Splitable interface.
+	 * Removes a lowest node, which is not expanded yet, from a stack and returns a TreeTraversal
+	 * with this node as a cursor, so that the largest unexplored subtree is handed off.
+	 * A path from a root node to a removed node is kept in a result traversal.
+	 * Returns null if the only node left for expansion is the cursor.
+	 */
+	public DepthFirstTreeTraversal<T> split() throws EmptyTraversalException {
+		if(isEmpty()) {
+			throw new EmptyTraversalException();
+		}
+		
+		DepthFirstTreeTraversal<T> result = new DepthFirstTreeTraversal<T>();
+		result.generator = generator;
+		result.listener = listener;
+		
+		if(array != null) {
+			int idx = array.lowestPending();
 			
-			if(parent != null) {
-				int idx = nodes.indexOf(parent);
-				parent = result.nodes.elementAt(idx);
+			if(idx < 0) {
+				return null;
 			}
 			
-			result.nodes.push(new TreeNode(value, parent));
+			result.array = array.split(idx);
+			result.arrayIterator = result.array.new PathIterator(-1);
+			return result;
+		}
+		
+		ArrayList<TreeNode> above = new ArrayList<TreeNode>();
+		TreeNode pending = null;
+		int length = 0;
+		
+		for(TreeNode n = top; n.getBelow() != null; n = n.getBelow()) {
+			above.add(n);
+			
+			if(n.getParent() != n.getBelow()) {
+				pending = n.getBelow();
+				length = above.size();
+			}
+		}
+		
+		if(pending == null) {
+			return null;
 		}
 		
+		HashMap<TreeNode,TreeNode> copies = new HashMap<TreeNode,TreeNode>();
+		TreeNode below = pending.getBelow();
+		
+		for(int i = length - 1; i >= 0; --i) {
+			TreeNode n = above.get(i);
+			TreeNode parent = copies.get(n.getParent());
+			
+			below = new TreeNode(n.getValue(), (parent != null) ? parent : n.getParent(), below);
+			copies.put(n, below);
+		}
+		
+		top = below;
+		result.top = new TreeNode(pending.getValue(), pending.getParent(), null);
+		
+		return result;
+	}
+	
+	/**
+	 * Implementation details of Listenable interface.
+	 */
+	public void setSearchListener(SearchListener listener) {
+		this.listener = listener;
+	}
+	
+	/**
+	 * Expands the cursor by a generator reporting it to a listener
+	 */
+	private List<T> expand() {
+		if(listener == null) {
+			return generator.expand(getPathIterator());
+		}
+	
+		long time = System.nanoTime();
+		List<T> result = generator.expand(getPathIterator());
+		listener.expanded(depth(), (result == null) ? -1 : result.size(), System.nanoTime() - time);
+	
+		return result;
+	}
+	
+	/**
+	 * Number of nodes on a path from a root node to the cursor
+	 */
+	private int depth() {
+		BackwardPathIterator<T> i = getPathIterator();
+		int result = 0;
+	
+		while(i.hasPreviousNode()) {
+			i.previousNode();
+			++result;
+		}
+	
 		return result;
 	}
 	
+	private boolean moveForwardCompact() throws EmptyTraversalException {
+		if(array.isEmpty()) {
+			throw new EmptyTraversalException();
+		}
+		
+		List<T> result = expand();
+		
+		if(result == null) {
+			return false;
+		} else {
+			if(result.isEmpty()) {
+				array.prune();
+			} else {
+				int n = array.top();
+				ListIterator<T> li = result.listIterator(result.size());
+				
+				do {
+					array.push(li.previous(), n);
+				} while(li.hasPrevious());
+			}
+			
+			return true;
+		}
+	}
+	
+	private void prune() {
+		TreeNode parent = null;
+		
+		do {
+			parent = top.getParent();
+			top = top.getBelow();
+		} while(parent != null && parent == top);
+	}
+	
 	private DepthFirstTreeTraversal() {}
 	
-	protected Stack<TreeNode> nodes = new Stack<TreeNode>();
+	protected TreeNode top;
 	protected NodeGenerator<T> generator;
+	private SearchListener listener;
 	private PathIteratorImpl pathIterator = new PathIteratorImpl(null);
 	
+	private NodeArray<T> array;
+	private NodeArray<T>.PathIterator arrayIterator;
+	
 	protected class TreeNode {
-		T value;
-		TreeNode parent;
+		final T value;
+		final TreeNode parent;
+		final TreeNode below;
 		
-		TreeNode(T value) {
+		TreeNode(T value, TreeNode parent, TreeNode below) {
 			this.value = value;
-			this.parent = null;
-		}
-		
-		TreeNode(T value, TreeNode parent) {
-			this(value);
 			this.parent = parent;
+			this.below = below;
 		}
 		
 		T getValue() { return value; }
 		TreeNode getParent() { return parent; }
+		TreeNode getBelow() { return below; }
 	}
 	
 	private class PathIteratorImpl implements BackwardPathIterator<T> {
@@ -211,7 +378,7 @@ public class DepthFirstTreeTraversal<T>
 			return result;
 		}
 		
-		private BackwardPathIterator reset(TreeNode node) {
+		private BackwardPathIterator<T> reset(TreeNode node) {
 			this.cursor = node;
 			return this;
 		}
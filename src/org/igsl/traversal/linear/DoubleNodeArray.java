@@ -0,0 +1,51 @@
+package org.igsl.traversal.linear;
+
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+/**
+ * Stack of search tree nodes with real cost kept as a struct of arrays: node values,
+ * indices of parent nodes and node costs in a primitive <code>double</code> array.
+ *
+ * @param <T> type of the node
+ */
+class DoubleNodeArray<T> extends NodeArray<T> {
+
+	DoubleNodeArray() {
+		super();
+	}
+
+	DoubleNodeArray(DoubleNodeArray<T> other) {
+		super(other);
+	}
+
+	/**
+	 * Puts a node on a stack top
+	 *
+	 * @param value node value
+	 * @param cost node cost
+	 * @param parent index of a parent node, -1 for a root node
+	 * @return index of a node
+	 */
+	int push(T value, double cost, int parent) {
+		int idx = push(value, parent);
+		((double[]) writableSegment(idx).column)[idx & MASK] = cost;
+		return idx;
+	}
+
+	double getCost(int idx) {
+		return ((double[]) segment(idx).column)[idx & MASK];
+	}
+
+	Object newColumn() { return new double[SEGMENT]; }
+
+	Object copyColumn(Object column) { return ((double[]) column).clone(); }
+
+	void transfer(Segment from, int i, Segment to, int j) {
+		((double[]) to.column)[j] = ((double[]) from.column)[i];
+	}
+
+	NodeArray<T> empty() { return new DoubleNodeArray<T>(); }
+
+}
@@ -9,6 +9,8 @@ import org.igsl.functor.generator.IndefiniteDepthNodeGenerator;
 import org.igsl.functor.exception.EmptyTraversalException;
 import org.igsl.traversal.TreeTraversal;
 import org.igsl.traversal.Copyable;
+import org.igsl.traversal.Listenable;
+import org.igsl.traversal.SearchListener;
 import org.igsl.traversal.RandomAccess;
 import org.igsl.functor.iterator.path.BackwardPathIterator;
 import org.igsl.functor.iterator.path.ForwardPathIterator;
@@ -20,7 +22,7 @@ import java.util.ListIterator;
  * Depth-first search implementation for a problem graph without edge cost.
  */
 public class IndefiniteDepthTreeTraversal<T>
-	implements TreeTraversal<T>, RandomAccess<T>, Copyable<IndefiniteDepthTreeTraversal<T>>
+	implements TreeTraversal<T>, RandomAccess<T>, Copyable<IndefiniteDepthTreeTraversal<T>>, Listenable
 {
 	/**
 	 * Constructor based on expansion operator
@@ -52,7 +54,7 @@ public class IndefiniteDepthTreeTraversal<T>
 	/**
 	 */
 	public boolean moveForward() throws EmptyTraversalException {
-		if(depth == 0 || generator.isGoal(this)) {
+		if(depth == 0 || isGoal()) {
 			return false;
 		} else {
 			RandomAccessValuesIterator<T> iterator = null;
@@ -68,19 +70,19 @@ public class IndefiniteDepthTreeTraversal<T>
 			if(iterator.hasNext()) {
 				T value = iterator.next();
 				
-				if(generator.isValidTransition(value, this) == false && backtrackIfValidationFailed == true) {
+				if(isValid(value) == false && backtrackIfValidationFailed == true) {
 					try {
 						backtrack();
 					} catch(EmptyTraversalException ete) {
 						return false;
 					}
-				} else if(generator.isValidTransition(value, this) == false && backtrackIfValidationFailed == false) {
+				} else if(isValid(value) == false && backtrackIfValidationFailed == false) {
 					boolean validTransitionFound = false;
 					
 					while(iterator.hasNext()) {
 						value = iterator.next();
 						
-						if(generator.isValidTransition(value, this)) {
+						if(isValid(value)) {
 							validTransitionFound = true;
 							++depth;
 							break;
@@ -118,7 +120,13 @@ public class IndefiniteDepthTreeTraversal<T>
 	public void backtrack() throws EmptyTraversalException {
 		if(depth == 0) {
 			throw new EmptyTraversalException();
-		} else while(depth > 0) {
+		}
+		
+		if(listener != null) {
+			listener.backtracked(depth);
+		}
+		
+		while(depth > 0) {
 			RandomAccessValuesIterator<T> iterator = stack.get(depth-1);
 			
 			--depth;
@@ -126,7 +134,7 @@ public class IndefiniteDepthTreeTraversal<T>
 			if(iterator.hasNext()) {
 				T value = iterator.next();
 								
-				if(generator.isValidTransition(value, this) ) {
+				if(isValid(value) ) {
 					++depth;
 					break;
 				} else if(backtrackIfValidationFailed == false) {
@@ -135,7 +143,7 @@ public class IndefiniteDepthTreeTraversal<T>
 					while(iterator.hasNext()) {
 						value = iterator.next();
 						
-						if(generator.isValidTransition(value, this)) {
+						if(isValid(value)) {
 							validTransitionFound = true;
 							++depth;
 							break;
@@ -196,6 +204,44 @@ public class IndefiniteDepthTreeTraversal<T>
 		return stack.get(idx).getValue();
 	}
 	
+	/**
+	 * Implementation details of Listenable interface.
+	 * A listener is shared with split parts and copies.
+	 */
+	public void setSearchListener(SearchListener listener) {
+		this.listener = listener;
+	}
+	
+	/**
+	 * Checks a goal condition by a generator reporting an expansion to a listener
+	 */
+	private boolean isGoal() {
+		if(listener == null) {
+			return generator.isGoal(this);
+		}
+		
+		long time = System.nanoTime();
+		boolean result = generator.isGoal(this);
+		listener.expanded(depth, result ? -1 : 0, System.nanoTime() - time);
+		
+		return result;
+	}
+	
+	/**
+	 * Checks a transition to a value on a depth next to the current one by a generator reporting it to a listener
+	 */
+	private boolean isValid(T value) {
+		if(listener == null) {
+			return generator.isValidTransition(value, this);
+		}
+		
+		long time = System.nanoTime();
+		boolean result = generator.isValidTransition(value, this);
+		listener.validated(depth + 1, result, System.nanoTime() - time);
+		
+		return result;
+	}
+	
 	private PathIteratorImpl getPathIteratorImpl() {
 		if(pathIterator == null) {
 			pathIterator = new PathIteratorImpl(this);
@@ -215,6 +261,7 @@ public class IndefiniteDepthTreeTraversal<T>
 	protected int depth;
 	
 	private PathIteratorImpl pathIterator;
+	private SearchListener listener;
 	
 	private class PathIteratorImpl 
 		implements BackwardPathIterator<T>, ForwardPathIterator<T> {
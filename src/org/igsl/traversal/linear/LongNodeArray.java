@@ -0,0 +1,51 @@
+package org.igsl.traversal.linear;
+
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+/**
+ * Stack of search tree nodes with integral cost kept as a struct of arrays: node values,
+ * indices of parent nodes and node costs in a primitive <code>long</code> array.
+ *
+ * @param <T> type of the node
+ */
+class LongNodeArray<T> extends NodeArray<T> {
+
+	LongNodeArray() {
+		super();
+	}
+
+	LongNodeArray(LongNodeArray<T> other) {
+		super(other);
+	}
+
+	/**
+	 * Puts a node on a stack top
+	 *
+	 * @param value node value
+	 * @param cost node cost
+	 * @param parent index of a parent node, -1 for a root node
+	 * @return index of a node
+	 */
+	int push(T value, long cost, int parent) {
+		int idx = push(value, parent);
+		((long[]) writableSegment(idx).column)[idx & MASK] = cost;
+		return idx;
+	}
+
+	long getCost(int idx) {
+		return ((long[]) segment(idx).column)[idx & MASK];
+	}
+
+	Object newColumn() { return new long[SEGMENT]; }
+
+	Object copyColumn(Object column) { return ((long[]) column).clone(); }
+
+	void transfer(Segment from, int i, Segment to, int j) {
+		((long[]) to.column)[j] = ((long[]) from.column)[i];
+	}
+
+	NodeArray<T> empty() { return new LongNodeArray<T>(); }
+
+}
@@ -0,0 +1,306 @@
+package org.igsl.traversal.linear;
+
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+import java.util.Arrays;
+
+import org.igsl.functor.iterator.path.BackwardPathIterator;
+
+/**
+ * Stack of search tree nodes kept as a struct of arrays: node values and indices of parent nodes.
+ * A parent is always below its children, so a parent index stays valid while a child is in a stack.
+ * Arrays are split into fixed size segments, a segment table grows geometrically,
+ * no synchronization is performed.
+ * Copies share segments, each segment is copied on first write by a stack, which does not own it.
+ *
+ * @param <T> type of the node
+ */
+class NodeArray<T> {
+
+	/**
+	 * Creates an empty stack
+	 */
+	NodeArray() {
+		this.segments = new Segment[DEFAULT_SEGMENTS];
+		this.size = 0;
+		this.owner = new Object();
+	}
+
+	/**
+	 * Copy constructor, segments are shared by both stacks until they are written
+	 */
+	NodeArray(NodeArray<T> other) {
+		this.segments = Arrays.copyOf(other.segments, Math.max(segmentCount(other.size), 1));
+		this.size = other.size;
+		this.owner = new Object();
+
+		other.owner = new Object();
+	}
+
+	/**
+	 * Puts a node on a stack top
+	 *
+	 * @param value node value
+	 * @param parent index of a parent node, -1 for a root node
+	 * @return index of a node
+	 */
+	int push(T value, int parent) {
+		Segment s = writable(size >>> SHIFT);
+		int i = size & MASK;
+
+		s.values[i] = value;
+		s.parents[i] = parent;
+
+		return size++;
+	}
+
+	/**
+	 * Removes a top node and its predecessors, which have no more children in a stack
+	 */
+	void prune() {
+		int parent;
+
+		do {
+			Segment s = segments[--size >>> SHIFT];
+			int i = size & MASK;
+
+			parent = s.parents[i];
+
+			if(s.owner == owner) {
+				s.values[i] = null;
+				clear(s, i);
+			}
+		} while(parent >= 0 && parent == size - 1);
+	}
+
+	/**
+	 * Returns a lowest node in a stack, which is not expanded yet and is not a top node.
+	 * A node is expanded if a node just above it is its child.
+	 *
+	 * @return index of a node, -1 - if there is no such node
+	 */
+	int lowestPending() {
+		for(int i = 0; i < size - 1; ++i) {
+			if(getParent(i + 1) != i) {
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Moves a pending node to a new stack along with a copy of its predecessors
+	 * and removes it from this stack
+	 *
+	 * @param idx index of a pending node
+	 * @return a new stack with a path from a root node to a pending node
+	 */
+	NodeArray<T> split(int idx) {
+		return split(idx, empty());
+	}
+
+	/**
+	 * Moves a pending node to a given empty stack along with a copy of its predecessors
+	 * and removes it from this stack, so subclasses keep a type of a stack returned
+	 *
+	 * @param idx index of a pending node
+	 * @param result empty stack of the same kind
+	 * @return a stack given with a path from a root node to a pending node
+	 */
+	<A extends NodeArray<T>> A split(int idx, A result) {
+		int length = 0;
+		for(int i = idx; i >= 0; i = getParent(i)) {
+			++length;
+		}
+
+		int[] path = new int[length];
+		for(int i = idx; i >= 0; i = getParent(i)) {
+			path[--length] = i;
+		}
+
+		for(int k = 0; k < path.length; ++k) {
+			int i = path[k];
+			int j = result.push(getValue(i), k - 1);
+			transfer(segment(i), i & MASK, result.writableSegment(j), j & MASK);
+		}
+
+		remove(idx);
+
+		return result;
+	}
+
+	/**
+	 * Removes a pending node from a stack shifting nodes above it
+	 *
+	 * @param idx index of a pending node
+	 */
+	void remove(int idx) {
+		for(int j = idx; j < size - 1; ++j) {
+			Segment to = writable(j >>> SHIFT);
+			Segment from = segments[(j + 1) >>> SHIFT];
+			int parent = from.parents[(j + 1) & MASK];
+
+			to.values[j & MASK] = from.values[(j + 1) & MASK];
+			to.parents[j & MASK] = (parent > idx) ? parent - 1 : parent;
+			transfer(from, (j + 1) & MASK, to, j & MASK);
+		}
+
+		Segment s = segments[--size >>> SHIFT];
+
+		if(s.owner == owner) {
+			s.values[size & MASK] = null;
+			clear(s, size & MASK);
+		}
+	}
+
+	int top() { return size - 1; }
+
+	int size() { return size; }
+
+	boolean isEmpty() { return size == 0; }
+
+	// a slot is written only by push with a value of T
+	@SuppressWarnings("unchecked")
+	T getValue(int idx) { return (T) segments[idx >>> SHIFT].values[idx & MASK]; }
+
+	int getParent(int idx) { return segments[idx >>> SHIFT].parents[idx & MASK]; }
+
+	/**
+	 * Returns a segment containing a given index
+	 */
+	Segment segment(int idx) {
+		return segments[idx >>> SHIFT];
+	}
+
+	/**
+	 * Returns a segment owned by this stack containing a given index, copying a shared one if required
+	 */
+	Segment writableSegment(int idx) {
+		return writable(idx >>> SHIFT);
+	}
+
+	/**
+	 * Creates an additional column for a new segment, subclasses keep node attributes there
+	 *
+	 * @return column array, null - if no column is kept
+	 */
+	Object newColumn() {
+		return null;
+	}
+
+	/**
+	 * Copies an additional column of a shared segment
+	 *
+	 * @param column column array
+	 * @return copy of a column array
+	 */
+	Object copyColumn(Object column) {
+		return null;
+	}
+
+	/**
+	 * Creates an empty stack of the same kind
+	 */
+	NodeArray<T> empty() {
+		return new NodeArray<T>();
+	}
+
+	/**
+	 * Copies an additional column element between segments
+	 *
+	 * @param from source segment
+	 * @param i index in a source segment
+	 * @param to target segment owned by a stack
+	 * @param j index in a target segment
+	 */
+	void transfer(Segment from, int i, Segment to, int j) {
+	}
+
+	/**
+	 * Clears an additional column element of a removed node
+	 *
+	 * @param s segment owned by this stack
+	 * @param i index in a segment
+	 */
+	void clear(Segment s, int i) {
+	}
+
+	private Segment writable(int si) {
+		if(si == segments.length) {
+			segments = Arrays.copyOf(segments, segments.length << 1);
+		}
+
+		Segment s = segments[si];
+
+		if(s == null) {
+			s = segments[si] = new Segment(owner, new Object[SEGMENT], new int[SEGMENT], newColumn());
+		} else if(s.owner != owner) {
+			s = segments[si] = new Segment(owner, s.values.clone(), s.parents.clone(), copyColumn(s.column));
+		}
+
+		return s;
+	}
+
+	private static int segmentCount(int size) {
+		return (size + SEGMENT - 1) >>> SHIFT;
+	}
+
+	static final int SHIFT = 9;
+	static final int SEGMENT = 1 << SHIFT;
+	static final int MASK = SEGMENT - 1;
+
+	private static final int DEFAULT_SEGMENTS = 4;
+
+	private Segment[] segments;
+	private int size;
+	private Object owner;
+
+	/**
+	 * Fixed size part of node arrays along with a token of a stack, which may write it
+	 */
+	static class Segment {
+		final Object owner;
+		final Object[] values;
+		final int[] parents;
+		final Object column;
+
+		Segment(Object owner, Object[] values, int[] parents, Object column) {
+			this.owner = owner;
+			this.values = values;
+			this.parents = parents;
+			this.column = column;
+		}
+	}
+
+	/**
+	 * Iterator from a given node to a root node following parent indices
+	 */
+	class PathIterator implements BackwardPathIterator<T> {
+
+		private int cursor;
+
+		PathIterator(int cursor) {
+			this.cursor = cursor;
+		}
+
+		public boolean hasPreviousNode() {
+			return cursor >= 0;
+		}
+
+		public T previousNode() {
+			T result = getValue(cursor);
+			cursor = getParent(cursor);
+			return result;
+		}
+
+		BackwardPathIterator<T> reset(int cursor) {
+			this.cursor = cursor;
+			return this;
+		}
+
+	}
+
+}
@@ -8,8 +8,6 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
-import java.util.ListIterator;
-import java.util.PriorityQueue;
 import java.util.Stack;
 
 import org.igsl.cost.Addable;
@@ -17,13 +15,21 @@ import org.igsl.functor.CostFunction;
 import org.igsl.functor.HeuristicFunction;
 import org.igsl.functor.NodeGenerator;
 import org.igsl.functor.exception.DefaultValuesUnsupportedException;
+import org.igsl.functor.exception.EmptyTraversalException;
+import org.igsl.functor.iterator.path.BackwardPathIterator;
 import org.igsl.traversal.CostTreeTraversal;
+import org.igsl.traversal.Listenable;
+import org.igsl.traversal.SearchListener;
 
 /**
  * Recursive best-first search implementation for a problem graph with an edge cost function.
+ * Only a path from a root node to the cursor is kept along with brothers of path nodes,
+ * so memory is linear in a search depth. Each node keeps a backed-up value: a least sum of cost
+ * and estimation among leafs of its subtree searched so far, a subtree is left once its backed-up
+ * value exceeds a bound set by brothers of its predecessors.
  */
 public class RecursiveBestFirstTreeTraversal<T,C extends Addable<C> & Comparable<C>>
-	implements CostTreeTraversal<T,C>
+	implements CostTreeTraversal<T,C>, Listenable
 {
 	/**
 	 * Constructor based on a start search node, expansion operator and heuristic function
@@ -43,9 +49,10 @@ public class RecursiveBestFirstTreeTraversal<T,C extends Addable<C> & Comparable
 			this.heuristics = heuristics;
 		}
 		
-		TreeNode root = new TreeNode(value, cost, this.heuristics.getEstimatedCost(value)); 
+		Level root = new Level(null, null);
+		root.add(new TreeNode(value, cost, this.heuristics.getEstimatedCost(value), null));
 		
-		levels.push(new Level(root, root.getCost()));
+		levels.push(root);
 	}
 	
 	/**
@@ -78,106 +85,84 @@ public class RecursiveBestFirstTreeTraversal<T,C extends Addable<C> & Comparable
 	}
 
 	/**
-	 * On each level expand a node with a minimal cost and for a subtree with this node as a root set
-	 * a bound value as a minimum of a current bound and a second minimal cost among brothers. If all
-	 * nodes' costs exceeds the level bound or the result of node expansion is empty performs backtracking.
+	 * On each level expand a node with a minimal backed-up value and for a subtree with this node as a root
+	 * set a bound value as a minimum of a current bound and a second minimal backed-up value among brothers.
+	 * If a best node's value exceeds the level bound, the value is backed up to its parent and the level
+	 * is left. If the result of node expansion is empty, the node is pruned.
+	 * For an empty traversal throws an exception.
 	 */
-	public void moveForward() {
-		if(isEmpty()) return;
+	public boolean moveForward() throws EmptyTraversalException {
+		if(isEmpty()) {
+			throw new EmptyTraversalException();
+		}
 		
 		Level level = levels.peek();
-		TreeNode n = level.peek(); // extract best node
-		C b = level.getBound();
+		TreeNode n = level.best(); // extract best node
 		
-		List<T> result = heuristics.expand(n.getValue()); // expand the node
+		List<T> result = expand(); // expand the node
 		
-		if(result == null || result.isEmpty()) {
-			backtrack(null);
+		if(result == null) {
+			return false;
+		}
+
+		if(result.isEmpty()) {
+			prune();
 		} else { // create collection for next level
+			boolean inherit = n.fcost.compareTo(n.value) < 0;
+			C b = level.getBound();
+			C alt = level.second();
+
+			if(alt != null && (b == null || alt.compareTo(b) < 0)) {
+				b = alt;
+			}
+
+			Level newLevel = new Level(n, b);
 			Iterator<T> i = result.iterator();
-			Level newLevel = new Level();
-			boolean addOk = false;
-			C minC = null;
 			
 			while(i.hasNext()) {
 				T t = i.next();
-				C gcost = n.getGCost().addTo(heuristics.getTransitionCost(n.getValue(), t));
-				C hcost = heuristics.getEstimatedCost(t);
+				C gcost = n.gcost.addTo(heuristics.getTransitionCost(n.node, t));
+				TreeNode child = new TreeNode(t, gcost, heuristics.getEstimatedCost(t), n);
 				
-				TreeNode ancestor = new TreeNode(t, gcost, hcost, n);
-				C fcost = ancestor.getCost();
-				newLevel.add(ancestor);
-				
-				if(fcost.compareTo(b) <= 0) {
-					addOk = true;
-				} else if(minC == null || minC.compareTo(fcost) > 0) {
-					minC = fcost;
-				}
-			}
-			
-			if(addOk == false) {
-				backtrack(minC);
-			} else {
-				if(level.size() > 1) {
-					level.poll();
-
-					C newB = level.peek().getBound();
-					if(newB.compareTo(b) < 0) {
-						b = newB;
-					}
-					
-					level.add(n);
+				if(inherit && child.value.compareTo(n.value) < 0) {
+					child.value = n.value;
 				}
 				
-				newLevel.setBound(b);
-				levels.push(newLevel);
+				newLevel.add(child);
 			}
+			
+			levels.push(newLevel);
+			backUp();
 		}
+
+		return true;
 	}
 	
 	/**
 	 * Simply prunes the cursor node and its predecessors if necessary
 	 * till a ready-for-expansion node is found.
 	 */	
-	public void backtrack() {
-		backtrack(null);
-	}
-
-	private void backtrack(C value) {
-		if(isEmpty()) return;
-		
-		Level level = levels.peek();
-		TreeNode n = level.poll(); // extract best node
-		
-		if(value != null) { // return back if value is not null
-			n.setEstimate(value);
-			level.add(n);
-		} else if(level.size() == 0) {
-			levels.pop();
-			backtrack(null);
-			return;
+	public void backtrack() throws EmptyTraversalException {
+		if(listener != null && !isEmpty()) {
+			listener.backtracked(getDepth());
 		}
 		
-		n = level.peek(); // re-read best node
-		TreeNode p = n.getParent();
-		
-		if(p == null) {
-			level.setBound(value);
-		} else if(p.getBound().compareTo(n.getBound()) < 0) {
-			levels.pop();
-			backtrack(n.getBound());
+		if(isEmpty()) {
+			throw new EmptyTraversalException();
 		}
+		
+		prune();
 	}
 	
 	/**
 	 * Returns value for cursor node, null - if traversal is empty
 	 */
-	public T getCursor() { return isEmpty() ? null : levels.peek().peek().getValue(); }
+	public T getCursor() { return isEmpty() ? null : levels.peek().best().node; }
 	
 	/**
-	 * Returns cost for cursor node, null - if traversal is empty
+	 * Returns cost of a path from a root node to cursor, null - if traversal is empty
 	 */
-	public C getCost() { return isEmpty() ? null : levels.peek().peek().getCost(); }
+	public C getCost() { return isEmpty() ? null : levels.peek().best().gcost; }
 
 	/**
 	 * Returns a node generator functor.
@@ -195,121 +180,194 @@ public class RecursiveBestFirstTreeTraversal<T,C extends Addable<C> & Comparable
 	public boolean isEmpty() { return levels.empty(); }
 	
 	/**
-	 * Returns a list of node values from a root node to cursor including both
+	 * Returns a list of node values from the cursor to a root node including both.
+	 * Path iterator returned is a singleton.
 	 */	
-	public PathIterator<T> getPath() {
-		return new PathIteratorImpl(levels.isEmpty() ? null: levels.peek().peek());
+	public BackwardPathIterator<T> getPathIterator() {
+		return pathIterator.reset(isEmpty() ? null : levels.peek().best());
+	}
+
+	/**
+	 * Returns a list of node values from the cursor to a root node including both
+	 */
+	public BackwardPathIterator<T> getPath() {
+		return new PathIteratorImpl(isEmpty() ? null : levels.peek().best());
 	}	
 	
 	/**
 	 * Returns a list of nodes to be expanded.
-	 * Nodes are ordered by expansion priority in the tree:
-	 * from a cursor to a least "perspective" node
+	 * Nodes are ordered from the cursor level to a root level.
 	 */
 	public Collection<T> getLeafs() {
 		ArrayList<T> leafs = new ArrayList<T>();		
-		ArrayList<TreeNode> parents = new ArrayList<TreeNode>();		
+		TreeNode parent = null;
 		
-		if(!levels.isEmpty()) {
-			ListIterator<Level> li = levels.listIterator(levels.size());
+		for(int i = levels.size() - 1; i >= 0; --i) {
+			Level level = levels.get(i);
 			
-			while(li.hasPrevious()) {
-				PriorityQueue<TreeNode> q = li.previous();
+			for(int j = 0; j < level.nodes.size(); ++j) {
+				TreeNode n = level.nodes.get(j);
 				
-				Iterator<TreeNode> in = q.iterator();
-				
-				while(in.hasNext()) {
-					TreeNode n = in.next();
-					
-					if(!parents.contains(n)) {
-						leafs.add(n.getValue());
-					}
-					
-					TreeNode parent = n.getParent();
-					if((parent != null) && (!parents.contains(parent))) {
-						parents.add(parent);
-					}
+				if(n != parent) {
+					leafs.add(n.node);
 				}
 			}
+
+			parent = level.parent;
 		}
 		
 		return leafs;
 	}
 
 	/**
-	 * Depth is a number of edges from a root node to cursor.
+	 * Depth is a number of nodes from a root node to cursor.
 	 */
 	public int getDepth() {
-		return isEmpty() ? -1 : levels.size();
+		return levels.size();
+	}
+
+	/**
+	 * Implementation details of Listenable interface.
+	 */
+	public void setSearchListener(SearchListener listener) {
+		this.listener = listener;
+	}
+
+	/**
+	 * Expands the cursor by a generator reporting it to a listener
+	 */
+	private List<T> expand() {
+		if(listener == null) {
+			return heuristics.expand(getPathIterator());
+		}
+
+		long time = System.nanoTime();
+		List<T> result = heuristics.expand(getPathIterator());
+		listener.expanded(getDepth(), (result == null) ? -1 : result.size(), System.nanoTime() - time);
+
+		return result;
+	}
+
+	/**
+	 * Removes the cursor node and levels left without nodes along with their parents
+	 */
+	private void prune() {
+		while(!levels.empty()) {
+			Level level = levels.peek();
+			level.nodes.remove(level.best());
+			level.best = -1;
+
+			if(!level.nodes.isEmpty()) {
+				backUp();
+				return;
+			}
+
+			levels.pop();
+		}
+	}
+
+	/**
+	 * Leaves levels, where a best backed-up value exceeds a level bound,
+	 * the value is backed up to a parent node
+	 */
+	private void backUp() {
+		while(levels.size() > 1) {
+			Level level = levels.peek();
+			C value = level.best().value;
+
+			if(level.getBound() == null || value.compareTo(level.getBound()) <= 0) {
+				return;
+			}
+
+			levels.pop();
+			level.parent.value = value;
+			levels.peek().best = -1;
+		}
 	}
 	
 	private Stack<Level> levels = new Stack<Level>();
 	
 	private HeuristicFunction<T,C> heuristics;
+	private PathIteratorImpl pathIterator = new PathIteratorImpl(null);
+	private SearchListener listener;
 	
-	class TreeNode implements Comparable<TreeNode> {
-		T value;
-		C gcost, hcost, estimate;
-		TreeNode parent;
+	class TreeNode {
+		final T node;
+		final C gcost, fcost;
+		C value;
+		final TreeNode parent;
 		
-		TreeNode(T value, C gcost, C hcost) {
-			this.value = value;
+		TreeNode(T node, C gcost, C hcost, TreeNode parent) {
+			this.node = node;
 			this.gcost = gcost;
-			this.hcost = hcost;
-			this.estimate = null;
-			this.parent = null;
-		}
-		
-		TreeNode(T value, C gcost, C hcost, TreeNode parent) {
-			this(value, gcost, hcost);
+			this.fcost = gcost.addTo(hcost);
+			this.value = this.fcost;
 			this.parent = parent;
 		}
-		
-		T getValue() { return value; }
-		
-		C getGCost() { return gcost; }
-		C getHCost() { return hcost; }
-		C getCost() { return gcost.addTo(hcost); }
-		
-		C getEstimate() { return estimate; }
-		void setEstimate(C value) {
-			this.estimate = value;
-		}
-		
-		C getBound() { return (estimate == null) ? getCost() : estimate; } 
-		
-		TreeNode getParent() { return parent; }
-		
-		public int compareTo(TreeNode other) {
-			return getBound().compareTo(other.getBound());
-		}
 	}
 	
-	class Level extends PriorityQueue<TreeNode> {
-		C bound;
-		
-		public Level() {
-			super();
-			this.bound = null;
-		}
+	/**
+	 * Brothers along with their parent and a bound for their backed-up values, null - no bound.
+	 * Levels are as wide as a node expansion, so nodes are kept in a list and searched linearly.
+	 */
+	class Level {
+		final TreeNode parent;
+		final C bound;
+		final ArrayList<TreeNode> nodes = new ArrayList<TreeNode>();
+		int best = -1;
 		
-		public Level(TreeNode n, C bound) {
-			this();
-			add(n);
+		Level(TreeNode parent, C bound) {
+			this.parent = parent;
 			this.bound = bound;
 		}
 		
-		public C getBound() {
+		C getBound() {
 			return bound;
 		}
 		
-		public void setBound(C value) {
-			this.bound = value;
+		void add(TreeNode n) {
+			nodes.add(n);
+			best = -1;
+		}
+
+		/**
+		 * Returns a first node with a least backed-up value
+		 */
+		TreeNode best() {
+			if(best < 0) {
+				best = 0;
+
+				for(int i = 1; i < nodes.size(); ++i) {
+					if(nodes.get(i).value.compareTo(nodes.get(best).value) < 0) {
+						best = i;
+					}
+				}
+			}
+
+			return nodes.get(best);
+		}
+
+		/**
+		 * Returns a least backed-up value among nodes except a best one, null - if there are no such nodes
+		 */
+		C second() {
+			TreeNode b = best();
+			C result = null;
+
+			for(int i = 0; i < nodes.size(); ++i) {
+				TreeNode n = nodes.get(i);
+
+				if(n != b && (result == null || n.value.compareTo(result) < 0)) {
+					result = n.value;
+				}
+			}
+
+			return result;
 		}
 		
 	}
 	
-	private class PathIteratorImpl implements PathIterator<T> {
+	private class PathIteratorImpl implements BackwardPathIterator<T> {
 		
 		private TreeNode cursor;
 
@@ -322,11 +380,16 @@ public class RecursiveBestFirstTreeTraversal<T,C extends Addable<C> & Comparable
 		}
 
 		public T previousNode() {
-			T result = cursor.getValue();
-			cursor = cursor.getParent();
+			T result = cursor.node;
+			cursor = cursor.parent;
 			return result;
 		}
+
+		private BackwardPathIterator<T> reset(TreeNode node) {
+			this.cursor = node;
+			return this;
+		}
 		
 	}
 
-}
\ No newline at end of file
+}
@@ -14,6 +14,8 @@ import org.igsl.functor.exception.EmptyTraversalException;
 
 import org.igsl.traversal.TreeTraversal;
 import org.igsl.traversal.Copyable;
+import org.igsl.traversal.Listenable;
+import org.igsl.traversal.SearchListener;
 
 import org.igsl.functor.iterator.path.BackwardPathIterator;
 import org.igsl.functor.iterator.path.ForwardPathIterator;
@@ -22,7 +24,7 @@ import org.igsl.functor.iterator.path.ForwardPathIterator;
  * Depth-first search implementation for a problem graph without edge cost.
  */
 public class FiniteDepthTreeTraversal<T>
-	implements TreeTraversal<T>, Copyable<FiniteDepthTreeTraversal<T>>
+	implements TreeTraversal<T>, Copyable<FiniteDepthTreeTraversal<T>>, Listenable
 {
 	/**
 	 * Constructor based on a start search node and expansion operator
@@ -57,7 +59,7 @@ public class FiniteDepthTreeTraversal<T>
 	 * searches for other nodes in the tree performing pruning procedure.
 	 */
 	public boolean moveForward() throws EmptyTraversalException {
-		if(depth == 0 || generator.isGoal(getPathIterator())) { // empty
+		if(depth == 0 || isGoal()) { // empty
 			return false;
 		} else {
 			ValuesIterator<T> iterator = stack.get(depth-1);
@@ -66,7 +68,7 @@ public class FiniteDepthTreeTraversal<T>
 			while(iterator.hasNext()) {
 				T value = iterator.next();
 				
-				valid = generator.isValidTransition(value, getPathIterator(depth-1));
+				valid = isValid(value, depth);
 				
 				if(valid) {
 					if(depth < stack.size()) {
@@ -88,12 +90,17 @@ public class FiniteDepthTreeTraversal<T>
 	
 	/**
 	 * Simply prunes the cursor node and its predecessors if necessary
-	 * till a ready-for-expansion node is found.
+	 * till a ready-for-expansion node is found. Values of a next depth are started
+	 * for a node found above a maximal depth, so the node is not skipped by <code>moveForward</code>.
 	 */
 	public void backtrack() throws EmptyTraversalException {
 		if(depth == 0) {
 			throw new EmptyTraversalException();
 		} else { // depth > 0
+			if(listener != null) {
+				listener.backtracked(depth);
+			}
+			
 			do {
 				ValuesIterator<T> iterator = stack.get(depth-1);
 				boolean valid = false;
@@ -101,7 +108,7 @@ public class FiniteDepthTreeTraversal<T>
 				while(iterator.hasNext()) {
 					T value = iterator.next();
 
-					valid = generator.isValidTransition(value, getPathIterator(depth-1));
+					valid = isValid(value, depth);
 					
 					if(valid) {
 						break;
@@ -109,6 +116,11 @@ public class FiniteDepthTreeTraversal<T>
 				}
 				
 				if(valid) {
+					if(depth < stack.size()) {
+						iterator = stack.get((++depth) - 1);
+						iterator.update(getPathIterator());
+					}
+					
 					break;
 				}
 			} while(--depth > 0);
@@ -150,6 +162,44 @@ public class FiniteDepthTreeTraversal<T>
 		return result;
 	}
 	
+	/**
+	 * Implementation details of Listenable interface.
+	 * A listener is shared with split parts and copies.
+	 */
+	public void setSearchListener(SearchListener listener) {
+		this.listener = listener;
+	}
+	
+	/**
+	 * Checks a goal condition by a generator reporting an expansion to a listener
+	 */
+	private boolean isGoal() {
+		if(listener == null) {
+			return generator.isGoal(getPathIterator());
+		}
+		
+		long time = System.nanoTime();
+		boolean result = generator.isGoal(getPathIterator());
+		listener.expanded(depth, result ? -1 : 0, System.nanoTime() - time);
+		
+		return result;
+	}
+	
+	/**
+	 * Checks a transition to a value on a given depth by a generator reporting it to a listener
+	 */
+	private boolean isValid(T value, int depthValue) {
+		if(listener == null) {
+			return generator.isValidTransition(value, getPathIterator(depthValue-1));
+		}
+		
+		long time = System.nanoTime();
+		boolean result = generator.isValidTransition(value, getPathIterator(depthValue-1));
+		listener.validated(depthValue, result, System.nanoTime() - time);
+		
+		return result;
+	}
+	
 	private PathIteratorImpl getPathIteratorImpl(int depthValue) {
 		if(pathIterator == null) {
 			pathIterator = new PathIteratorImpl(this, depthValue);
@@ -169,6 +219,7 @@ public class FiniteDepthTreeTraversal<T>
 	protected boolean initialized;
 	
 	private PathIteratorImpl pathIterator;
+	private SearchListener listener;
 	
 	private class PathIteratorImpl 
 		implements BackwardPathIterator<T>, ForwardPathIterator<T> {
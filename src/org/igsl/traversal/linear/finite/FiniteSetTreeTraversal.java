@@ -8,15 +8,23 @@ import org.igsl.functor.generator.FiniteSetNodeGenerator;
 import org.igsl.functor.exception.EmptyTraversalException;
 import org.igsl.traversal.TreeTraversal;
 import org.igsl.traversal.Copyable;
+import org.igsl.traversal.Listenable;
+import org.igsl.traversal.SearchListener;
+import org.igsl.traversal.Splitable;
 import org.igsl.functor.iterator.path.BackwardPathIterator;
 import org.igsl.functor.iterator.path.ForwardPathIterator;
 
 /**
  * Depth-first search implementation for problems with finite number
  * of nodes in the resulted path, e.g. permutation.
+ * Indices of values in the path are tracked in a bit mask, so that a next unused
+ * value is found without scanning the path.
+ * Values tried on each depth could be limited by an index, so that a traversal is split
+ * into parts searching disjoint ranges of values on a split depth.
  */
 public class FiniteSetTreeTraversal<T>
-	implements TreeTraversal<T>, Copyable<FiniteSetTreeTraversal<T>>
+	implements TreeTraversal<T>, Copyable<FiniteSetTreeTraversal<T>>, Splitable<FiniteSetTreeTraversal<T>>,
+		Listenable
 {
 	/**
 	 * Constructor based on an expansion operator
@@ -34,8 +42,13 @@ public class FiniteSetTreeTraversal<T>
 			this.generator = generator;
 			this.values = generator.getAllValues();
 			this.stack = new int[this.values.length];
+			this.limits = new int[this.values.length];
+			this.used = new long[(this.values.length + 63) >>> 6];
 			this.stack[0] = 0;
+			this.limits[0] = this.values.length;
+			this.used[0] = 1L;
 			this.depth = 1;
+			this.base = 0;
 		}
 	}
 	
@@ -47,25 +60,24 @@ public class FiniteSetTreeTraversal<T>
 	 */
 	public boolean moveForward() throws EmptyTraversalException {
 		if(depth == values.length) { // terminal node
+			if(listener != null) {
+				listener.expanded(depth, -1, 0);
+			}
+			
 			return false;
 		} else { // depth < values.length
-			for(int i = 0; i < values.length; ++i) {
-				boolean isFound = false;
+			if(listener != null) {
+				listener.expanded(depth, 0, 0);
+			}
+			
+			for(int i = nextUnused(0); i >= 0; i = nextUnused(i + 1)) {
+				T value = values[i];
 				
-				for(int j = 0; j < depth; ++j) {
-					if(stack[j] == i) {
-						isFound = true;
-						break;
-					}
-				}
-				
-				if(!isFound) {
-					T value = values[i];
-					
-					if(generator.isValidTransition(value, getPathIteratorImpl())) {
-						stack[depth++] = i;
-						return true;
-					}
+				if(isValid(value, depth + 1)) {
+					limits[depth] = values.length;
+					stack[depth++] = i;
+					used[i >>> 6] |= 1L << i;
+					return true;
 				}
 			}
 			
@@ -83,27 +95,32 @@ public class FiniteSetTreeTraversal<T>
 		if(depth == 0) {
 			throw new EmptyTraversalException();
 		} else { // depth > 0
+			if(listener != null) {
+				listener.backtracked(depth);
+			}
+			
 			do {
-				for(int i = stack[depth - 1] + 1; i < values.length; ++i) {
-					boolean isFound = false;
+				int level = --depth;
+				int last = stack[level];
+				int limit = limits[level];
+				
+				used[last >>> 6] &= ~(1L << last);
 					
-					for(int j = 0; j < depth-1; ++j) {
-						if(stack[j] == i) {
-							isFound = true;
-							break;
-						}
-					}
+				for(int i = nextUnused(last + 1); i >= 0 && i < limit; i = nextUnused(i + 1)) {
+					T value = values[i];
 					
-					if(!isFound) {
-						T value = values[i];
-						
-						if(generator.isValidTransition(value, getPathIteratorImpl())) {
-							stack[depth-1] = i;
-							return;
-						}
+					if(isValid(value, depth + 1)) {
+						stack[depth++] = i;
+						used[i >>> 6] |= 1L << i;
+						return;
 					}
 				}
-			} while(--depth > 0);
+			} while(depth > base);
+			
+			while(depth > 0) {
+				int last = stack[--depth];
+				used[last >>> 6] &= ~(1L << last);
+			}
 		}
 	}
 	
@@ -135,9 +152,127 @@ public class FiniteSetTreeTraversal<T>
 		return result;
 	}
 	
+	/**
+	 * Implementation details of Splitable interface.
+	 * Finds a lowest depth, where values after the current one are not tried yet, and limits
+	 * this traversal to the current value on that depth. A traversal returned keeps a path
+	 * to that depth and tries the rest of values on it. If none of the rest of values is valid,
+	 * a next depth is tried, so a traversal returned is never empty.
+	 * Returns null if there are no such values.
+	 */
+	public FiniteSetTreeTraversal<T> split() throws EmptyTraversalException {
+		if(depth == 0) {
+			throw new EmptyTraversalException();
+		}
+		
+		for(int k = Math.max(base, 1); k < depth; ++k) {
+			int i = stack[k] + 1;
+			
+			while(i < limits[k] && isUsedBelow(i, k)) {
+				++i;
+			}
+			
+			if(i < limits[k]) {
+				FiniteSetTreeTraversal<T> result = new FiniteSetTreeTraversal<T>();
+				
+				result.generator = generator;
+				result.listener = listener;
+				result.values = values;
+				result.stack = new int[values.length];
+				result.limits = new int[values.length];
+				result.used = new long[used.length];
+				
+				for(int j = 0; j <= k; ++j) {
+					result.stack[j] = stack[j];
+					result.limits[j] = values.length;
+					result.used[stack[j] >>> 6] |= 1L << stack[j];
+				}
+				
+				result.limits[k] = limits[k];
+				result.depth = k + 1;
+				result.base = k;
+				result.backtrack();
+				
+				limits[k] = stack[k] + 1;
+				
+				if(!result.isEmpty()) {
+					return result;
+				}
+			}
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Implementation details of Listenable interface.
+	 * A listener is shared with split parts and copies.
+	 */
+	public void setSearchListener(SearchListener listener) {
+		this.listener = listener;
+	}
+	
+	/**
+	 * Checks a transition to a value by a generator reporting it to a listener
+	 */
+	private boolean isValid(T value, int depthValue) {
+		if(listener == null) {
+			return generator.isValidTransition(value, getPathIteratorImpl());
+		}
+		
+		long time = System.nanoTime();
+		boolean result = generator.isValidTransition(value, getPathIteratorImpl());
+		listener.validated(depthValue, result, System.nanoTime() - time);
+		
+		return result;
+	}
+	
+	/**
+	 * Check if a value is in the path below a given depth
+	 */
+	private boolean isUsedBelow(int idx, int depthValue) {
+		for(int j = 0; j < depthValue; ++j) {
+			if(stack[j] == idx) {
+				return true;
+			}
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * Returns a least index of a value not in the path starting from a given one
+	 * 
+	 * @param from index to start from
+	 * @return index of an unused value, -1 - if there is no such value
+	 */
+	private int nextUnused(int from) {
+		if(from >= values.length) {
+			return -1;
+		}
+		
+		int w = from >>> 6;
+		long bits = ~used[w] & (-1L << from);
+		
+		while(bits == 0) {
+			if(++w == used.length) {
+				return -1;
+			}
+			
+			bits = ~used[w];
+		}
+		
+		int result = (w << 6) + Long.numberOfTrailingZeros(bits);
+		
+		return (result < values.length) ? result : -1;
+	}
+	
 	private PathIteratorImpl getPathIteratorImpl() {
-		return (pathIterator == null) ?
-			new PathIteratorImpl(this) : pathIterator.reset();
+		if(pathIterator == null) {
+			pathIterator = new PathIteratorImpl(this);
+		}
+		
+		return pathIterator.reset();
 	}
 	
 	private FiniteSetTreeTraversal() {}
@@ -146,9 +281,13 @@ public class FiniteSetTreeTraversal<T>
 	
 	protected T[] values;
 	protected int[] stack;
+	protected int[] limits;
+	protected long[] used;
 	protected int depth;
+	protected int base;
 	
 	private PathIteratorImpl pathIterator;
+	private SearchListener listener;
 	
 	private class PathIteratorImpl 
 		implements BackwardPathIterator<T>, ForwardPathIterator<T> {
@@ -2,22 +2,27 @@
  * Implicit Graph Search Library(C), 2009, 2014 
  */
 
-package org.igsl.traversal.linear.finiteset;
+package org.igsl.traversal.linear.finite;
 
-import java.util.EmptyStackException;
-import org.igsl.functor.OrderedFiniteSetNodeGenerator;
-import org.igsl.functor.exception.DefaultValuesUnsupportedException;
+import org.igsl.functor.generator.OrderedFiniteSetNodeGenerator;
 import org.igsl.functor.exception.EmptyTraversalException;
 import org.igsl.traversal.TreeTraversal;
 import org.igsl.traversal.Copyable;
-import org.igsl.functor.BackwardPathIterator;
-import org.igsl.functor.ForwardPathIterator;
+import org.igsl.traversal.Listenable;
+import org.igsl.traversal.SearchListener;
+import org.igsl.functor.iterator.path.BackwardPathIterator;
+import org.igsl.functor.iterator.path.ForwardPathIterator;
 
 /**
  * Depth-first search implementation for a problem graph without edge cost.
+ * Indices of values in the path are tracked in a bit mask, so that a next unused
+ * value is found without scanning the path.
+ * Unused values are ranked with <code>compareValues</code> once per expansion,
+ * the order is cached per search tree level and walked on backtrack.
+ * A root value has no predecessors, so root values are tried in index order.
  */
 public class OrderedDepthFirstTreeTraversal<T>
-	implements TreeTraversal<T>, Copyable<OrderedDepthFirstTreeTraversal<T>>
+	implements TreeTraversal<T>, Copyable<OrderedDepthFirstTreeTraversal<T>>, Listenable
 {
 	/**
 	 * Constructor based on a start search node and expansion operator
@@ -36,7 +41,12 @@ public class OrderedDepthFirstTreeTraversal<T>
 			this.generator = generator;
 			this.values = generator.getAllValues();
 			this.stack = new int[this.values.length];
+			this.used = new long[(this.values.length + 63) >>> 6];
+			this.order = new int[this.values.length][];
+			this.lengths = new int[this.values.length];
+			this.positions = new int[this.values.length];
 			this.stack[0] = 0;
+			this.used[0] = 1L;
 			this.depth = 1;
 		}
 	}
@@ -49,25 +59,32 @@ public class OrderedDepthFirstTreeTraversal<T>
 	 */
 	public boolean moveForward() throws EmptyTraversalException {
 		if(depth == values.length) { // terminal node
+			if(listener != null) {
+				listener.expanded(depth, -1, 0);
+			}
+			
 			return false;
 		} else { // depth < values.length
-			for(int i = 0; i < values.length; ++i) {
-				boolean isFound = false;
+			int level = depth;
+			int length;
+			
+			if(listener == null) {
+				length = rank(level);
+			} else {
+				long time = System.nanoTime();
+				length = rank(level);
+				listener.expanded(depth, 0, System.nanoTime() - time);
+			}
+			
+			for(int k = 0; k < length; ++k) {
+				int i = order[level][k];
+				T value = values[i];
 				
-				for(int j = 0; j < depth; ++j) {
-					if(stack[j] == i) {
-						isFound = true;
-						break;
-					}
-				}
-				
-				if(!isFound) {
-					T value = values[i];
-					
-					if(generator.isValidTransition(value, getPathIteratorImpl())) {
-						stack[depth++] = i;
-						return true;
-					}
+				if(isValid(value, depth + 1)) {
+					positions[level] = k;
+					stack[depth++] = i;
+					used[i >>> 6] |= 1L << i;
+					return true;
 				}
 			}
 			
@@ -85,27 +102,38 @@ public class OrderedDepthFirstTreeTraversal<T>
 		if(depth == 0) {
 			throw new EmptyTraversalException();
 		} else { // depth > 0
+			if(listener != null) {
+				listener.backtracked(depth);
+			}
+			
 			do {
-				for(int i = stack[depth - 1] + 1; i < values.length; ++i) {
-					boolean isFound = false;
+				int level = --depth;
+				int last = stack[level];
 					
-					for(int j = 0; j < depth-1; ++j) {
-						if(stack[j] == i) {
-							isFound = true;
-							break;
-						}
-					}
+				used[last >>> 6] &= ~(1L << last);
 					
-					if(!isFound) {
+				if(level == 0) {
+					int i = nextUnused(last + 1);
+					
+					if(i >= 0) {
+						stack[depth++] = i;
+						used[i >>> 6] |= 1L << i;
+						return;
+					}
+				} else {
+					for(int k = positions[level] + 1; k < lengths[level]; ++k) {
+						int i = order[level][k];
 						T value = values[i];
 						
-						if(generator.isValidTransition(value, getPathIteratorImpl())) {
-							stack[depth-1] = i;
+						if(isValid(value, depth + 1)) {
+							positions[level] = k;
+							stack[depth++] = i;
+							used[i >>> 6] |= 1L << i;
 							return;
 						}
 					}
 				}
-			} while(--depth > 0);
+			} while(depth > 0);
 		}
 	}
 	
@@ -138,6 +166,88 @@ public class OrderedDepthFirstTreeTraversal<T>
 		return result;
 	}
 	
+	/**
+	 * Implementation details of Listenable interface.
+	 * Time spent in <code>compareValues</code> is reported along with an expansion.
+	 */
+	public void setSearchListener(SearchListener listener) {
+		this.listener = listener;
+	}
+	
+	/**
+	 * Checks a transition to a value by a generator reporting it to a listener
+	 */
+	private boolean isValid(T value, int depthValue) {
+		if(listener == null) {
+			return generator.isValidTransition(value, getPathIteratorImpl());
+		}
+		
+		long time = System.nanoTime();
+		boolean result = generator.isValidTransition(value, getPathIteratorImpl());
+		listener.validated(depthValue, result, System.nanoTime() - time);
+		
+		return result;
+	}
+	
+	/**
+	 * Returns a least index of a value not in the path starting from a given one
+	 * 
+	 * @param from index to start from
+	 * @return index of an unused value, -1 - if there is no such value
+	 */
+	private int nextUnused(int from) {
+		if(from >= values.length) {
+			return -1;
+		}
+		
+		int w = from >>> 6;
+		long bits = ~used[w] & (-1L << from);
+		
+		while(bits == 0) {
+			if(++w == used.length) {
+				return -1;
+			}
+			
+			bits = ~used[w];
+		}
+		
+		int result = (w << 6) + Long.numberOfTrailingZeros(bits);
+		
+		return (result < values.length) ? result : -1;
+	}
+	
+	/**
+	 * Ranks unused values for a given level with <code>compareValues</code>
+	 * and caches the order for backtracking. Indices are ranked by an insertion sort,
+	 * which is stable and does not box them, a number of unused values is small.
+	 * 
+	 * @param level search tree level, equal to a current depth
+	 * @return number of ranked values
+	 */
+	private int rank(int level) {
+		if(order[level] == null) {
+			order[level] = new int[values.length];
+		}
+		
+		int[] ranked = order[level];
+		int length = 0;
+		
+		for(int i = nextUnused(0); i >= 0; i = nextUnused(i + 1)) {
+			int k = length++;
+			
+			while(k > 0 && generator.compareValues(values[i], values[ranked[k - 1]], getPathIteratorImpl()) < 0) {
+				ranked[k] = ranked[k - 1];
+				--k;
+			}
+			
+			ranked[k] = i;
+		}
+		
+		lengths[level] = length;
+		
+		return length;
+	}
+	
 	private PathIteratorImpl getPathIteratorImpl() {
 		if(pathIterator == null) {
 			pathIterator = new PathIteratorImpl(this);
@@ -154,9 +264,15 @@ public class OrderedDepthFirstTreeTraversal<T>
 	
 	protected T[] values;
 	protected int[] stack;
+	protected long[] used;
 	protected int depth;
 	
+	private int[][] order;
+	private int[] lengths;
+	private int[] positions;
+	
 	private PathIteratorImpl pathIterator;
+	private SearchListener listener;
 	
 	private class PathIteratorImpl 
 		implements BackwardPathIterator<T>, ForwardPathIterator<T> {
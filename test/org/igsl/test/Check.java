@@ -0,0 +1,27 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+package org.igsl.test;
+
+/**
+ * Class containing static checks shared by tests.
+ */
+public final class Check {
+
+	/**
+	 * Fails a test unless a condition holds
+	 *
+	 * @param condition condition checked
+	 * @param message failure message
+	 * @throws IllegalStateException thrown if a condition does not hold
+	 */
+	public static void check(boolean condition, String message) throws IllegalStateException {
+		if(!condition) {
+			throw new IllegalStateException(message);
+		}
+	}
+
+	private Check() {}
+
+}
@@ -0,0 +1,111 @@
+package org.igsl.test.budget;
+
+/**
+ * Implicit Graph Search Library(C), 2009, 2015 
+ */
+
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+
+import org.igsl.algorithm.Direct;
+import org.igsl.algorithm.auxiliary.SearchBudget;
+import org.igsl.app.eightqueens2.EQPSolver;
+import org.igsl.functor.exception.BudgetExhaustedException;
+import org.igsl.functor.iterator.path.Paths;
+import org.igsl.traversal.linear.finite.FiniteSetTreeTraversal;
+
+import static org.igsl.test.Check.check;
+
+public class SearchBudgetTest {
+	
+	/**
+	 */
+	public static void main(String[] args) {
+		System.out.println("=====Search budgets for FiniteSetTreeTraversal.=====");
+		
+		FiniteSetTreeTraversal<Integer> tr = new FiniteSetTreeTraversal<Integer>(new EQPSolver(8));
+		Direct.searchForward(tr);
+		List<Integer> expected = Paths.toList(tr.getPath());
+		
+		tr = new FiniteSetTreeTraversal<Integer>(new EQPSolver(8));
+		SearchBudget budget = new SearchBudget(10, SearchBudget.UNLIMITED, SearchBudget.UNLIMITED);
+		check(exhaust(tr, budget) == BudgetExhaustedException.NODES, "node budget is not exhausted");
+		check(budget.getNodes() == 10, budget.getNodes() + " nodes spent, 10 expected");
+		check(!tr.isEmpty(), "traversal is emptied by an exhausted budget");
+		
+		Direct.searchForward(tr, new SearchBudget());
+		check(Paths.toList(tr.getPath()).equals(expected), "resumed search found " + Paths.toList(tr.getPath()) +
+			", " + expected + " expected");
+		System.out.println("Node budget is exhausted after 10 nodes, resumed search found " + expected);
+		
+		tr = new FiniteSetTreeTraversal<Integer>(new EQPSolver(10));
+		budget = new SearchBudget(SearchBudget.UNLIMITED, 0, SearchBudget.UNLIMITED);
+		Iterator<List<Integer>> solutions = Direct.solutions(tr, budget).iterator();
+		int count = 0;
+		int reason = -1;
+		
+		try {
+			while(solutions.hasNext()) {
+				solutions.next();
+				++count;
+			}
+		} catch(BudgetExhaustedException e) {
+			reason = e.getReason();
+		}
+		
+		check(reason == BudgetExhaustedException.TIME, "time budget is not exhausted");
+		check(budget.getNodes() < SearchBudget.CHECK_INTERVAL, budget.getNodes() + " nodes spent after a deadline");
+		check(count < SOLUTIONS_10, "all solutions are found with a passed deadline");
+		System.out.println("Time budget is exhausted on a first check, a partial stream is kept");
+		
+		tr = new FiniteSetTreeTraversal<Integer>(new EQPSolver(10));
+		budget = new SearchBudget();
+		budget.cancel();
+		Iterator<Enumeration<Integer>> iterator = Direct.findAllSolutions(tr, budget);
+		reason = -1;
+		
+		try {
+			while(iterator.hasNext()) {
+				iterator.next();
+			}
+		} catch(BudgetExhaustedException e) {
+			reason = e.getReason();
+		}
+		
+		check(reason == BudgetExhaustedException.CANCELLED, "cancelled budget does not stop a search");
+		System.out.println("Cancelled budget stops a search");
+		
+		tr = new FiniteSetTreeTraversal<Integer>(new EQPSolver(10));
+		budget = new SearchBudget(1000000, SearchBudget.UNLIMITED, SearchBudget.UNLIMITED);
+		solutions = Direct.solutions(tr, budget).iterator();
+		count = 0;
+		
+		while(solutions.hasNext()) {
+			solutions.next();
+			++count;
+		}
+		
+		check(count == SOLUTIONS_10, count + " solutions found within a budget, " + SOLUTIONS_10 + " expected");
+		System.out.println("All of " + count + " solutions are found within a sufficient budget");
+	}
+	
+	/**
+	 * Searches a traversal with a budget and returns a reason of its exhaustion, -1 - if a search is complete
+	 */
+	private static int exhaust(FiniteSetTreeTraversal<Integer> tr, SearchBudget budget) {
+		try {
+			Direct.searchForward(tr, budget);
+		} catch(BudgetExhaustedException e) {
+			return e.getReason();
+		}
+		
+		return -1;
+	}
+	
+	/**
+	 * Known number of solutions for 10 queens
+	 */
+	private static final int SOLUTIONS_10 = 724;
+
+}
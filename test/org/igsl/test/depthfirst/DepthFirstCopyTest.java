@@ -0,0 +1,197 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+package org.igsl.test.depthfirst;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.igsl.cost.AddableInteger;
+import org.igsl.functor.CostFunction;
+import org.igsl.functor.exception.DefaultValuesUnsupportedException;
+import org.igsl.functor.iterator.path.BackwardPathIterator;
+import org.igsl.traversal.Copyable;
+import org.igsl.traversal.TreeTraversal;
+import org.igsl.traversal.linear.DepthFirstCostTreeTraversal;
+import org.igsl.traversal.linear.DepthFirstTreeTraversal;
+
+public class DepthFirstCopyTest {
+
+	/**
+	 * A traversal is moved by a random number of steps and copied, then a traversal and its copy
+	 * are moved in turn by random numbers of steps. Both must find the same solutions, which
+	 * a traversal not copied finds after the same number of steps. The root node has more children
+	 * than a segment of a compact stack, so copies share several segments.
+	 */
+	public static void main(String[] args) {
+		System.out.println("=====Copies of depth-first traversals moved in turn.=====");
+
+		Random random = new Random(SEED);
+		Tree tree = new Tree();
+
+		for(int mode = 0; mode < 2; ++mode) {
+			boolean compact = (mode == 1);
+			List<String> all = remaining(new DepthFirstTreeTraversal<Integer>(0, tree, compact));
+
+			for(int i = 0; i < TRIALS; ++i) {
+				check(new DepthFirstTreeTraversal<Integer>(0, tree, compact), all, random);
+			}
+
+			System.out.println("DepthFirstTreeTraversal, compact " + compact + ": " + TRIALS + " copies find " +
+				"the same solutions out of " + all.size());
+		}
+
+		for(int mode = 0; mode < 4; ++mode) {
+			boolean compact = (mode & 1) != 0;
+			boolean accumulate = (mode & 2) != 0;
+			List<String> all = remaining(
+				new DepthFirstCostTreeTraversal<Integer,AddableInteger>(0, new AddableInteger(0), tree, compact, accumulate));
+
+			for(int i = 0; i < TRIALS; ++i) {
+				check(new DepthFirstCostTreeTraversal<Integer,AddableInteger>(0, new AddableInteger(0), tree, compact,
+					accumulate), all, random);
+			}
+
+			System.out.println("DepthFirstCostTreeTraversal, compact " + compact + ", accumulate " + accumulate +
+				": " + TRIALS + " copies find the same solutions out of " + all.size());
+		}
+	}
+
+	/**
+	 * Copies a traversal after a random number of steps and checks solutions found by both traversals
+	 */
+	private static <Tr extends TreeTraversal<Integer> & Copyable<Tr>> void check(Tr tr, List<String> all,
+		Random random)
+	{
+		List<String> before = new ArrayList<String>();
+		int steps = random.nextInt(STEPS);
+
+		for(int i = 0; i < steps && !tr.isEmpty(); ++i) {
+			step(tr, before);
+		}
+
+		Tr copy = tr.getCopyOf();
+		List<String> found = new ArrayList<String>();
+		List<String> foundByCopy = new ArrayList<String>();
+
+		while(!tr.isEmpty() || !copy.isEmpty()) {
+			for(int i = random.nextInt(MAX_TURN); i > 0 && !tr.isEmpty(); --i) {
+				step(tr, found);
+			}
+
+			for(int i = random.nextInt(MAX_TURN); i > 0 && !copy.isEmpty(); --i) {
+				step(copy, foundByCopy);
+			}
+		}
+
+		List<String> expected = all.subList(before.size(), all.size());
+
+		if(!found.equals(expected) || !foundByCopy.equals(expected)) {
+			throw new IllegalStateException("copy after " + steps + " steps: " + found.size() + " and " +
+				foundByCopy.size() + " solutions found, " + expected.size() + " expected");
+		}
+	}
+
+	/**
+	 * Moves a traversal till it is empty and returns solutions found
+	 */
+	private static List<String> remaining(TreeTraversal<Integer> tr) {
+		List<String> result = new ArrayList<String>();
+
+		while(!tr.isEmpty()) {
+			step(tr, result);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Moves a traversal forward, a goal node is added to solutions along with its cost and backtracked
+	 */
+	private static void step(TreeTraversal<Integer> tr, List<String> solutions) {
+		if(!tr.moveForward() && !tr.isEmpty()) {
+			StringBuilder s = new StringBuilder();
+			BackwardPathIterator<Integer> path = tr.getPath();
+
+			while(path.hasPreviousNode()) {
+				s.append(path.previousNode()).append(' ');
+			}
+
+			if(tr instanceof DepthFirstCostTreeTraversal) {
+				s.append("cost ").append(((DepthFirstCostTreeTraversal<?,?>) tr).getCost());
+			}
+
+			solutions.add(s.toString());
+			tr.backtrack();
+		}
+	}
+
+	/**
+	 * Tree with a wide root level, nodes are numbered in an order they are generated. A node below
+	 * a root has up to 4 children, a node of a maximal depth is a goal one if a sum of values on its
+	 * path is divisible by 5, otherwise it is a dead end.
+	 */
+	static class Tree implements CostFunction<Integer,AddableInteger> {
+
+		public List<Integer> expand(BackwardPathIterator<Integer> iterator) {
+			int depth = 0, sum = 0, last = -1;
+
+			while(iterator.hasPreviousNode()) {
+				int value = iterator.previousNode();
+
+				if(depth++ == 0) {
+					last = value;
+				}
+
+				sum += value;
+			}
+
+			List<Integer> result = new ArrayList<Integer>();
+
+			if(depth == 1) {
+				for(int i = 1; i <= WIDTH; ++i) {
+					result.add(i);
+				}
+			} else if(depth < DEPTH) {
+				for(int i = 0; i < 4; ++i) {
+					if((last + i) % 3 != 0) {
+						result.add(last * 4 + i);
+					}
+				}
+			} else if(sum % 5 == 0) {
+				return null;
+			}
+
+			return result;
+		}
+
+		public Integer getDefaultRootNode() throws DefaultValuesUnsupportedException {
+			return 0;
+		}
+
+		public AddableInteger getTransitionCost(Integer from, Integer to) {
+			return new AddableInteger(to % 7 + 1);
+		}
+
+		public AddableInteger getDefaultRootCost() throws DefaultValuesUnsupportedException {
+			return new AddableInteger(0);
+		}
+
+	}
+
+	private static final int WIDTH = 700;
+	private static final int DEPTH = 5;
+
+	private static final int TRIALS = 20;
+
+	/**
+	 * Maximal number of steps before a copy and in a single turn after it
+	 */
+	private static final int STEPS = 20000;
+	private static final int MAX_TURN = 50;
+
+	private static final long SEED = 2015;
+
+}
@@ -30,6 +30,31 @@ public class EightQueensTest {
 		}
 		
 		System.out.println();
+		
+		for(int n = 1; n <= SOLUTIONS.length; ++n) {
+			int count = 0;
+			
+			tr = new FiniteDepthTreeTraversal<Queen>(new EQPSolver(n));
+			
+			while(!tr.isEmpty()) {
+				if(!tr.moveForward()) {
+					++count;
+					tr.backtrack();
+				}
+			}
+			
+			if(count != SOLUTIONS[n - 1]) {
+				throw new IllegalStateException(n + " queens: " + count + " solutions found, " +
+					SOLUTIONS[n - 1] + " expected");
+			}
+		}
+		
+		System.out.println("Solutions for 1 to " + SOLUTIONS.length + " queens are found by backtracking");
 	}
 
+	/**
+	 * Known numbers of solutions for boards from 1 to 10 queens
+	 */
+	private static final int[] SOLUTIONS = new int[] {1, 0, 0, 2, 10, 4, 40, 92, 352, 724};
+
 }
\ No newline at end of file
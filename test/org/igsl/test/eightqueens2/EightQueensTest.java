@@ -42,6 +42,68 @@ public class EightQueensTest {
 		}
 		
 		System.out.println();
+		
+		tr = new FiniteSetTreeTraversal<Integer>(solver);
+		long solutions = Direct.countSolutions(tr);
+		System.out.println("Number of solutions: " + solutions);
+		
+		if(solutions != SOLUTIONS[7]) {
+			throw new IllegalStateException("Counted " + solutions + " solutions, " + SOLUTIONS[7] + " expected");
+		}
+		
+		for(int n = 1; n <= SOLUTIONS.length; ++n) {
+			int count = 0;
+			
+			tr = new FiniteSetTreeTraversal<Integer>(new EQPSolver(n));
+			
+			while(!tr.isEmpty()) {
+				if(!tr.moveForward()) {
+					++count;
+					tr.backtrack();
+				}
+			}
+			
+			if(count != SOLUTIONS[n - 1]) {
+				throw new IllegalStateException(n + " queens: " + count + " solutions found, " +
+					SOLUTIONS[n - 1] + " expected");
+			}
+		}
+		
+		System.out.println("Solutions for 1 to " + SOLUTIONS.length + " queens are found by backtracking");
+		
+		for(int n = 1; n <= SOLUTIONS.length; ++n) {
+			long count = 0;
+			
+			tr = new FiniteSetTreeTraversal<Integer>(new EQPSolver(n));
+			
+			for(int step = 0; step < n && !tr.isEmpty() && tr.moveForward(); ++step) {
+			}
+			
+			while(!tr.isEmpty()) {
+				FiniteSetTreeTraversal<Integer> part = tr.split();
+				
+				if(part == null) {
+					count += Direct.countSolutions(tr);
+					break;
+				} else if(part.isEmpty()) {
+					throw new IllegalStateException(n + " queens: empty part is split off");
+				}
+				
+				count += Direct.countSolutions(part);
+			}
+			
+			if(count != SOLUTIONS[n - 1]) {
+				throw new IllegalStateException(n + " queens: " + count + " solutions found in split parts, " +
+					SOLUTIONS[n - 1] + " expected");
+			}
+		}
+		
+		System.out.println("Solutions for 1 to " + SOLUTIONS.length + " queens are found in split parts");
 	}
 
+	/**
+	 * Known numbers of solutions for boards from 1 to 10 queens
+	 */
+	private static final int[] SOLUTIONS = new int[] {1, 0, 0, 2, 10, 4, 40, 92, 352, 724};
+
 }
\ No newline at end of file
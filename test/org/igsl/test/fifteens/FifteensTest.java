@@ -4,20 +4,30 @@
 
 package org.igsl.test.fifteens;
 
-import java.util.Enumeration;
+import java.util.List;
+import java.util.Random;
 
 import org.igsl.algorithm.Direct;
 import org.igsl.app.fifteens.FifteensSolver;
+import org.igsl.app.fifteens.FifteensSolverMemoized;
 import org.igsl.app.fifteens.Position;
 import org.igsl.cost.AddableInteger;
 import org.igsl.functor.exception.DefaultValuesUnsupportedException;
-import org.igsl.traversal.TreeTraversal.PathIterator;
+import org.igsl.functor.iterator.path.BackwardPathIterator;
+import org.igsl.functor.iterator.path.Paths;
 import org.igsl.traversal.exponential.AStarTreeTraversal;
+import org.igsl.traversal.exponential.BidirectionalAStarTreeTraversal;
+import org.igsl.traversal.exponential.BidirectionalBreadthFirstTreeTraversal;
 
-import static org.igsl.functor.memoize.Memoizer.*;
+import static org.igsl.test.Check.check;
 
 public class FifteensTest {
 	
+	/**
+	 * A path of a fixed position is found by A* and printed. Bidirectional A* and bidirectional
+	 * breadth-first search must find complete paths of the same optimal length as A* for the fixed
+	 * position and for scrambled ones.
+	 */
 	public static void main(String[] args) {
 		int[][] terminal = new int[][] {{0, 1, 2, 3}, {4, 5, 6, 7}, {8, 9, 10, 11}, {12, 13, 14, 15}};
 		int[][] initial = new int[][] {{0, 9, 2, 3}, {5, 4, 6, 7}, {12, 1, 10, 11}, {13, 8, 14, 15}};
@@ -43,10 +53,10 @@ public class FifteensTest {
 		
 		try {
 			AStarTreeTraversal<Position, AddableInteger> tr =
-				new AStarTreeTraversal<Position, AddableInteger>(new Position(initial), memoize(solver));
+				new AStarTreeTraversal<Position, AddableInteger>(new Position(initial), new FifteensSolverMemoized(solver));
 			
 			Direct.searchForward(tr);
-			PathIterator<Position> path = tr.getPath();
+			BackwardPathIterator<Position> path = tr.getPath();
 	
 			System.out.print("Path found (from terminal to initial position): ");
 			while(path.hasPreviousNode()) {
@@ -54,8 +64,63 @@ public class FifteensTest {
 				String toPrint = (path.hasPreviousNode()) ? p.toString() + "->" : p.toString();
 				System.out.print(toPrint);
 			}
+			
+			System.out.println();
+			
+			int length = checkBidirectional(new Position(initial), new Position(terminal), tr.getCost().intValue(), solver);
+			System.out.println("Bidirectional A* and breadth-first path length: " + length);
+			
+			Random random = new Random(SEED);
+			
+			for(int i = 0; i < POSITIONS; ++i) {
+				Position root = new Position(FifteensTranspositionTest.scramble(MOVES, random));
+			
+				tr = new AStarTreeTraversal<Position, AddableInteger>(root, new AddableInteger(0), solver);
+				Direct.searchForward(tr);
+				checkBidirectional(root, new Position(terminal), tr.getCost().intValue(), solver);
+			}
+			
+			System.out.println("Bidirectional A* and breadth-first search found optimal paths for " + POSITIONS +
+				" scrambled positions");
 		} catch (DefaultValuesUnsupportedException e) {
 		}
 	}
 
+	/**
+	 * Searches a position by bidirectional A* and breadth-first search, both paths must lead from a root
+	 * position to a terminal one with an optimal number of moves
+	 * 
+	 * @return number of moves on a path
+	 */
+	private static int checkBidirectional(Position root, Position terminal, int optimal, FifteensSolver solver)
+		throws DefaultValuesUnsupportedException
+	{
+		BidirectionalAStarTreeTraversal<Position, AddableInteger> btr =
+			new BidirectionalAStarTreeTraversal<Position, AddableInteger>(root, solver);
+		
+		Direct.searchForward(btr);
+		check(!btr.isEmpty() && btr.getCost().intValue() == optimal, "bidirectional A* found " +
+			(btr.isEmpty() ? "no path" : "a path of " + btr.getCost() + " moves") + ", " + optimal + " expected");
+		checkPath(Paths.toList(btr.getPath()), root, terminal, optimal, "bidirectional A*");
+		
+		BidirectionalBreadthFirstTreeTraversal<Position> bfs =
+			new BidirectionalBreadthFirstTreeTraversal<Position>(root, solver);
+		
+		Direct.searchForward(bfs);
+		check(!bfs.isEmpty() && bfs.getDepth() == optimal, "bidirectional breadth-first search found " +
+			(bfs.isEmpty() ? "no path" : "a path of " + bfs.getDepth() + " moves") + ", " + optimal + " expected");
+		checkPath(Paths.toList(bfs.getPath()), root, terminal, optimal, "bidirectional breadth-first search");
+		
+		return optimal;
+	}
+	
+	private static void checkPath(List<Position> path, Position root, Position terminal, int optimal, String name) {
+		check(path.size() - 1 == optimal && path.get(0).equals(root) && path.get(path.size() - 1).equals(terminal),
+			name + " found an incomplete path of " + (path.size() - 1) + " moves");
+	}
+	
+	private static final int POSITIONS = 5;
+	private static final int MOVES = 30;
+	private static final long SEED = 2015;
+
 }
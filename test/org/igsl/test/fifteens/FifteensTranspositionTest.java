@@ -0,0 +1,124 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+package org.igsl.test.fifteens;
+
+import java.util.Enumeration;
+import java.util.Random;
+
+import org.igsl.algorithm.Iterative;
+import org.igsl.algorithm.auxiliary.SearchBudget;
+import org.igsl.app.fifteens.FifteensSolver;
+import org.igsl.app.fifteens.Position;
+import org.igsl.cost.AddableInteger;
+import org.igsl.traversal.TranspositionTable;
+import org.igsl.traversal.linear.DepthFirstCostTreeTraversal;
+
+import static org.igsl.test.Check.check;
+
+public class FifteensTranspositionTest {
+
+	/**
+	 * Scrambled positions are solved by iterative deepening by cost with and without a transposition table.
+	 * Both searches must find paths of the same optimal length, a search with a table must not expand more nodes
+	 * and must expand fewer nodes over all positions as duplicate positions are pruned.
+	 */
+	public static void main(String[] args) {
+		System.out.println("=====Fifteen Puzzle Solver. Iterative deepening with a transposition table.=====");
+
+		FifteensSolver solver = new FifteensSolver(new Position(scramble(0, null)));
+		Random random = new Random(SEED);
+		long total = 0, totalPruned = 0;
+
+		for(int moves = 4; moves <= 12; moves += 2) {
+			Position root = new Position(scramble(moves, random));
+
+			SearchBudget plain = new SearchBudget();
+			int length = length(Iterative.deepenIteratively(
+				new DepthFirstCostTreeTraversal<Position,AddableInteger>(root, new AddableInteger(0), solver), plain));
+
+			SearchBudget pruned = new SearchBudget();
+			TranspositionTable<Position,AddableInteger> table =
+				new TranspositionTable<Position,AddableInteger>(solver, CAPACITY);
+			int lengthPruned = length(Iterative.deepenIteratively(
+				new DepthFirstCostTreeTraversal<Position,AddableInteger>(root, new AddableInteger(0), solver), table, pruned));
+
+			check(length >= 0 && length <= moves, "path of " + length + " moves found for " + moves + " random moves");
+			check(lengthPruned == length, "path of " + lengthPruned + " moves found with a table, " + length + " expected");
+			check(pruned.getNodes() <= plain.getNodes(), pruned.getNodes() + " nodes expanded with a table, " +
+				plain.getNodes() + " without it");
+
+			System.out.println(moves + " random moves: optimal path of " + length + " moves, nodes expanded " +
+				plain.getNodes() + " without a table, " + pruned.getNodes() + " with a table");
+
+			total += plain.getNodes();
+			totalPruned += pruned.getNodes();
+		}
+
+		check(totalPruned < total, "no duplicate positions are pruned by a table");
+	}
+
+	/**
+	 * Makes a number of random moves of an empty tile from a terminal position, a move is not undone at once.
+	 * Positions are scrambled by other tests of a package as well.
+	 */
+	static int[][] scramble(int moves, Random random) {
+		int[][] result = new int[DIM][DIM];
+
+		for(int i = 0; i < DIM; ++i) {
+			for(int j = 0; j < DIM; ++j) {
+				result[i][j] = i * DIM + j;
+			}
+		}
+
+		int i0 = 0, j0 = 0, last = -1;
+
+		for(int m = 0; m < moves; ++m) {
+			int d, i, j;
+
+			do {
+				d = random.nextInt(4);
+				i = i0 + DI[d];
+				j = j0 + DJ[d];
+			} while(i < 0 || i >= DIM || j < 0 || j >= DIM || d == (last ^ 1));
+
+			result[i0][j0] = result[i][j];
+			result[i][j] = 0;
+			i0 = i;
+			j0 = j;
+			last = d;
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns a number of moves on a path, -1 - if no path found
+	 */
+	private static int length(Enumeration<Position> path) {
+		if(path == null) {
+			return -1;
+		}
+
+		int result = -1;
+
+		while(path.hasMoreElements()) {
+			path.nextElement();
+			++result;
+		}
+
+		return result;
+	}
+
+	private static final int DIM = 4;
+	private static final int CAPACITY = 1 << 16;
+	private static final long SEED = 2015;
+
+	/**
+	 * Row and column offsets of moves up, down, left and right, a move is undone by a move of index ^ 1
+	 */
+	private static final int[] DI = {-1, 1, 0, 0};
+	private static final int[] DJ = {0, 0, -1, 1};
+
+}
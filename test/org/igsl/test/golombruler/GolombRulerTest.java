@@ -4,13 +4,14 @@ package org.igsl.test.golombruler;
  * Implicit Graph Search Library(C), 2009, 2015 
  */
 
+import java.util.Enumeration;
+import java.util.Iterator;
+
 import org.igsl.algorithm.Direct;
 import org.igsl.app.golombruler.GolombRulerSolver;
 import org.igsl.app.golombruler.MutableInteger;
 
-import org.igsl.functor.iterator.path.BackwardPathIterator;
 import org.igsl.traversal.linear.IndefiniteDepthTreeTraversal;
-import org.igsl.functor.exception.EmptyTraversalException;
 
 public class GolombRulerTest {
 	/**
@@ -27,29 +28,23 @@ public class GolombRulerTest {
 		System.out.println("max value = " + maxValue);
 		
 		IndefiniteDepthTreeTraversal<MutableInteger> tr = new IndefiniteDepthTreeTraversal<MutableInteger>(solver, false);
+		Iterator<Enumeration<MutableInteger>> iterator = Direct.findAllSolutions(tr);
 		int i = 0;
-		while(!tr.isEmpty()) {
+		while(iterator.hasNext()) {
 			++i;
-			Direct.searchForward(tr);
-			BackwardPathIterator<MutableInteger> path = tr.getPath();
+			Enumeration<MutableInteger> path = iterator.next();
 			
 			System.out.println();
 			System.out.print(i + ": ");
-			while(path.hasPreviousNode()) {
-				MutableInteger mi = path.previousNode();
-				if(path.hasPreviousNode()) {
+			while(path.hasMoreElements()) {
+				MutableInteger mi = path.nextElement();
+				if(path.hasMoreElements()) {
 					System.out.print(mi.getValue() + ";");
 				} else {
 					System.out.print(mi.getValue());
 				}
 			}
 			System.out.println();
-			
-			try {
-				tr.backtrack();
-			} catch(EmptyTraversalException ete) {
-				break;
-			}
 		}
 	}
 
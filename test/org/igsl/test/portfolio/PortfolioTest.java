@@ -0,0 +1,140 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+package org.igsl.test.portfolio;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.igsl.algorithm.Direct;
+import org.igsl.algorithm.Portfolio;
+import org.igsl.app.fifteens.FifteensSolver;
+import org.igsl.app.fifteens.Position;
+import org.igsl.cost.AddableInteger;
+import org.igsl.functor.NodeGenerator;
+import org.igsl.functor.exception.DefaultValuesUnsupportedException;
+import org.igsl.functor.iterator.path.BackwardPathIterator;
+import org.igsl.traversal.exponential.AStarTreeTraversal;
+import org.igsl.traversal.linear.DepthFirstTreeTraversal;
+import org.igsl.traversal.linear.RecursiveBestFirstTreeTraversal;
+
+import static org.igsl.test.Check.check;
+
+public class PortfolioTest {
+
+	/**
+	 * Recursive best-first search must find paths of the same optimal cost as A* for scrambled
+	 * Fifteens positions. A portfolio of recursive best-first search and of a depth-first search, which
+	 * never reaches a goal, must be won by the former, the latter must be stopped once a search is complete.
+	 */
+	public static void main(String[] args) throws InterruptedException {
+		System.out.println("=====Fifteen Puzzle Solver. Recursive best-first search and a portfolio.=====");
+
+		Position terminal = new Position(new int[][] {{0, 1, 2, 3}, {4, 5, 6, 7}, {8, 9, 10, 11}, {12, 13, 14, 15}});
+		FifteensSolver solver = new FifteensSolver(terminal);
+		Random random = new Random(SEED);
+
+		for(int i = 0; i < POSITIONS; ++i) {
+			Position root = scramble(terminal, MOVES, random);
+
+			AStarTreeTraversal<Position,AddableInteger> aStar =
+				new AStarTreeTraversal<Position,AddableInteger>(root, new AddableInteger(0), solver);
+			Direct.searchForward(aStar);
+
+			RecursiveBestFirstTreeTraversal<Position,AddableInteger> rbfs =
+				new RecursiveBestFirstTreeTraversal<Position,AddableInteger>(root, new AddableInteger(0), solver);
+			Direct.searchForward(rbfs);
+
+			check(!rbfs.isEmpty() && rbfs.getCost().compareTo(aStar.getCost()) == 0, "recursive best-first search found " +
+				(rbfs.isEmpty() ? "no path" : "a path of cost " + rbfs.getCost()) + ", " + aStar.getCost() + " expected");
+		}
+
+		System.out.println("Recursive best-first search found optimal paths for " + POSITIONS + " positions");
+
+		Position root = scramble(terminal, MOVES, random);
+		AStarTreeTraversal<Position,AddableInteger> aStar =
+			new AStarTreeTraversal<Position,AddableInteger>(root, new AddableInteger(0), solver);
+		Direct.searchForward(aStar);
+
+		Endless endless = new Endless(solver);
+		DepthFirstTreeTraversal<Position> depthFirst = new DepthFirstTreeTraversal<Position>(root, endless);
+
+		Portfolio<Position> portfolio = new Portfolio<Position>();
+		portfolio.add("depthFirst", depthFirst);
+		portfolio.add("recursiveBestFirst",
+			new RecursiveBestFirstTreeTraversal<Position,AddableInteger>(root, new AddableInteger(0), solver));
+
+		List<Position> path = portfolio.search();
+		long expanded = endless.expanded.get();
+
+		check("recursiveBestFirst".equals(portfolio.getWinner()), portfolio.getWinner() + " won a portfolio");
+		check(path != null && path.size() - 1 == aStar.getCost().intValue(), "portfolio path of " +
+			(path == null ? "no" : String.valueOf(path.size() - 1)) + " moves, " + aStar.getCost() + " expected");
+		check(path.get(0).equals(root) && path.get(path.size() - 1).equals(terminal), "portfolio path is not complete");
+		check(!depthFirst.isEmpty(), "depth-first search is complete");
+
+		Thread.sleep(PAUSE);
+		check(endless.expanded.get() == expanded, "depth-first search is not stopped");
+
+		System.out.println("Portfolio is won by " + portfolio.getWinner() + " with an optimal path of " +
+			(path.size() - 1) + " moves, depth-first search is stopped");
+	}
+
+	/**
+	 * Makes a number of random moves of an empty tile, a move is not undone at once.
+	 * A parent of a result is not kept, so any move from it is allowed.
+	 */
+	private static Position scramble(Position p, int moves, Random random) {
+		for(int m = 0; m < moves; ++m) {
+			List<Position> next = new ArrayList<Position>();
+			Position[] a = new Position[] {p.moveTileUp(), p.moveTileDown(), p.moveTileLeft(), p.moveTileRight()};
+
+			for(int i = 0; i < a.length; ++i) {
+				if(a[i] != null) {
+					next.add(a[i]);
+				}
+			}
+
+			p = next.get(random.nextInt(next.size()));
+		}
+
+		return Position.fromLong(p.toLong(), p.getDimension());
+	}
+
+	/**
+	 * Generator expanding every position including a terminal one, so a search never reaches a goal.
+	 * Expansions are counted to tell if a search is stopped.
+	 */
+	static class Endless implements NodeGenerator<Position> {
+
+		Endless(FifteensSolver solver) {
+			this.solver = solver;
+		}
+
+		public List<Position> expand(BackwardPathIterator<Position> iterator) {
+			expanded.incrementAndGet();
+			return solver.expandBackward(iterator);
+		}
+
+		public Position getDefaultRootNode() throws DefaultValuesUnsupportedException {
+			throw new DefaultValuesUnsupportedException();
+		}
+
+		private final FifteensSolver solver;
+		final AtomicLong expanded = new AtomicLong();
+
+	}
+
+	private static final int POSITIONS = 10;
+	private static final int MOVES = 30;
+	private static final long SEED = 2015;
+
+	/**
+	 * Time in milliseconds a stopped search is watched for
+	 */
+	private static final long PAUSE = 100;
+
+}
@@ -0,0 +1,187 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+package org.igsl.test.primitivecost;
+
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+
+import org.igsl.algorithm.Direct;
+import org.igsl.algorithm.Iterative;
+import org.igsl.functor.DoubleHeuristicFunction;
+import org.igsl.functor.LongHeuristicFunction;
+import org.igsl.functor.exception.DefaultValuesUnsupportedException;
+import org.igsl.functor.iterator.path.BackwardPathIterator;
+import org.igsl.traversal.exponential.AStarDoubleCostTreeTraversal;
+import org.igsl.traversal.exponential.AStarLongCostTreeTraversal;
+import org.igsl.traversal.linear.DepthFirstDoubleCostTreeTraversal;
+import org.igsl.traversal.linear.DepthFirstLongCostTreeTraversal;
+
+public class PrimitiveCostTest {
+
+	/**
+	 * A path from a top left cell of a grid to a bottom right one is searched with moves to the right
+	 * and down, a move costs a weight of a cell entered. Traversals with <code>long</code> and
+	 * <code>double</code> costs must find a path of a known optimal cost, double costs are quarters
+	 * of weights, so they are exact. Keys of a bucket frontier must be accepted beyond an <code>int</code> range.
+	 */
+	public static void main(String[] args) {
+		System.out.println("=====Minimal cost grid path. Traversals with primitive costs.=====");
+
+		Grid grid = new Grid();
+
+		AStarLongCostTreeTraversal<Integer> aStarLong = new AStarLongCostTreeTraversal<Integer>(0, 0, grid, false);
+		Direct.searchForward(aStarLong);
+		check("A* with long costs", aStarLong.getCost(), OPTIMAL);
+
+		AStarLongCostTreeTraversal<Integer> aStarBuckets = new AStarLongCostTreeTraversal<Integer>(0, 0, grid, true);
+		Direct.searchForward(aStarBuckets);
+		check("A* with long costs and a bucket frontier", aStarBuckets.getCost(), OPTIMAL);
+
+		aStarBuckets = new AStarLongCostTreeTraversal<Integer>(0, LARGE_COST, grid, true);
+		Direct.searchForward(aStarBuckets);
+		check("A* with large long costs and a bucket frontier", aStarBuckets.getCost() - LARGE_COST, OPTIMAL);
+
+		AStarDoubleCostTreeTraversal<Integer> aStarDouble = new AStarDoubleCostTreeTraversal<Integer>(0, 0, grid.toDouble());
+		Direct.searchForward(aStarDouble);
+		check("A* with double costs", aStarDouble.getCost(), OPTIMAL * QUARTER);
+
+		Enumeration<Integer> path = Iterative.deepenIteratively(new DepthFirstLongCostTreeTraversal<Integer>(0, 0, grid));
+		check("Iterative deepening with long costs", grid.getPathCost(path), OPTIMAL);
+
+		path = Iterative.deepenIteratively(new DepthFirstDoubleCostTreeTraversal<Integer>(0, 0, grid.toDouble()));
+		check("Iterative deepening with double costs", grid.getPathCost(path) * QUARTER, OPTIMAL * QUARTER);
+	}
+
+	private static void check(String name, double cost, double expected) {
+		if(cost != expected) {
+			throw new IllegalStateException(name + " found a path of cost " + cost + ", " + expected + " expected");
+		}
+
+		System.out.println(name + ": optimal cost " + cost);
+	}
+
+	/**
+	 * Grid with a cell given by an index of row * N + column
+	 */
+	static class Grid implements LongHeuristicFunction<Integer> {
+
+		public List<Integer> expand(BackwardPathIterator<Integer> iterator) {
+			int cell = iterator.previousNode();
+
+			if(cell == N * N - 1) {
+				return null;
+			}
+
+			List<Integer> result = new ArrayList<Integer>();
+
+			if(cell % N < N - 1) {
+				result.add(cell + 1);
+			}
+
+			if(cell / N < N - 1) {
+				result.add(cell + N);
+			}
+
+			return result;
+		}
+
+		public Integer getDefaultRootNode() throws DefaultValuesUnsupportedException {
+			return 0;
+		}
+
+		public long getDefaultRootCost() {
+			return 0;
+		}
+
+		public long getTransitionCost(Integer from, Integer to) {
+			return WEIGHTS[to / N][to % N];
+		}
+
+		/**
+		 * Number of moves left, a weight is not less than 1
+		 */
+		public long getEstimatedCost(Integer cell) {
+			return 2 * (N - 1) - cell / N - cell % N;
+		}
+
+		/**
+		 * Sums weights of cells entered on a path from a root cell to a terminal one regardless of an order
+		 * of an enumeration, -1 - if no such path found
+		 */
+		long getPathCost(Enumeration<Integer> path) {
+			if(path == null) {
+				return -1;
+			}
+
+			long result = 0;
+			boolean root = false, terminal = false;
+
+			while(path.hasMoreElements()) {
+				int cell = path.nextElement();
+
+				if(cell == 0) {
+					root = true;
+				} else {
+					result += getTransitionCost(null, cell);
+					terminal |= (cell == N * N - 1);
+				}
+			}
+
+			return (root && terminal) ? result : -1;
+		}
+
+		/**
+		 * Adapter with costs scaled by a quarter
+		 */
+		DoubleHeuristicFunction<Integer> toDouble() {
+			return new DoubleHeuristicFunction<Integer>() {
+				public List<Integer> expand(BackwardPathIterator<Integer> iterator) {
+					return Grid.this.expand(iterator);
+				}
+
+				public Integer getDefaultRootNode() throws DefaultValuesUnsupportedException {
+					return Grid.this.getDefaultRootNode();
+				}
+
+				public double getDefaultRootCost() {
+					return 0;
+				}
+
+				public double getTransitionCost(Integer from, Integer to) {
+					return Grid.this.getTransitionCost(from, to) * QUARTER;
+				}
+
+				public double getEstimatedCost(Integer cell) {
+					return Grid.this.getEstimatedCost(cell) * QUARTER;
+				}
+			};
+		}
+
+	}
+
+	private static final int N = 5;
+
+	private static final int[][] WEIGHTS = {
+		{0, 7, 3, 9, 4},
+		{2, 8, 1, 6, 5},
+		{6, 1, 9, 2, 7},
+		{3, 4, 2, 8, 1},
+		{9, 5, 6, 3, 2}
+	};
+
+	/**
+	 * Known minimal cost of a path over a grid above
+	 */
+	private static final long OPTIMAL = 26;
+
+	private static final double QUARTER = 0.25;
+
+	/**
+	 * Root cost, so that keys of nodes do not fit an <code>int</code> value
+	 */
+	private static final long LARGE_COST = 1L << 40;
+
+}
@@ -0,0 +1,156 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+package org.igsl.test.statistics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.igsl.algorithm.auxiliary.SearchStatistics;
+import org.igsl.functor.NodeGenerator;
+import org.igsl.functor.exception.DefaultValuesUnsupportedException;
+import org.igsl.functor.exception.FrontierOverflowException;
+import org.igsl.functor.iterator.path.BackwardPathIterator;
+import org.igsl.traversal.Listenable;
+import org.igsl.traversal.TreeTraversal;
+import org.igsl.traversal.exponential.BreadthFirstTreeTraversal;
+import org.igsl.traversal.linear.DepthFirstTreeTraversal;
+
+import static org.igsl.test.Check.check;
+
+public class SearchStatisticsTest {
+
+	/**
+	 * A complete binary tree is searched by depth-first and breadth-first traversals with statistics
+	 * set as a listener. A tree without goal nodes is searched completely, so numbers of nodes expanded
+	 * and generated by depth are known. A search of a tree with a goal leaf must report a single goal.
+	 * A breadth-first search with a bound on front nodes must fail without reporting an expansion.
+	 */
+	public static void main(String[] args) {
+		System.out.println("=====Search statistics for a complete binary tree of depth " + DEPTH + ".=====");
+
+		exhaust("Depth-first", new DepthFirstTreeTraversal<Integer>(1, new BinaryTree(-1)));
+		SearchStatistics statistics = exhaust("Breadth-first", new BreadthFirstTreeTraversal<Integer>(1, new BinaryTree(-1)));
+		check(statistics.getMaxFrontier() == 1 << (DEPTH - 1), "breadth-first search: maximal frontier " +
+			statistics.getMaxFrontier() + ", " + (1 << (DEPTH - 1)) + " expected");
+
+		int goal = (1 << (DEPTH - 1)) + 1;
+		DepthFirstTreeTraversal<Integer> tr = new DepthFirstTreeTraversal<Integer>(1, new BinaryTree(goal));
+		statistics = search(tr);
+
+		check(!tr.isEmpty() && tr.getPath().previousNode() == goal, "goal leaf is not found");
+		check(statistics.getGoals() == 1, statistics.getGoals() + " goals reported, 1 expected");
+		check(statistics.getMaxDepth() == DEPTH, "maximal depth " + statistics.getMaxDepth() + ", " + DEPTH + " expected");
+		check(statistics.getExpanded() == DEPTH, statistics.getExpanded() + " nodes expanded before a goal, " +
+			DEPTH + " expected");
+		System.out.println("Depth-first search reports a goal leaf after " + statistics.getExpanded() + " expansions");
+
+		BreadthFirstTreeTraversal<Integer> bounded = new BreadthFirstTreeTraversal<Integer>(1, new BinaryTree(-1), 4);
+		statistics = new SearchStatistics();
+		bounded.setSearchListener(statistics);
+		boolean overflow = false;
+
+		try {
+			while(!bounded.isEmpty()) {
+				bounded.moveForward();
+			}
+		} catch(FrontierOverflowException e) {
+			overflow = true;
+		}
+
+		check(overflow, "bounded breadth-first search does not overflow");
+		check(bounded.getFrontierSize() == 4 && bounded.getCursor() == 4, "bounded breadth-first search: " +
+			bounded.getFrontierSize() + " front nodes and cursor " + bounded.getCursor() + " after an overflow");
+		check(statistics.getExpanded() == 3, statistics.getExpanded() + " expansions reported before an overflow, 3 expected");
+		System.out.println("Bounded breadth-first search overflows after " + statistics.getExpanded() + " expansions");
+	}
+
+	/**
+	 * Searches a tree without goal nodes and checks counters against known numbers of nodes
+	 */
+	private static <Tr extends TreeTraversal<Integer> & Listenable> SearchStatistics exhaust(String name, Tr tr) {
+		SearchStatistics statistics = search(tr);
+		long nodes = (1L << DEPTH) - 1;
+
+		check(tr.isEmpty(), name + " search is not complete");
+		check(statistics.getExpanded() == nodes, name + ": " + statistics.getExpanded() + " nodes expanded, " +
+			nodes + " expected");
+		check(statistics.getGenerated() == nodes - 1, name + ": " + statistics.getGenerated() +
+			" nodes generated, " + (nodes - 1) + " expected");
+		check(statistics.getGoals() == 0, name + ": " + statistics.getGoals() + " goals reported, 0 expected");
+		check(statistics.getMaxDepth() == DEPTH, name + ": maximal depth " + statistics.getMaxDepth() + ", " +
+			DEPTH + " expected");
+
+		long[] histogram = statistics.getHistogram();
+		check(histogram.length == DEPTH + 1, name + ": histogram of " + histogram.length + " depths");
+
+		for(int d = 1; d <= DEPTH; ++d) {
+			check(histogram[d] == 1L << (d - 1), name + ": " + histogram[d] + " nodes expanded at depth " + d);
+		}
+
+		check(statistics.getBranchingFactor() == (double) (nodes - 1) / nodes, name + ": branching factor " +
+			statistics.getBranchingFactor());
+		check(statistics.getElapsedTime() >= statistics.getGeneratorTime(), name + ": generator time exceeds a search time");
+
+		System.out.println(name + " search: " + statistics.getExpanded() + " nodes expanded, " +
+			statistics.getGenerated() + " generated, maximal depth " + statistics.getMaxDepth());
+
+		return statistics;
+	}
+
+	/**
+	 * Searches a traversal till a goal node or till it is exhausted
+	 */
+	private static <Tr extends TreeTraversal<Integer> & Listenable> SearchStatistics search(Tr tr) {
+		SearchStatistics statistics = new SearchStatistics();
+		tr.setSearchListener(statistics);
+
+		while(!tr.isEmpty() && tr.moveForward()) {
+		}
+
+		statistics.stop();
+
+		return statistics;
+	}
+
+	/**
+	 * Complete binary tree with nodes numbered as in a heap, a root is 1 and children of n are 2n and 2n + 1
+	 */
+	static class BinaryTree implements NodeGenerator<Integer> {
+
+		/**
+		 * @param goal goal node, -1 - if a tree has no goal nodes
+		 */
+		BinaryTree(int goal) {
+			this.goal = goal;
+		}
+
+		public List<Integer> expand(BackwardPathIterator<Integer> iterator) {
+			int n = iterator.previousNode();
+
+			if(n == goal) {
+				return null;
+			}
+
+			List<Integer> result = new ArrayList<Integer>();
+
+			if(n < 1 << (DEPTH - 1)) {
+				result.add(2 * n);
+				result.add(2 * n + 1);
+			}
+
+			return result;
+		}
+
+		public Integer getDefaultRootNode() throws DefaultValuesUnsupportedException {
+			return 1;
+		}
+
+		private final int goal;
+
+	}
+
+	private static final int DEPTH = 10;
+
+}
@@ -0,0 +1,107 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+package org.igsl.test.tsp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+
+import org.igsl.algorithm.Concurrent;
+import org.igsl.algorithm.Iterative;
+import org.igsl.algorithm.auxiliary.Incumbent;
+import org.igsl.algorithm.auxiliary.SolutionSink;
+import org.igsl.app.tsp.TSPSolver;
+import org.igsl.cost.AddableDouble;
+import org.igsl.functor.iterator.path.Paths;
+import org.igsl.traversal.linear.DepthFirstCostTreeTraversal;
+import org.igsl.traversal.linear.DepthFirstTreeTraversal;
+
+public class TSPConcurrentTest {
+
+	/**
+	 * TSP test comparing routes found by a sequential depth-first search
+	 * with routes found by <code>Concurrent.searchForward</code>, <code>Concurrent.branchAndBound</code>
+	 * and <code>Concurrent.deepenIteratively</code>
+	 * 
+	 * @param args
+	 */
+	public static void main(String[] args) {
+		TSPSolver solver = new TSPSolver();
+		
+		solver.addWaypoint("a", 0.3, 0.9);
+		solver.addWaypoint("b", 1.1, 1.1);
+		solver.addWaypoint("c", 1.0, -0.2);
+		solver.addWaypoint("d", 0.1, 0.2);
+		solver.addWaypoint("e", 1.5, 0.5);
+		solver.addWaypoint("f", 0.5, 0.5);
+		solver.addWaypoint("g", -0.8, 0.1);
+		solver.addWaypoint("h", -0.8, 0.8);
+		
+		System.out.println("=====Traveling Salesman Problem. Concurrent search.=====");
+		
+		// Sequential search for all routes without crossing legs
+		HashSet<List<String>> sequential = new HashSet<List<String>>();
+		AddableDouble optimal = null;
+		DepthFirstCostTreeTraversal<String,AddableDouble> tr =
+			new DepthFirstCostTreeTraversal<String,AddableDouble>("a", new AddableDouble(0), solver);
+		
+		while(!tr.isEmpty()) {
+			if(!tr.moveForward()) {
+				sequential.add(Paths.toList(tr.getPath()));
+				if(optimal == null || tr.getCost().compareTo(optimal) < 0) {
+					optimal = tr.getCost();
+				}
+				tr.backtrack();
+			}
+		}
+		System.out.println("Routes found with sequential search: " + sequential.size());
+		
+		// Concurrent search with both node storage modes
+		for(int i = 0; i < 2; ++i) {
+			final List<List<String>> routes = Collections.synchronizedList(new ArrayList<List<String>>());
+			SolutionSink<String> sink = new SolutionSink<String>() {
+				public boolean accept(List<String> path) {
+					routes.add(path);
+					return true;
+				}
+			};
+			
+			boolean compact = (i == 1);
+			Concurrent.searchForward(
+				new DepthFirstCostTreeTraversal<String,AddableDouble>("a", new AddableDouble(0), solver, compact),
+				sink);
+			
+			System.out.println("Routes found with concurrent search" + (compact ? " (compact)" : "") + ": " +
+				routes.size() + ", same as sequential: " +
+				(routes.size() == sequential.size() && sequential.equals(new HashSet<List<String>>(routes))));
+		}
+		
+		// Concurrent search for a first route
+		List<String> route = Concurrent.searchForward(new DepthFirstTreeTraversal<String>("a", solver));
+		System.out.println("First route found with concurrent search is valid: " + sequential.contains(route));
+		
+		// Concurrent branch-and-bound for an optimal route
+		Incumbent<String,AddableDouble> best = Concurrent.branchAndBound(
+			new DepthFirstCostTreeTraversal<String,AddableDouble>("a", new AddableDouble(0), solver));
+		System.out.println("Optimal route found with concurrent branch-and-bound: " + best.getPath() +
+			", optimal: " + (best.getCost().compareTo(optimal) == 0) + ", nodes pruned: " + (best.getPruned() > 0));
+		
+		// Concurrent iterative deepening returns the same route as a sequential one
+		Enumeration<String> path = Iterative.deepenIteratively(
+			new DepthFirstCostTreeTraversal<String,AddableDouble>("a", new AddableDouble(0), solver));
+		ArrayList<String> deepened = new ArrayList<String>();
+		while(path.hasMoreElements()) {
+			deepened.add(0, path.nextElement());
+		}
+		
+		List<String> concurrentDeepened = Concurrent.deepenIteratively(
+			new DepthFirstCostTreeTraversal<String,AddableDouble>("a", new AddableDouble(0), solver));
+		System.out.println("Optimal route found with concurrent iterative deepening: " + concurrentDeepened +
+			", same as sequential: " + deepened.equals(concurrentDeepened));
+	}
+	
+}
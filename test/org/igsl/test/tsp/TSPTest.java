@@ -150,9 +150,9 @@ public class TSPTest {
 			DepthFirstCostTreeTraversal<Route,AddableDouble> tr6 =
 				new DepthFirstCostTreeTraversal<Route,AddableDouble>(solver);
 	
-			// Find all optimal solutions
+			// Find all solutions in a depth-first order, costs are not compared
 			Iterator<Enumeration<Route>> iterator = Direct.findAllSolutions(tr6);
-			System.out.println("All of optimal paths: ");
+			System.out.println("All of paths: ");
 			int idx6 = 0;
 			while(iterator.hasNext()) {
 				System.out.print("Path No. " + (++idx6) + ": ");
@@ -0,0 +1,178 @@
+/**
+ * Implicit Graph Search Library(C), 2009, 2015
+ */
+
+package org.igsl.test.warnsdorff;
+
+import java.util.Arrays;
+
+import org.igsl.algorithm.auxiliary.SearchStatistics;
+import org.igsl.functor.generator.OrderedFiniteSetNodeGenerator;
+import org.igsl.functor.iterator.path.BackwardPathIterator;
+import org.igsl.traversal.linear.finite.OrderedDepthFirstTreeTraversal;
+
+import static org.igsl.test.Check.check;
+
+public class WarnsdorffTest {
+
+	/**
+	 * Knight's tours are searched by an ordered depth-first traversal with squares ranked by Warnsdorff's
+	 * rule. A first tour of an 8x8 board from a corner must be found without backtracking, as reported
+	 * to a listener. A complete enumeration of a 5x5 board must find known numbers of tours, all of them
+	 * and from a corner.
+	 */
+	public static void main(String[] args) {
+		System.out.println("=====Knight's tours ranked by Warnsdorff's rule.=====");
+
+		KnightTour tour = new KnightTour(8);
+		OrderedDepthFirstTreeTraversal<Integer> tr = new OrderedDepthFirstTreeTraversal<Integer>(tour);
+		SearchStatistics statistics = new SearchStatistics();
+		tr.setSearchListener(statistics);
+		int steps = 1;
+
+		while(!tr.isEmpty() && tr.moveForward()) {
+			++steps;
+		}
+
+		check(!tr.isEmpty(), "no 8x8 tour is found");
+		check(steps <= 8 * 8, "first 8x8 tour is found after " + steps + " steps, " + (8 * 8) + " expected");
+		check(tour.isTour(tr.getPath()), "first 8x8 tour is not a knight's tour");
+		check(statistics.getExpanded() == 8 * 8 - 1 && statistics.getGenerated() == 8 * 8 - 1 &&
+			statistics.getGoals() == 1 && statistics.getBacktracks() == 0, "listener reports " +
+			statistics.getExpanded() + " expansions, " + statistics.getGenerated() + " nodes generated, " +
+			statistics.getGoals() + " goals and " + statistics.getBacktracks() + " backtracks");
+		System.out.println("First 8x8 tour from a corner is found after " + steps + " steps");
+
+		tour = new KnightTour(5);
+		tr = new OrderedDepthFirstTreeTraversal<Integer>(tour);
+		long tours = 0, corner = 0;
+
+		while(!tr.isEmpty()) {
+			if(!tr.moveForward()) {
+				BackwardPathIterator<Integer> path = tr.getPath();
+				int first = -1;
+
+				check(tour.isTour(path), "5x5 path is not a knight's tour");
+
+				for(path = tr.getPath(); path.hasPreviousNode(); ) {
+					first = path.previousNode();
+				}
+
+				++tours;
+				corner += (first == 0) ? 1 : 0;
+				tr.backtrack();
+			}
+		}
+
+		check(tours == TOURS_5X5, tours + " 5x5 tours found, " + TOURS_5X5 + " expected");
+		check(corner == CORNER_TOURS_5X5, corner + " 5x5 tours from a corner found, " + CORNER_TOURS_5X5 + " expected");
+		System.out.println("5x5 board: " + tours + " tours, " + corner + " of them from a corner");
+	}
+
+	/**
+	 * Knight's tour on a square board up to 8x8, a square is given by an index of row * n + column.
+	 * A square with fewer onward moves to unvisited squares is ranked first.
+	 */
+	static class KnightTour implements OrderedFiniteSetNodeGenerator<Integer> {
+
+		KnightTour(int n) {
+			this.n = n;
+			this.squares = new Integer[n * n];
+			this.moves = new int[n * n][];
+
+			for(int i = 0; i < squares.length; ++i) {
+				squares[i] = i;
+			}
+
+			for(int i = 0; i < squares.length; ++i) {
+				int count = 0;
+				int[] to = new int[8];
+
+				for(int s = 0; s < squares.length; ++s) {
+					if(isMove(i, s)) {
+						to[count++] = s;
+					}
+				}
+
+				moves[i] = Arrays.copyOf(to, count);
+			}
+		}
+
+		public Integer[] getAllValues() {
+			return squares;
+		}
+
+		public int getMaxDepth() {
+			return squares.length;
+		}
+
+		public boolean isValidTransition(Integer value, BackwardPathIterator<Integer> iterator) {
+			return isMove(iterator.previousNode(), value);
+		}
+
+		public int compareValues(Integer value1, Integer value2, BackwardPathIterator<Integer> iterator) {
+			long visited = 0;
+
+			while(iterator.hasPreviousNode()) {
+				visited |= 1L << iterator.previousNode();
+			}
+
+			int d1 = onwardMoves(value1, visited), d2 = onwardMoves(value2, visited);
+
+			return (d1 < d2) ? -1 : (d1 == d2) ? 0 : 1;
+		}
+
+		/**
+		 * Checks that a path is made of knight moves
+		 */
+		boolean isTour(BackwardPathIterator<Integer> path) {
+			int length = 1, last = path.previousNode();
+
+			while(path.hasPreviousNode()) {
+				int square = path.previousNode();
+
+				if(!isMove(square, last)) {
+					return false;
+				}
+
+				last = square;
+				++length;
+			}
+
+			return length == squares.length;
+		}
+
+		private int onwardMoves(int square, long visited) {
+			int result = 0;
+
+			for(int s : moves[square]) {
+				if((visited & (1L << s)) == 0) {
+					++result;
+				}
+			}
+
+			return result;
+		}
+
+		private boolean isMove(int from, int to) {
+			int di = Math.abs(from / n - to / n), dj = Math.abs(from % n - to % n);
+			return (di == 1 && dj == 2) || (di == 2 && dj == 1);
+		}
+
+		private final int n;
+		private final Integer[] squares;
+
+		/**
+		 * Squares reached by a knight move from a square
+		 */
+		private final int[][] moves;
+
+	}
+
+	/**
+	 * Known numbers of directed open knight's tours of a 5x5 board, all of them and from a corner
+	 */
+	private static final long TOURS_5X5 = 1728;
+	private static final long CORNER_TOURS_5X5 = 304;
+
+}